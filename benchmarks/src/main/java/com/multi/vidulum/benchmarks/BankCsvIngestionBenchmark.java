@@ -0,0 +1,162 @@
+package com.multi.vidulum.benchmarks;
+
+import com.multi.vidulum.bank_data_adapter.domain.MappingRules;
+import com.multi.vidulum.bank_data_adapter.infrastructure.LocalCsvTransformer;
+import com.multi.vidulum.bank_data_ingestion.app.CsvParserService;
+import com.multi.vidulum.bank_data_ingestion.app.categorization.PatternDeduplicator;
+import com.multi.vidulum.bank_data_ingestion.app.categorization.TransactionNameNormalizer;
+import com.multi.vidulum.bank_data_ingestion.domain.*;
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.common.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The import pipeline over the bundled bank statements, one stage per benchmark:
+ * {@code transform} (bank CSV to BankCsvRow CSV with {@link LocalCsvTransformer}), {@code parse}
+ * ({@link CsvParserService}), {@code deduplicate} ({@link PatternDeduplicator} over the staged rows)
+ * and {@code normalize} ({@link TransactionNameNormalizer} over every transaction name).
+ * Each benchmark processes the whole statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BankCsvIngestionBenchmark {
+
+    @Param({"pekao", "nestbank"})
+    public String bank;
+
+    private final LocalCsvTransformer transformer = new LocalCsvTransformer();
+    private final CsvParserService parser = new CsvParserService();
+    private final TransactionNameNormalizer normalizer = new TransactionNameNormalizer();
+    private final PatternDeduplicator deduplicator = new PatternDeduplicator(normalizer);
+
+    private String statement;
+    private MappingRules rules;
+    private MultipartFile transformed;
+    private List<StagedTransaction> staged;
+    private List<String> names;
+
+    @Setup
+    public void setUp() {
+        statement = Fixtures.resource("pekao".equals(bank) ? Fixtures.PEKAO_CSV : Fixtures.NEST_BANK_CSV);
+        rules = "pekao".equals(bank) ? Fixtures.pekaoRules() : Fixtures.nestBankRules();
+
+        LocalCsvTransformer.TransformResult result = transformer.transform(statement, rules);
+        if (!result.success() || result.rowCount() == 0) {
+            throw new IllegalStateException("Cannot transform " + bank + " statement: " + result.errorMessage());
+        }
+        transformed = new CsvFile(result.csvContent().getBytes(StandardCharsets.UTF_8));
+
+        CsvParserService.CsvParseResult parsed = parser.parse(transformed);
+        CashFlowId cashFlowId = CashFlowId.of("CF10000001");
+        StagingSessionId sessionId = StagingSessionId.of("benchmark");
+        staged = parsed.rows().stream()
+                .map(row -> StagedTransaction.create(
+                        cashFlowId,
+                        sessionId,
+                        originalData(row),
+                        null,
+                        TransactionValidation.valid(),
+                        Fixtures.NOW,
+                        24))
+                .toList();
+        names = parsed.rows().stream().map(BankCsvRow::name).toList();
+    }
+
+    @Benchmark
+    public LocalCsvTransformer.TransformResult transform() {
+        return transformer.transform(statement, rules);
+    }
+
+    @Benchmark
+    public CsvParserService.CsvParseResult parse() {
+        return parser.parse(transformed);
+    }
+
+    @Benchmark
+    public List<PatternDeduplicator.PatternGroup> deduplicate() {
+        return deduplicator.deduplicate(staged);
+    }
+
+    @Benchmark
+    public void normalize(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(normalizer.normalize(name));
+        }
+    }
+
+    private static OriginalTransactionData originalData(BankCsvRow row) {
+        return new OriginalTransactionData(
+                row.bankTransactionId(),
+                row.name(),
+                row.effectiveDescription(),
+                row.effectiveBankCategory(),
+                Money.of(row.amount(), row.currency()),
+                row.type(),
+                row.operationDate().atStartOfDay(ZoneOffset.UTC),
+                row.merchant(),
+                row.merchantConfidence(),
+                row.counterpartyAccount(),
+                row.paymentMethod(),
+                row.effectiveClassification());
+    }
+
+    /**
+     * In-memory upload, as the multipart resolver hands it to the controller.
+     */
+    private record CsvFile(byte[] content) implements MultipartFile {
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "statement.csv";
+        }
+
+        @Override
+        public String getContentType() {
+            return "text/csv";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return content.length == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return content.length;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            return content;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public void transferTo(File dest) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.multi.vidulum.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}: the JMH command line, writing results as JSON to
+ * {@code target/jmh-result.json} unless {@code -rf} or {@code -rff} says otherwise.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.addAll(List.of("-rf", "json"));
+            if (!arguments.contains("-rff")) {
+                arguments.addAll(List.of("-rff", "target/jmh-result.json"));
+            }
+        }
+        org.openjdk.jmh.Main.main(arguments.toArray(String[]::new));
+    }
+}
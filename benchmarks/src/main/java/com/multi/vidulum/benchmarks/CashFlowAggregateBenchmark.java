@@ -0,0 +1,91 @@
+package com.multi.vidulum.benchmarks;
+
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
+import com.multi.vidulum.cashflow.infrastructure.entity.CashFlowEntity;
+import com.multi.vidulum.common.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CashFlow aggregate with {@value Fixtures#HISTORICAL_TRANSACTIONS} historical cash changes
+ * (see {@link Fixtures#cashFlowEvents}).
+ * <ul>
+ *   <li>{@code applyExpectedCashChangeAppended} / {@code applyCashChangeEdited} - {@code CashFlow.apply},
+ *       checksum of the event included; the appended cash change keeps the same id so the aggregate
+ *       does not grow across invocations</li>
+ *   <li>{@code fromSnapshot} / {@code toSnapshot} - the Mongo entity mapping done on every load and save</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class CashFlowAggregateBenchmark {
+
+    private static final CashFlowId CASH_FLOW_ID = CashFlowId.of("CF10000001");
+
+    private CashFlow cashFlow;
+    private CashFlowSnapshot snapshot;
+    private CashFlowEntity entity;
+    private CashFlowEvent.ExpectedCashChangeAppendedEvent appended;
+    private List<CashChangeId> pending;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<CashFlowEvent> events = Fixtures.cashFlowEvents(CASH_FLOW_ID, true);
+        cashFlow = Fixtures.cashFlow(events);
+        snapshot = cashFlow.getSnapshot();
+        entity = CashFlowEntity.fromSnapshot(snapshot);
+        pending = Fixtures.expectedCashChangeIds(events);
+        appended = new CashFlowEvent.ExpectedCashChangeAppendedEvent(
+                CASH_FLOW_ID,
+                CashChangeId.of("CC9000000001"),
+                new Name("Dentist"),
+                new Description("Check-up"),
+                Money.of(250, "PLN"),
+                Type.OUTFLOW,
+                Fixtures.NOW,
+                new CategoryName("Health"),
+                Fixtures.NOW.plusDays(5),
+                null);
+    }
+
+    @Benchmark
+    public CashFlow applyExpectedCashChangeAppended() {
+        cashFlow.apply(appended);
+        cashFlow.getUncommittedEvents().clear();
+        return cashFlow;
+    }
+
+    @Benchmark
+    public CashFlow applyCashChangeEdited() {
+        CashChangeId cashChangeId = pending.get(next++ % pending.size());
+        cashFlow.apply(new CashFlowEvent.CashChangeEditedEvent(
+                CASH_FLOW_ID,
+                cashChangeId,
+                new Name("Edited"),
+                new Description("Edited in benchmark"),
+                Money.of(next % 500 + 10, "PLN"),
+                new CategoryName("Groceries"),
+                Fixtures.NOW.plusDays(next % 300),
+                Fixtures.NOW));
+        cashFlow.getUncommittedEvents().clear();
+        return cashFlow;
+    }
+
+    @Benchmark
+    public CashFlowEntity fromSnapshot() {
+        return CashFlowEntity.fromSnapshot(snapshot);
+    }
+
+    @Benchmark
+    public CashFlowSnapshot toSnapshot() {
+        return entity.toSnapshot();
+    }
+}
@@ -0,0 +1,109 @@
+package com.multi.vidulum.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.common.JsonContent;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-record decode cost on the {@code cash_flow} consumers.
+ * <ul>
+ *   <li>{@code perCallModuleScan} - previous behaviour: string switch plus
+ *       {@code ObjectMapper.findAndRegisterModules()} on every read</li>
+ *   <li>{@code envelopeThenJsonContent} - envelope to CashFlowUnifiedEvent, then {@code JsonContent.to}</li>
+ *   <li>{@code codec} - {@link CashFlowEventCodec} with pre-built readers</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class CashFlowEventCodecBenchmark {
+
+    @Param({"V1", "V2"})
+    public CashFlowEventEnvelope.Version version;
+
+    private ObjectMapper perCallScanMapper;
+    private ConsumerRecord<String, byte[]> record;
+
+    @Setup
+    public void setUp() {
+        perCallScanMapper = new ObjectMapper();
+        perCallScanMapper.registerModule(new JavaTimeModule());
+        perCallScanMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        CashFlowEvent event = new CashFlowEvent.ExpectedCashChangeAppendedEvent(
+                CashFlowId.of("CF10000001"),
+                CashChangeId.of("CC1000000001"),
+                new Name("Monthly rent"),
+                new Description("Rent for the apartment, paid by standing order"),
+                Money.of(2450.50, "PLN"),
+                Type.OUTFLOW,
+                ZonedDateTime.parse("2025-06-01T06:30:00Z"),
+                new CategoryName("Housing"),
+                ZonedDateTime.parse("2025-06-10T00:00:00Z"),
+                "RR10000001");
+        ProducerRecord<String, byte[]> produced =
+                CashFlowEventEnvelope.encode("cash_flow", event.cashFlowId().id(), event, version);
+        record = new ConsumerRecord<>(
+                produced.topic(), 0, 0L, 0L, TimestampType.CREATE_TIME,
+                produced.key().length(), produced.value().length,
+                produced.key(), produced.value(),
+                new RecordHeaders(produced.headers().toArray()), Optional.empty());
+    }
+
+    @Benchmark
+    public CashFlowEvent perCallModuleScan() throws Exception {
+        CashFlowUnifiedEvent envelope = unifiedEvent(record);
+        String eventType = (String) envelope.getMetadata().get("event");
+        return switch (eventType) {
+            case "CashFlowCreatedEvent" -> perCallScanMapper.findAndRegisterModules()
+                    .readValue(envelope.getContent().content(), CashFlowEvent.CashFlowCreatedEvent.class);
+            case "ExpectedCashChangeAppendedEvent" -> perCallScanMapper.findAndRegisterModules()
+                    .readValue(envelope.getContent().content(), CashFlowEvent.ExpectedCashChangeAppendedEvent.class);
+            default -> throw new IllegalStateException("Unexpected value: " + eventType);
+        };
+    }
+
+    @Benchmark
+    public CashFlowEvent envelopeThenJsonContent() {
+        return unifiedEvent(record)
+                .getContent()
+                .to(CashFlowEvent.ExpectedCashChangeAppendedEvent.class);
+    }
+
+    @Benchmark
+    public CashFlowEvent codec() {
+        return CashFlowEventCodec.decode(record);
+    }
+
+    /**
+     * Previous listener step: normalise a V1 or V2 record to a {@link CashFlowUnifiedEvent}.
+     */
+    private static CashFlowUnifiedEvent unifiedEvent(ConsumerRecord<String, byte[]> record) {
+        String value = new String(record.value(), StandardCharsets.UTF_8);
+        if (!CashFlowEventEnvelope.isV2(record.headers())) {
+            return new JsonContent(value).to(CashFlowUnifiedEvent.class);
+        }
+        return CashFlowUnifiedEvent.builder()
+                .metadata(Map.of("event", CashFlowEventEnvelope.eventType(record.headers())))
+                .content(new JsonContent(value))
+                .build();
+    }
+}
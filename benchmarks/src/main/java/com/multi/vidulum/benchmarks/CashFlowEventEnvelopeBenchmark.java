@@ -0,0 +1,81 @@
+package com.multi.vidulum.benchmarks;
+
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.common.Money;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producer and consumer side cost of the {@code cash_flow} envelope, V1 (double-encoded JSON)
+ * against V2 (single compact JSON with headers). Decoding includes mapping the payload to the
+ * event record through {@link CashFlowEventCodec}, as the listeners do.
+ * <p>
+ * Run with {@code -prof gc} for allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class CashFlowEventEnvelopeBenchmark {
+
+    private static final String TOPIC = "cash_flow";
+
+    @Param({"V1", "V2"})
+    public CashFlowEventEnvelope.Version version;
+
+    private CashFlowEvent.ExpectedCashChangeAppendedEvent event;
+    private ConsumerRecord<String, byte[]> encoded;
+
+    @Setup
+    public void setUp() {
+        event = new CashFlowEvent.ExpectedCashChangeAppendedEvent(
+                CashFlowId.of("CF10000001"),
+                CashChangeId.of("CC1000000001"),
+                new Name("Monthly rent"),
+                new Description("Rent for the apartment, paid by standing order"),
+                Money.of(2450.50, "PLN"),
+                Type.OUTFLOW,
+                ZonedDateTime.parse("2025-06-01T06:30:00Z"),
+                new CategoryName("Housing"),
+                ZonedDateTime.parse("2025-06-10T00:00:00Z"),
+                "RR10000001");
+
+        ProducerRecord<String, byte[]> record =
+                CashFlowEventEnvelope.encode(TOPIC, event.cashFlowId().id(), event, version);
+        encoded = toConsumerRecord(record);
+
+        int headerBytes = 0;
+        for (Header header : record.headers()) {
+            headerBytes += header.key().length() + header.value().length;
+        }
+        System.out.printf("%n[%s] value: %d bytes, headers: %d bytes%n", version, record.value().length, headerBytes);
+    }
+
+    @Benchmark
+    public ProducerRecord<String, byte[]> encode() {
+        return CashFlowEventEnvelope.encode(TOPIC, event.cashFlowId().id(), event, version);
+    }
+
+    @Benchmark
+    public CashFlowEvent decode() {
+        return CashFlowEventCodec.decode(encoded);
+    }
+
+    private static ConsumerRecord<String, byte[]> toConsumerRecord(ProducerRecord<String, byte[]> record) {
+        return new ConsumerRecord<>(
+                record.topic(), 0, 0L, 0L, TimestampType.CREATE_TIME,
+                record.key().length(), record.value().length,
+                record.key(), record.value(),
+                new RecordHeaders(record.headers().toArray()), Optional.empty());
+    }
+}
@@ -0,0 +1,262 @@
+package com.multi.vidulum.benchmarks;
+
+import com.multi.vidulum.bank_data_adapter.domain.MappingRules;
+import com.multi.vidulum.bank_data_adapter.domain.MappingRules.ColumnMapping;
+import com.multi.vidulum.bank_data_adapter.domain.MappingRules.TransformationType;
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.common.Currency;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.common.UserId;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Shared benchmark fixtures.
+ * <ul>
+ *   <li>{@link #cashFlowEvents} - a deterministic CashFlow with two years of imported history
+ *       ({@value #HISTORICAL_TRANSACTIONS} transactions), nine categories, a budget, an archived
+ *       category and a year of pending expected cash changes, twelve of them from recurring rule
+ *       {@value #RECURRING_RULE_ID}</li>
+ *   <li>{@link #pekaoRules()} / {@link #nestBankRules()} - mapping rules for the bank statements
+ *       bundled with the application tests ({@code src/test/resources})</li>
+ * </ul>
+ */
+final class Fixtures {
+
+    static final ZonedDateTime NOW = ZonedDateTime.parse("2026-01-15T10:00:00Z");
+    static final YearMonth ACTIVE_PERIOD = YearMonth.from(NOW);
+    static final YearMonth START_PERIOD = ACTIVE_PERIOD.minusMonths(24);
+    static final int HISTORICAL_TRANSACTIONS = 10_000;
+    static final String RECURRING_RULE_ID = "RR10000001";
+
+    static final String PEKAO_CSV = "pekao_sa_Lista_operacji_20260111_013400.csv";
+    static final String NEST_BANK_CSV = "nestbank_lista_operacji_20260111.csv";
+
+    private static final String CURRENCY = "PLN";
+    private static final List<String> INFLOW_CATEGORIES = List.of("Salary", "Other income");
+    private static final List<String> OUTFLOW_CATEGORIES = List.of(
+            "Housing", "Groceries", "Supermarkets", "Transport", "Health", "Entertainment", "Utilities", "Legacy");
+
+    private Fixtures() {
+    }
+
+    /**
+     * Ids of the generated cash changes are {@code CC1<9 digits>}, numbered from 1 in event order.
+     *
+     * @param attested false leaves the CashFlow in SETUP mode with the history still IMPORT_PENDING
+     */
+    static List<CashFlowEvent> cashFlowEvents(CashFlowId cashFlowId, boolean attested) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<CashFlowEvent> events = new ArrayList<>();
+        int[] sequence = {0};
+
+        events.add(new CashFlowEvent.CashFlowWithHistoryCreatedEvent(
+                cashFlowId,
+                new UserId("U10000001"),
+                new Name("Household"),
+                new Description("Benchmark household budget"),
+                BankAccount.fromIban("Nest Bank", "PL93187010452083105656550001",
+                        Currency.of(CURRENCY), Money.of(0, CURRENCY), null),
+                START_PERIOD,
+                ACTIVE_PERIOD,
+                Money.of(25_000, CURRENCY),
+                NOW));
+
+        for (String category : INFLOW_CATEGORIES) {
+            events.add(new CashFlowEvent.CategoryCreatedEvent(
+                    cashFlowId, CategoryName.NOT_DEFINED, new CategoryName(category), Type.INFLOW, NOW));
+        }
+        for (String category : OUTFLOW_CATEGORIES) {
+            CategoryName parent = "Supermarkets".equals(category) ? new CategoryName("Groceries") : CategoryName.NOT_DEFINED;
+            events.add(new CashFlowEvent.CategoryCreatedEvent(
+                    cashFlowId, parent, new CategoryName(category), Type.OUTFLOW, NOW));
+        }
+        events.add(new CashFlowEvent.BudgetingSetEvent(
+                cashFlowId, new CategoryName("Groceries"), Type.OUTFLOW, Money.of(2_000, CURRENCY), NOW));
+
+        for (int i = 0; i < HISTORICAL_TRANSACTIONS; i++) {
+            boolean inflow = i % 10 == 0;
+            String category = inflow
+                    ? INFLOW_CATEGORIES.get(random.nextInt(INFLOW_CATEGORIES.size()))
+                    : OUTFLOW_CATEGORIES.get(random.nextInt(OUTFLOW_CATEGORIES.size()));
+            ZonedDateTime paidDate = START_PERIOD.plusMonths((long) i * 24 / HISTORICAL_TRANSACTIONS)
+                    .atDay(1 + random.nextInt(28))
+                    .atTime(12, 0)
+                    .atZone(ZoneOffset.UTC);
+            events.add(new CashFlowEvent.HistoricalCashChangeImportedEvent(
+                    cashFlowId,
+                    nextCashChangeId(sequence),
+                    new Name(category + " #" + i),
+                    new Description("Imported from bank statement"),
+                    Money.of(inflow ? 500 + random.nextInt(9_500) : 5 + random.nextInt(800), CURRENCY),
+                    inflow ? Type.INFLOW : Type.OUTFLOW,
+                    new CategoryName(category),
+                    paidDate,
+                    paidDate,
+                    NOW));
+        }
+        if (!attested) {
+            return events;
+        }
+
+        events.add(new CashFlowEvent.HistoricalImportAttestedEvent(
+                cashFlowId,
+                Money.of(40_000, CURRENCY),
+                Money.of(40_000, CURRENCY),
+                Money.of(0, CURRENCY),
+                false,
+                null,
+                NOW));
+
+        for (int month = 0; month < 12; month++) {
+            ZonedDateTime dueDate = ACTIVE_PERIOD.plusMonths(month).atDay(10).atStartOfDay(ZoneOffset.UTC);
+            events.add(new CashFlowEvent.ExpectedCashChangeAppendedEvent(
+                    cashFlowId, nextCashChangeId(sequence), new Name("Rent"), new Description("Monthly rent"),
+                    Money.of(2_450, CURRENCY), Type.OUTFLOW, NOW, new CategoryName("Housing"), dueDate,
+                    RECURRING_RULE_ID));
+            for (int i = 0; i < 20; i++) {
+                boolean inflow = i == 0;
+                String category = inflow ? "Salary" : OUTFLOW_CATEGORIES.get(1 + random.nextInt(5));
+                events.add(new CashFlowEvent.ExpectedCashChangeAppendedEvent(
+                        cashFlowId, nextCashChangeId(sequence), new Name(category), new Description("Planned"),
+                        Money.of(inflow ? 9_000 : 20 + random.nextInt(400), CURRENCY),
+                        inflow ? Type.INFLOW : Type.OUTFLOW, NOW, new CategoryName(category),
+                        dueDate.plusDays(i), null));
+            }
+        }
+        events.add(new CashFlowEvent.CategoryArchivedEvent(
+                cashFlowId, new CategoryName("Legacy"), Type.OUTFLOW, NOW, false));
+        return events;
+    }
+
+    /**
+     * Ids of the expected cash changes generated for {@link #RECURRING_RULE_ID}, in due date order.
+     */
+    static List<CashChangeId> recurringCashChangeIds(List<CashFlowEvent> events) {
+        return events.stream()
+                .filter(event -> event instanceof CashFlowEvent.ExpectedCashChangeAppendedEvent appended
+                        && RECURRING_RULE_ID.equals(appended.sourceRuleId()))
+                .map(event -> ((CashFlowEvent.ExpectedCashChangeAppendedEvent) event).cashChangeId())
+                .toList();
+    }
+
+    /**
+     * Ids of expected cash changes without a rule, in event order.
+     */
+    static List<CashChangeId> expectedCashChangeIds(List<CashFlowEvent> events) {
+        return events.stream()
+                .filter(event -> event instanceof CashFlowEvent.ExpectedCashChangeAppendedEvent appended
+                        && appended.sourceRuleId() == null)
+                .map(event -> ((CashFlowEvent.ExpectedCashChangeAppendedEvent) event).cashChangeId())
+                .toList();
+    }
+
+    static CashFlow cashFlow(List<CashFlowEvent> events) {
+        CashFlow cashFlow = new CashFlow();
+        for (CashFlowEvent event : events) {
+            switch (event) {
+                case CashFlowEvent.CashFlowWithHistoryCreatedEvent e -> cashFlow.apply(e);
+                case CashFlowEvent.CategoryCreatedEvent e -> cashFlow.apply(e);
+                case CashFlowEvent.BudgetingSetEvent e -> cashFlow.apply(e);
+                case CashFlowEvent.HistoricalCashChangeImportedEvent e -> cashFlow.apply(e);
+                case CashFlowEvent.HistoricalImportAttestedEvent e -> cashFlow.apply(e);
+                case CashFlowEvent.ExpectedCashChangeAppendedEvent e -> cashFlow.apply(e);
+                case CashFlowEvent.CategoryArchivedEvent e -> cashFlow.apply(e);
+                default -> throw new IllegalArgumentException("Not a fixture event: " + event.getClass().getSimpleName());
+            }
+        }
+        cashFlow.getUncommittedEvents().clear();
+        return cashFlow;
+    }
+
+    static String resource(String name) {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark resource: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Pekao SA "Lista operacji" export: {@code ;}-separated, header in the first row.
+     */
+    static MappingRules pekaoRules() {
+        return MappingRules.builder()
+                .bankName("Pekao SA")
+                .bankCountry("PL")
+                .dateFormat("dd.MM.yyyy")
+                .delimiter(";")
+                .headerRowIndex(0)
+                .columnMappings(List.of(
+                        column(9, "bankTransactionId", TransformationType.DIRECT),
+                        column(2, "name", TransformationType.DIRECT),
+                        column(6, "description", TransformationType.DIRECT),
+                        column(11, "bankCategory", TransformationType.DIRECT),
+                        column(7, "amount", TransformationType.AMOUNT_PARSE),
+                        column(7, "type", TransformationType.TYPE_DETECT, Map.of("amountColumn", "7")),
+                        column(8, "currency", TransformationType.DIRECT),
+                        column(1, "operationDate", TransformationType.DATE_PARSE),
+                        column(0, "bookingDate", TransformationType.DATE_PARSE),
+                        column(4, "sourceAccountNumber", TransformationType.IBAN_NORMALIZE),
+                        column(5, "targetAccountNumber", TransformationType.IBAN_NORMALIZE),
+                        column(6, "merchant", TransformationType.MERCHANT_EXTRACT, Map.of("nameColumn", "2")),
+                        column(6, "merchantConfidence", TransformationType.MERCHANT_CONFIDENCE, Map.of("nameColumn", "2")),
+                        column(10, "paymentMethod", TransformationType.PAYMENT_METHOD_NORMALIZE)))
+                .build();
+    }
+
+    /**
+     * Nest Bank export: {@code ,}-separated, six account summary rows above the header.
+     */
+    static MappingRules nestBankRules() {
+        return MappingRules.builder()
+                .bankName("Nest Bank")
+                .bankCountry("PL")
+                .dateFormat("dd-MM-yyyy")
+                .delimiter(",")
+                .headerRowIndex(6)
+                .columnMappings(List.of(
+                        column(5, "name", TransformationType.DIRECT),
+                        column(7, "description", TransformationType.DIRECT),
+                        column(2, "bankCategory", TransformationType.DIRECT),
+                        column(3, "amount", TransformationType.AMOUNT_PARSE),
+                        column(3, "type", TransformationType.TYPE_DETECT, Map.of("amountColumn", "3")),
+                        column(4, "currency", TransformationType.DIRECT),
+                        column(1, "operationDate", TransformationType.DATE_PARSE),
+                        column(0, "bookingDate", TransformationType.DATE_PARSE),
+                        column(6, "targetAccountNumber", TransformationType.IBAN_NORMALIZE),
+                        column(2, "paymentMethod", TransformationType.PAYMENT_METHOD_NORMALIZE)))
+                .build();
+    }
+
+    private static CashChangeId nextCashChangeId(int[] sequence) {
+        return CashChangeId.of("CC1%09d".formatted(++sequence[0]));
+    }
+
+    private static ColumnMapping column(int sourceIndex, String targetField, TransformationType transformationType) {
+        return column(sourceIndex, targetField, transformationType, null);
+    }
+
+    private static ColumnMapping column(int sourceIndex, String targetField, TransformationType transformationType,
+                                        Map<String, String> params) {
+        return ColumnMapping.builder()
+                .sourceIndex(sourceIndex)
+                .targetField(targetField)
+                .transformationType(transformationType)
+                .transformationParams(params)
+                .build();
+    }
+}
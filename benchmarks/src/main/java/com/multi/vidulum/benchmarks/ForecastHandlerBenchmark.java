@@ -0,0 +1,281 @@
+package com.multi.vidulum.benchmarks;
+
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.cashflow_forecast_processor.app.CashFlowForecastStatement;
+import com.multi.vidulum.cashflow_forecast_processor.app.CashFlowForecastStatementRepository;
+import com.multi.vidulum.cashflow_forecast_processor.app.processing.*;
+import com.multi.vidulum.cashflow_forecast_processor.infrastructure.entity.CashFlowForecastStatementEntity;
+import com.multi.vidulum.common.Currency;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.common.Reason;
+import com.multi.vidulum.common.UserId;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One forecast processor handler per {@code event}, run against the forecast of the
+ * {@link Fixtures#cashFlowEvents} CashFlow (36 months, {@value Fixtures#HISTORICAL_TRANSACTIONS}
+ * historical transactions). Events of the import phase run against the same CashFlow still in SETUP mode.
+ * <p>
+ * The repository keeps the forecasts as {@link CashFlowForecastStatementEntity}s: every load maps a
+ * fresh statement out of the entity, as the Mongo repository does, and saves are dropped, so each
+ * invocation sees the same state. {@code load} measures that mapping alone, {@code updateStats}
+ * the statistics recalculation most handlers end with.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ForecastHandlerBenchmark {
+
+    private static final CashFlowId OPEN = CashFlowId.of("CF10000001");
+    private static final CashFlowId SETUP = CashFlowId.of("CF10000002");
+    private static final CashFlowId CREATED = CashFlowId.of("CF10000003");
+
+    @Param({
+            "CashFlowCreatedEvent",
+            "CashFlowWithHistoryCreatedEvent",
+            "HistoricalCashChangeImportedEvent",
+            "HistoricalImportAttestedEvent",
+            "ImportRolledBackEvent",
+            "MonthAttestedEvent",
+            "MonthRolledOverEvent",
+            "MonthsRolledOverEvent",
+            "ExpectedCashChangeAppendedEvent",
+            "PaidCashChangeAppendedEvent",
+            "CashChangeConfirmedEvent",
+            "CashChangeEditedEvent",
+            "CashChangeRejectedEvent",
+            "CategoryCreatedEvent",
+            "BudgetingSetEvent",
+            "BudgetingUpdatedEvent",
+            "BudgetingRemovedEvent",
+            "CategoryArchivedEvent",
+            "CategoryUnarchivedEvent",
+            "CategoryMovedEvent",
+            "ExpectedCashChangeDeletedEvent",
+            "ExpectedCashChangesBatchDeletedEvent",
+            "CashChangesBatchUpdatedEvent"
+    })
+    public String event;
+
+    private StatementRepository repository;
+    private Handlers handlers;
+    private CashFlowEvent cashFlowEvent;
+    private CashFlowForecastStatement statement;
+
+    @Setup
+    public void setUp() {
+        repository = new StatementRepository();
+        handlers = new Handlers(repository, Clock.fixed(Fixtures.NOW.toInstant(), ZoneOffset.UTC));
+
+        List<CashFlowEvent> openEvents = Fixtures.cashFlowEvents(OPEN, true);
+        openEvents.forEach(handlers::handle);
+        Fixtures.cashFlowEvents(SETUP, false).forEach(handlers::handle);
+        repository.freeze();
+
+        statement = repository.findByCashFlowId(OPEN).orElseThrow();
+        cashFlowEvent = event(event, Fixtures.expectedCashChangeIds(openEvents), Fixtures.recurringCashChangeIds(openEvents));
+    }
+
+    @Benchmark
+    public void handle() {
+        handlers.handle(cashFlowEvent);
+    }
+
+    @Benchmark
+    public Optional<CashFlowForecastStatement> load() {
+        return repository.findByCashFlowId(cashFlowEvent.cashFlowId());
+    }
+
+    @Benchmark
+    public CashFlowForecastStatement updateStats() {
+        statement.updateStats();
+        return statement;
+    }
+
+    private static CashFlowEvent event(String type, List<CashChangeId> expected, List<CashChangeId> recurring) {
+        CashChangeId newId = CashChangeId.of("CC9000000001");
+        // first one of each month is the salary
+        CashChangeId pending = expected.get(1);
+        Money money = Money.of(120, "PLN");
+        return switch (type) {
+            case "CashFlowCreatedEvent" -> new CashFlowEvent.CashFlowCreatedEvent(
+                    CREATED, new UserId("U10000001"), new Name("New"), new Description("New cash flow"),
+                    BankAccount.fromIban("Nest Bank", "PL93187010452083105656550001", Currency.of("PLN"), money, null),
+                    Fixtures.NOW);
+            case "CashFlowWithHistoryCreatedEvent" -> new CashFlowEvent.CashFlowWithHistoryCreatedEvent(
+                    CREATED, new UserId("U10000001"), new Name("New"), new Description("New cash flow"),
+                    BankAccount.fromIban("Nest Bank", "PL93187010452083105656550001", Currency.of("PLN"), money, null),
+                    Fixtures.START_PERIOD, Fixtures.ACTIVE_PERIOD, money, Fixtures.NOW);
+            case "HistoricalCashChangeImportedEvent" -> new CashFlowEvent.HistoricalCashChangeImportedEvent(
+                    SETUP, newId, new Name("Late import"), new Description("Imported"), money, Type.OUTFLOW,
+                    new CategoryName("Groceries"), Fixtures.NOW.minusMonths(7), Fixtures.NOW.minusMonths(7), Fixtures.NOW);
+            case "HistoricalImportAttestedEvent" -> new CashFlowEvent.HistoricalImportAttestedEvent(
+                    SETUP, money, money, Money.of(0, "PLN"), false, null, Fixtures.NOW);
+            case "ImportRolledBackEvent" -> new CashFlowEvent.ImportRolledBackEvent(
+                    SETUP, Fixtures.HISTORICAL_TRANSACTIONS, 0, false, Fixtures.NOW);
+            case "MonthAttestedEvent" -> new CashFlowEvent.MonthAttestedEvent(
+                    OPEN, Fixtures.ACTIVE_PERIOD.plusMonths(1), money, Fixtures.NOW);
+            case "MonthRolledOverEvent" -> new CashFlowEvent.MonthRolledOverEvent(
+                    OPEN, Fixtures.ACTIVE_PERIOD, Fixtures.ACTIVE_PERIOD.plusMonths(1), money, Fixtures.NOW);
+            case "MonthsRolledOverEvent" -> new CashFlowEvent.MonthsRolledOverEvent(
+                    OPEN, Fixtures.ACTIVE_PERIOD, Fixtures.ACTIVE_PERIOD.plusMonths(3), money, Fixtures.NOW);
+            case "ExpectedCashChangeAppendedEvent" -> new CashFlowEvent.ExpectedCashChangeAppendedEvent(
+                    OPEN, newId, new Name("Dentist"), new Description("Check-up"), money, Type.OUTFLOW, Fixtures.NOW,
+                    new CategoryName("Health"), Fixtures.NOW.plusMonths(2), null);
+            case "PaidCashChangeAppendedEvent" -> new CashFlowEvent.PaidCashChangeAppendedEvent(
+                    OPEN, newId, new Name("Pharmacy"), new Description("Paid"), money, Type.OUTFLOW, Fixtures.NOW,
+                    new CategoryName("Health"), Fixtures.NOW, Fixtures.NOW);
+            case "CashChangeConfirmedEvent" -> new CashFlowEvent.CashChangeConfirmedEvent(OPEN, pending, Fixtures.NOW);
+            case "CashChangeEditedEvent" -> new CashFlowEvent.CashChangeEditedEvent(
+                    OPEN, pending, new Name("Edited"), new Description("Edited"), money,
+                    new CategoryName("Groceries"), Fixtures.NOW.plusMonths(3), Fixtures.NOW);
+            case "CashChangeRejectedEvent" -> new CashFlowEvent.CashChangeRejectedEvent(
+                    OPEN, pending, new Reason("Not needed"), Fixtures.NOW);
+            case "CategoryCreatedEvent" -> new CashFlowEvent.CategoryCreatedEvent(
+                    OPEN, CategoryName.NOT_DEFINED, new CategoryName("Education"), Type.OUTFLOW, Fixtures.NOW);
+            case "BudgetingSetEvent" -> new CashFlowEvent.BudgetingSetEvent(
+                    OPEN, new CategoryName("Transport"), Type.OUTFLOW, money, Fixtures.NOW);
+            case "BudgetingUpdatedEvent" -> new CashFlowEvent.BudgetingUpdatedEvent(
+                    OPEN, new CategoryName("Groceries"), Type.OUTFLOW, money, Fixtures.NOW);
+            case "BudgetingRemovedEvent" -> new CashFlowEvent.BudgetingRemovedEvent(
+                    OPEN, new CategoryName("Groceries"), Type.OUTFLOW, Fixtures.NOW);
+            case "CategoryArchivedEvent" -> new CashFlowEvent.CategoryArchivedEvent(
+                    OPEN, new CategoryName("Entertainment"), Type.OUTFLOW, Fixtures.NOW, false);
+            case "CategoryUnarchivedEvent" -> new CashFlowEvent.CategoryUnarchivedEvent(
+                    OPEN, new CategoryName("Legacy"), Type.OUTFLOW, Fixtures.NOW);
+            case "CategoryMovedEvent" -> new CashFlowEvent.CategoryMovedEvent(
+                    OPEN, new CategoryName("Supermarkets"), new CategoryName("Groceries"), CategoryName.NOT_DEFINED, Type.OUTFLOW,
+                    null, Fixtures.NOW);
+            case "ExpectedCashChangeDeletedEvent" -> new CashFlowEvent.ExpectedCashChangeDeletedEvent(
+                    OPEN, pending, null, Fixtures.NOW.plusDays(1), money, Fixtures.NOW);
+            case "ExpectedCashChangesBatchDeletedEvent" -> new CashFlowEvent.ExpectedCashChangesBatchDeletedEvent(
+                    OPEN, Fixtures.RECURRING_RULE_ID, recurring, Fixtures.NOW);
+            case "CashChangesBatchUpdatedEvent" -> new CashFlowEvent.CashChangesBatchUpdatedEvent(
+                    OPEN, Fixtures.RECURRING_RULE_ID, recurring,
+                    Map.of("amount", Money.of(2_600, "PLN"), "name", new Name("Rent 2026"), "categoryName", new CategoryName("Housing")),
+                    Fixtures.NOW);
+            default -> throw new IllegalArgumentException("Unknown event: " + type);
+        };
+    }
+
+    /**
+     * Live while the fixture is being built, then frozen into entities.
+     */
+    private static final class StatementRepository implements CashFlowForecastStatementRepository {
+
+        private final Map<CashFlowId, CashFlowForecastStatement> live = new HashMap<>();
+        private final Map<CashFlowId, CashFlowForecastStatementEntity> frozen = new HashMap<>();
+
+        void freeze() {
+            live.forEach((id, statement) -> frozen.put(id, CashFlowForecastStatementEntity.fromDomain(statement)));
+            live.clear();
+        }
+
+        @Override
+        public Optional<CashFlowForecastStatement> findByCashFlowId(CashFlowId cashFlowId) {
+            if (frozen.isEmpty()) {
+                return Optional.ofNullable(live.get(cashFlowId));
+            }
+            return Optional.ofNullable(frozen.get(cashFlowId)).map(CashFlowForecastStatementEntity::toDomain);
+        }
+
+        @Override
+        public void save(CashFlowForecastStatement statement) {
+            if (frozen.isEmpty()) {
+                live.put(statement.getCashFlowId(), statement);
+            }
+        }
+    }
+
+    private static final class Handlers {
+
+        private final CashFlowCreatedEventHandler cashFlowCreated;
+        private final CashFlowWithHistoryCreatedEventHandler cashFlowWithHistoryCreated;
+        private final HistoricalCashChangeImportedEventHandler historicalCashChangeImported;
+        private final HistoricalImportAttestedEventHandler historicalImportAttested;
+        private final ImportRolledBackEventHandler importRolledBack;
+        private final MonthAttestedEventHandler monthAttested;
+        private final MonthRolledOverEventHandler monthRolledOver;
+        private final MonthsRolledOverEventHandler monthsRolledOver;
+        private final ExpectedCashChangeAppendedEventHandler expectedCashChangeAppended;
+        private final PaidCashChangeAppendedEventHandler paidCashChangeAppended;
+        private final CashChangeConfirmedEventHandler cashChangeConfirmed;
+        private final CashChangeEditedEventHandler cashChangeEdited;
+        private final CashChangeRejectedEventHandler cashChangeRejected;
+        private final CategoryCreatedEventHandler categoryCreated;
+        private final BudgetingSetEventHandler budgetingSet;
+        private final BudgetingUpdatedEventHandler budgetingUpdated;
+        private final BudgetingRemovedEventHandler budgetingRemoved;
+        private final CategoryArchivedEventHandler categoryArchived;
+        private final CategoryUnarchivedEventHandler categoryUnarchived;
+        private final CategoryMovedEventHandler categoryMoved;
+        private final ExpectedCashChangeDeletedEventHandler expectedCashChangeDeleted;
+        private final ExpectedCashChangesBatchDeletedEventHandler expectedCashChangesBatchDeleted;
+        private final CashChangesBatchUpdatedEventHandler cashChangesBatchUpdated;
+
+        Handlers(CashFlowForecastStatementRepository repository, Clock clock) {
+            cashFlowCreated = new CashFlowCreatedEventHandler(clock, repository);
+            cashFlowWithHistoryCreated = new CashFlowWithHistoryCreatedEventHandler(clock, repository);
+            historicalCashChangeImported = new HistoricalCashChangeImportedEventHandler(repository);
+            historicalImportAttested = new HistoricalImportAttestedEventHandler(repository);
+            importRolledBack = new ImportRolledBackEventHandler(repository, clock);
+            monthAttested = new MonthAttestedEventHandler(repository);
+            monthRolledOver = new MonthRolledOverEventHandler(repository);
+            monthsRolledOver = new MonthsRolledOverEventHandler(repository);
+            expectedCashChangeAppended = new ExpectedCashChangeAppendedEventHandler(repository);
+            paidCashChangeAppended = new PaidCashChangeAppendedEventHandler(repository);
+            cashChangeConfirmed = new CashChangeConfirmedEventHandler(repository);
+            cashChangeEdited = new CashChangeEditedEventHandler(repository);
+            cashChangeRejected = new CashChangeRejectedEventHandler(repository);
+            categoryCreated = new CategoryCreatedEventHandler(repository);
+            budgetingSet = new BudgetingSetEventHandler(repository);
+            budgetingUpdated = new BudgetingUpdatedEventHandler(repository);
+            budgetingRemoved = new BudgetingRemovedEventHandler(repository);
+            categoryArchived = new CategoryArchivedEventHandler(repository);
+            categoryUnarchived = new CategoryUnarchivedEventHandler(repository);
+            categoryMoved = new CategoryMovedEventHandler(repository);
+            expectedCashChangeDeleted = new ExpectedCashChangeDeletedEventHandler(repository);
+            expectedCashChangesBatchDeleted = new ExpectedCashChangesBatchDeletedEventHandler(repository);
+            cashChangesBatchUpdated = new CashChangesBatchUpdatedEventHandler(repository);
+        }
+
+        void handle(CashFlowEvent cashFlowEvent) {
+            switch (cashFlowEvent) {
+                case CashFlowEvent.CashFlowCreatedEvent e -> cashFlowCreated.handle(e);
+                case CashFlowEvent.CashFlowWithHistoryCreatedEvent e -> cashFlowWithHistoryCreated.handle(e);
+                case CashFlowEvent.HistoricalCashChangeImportedEvent e -> historicalCashChangeImported.handle(e);
+                case CashFlowEvent.HistoricalImportAttestedEvent e -> historicalImportAttested.handle(e);
+                case CashFlowEvent.ImportRolledBackEvent e -> importRolledBack.handle(e);
+                case CashFlowEvent.MonthAttestedEvent e -> monthAttested.handle(e);
+                case CashFlowEvent.MonthRolledOverEvent e -> monthRolledOver.handle(e);
+                case CashFlowEvent.MonthsRolledOverEvent e -> monthsRolledOver.handle(e);
+                case CashFlowEvent.ExpectedCashChangeAppendedEvent e -> expectedCashChangeAppended.handle(e);
+                case CashFlowEvent.PaidCashChangeAppendedEvent e -> paidCashChangeAppended.handle(e);
+                case CashFlowEvent.CashChangeConfirmedEvent e -> cashChangeConfirmed.handle(e);
+                case CashFlowEvent.CashChangeRejectedEvent e -> cashChangeRejected.handle(e);
+                case CashFlowEvent.CashChangeEditedEvent e -> cashChangeEdited.handle(e);
+                case CashFlowEvent.CategoryCreatedEvent e -> categoryCreated.handle(e);
+                case CashFlowEvent.BudgetingSetEvent e -> budgetingSet.handle(e);
+                case CashFlowEvent.BudgetingUpdatedEvent e -> budgetingUpdated.handle(e);
+                case CashFlowEvent.BudgetingRemovedEvent e -> budgetingRemoved.handle(e);
+                case CashFlowEvent.CategoryArchivedEvent e -> categoryArchived.handle(e);
+                case CashFlowEvent.CategoryUnarchivedEvent e -> categoryUnarchived.handle(e);
+                case CashFlowEvent.CategoryMovedEvent e -> categoryMoved.handle(e);
+                case CashFlowEvent.ExpectedCashChangeDeletedEvent e -> expectedCashChangeDeleted.handle(e);
+                case CashFlowEvent.ExpectedCashChangesBatchDeletedEvent e -> expectedCashChangesBatchDeleted.handle(e);
+                case CashFlowEvent.CashChangesBatchUpdatedEvent e -> cashChangesBatchUpdated.handle(e);
+            }
+        }
+    }
+}
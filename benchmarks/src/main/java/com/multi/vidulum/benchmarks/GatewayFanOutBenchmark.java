@@ -0,0 +1,124 @@
+package com.multi.vidulum.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multi.vidulum.gateway.config.JacksonConfig;
+import com.multi.vidulum.gateway.dto.KafkaEvent;
+import com.multi.vidulum.gateway.dto.ServerMessage;
+import com.multi.vidulum.gateway.service.EventBroadcaster;
+import com.multi.vidulum.gateway.service.EventCoalescer;
+import com.multi.vidulum.gateway.service.EventFrameEncoder;
+import com.multi.vidulum.gateway.service.SessionRegistry;
+import com.multi.vidulum.gateway.service.SessionSendQueue;
+import com.multi.vidulum.gateway.service.SubscriptionManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.reflect.Proxy;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Websocket gateway fan-out of one cash_flow event.
+ * <ul>
+ *   <li>{@code treeModelFrame} - previous frame building: parse payload to a Map, serialise ServerMessage</li>
+ *   <li>{@code rawSpliceFrame} - {@link EventFrameEncoder}</li>
+ *   <li>{@code broadcast} - {@link EventBroadcaster#broadcast} to {@code subscribers} sessions,
+ *       i.e. one frame plus a queue offer per session. Divide {@code gc.alloc.rate.norm} by
+ *       {@code subscribers} for bytes per delivered message.</li>
+ * </ul>
+ * Run with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class GatewayFanOutBenchmark {
+
+    private static final String TOPIC = "cash_flow";
+    private static final String CASH_FLOW_ID = "CF10000001";
+    private static final String PAYLOAD = """
+            {"cashFlowId":{"id":"CF10000001"},"cashChangeId":{"id":"CC1000000001"},"name":{"name":"Monthly rent"},\
+            "description":{"description":"Rent for the apartment, paid by standing order"},\
+            "money":{"amount":2450.50,"currency":"PLN"},"type":"OUTFLOW","created":"2025-06-01T06:30:00Z",\
+            "categoryName":{"name":"Housing"},"dueDate":"2025-06-10T00:00:00Z","sourceRuleId":"RR10000001"}""";
+
+    @Param({"1", "10", "100"})
+    public int subscribers;
+
+    private ObjectMapper objectMapper;
+    private KafkaEvent event;
+    private EventBroadcaster broadcaster;
+    private SessionRegistry sessionRegistry;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("event", "ExpectedCashChangeAppendedEvent");
+        metadata.put("cashFlowId", CASH_FLOW_ID);
+        event = KafkaEvent.builder()
+                .metadata(metadata)
+                .content(new KafkaEvent.JsonContent(PAYLOAD))
+                .build();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sessionRegistry = new SessionRegistry(
+                60_000, 64 * 1024 * 1024, SessionSendQueue.OverflowPolicy.DROP_OLDEST_PROGRESS, meterRegistry);
+        SubscriptionManager subscriptionManager = new SubscriptionManager(sessionRegistry);
+        for (int i = 0; i < subscribers; i++) {
+            WebSocketSession session = discardingSession("session-" + i);
+            sessionRegistry.register(session);
+            subscriptionManager.subscribe(session, TOPIC, CASH_FLOW_ID);
+        }
+        EventCoalescer noCoalescing = new EventCoalescer(0, 1, Set.of(), Set.of(), meterRegistry);
+        broadcaster = new EventBroadcaster(
+                subscriptionManager, sessionRegistry, objectMapper, noCoalescing, Set.of("ImportProgressEvent"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionRegistry.getAllSessions().forEach(sessionRegistry::unregister);
+    }
+
+    @Benchmark
+    public TextMessage treeModelFrame() throws Exception {
+        Map<String, Object> data = objectMapper.readValue(
+                event.getContent().getContent(), new TypeReference<Map<String, Object>>() {});
+        ServerMessage message = ServerMessage.event(TOPIC, event.getEventType(), event.getCashFlowId(), data);
+        return new TextMessage(objectMapper.writeValueAsString(message));
+    }
+
+    @Benchmark
+    public TextMessage rawSpliceFrame() {
+        return new TextMessage(EventFrameEncoder.encode(
+                TOPIC, event.getEventType(), event.getCashFlowId(), event.getContent().getContent(), ZonedDateTime.now()));
+    }
+
+    @Benchmark
+    public void broadcast() {
+        broadcaster.broadcast(TOPIC, event);
+    }
+
+    private static WebSocketSession discardingSession(String id) {
+        Map<String, Object> attributes = new HashMap<>();
+        return (WebSocketSession) Proxy.newProxyInstance(
+                WebSocketSession.class.getClassLoader(),
+                new Class<?>[]{WebSocketSession.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getId" -> id;
+                    case "isOpen" -> true;
+                    case "getAttributes" -> attributes;
+                    case "hashCode" -> id.hashCode();
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+}
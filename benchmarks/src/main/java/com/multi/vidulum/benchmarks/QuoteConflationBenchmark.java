@@ -0,0 +1,93 @@
+package com.multi.vidulum.benchmarks;
+
+import com.multi.vidulum.common.Broker;
+import com.multi.vidulum.common.Price;
+import com.multi.vidulum.common.Symbol;
+import com.multi.vidulum.quotation.app.BinanceBrokerQuotationProvider;
+import com.multi.vidulum.quotation.domain.BrokerQuotationProvider;
+import com.multi.vidulum.quotation.domain.PriceChangedEvent;
+import com.multi.vidulum.quotation.domain.PriceHistoryJournal;
+import com.multi.vidulum.quotation.domain.QuotationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One poll of the quotes topic: a synthetic burst of {@code ticksPerPoll} ticks spread over {@code symbols}
+ * symbols, a fifth of them carrying half of the ticks.
+ * <ul>
+ *   <li>{@code perTick} - previous record listener: {@link QuotationService#onPriceChange} for every tick</li>
+ *   <li>{@code conflated} - batch listener: {@link QuotationService#onPriceChanges}, one latest-price update
+ *       per symbol</li>
+ * </ul>
+ * Both keep every tick in the price history. Ticks are re-stamped before each invocation so that the history
+ * appends instead of dropping them as out of order. Time is per poll; divide by {@code ticksPerPoll} for per tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class QuoteConflationBenchmark {
+
+    private static final Broker BROKER = Broker.of("BINANCE");
+
+    @Param({"10", "1000"})
+    public int symbols;
+
+    @Param({"500", "5000"})
+    public int ticksPerPoll;
+
+    private QuotationService quotationService;
+    private List<PriceChangedEvent> poll;
+    private ZonedDateTime pollStart;
+
+    @Setup
+    public void setUp() {
+        BrokerQuotationProvider provider = new BinanceBrokerQuotationProvider(
+                BrokerQuotationProvider.DEFAULT_HISTORY_CAPACITY, PriceHistoryJournal.NONE);
+        quotationService = new QuotationService();
+        quotationService.registerBroker(provider);
+
+        SplittableRandom random = new SplittableRandom(42);
+        int hotSymbols = Math.max(1, symbols / 5);
+        poll = new ArrayList<>(ticksPerPoll);
+        for (int i = 0; i < ticksPerPoll; i++) {
+            int symbol = random.nextBoolean() ? random.nextInt(hotSymbols) : random.nextInt(symbols);
+            poll.add(PriceChangedEvent.builder()
+                    .broker(BROKER)
+                    .symbol(Symbol.of("SYM" + symbol + "/USD"))
+                    .currentPrice(Price.of(100 + random.nextDouble(), "USD"))
+                    .pctChange(random.nextDouble(-0.05, 0.05))
+                    .build());
+        }
+        pollStart = ZonedDateTime.ofInstant(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC);
+    }
+
+    @Setup(Level.Invocation)
+    public void stampPoll() {
+        pollStart = pollStart.plusSeconds(1);
+        for (int i = 0; i < poll.size(); i++) {
+            poll.get(i).setDateTime(pollStart.plusNanos(i * 1_000L));
+        }
+    }
+
+    @Benchmark
+    public void perTick() {
+        for (PriceChangedEvent event : poll) {
+            quotationService.onPriceChange(event);
+        }
+    }
+
+    @Benchmark
+    public void conflated() {
+        quotationService.onPriceChanges(poll);
+    }
+}
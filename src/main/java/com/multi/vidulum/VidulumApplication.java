@@ -17,6 +17,8 @@ import com.multi.vidulum.security.auth.AuthenticationService;
 import com.multi.vidulum.security.auth.RegisterRequest;
 import com.multi.vidulum.security.token.Token;
 import com.multi.vidulum.shared.cqrs.CommandGateway;
+import com.multi.vidulum.shared.cqrs.CommandLanes;
+import com.multi.vidulum.shared.cqrs.GatewayMetrics;
 import com.multi.vidulum.shared.cqrs.QueryGateway;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import com.multi.vidulum.shared.cqrs.queries.QueryHandler;
@@ -25,7 +27,9 @@ import com.multi.vidulum.trading.infrastructure.OrderEntity;
 import com.multi.vidulum.trading.infrastructure.TradeEntity;
 import com.multi.vidulum.user.infrastructure.UserEntity;
 import com.multi.vidulum.user_financial_profile.infrastructure.UserFinancialProfileEntity;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -33,6 +37,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 
 
@@ -48,15 +53,40 @@ public class VidulumApplication {
     }
 
     @Bean
-    public CommandGateway commandGateway(@Autowired List<CommandHandler<?, ?>> commandHandlers) {
-        CommandGateway commandGateway = new CommandGateway();
+    public GatewayMetrics.Settings cqrsMetricsSettings(
+            @Value("${vidulum.cqrs.metrics.percentile-histogram:false}") boolean percentileHistogram,
+            @Value("${vidulum.cqrs.metrics.percentiles:}") double[] percentiles,
+            @Value("${vidulum.cqrs.metrics.slow-threshold-ms:500}") long slowThresholdMs,
+            @Value("${vidulum.cqrs.metrics.slow-log-interval-ms:60000}") long slowLogIntervalMs) {
+        return new GatewayMetrics.Settings(
+                percentileHistogram, percentiles, Duration.ofMillis(slowThresholdMs), Duration.ofMillis(slowLogIntervalMs));
+    }
+
+    @Bean
+    public CommandLanes commandLanes(
+            @Value("${vidulum.cqrs.dispatch.max-pending-per-aggregate:1000}") int maxPendingPerAggregate,
+            @Value("${vidulum.cqrs.dispatch.max-pending:100000}") int maxPending,
+            MeterRegistry meterRegistry) {
+        return new CommandLanes(maxPendingPerAggregate, maxPending, meterRegistry);
+    }
+
+    @Bean
+    public CommandGateway commandGateway(@Autowired List<CommandHandler<?, ?>> commandHandlers,
+                                         MeterRegistry meterRegistry,
+                                         GatewayMetrics.Settings cqrsMetricsSettings,
+                                         CommandLanes commandLanes,
+                                         @Value("${vidulum.cqrs.dispatch.mode:SYNC}") CommandGateway.DispatchMode dispatchMode) {
+        CommandGateway commandGateway = new CommandGateway(
+                new GatewayMetrics("command", meterRegistry, cqrsMetricsSettings), commandLanes, dispatchMode);
         commandHandlers.forEach(commandGateway::registerCommandHandler);
         return commandGateway;
     }
 
     @Bean
-    public QueryGateway queryGateway(@Autowired List<QueryHandler<?, ?>> queryHandlers) {
-        QueryGateway queryGateway = new QueryGateway();
+    public QueryGateway queryGateway(@Autowired List<QueryHandler<?, ?>> queryHandlers,
+                                     MeterRegistry meterRegistry,
+                                     GatewayMetrics.Settings cqrsMetricsSettings) {
+        QueryGateway queryGateway = new QueryGateway(new GatewayMetrics("query", meterRegistry, cqrsMetricsSettings));
         queryHandlers.forEach(queryGateway::registerQueryHandler);
         return queryGateway;
     }
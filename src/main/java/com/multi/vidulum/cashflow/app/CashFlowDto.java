@@ -717,4 +717,47 @@ public final class CashFlowDto {
         /** Number of cash changes skipped (e.g., CONFIRMED status) */
         private int skippedCount;
     }
+
+    /**
+     * Request for batch append of expected cash changes.
+     * All cash changes are appended in one CashFlow transaction - either all of them or none.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AppendExpectedCashChangesBatchJson {
+        /** The recurring rule that generated the cash changes */
+        private String sourceRuleId;
+        /** Cash changes to append, in order */
+        private List<ExpectedCashChangeJson> cashChanges;
+    }
+
+    /**
+     * Single occurrence of a batch append request.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExpectedCashChangeJson {
+        private String category;
+        private String name;
+        private String description;
+        private Money money;
+        private Type type;
+        private ZonedDateTime dueDate;
+    }
+
+    /**
+     * Response for batch append operation.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AppendExpectedCashChangesBatchResponseJson {
+        /** IDs of the appended cash changes, in request order */
+        private List<String> cashChangeIds;
+    }
 }
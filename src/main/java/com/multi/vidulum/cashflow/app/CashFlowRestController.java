@@ -4,6 +4,7 @@ import com.multi.vidulum.cashflow.app.commands.archive.ArchiveCategoryCommand;
 import com.multi.vidulum.cashflow.app.commands.archive.UnarchiveCategoryCommand;
 import com.multi.vidulum.cashflow.app.commands.attesthistoricalimport.AttestHistoricalImportCommand;
 import com.multi.vidulum.cashflow.app.commands.append.AppendExpectedCashChangeCommand;
+import com.multi.vidulum.cashflow.app.commands.append.AppendExpectedCashChangesCommand;
 import com.multi.vidulum.cashflow.app.commands.append.AppendPaidCashChangeCommand;
 import com.multi.vidulum.cashflow.app.commands.delete.BatchDeleteExpectedCashChangesCommand;
 import com.multi.vidulum.cashflow.app.commands.delete.BatchDeleteResult;
@@ -11,6 +12,8 @@ import com.multi.vidulum.cashflow.app.commands.delete.DeleteExpectedCashChangeCo
 import com.multi.vidulum.cashflow.app.commands.rollbackimport.RollbackImportCommand;
 import com.multi.vidulum.cashflow.app.commands.rollover.RolloverMonthCommand;
 import com.multi.vidulum.cashflow.app.commands.rollover.RolloverMonthResult;
+import com.multi.vidulum.cashflow.app.commands.rollover.RolloverMonthsCommand;
+import com.multi.vidulum.cashflow.app.commands.rollover.RolloverMonthsResult;
 import com.multi.vidulum.cashflow.app.commands.budgeting.remove.RemoveBudgetingCommand;
 import com.multi.vidulum.cashflow.app.commands.budgeting.set.SetBudgetingCommand;
 import com.multi.vidulum.cashflow.app.commands.budgeting.update.UpdateBudgetingCommand;
@@ -41,6 +44,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.Clock;
 import java.time.YearMonth;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.Optional.ofNullable;
@@ -219,6 +223,54 @@ public class CashFlowRestController {
         return new CashFlowDto.AppendExpectedCashChangeResponse(cashChangeId.id());
     }
 
+    /**
+     * Batch append expected cash changes.
+     * <p>
+     * Used by Recurring Rules module to create all occurrences of a rule in one CashFlow transaction.
+     * Either all cash changes are appended or, if any of them is invalid, none.
+     *
+     * @param cashFlowId the CashFlow to append the cash changes to
+     * @param request    the batch append request
+     * @return IDs of the appended cash changes, in request order
+     */
+    @PostMapping("/cf={cashFlowId}/expected-cash-changes/batch")
+    public CashFlowDto.AppendExpectedCashChangesBatchResponseJson appendExpectedCashChanges(
+            @PathVariable("cashFlowId") String cashFlowId,
+            @RequestBody CashFlowDto.AppendExpectedCashChangesBatchJson request) {
+
+        List<CashFlowDto.ExpectedCashChangeJson> cashChanges = request.getCashChanges() != null
+                ? request.getCashChanges()
+                : List.of();
+        List<CashChangeId> ids = businessIdGenerator.generateCashChangeIds(cashChanges.size());
+
+        List<AppendExpectedCashChangesCommand.ExpectedCashChange> commands = new ArrayList<>(cashChanges.size());
+        for (int i = 0; i < cashChanges.size(); i++) {
+            CashFlowDto.ExpectedCashChangeJson cashChange = cashChanges.get(i);
+            commands.add(new AppendExpectedCashChangesCommand.ExpectedCashChange(
+                    ids.get(i),
+                    new CategoryName(cashChange.getCategory()),
+                    new Name(cashChange.getName()),
+                    new Description(cashChange.getDescription()),
+                    cashChange.getMoney(),
+                    cashChange.getType(),
+                    cashChange.getDueDate()
+            ));
+        }
+
+        List<CashChangeId> appended = commandGateway.send(
+                new AppendExpectedCashChangesCommand(
+                        CashFlowId.of(cashFlowId),
+                        request.getSourceRuleId(),
+                        ZonedDateTime.now(clock),
+                        commands
+                )
+        );
+
+        return CashFlowDto.AppendExpectedCashChangesBatchResponseJson.builder()
+                .cashChangeIds(appended.stream().map(CashChangeId::id).toList())
+                .build();
+    }
+
     @PostMapping("/paid-cash-change")
     public String appendPaidCashChange(@RequestBody CashFlowDto.AppendPaidCashChangeJson request) {
         CashChangeId cashChangeId = commandGateway.send(
@@ -509,28 +561,18 @@ public class CashFlowRestController {
                     "Target period [" + target + "] must be after current active period [" + firstPeriod + "]");
         }
 
-        int monthsRolledOver = 0;
-        YearMonth lastRolledOver = firstPeriod;
-        RolloverMonthResult lastResult = null;
-
-        // Rollover each month until we reach the target
-        YearMonth current = firstPeriod;
-        while (current.isBefore(target)) {
-            lastResult = commandGateway.send(
-                    new RolloverMonthCommand(cfId, now)
-            );
-            lastRolledOver = lastResult.rolledOverPeriod();
-            monthsRolledOver++;
-            current = current.plusMonths(1);
-        }
+        // Rollover all months up to the target in one aggregate transition
+        RolloverMonthsResult result = commandGateway.send(
+                new RolloverMonthsCommand(cfId, target, now)
+        );
 
         return CashFlowDto.BatchRolloverResponseJson.builder()
                 .cashFlowId(cashFlowId)
-                .monthsRolledOver(monthsRolledOver)
-                .firstRolledOverPeriod(firstPeriod)
-                .lastRolledOverPeriod(lastRolledOver)
-                .newActivePeriod(lastResult != null ? lastResult.newActivePeriod() : firstPeriod)
-                .closingBalance(lastResult != null ? lastResult.closingBalance() : null)
+                .monthsRolledOver(result.monthsRolledOver())
+                .firstRolledOverPeriod(result.firstRolledOverPeriod())
+                .lastRolledOverPeriod(result.lastRolledOverPeriod())
+                .newActivePeriod(result.newActivePeriod())
+                .closingBalance(result.closingBalance())
                 .build();
     }
 
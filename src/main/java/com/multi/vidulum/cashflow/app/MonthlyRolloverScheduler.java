@@ -1,129 +1,248 @@
 package com.multi.vidulum.cashflow.app;
 
-import com.multi.vidulum.cashflow.app.commands.rollover.RolloverMonthCommand;
-import com.multi.vidulum.cashflow.app.commands.rollover.RolloverMonthResult;
-import com.multi.vidulum.cashflow.domain.CashFlow;
+import com.multi.vidulum.cashflow.app.commands.rollover.RolloverMonthsCommand;
+import com.multi.vidulum.cashflow.app.commands.rollover.RolloverMonthsResult;
 import com.multi.vidulum.cashflow.domain.CashFlowId;
 import com.multi.vidulum.cashflow.domain.DomainCashFlowRepository;
+import com.multi.vidulum.common.JobLeaseRepository;
 import com.multi.vidulum.shared.cqrs.CommandGateway;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.YearMonth;
 import java.time.ZonedDateTime;
-import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * Scheduled job for automatic month rollover.
  * <p>
- * Runs at 02:00 UTC on the 1st day of each month.
- * Finds all CashFlows in OPEN status that have an activePeriod before the current month
- * and performs rollover for each.
+ * Runs every hour, on every node. Finds all CashFlows in OPEN status that have an activePeriod before
+ * the current month and performs rollover for each; once a month's shards are completed, a run only
+ * finds their leases completed.
+ * <p>
+ * The work is split into {@code shards} by CashFlow id number. A node processes a shard only while it holds
+ * the shard's lease for the current month ({@link JobLeaseRepository}), so nodes share the work
+ * instead of repeating it; a shard left unfinished by a failed node is taken over once its lease
+ * expires. A shard with failed CashFlows is not completed either, so the first run after the lease
+ * expires retries them, within the same month. Within a shard only the ids of CashFlows needing rollover are read, and each CashFlow is
+ * rolled over through {@link CommandGateway#sendAsync}, on its own command lane, at most
+ * {@code max-concurrency} at a time.
  * <p>
  * The scheduler supports catch-up: if a CashFlow's activePeriod is more than one month behind,
- * it will perform multiple rollovers to bring it up to the current month.
+ * a single {@link RolloverMonthsCommand} rolls it over to the current month in one aggregate load.
+ * <p>
+ * Meters: {@code vidulum.rollover.cashflows} (tagged {@code outcome=success|failure}),
+ * {@code vidulum.rollover.months}, {@code vidulum.rollover.shards} (tagged
+ * {@code outcome=processed|skipped}), {@code vidulum.rollover.in_flight} and {@code vidulum.rollover.job}.
  */
 @Slf4j
 @Component
-@AllArgsConstructor
 public class MonthlyRolloverScheduler {
 
+    private static final int RENEW_EVERY = 500;
+
     private final DomainCashFlowRepository domainCashFlowRepository;
+    private final JobLeaseRepository leaseRepository;
     private final CommandGateway commandGateway;
     private final Clock clock;
+    private final int shards;
+    private final int maxConcurrency;
+    private final Duration leaseTtl;
+    private final String owner;
+
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter monthsRolledOver;
+    private final Counter shardsProcessed;
+    private final Counter shardsSkipped;
+    private final Timer job;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public MonthlyRolloverScheduler(
+            DomainCashFlowRepository domainCashFlowRepository,
+            JobLeaseRepository leaseRepository,
+            CommandGateway commandGateway,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${vidulum.rollover.shards:16}") int shards,
+            @Value("${vidulum.rollover.max-concurrency:32}") int maxConcurrency,
+            @Value("${vidulum.rollover.lease-ttl-minutes:30}") long leaseTtlMinutes) {
+        this.domainCashFlowRepository = domainCashFlowRepository;
+        this.leaseRepository = leaseRepository;
+        this.commandGateway = commandGateway;
+        this.clock = clock;
+        this.shards = Math.max(1, shards);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.leaseTtl = Duration.ofMinutes(leaseTtlMinutes);
+        this.owner = JobLeaseRepository.newOwner();
+
+        this.succeeded = cashFlowCounter(meterRegistry, "success");
+        this.failed = cashFlowCounter(meterRegistry, "failure");
+        this.monthsRolledOver = Counter.builder("vidulum.rollover.months")
+                .description("Months rolled over by the monthly rollover job")
+                .register(meterRegistry);
+        this.shardsProcessed = shardCounter(meterRegistry, "processed");
+        this.shardsSkipped = shardCounter(meterRegistry, "skipped");
+        this.job = Timer.builder("vidulum.rollover.job")
+                .description("Duration of the monthly rollover job on this node")
+                .register(meterRegistry);
+        Gauge.builder("vidulum.rollover.in_flight", inFlight, AtomicInteger::get)
+                .description("CashFlows currently being rolled over on this node")
+                .register(meterRegistry);
+    }
 
     /**
-     * Scheduled job that runs at 02:00 UTC on the 1st of each month.
+     * Scheduled job that runs at the start of every hour.
      * <p>
-     * The cron expression "0 0 2 1 * *" means:
+     * The cron expression "0 0 * * * *" means:
      * - Second: 0
      * - Minute: 0
-     * - Hour: 2 (02:00)
-     * - Day of month: 1
+     * - Hour: * (every hour)
+     * - Day of month: * (every day)
      * - Month: * (every month)
      * - Day of week: * (any)
+     * <p>
+     * The first run of a month rolls the CashFlows over; later runs retry the shards whose leases expired
+     * uncompleted and otherwise cost one lease lookup per shard.
      */
-    @Scheduled(cron = "${vidulum.rollover.cron:0 0 2 1 * *}")
+    @Scheduled(cron = "${vidulum.rollover.cron:0 0 * * * *}")
     public void performMonthlyRollover() {
+        job.record(() -> rolloverAllShards(true));
+    }
+
+    /**
+     * @param leased whether shards are taken only under a lease; without leases this node processes
+     *               every shard, including those already completed this month
+     */
+    private void rolloverAllShards(boolean leased) {
         ZonedDateTime now = ZonedDateTime.now(clock);
         YearMonth currentMonth = YearMonth.from(now);
 
-        log.info("Starting monthly rollover job for period [{}]", currentMonth);
-
-        // Find all OPEN CashFlows that need rollover (activePeriod < currentMonth)
-        List<CashFlow> cashFlowsNeedingRollover = domainCashFlowRepository
-                .findOpenCashFlowsNeedingRollover(currentMonth);
-
-        if (cashFlowsNeedingRollover.isEmpty()) {
-            log.info("No CashFlows need rollover for period [{}]", currentMonth);
-            return;
-        }
-
-        log.info("Found [{}] CashFlows needing rollover", cashFlowsNeedingRollover.size());
+        log.info("Starting monthly rollover job for period [{}] on [{}] ({} shards)", currentMonth, owner, shards);
 
+        // nodes start at different shards so that they rarely contend for the same lease
+        int firstShard = ThreadLocalRandom.current().nextInt(shards);
         int successCount = 0;
         int failureCount = 0;
-
-        for (CashFlow cashFlow : cashFlowsNeedingRollover) {
-            CashFlowId cashFlowId = cashFlow.getSnapshot().cashFlowId();
-            YearMonth activePeriod = cashFlow.getSnapshot().activePeriod();
-
-            try {
-                // Perform catch-up rollover if needed (multiple months behind)
-                int rolloverCount = performCatchUpRollover(cashFlowId, activePeriod, currentMonth, now);
-                log.info("CashFlow [{}] rolled over [{}] month(s) successfully",
-                        cashFlowId.id(), rolloverCount);
-                successCount++;
-            } catch (Exception e) {
-                log.error("Failed to rollover CashFlow [{}]: {}", cashFlowId.id(), e.getMessage(), e);
-                failureCount++;
+        int processedShards = 0;
+
+        for (int i = 0; i < shards; i++) {
+            int shard = (firstShard + i) % shards;
+            String leaseId = "rollover:%s:%d/%d".formatted(currentMonth, shard, shards);
+            if (leased && !leaseRepository.tryAcquire(leaseId, owner, leaseTtl)) {
+                shardsSkipped.increment();
+                continue;
             }
+            ShardResult result = rolloverShard(shard, leased ? leaseId : null, currentMonth, now);
+            successCount += result.successes();
+            failureCount += result.failures();
+            if (result.leaseLost()) {
+                log.warn("Lost lease [{}] during rollover, remaining CashFlows are left to its new owner", leaseId);
+                continue;
+            }
+            if (leased && result.failures() > 0) {
+                // left to expire, so that the shard's failed CashFlows are retried by the next run taking it over
+                log.warn("Rollover of [{}] CashFlows failed, lease [{}] is left to expire", result.failures(), leaseId);
+            } else if (leased) {
+                leaseRepository.complete(leaseId, owner);
+            }
+            shardsProcessed.increment();
+            processedShards++;
         }
 
-        log.info("Monthly rollover job completed. Success: [{}], Failures: [{}]",
-                successCount, failureCount);
+        log.info("Monthly rollover job completed on [{}]. Shards: [{}], Success: [{}], Failures: [{}]",
+                owner, processedShards, successCount, failureCount);
     }
 
-    /**
-     * Performs catch-up rollover for a CashFlow that is behind by one or more months.
-     *
-     * @param cashFlowId   the CashFlow to rollover
-     * @param activePeriod the current active period of the CashFlow
-     * @param targetMonth  the target month (current calendar month)
-     * @param now          the current timestamp
-     * @return the number of rollovers performed
-     */
-    private int performCatchUpRollover(CashFlowId cashFlowId, YearMonth activePeriod,
-                                        YearMonth targetMonth, ZonedDateTime now) {
-        int rolloverCount = 0;
-        YearMonth currentPeriod = activePeriod;
-
-        // Rollover each month until we reach the target
-        while (currentPeriod.isBefore(targetMonth)) {
-            RolloverMonthResult result = commandGateway.send(
-                    new RolloverMonthCommand(cashFlowId, now)
-            );
-
-            log.debug("Rolled over CashFlow [{}] from [{}] to [{}]",
-                    cashFlowId.id(), result.rolledOverPeriod(), result.newActivePeriod());
-
-            currentPeriod = result.newActivePeriod();
-            rolloverCount++;
+    private record ShardResult(int successes, int failures, boolean leaseLost) {
+    }
+
+    private ShardResult rolloverShard(int shard, String leaseId, YearMonth currentMonth, ZonedDateTime now) {
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        boolean leaseLost = false;
+        int scanned = 0;
+
+        try (Stream<CashFlowId> cashFlowIds = domainCashFlowRepository.streamOpenCashFlowIdsNeedingRollover(currentMonth, shard, shards)) {
+            for (CashFlowId cashFlowId : (Iterable<CashFlowId>) cashFlowIds::iterator) {
+                if (leaseId != null && ++scanned % RENEW_EVERY == 0 && !leaseRepository.renew(leaseId, owner, leaseTtl)) {
+                    leaseLost = true;
+                    break;
+                }
+                permits.acquireUninterruptibly();
+                inFlight.incrementAndGet();
+                // on the CashFlow's command lane, so it never overlaps a user's command on the same CashFlow
+                commandGateway.<RolloverMonthsCommand, RolloverMonthsResult>sendAsync(
+                                new RolloverMonthsCommand(cashFlowId, currentMonth, now))
+                        .whenComplete((result, error) -> {
+                            try {
+                                if (recordOutcome(cashFlowId, result, error)) {
+                                    successes.incrementAndGet();
+                                } else {
+                                    failures.incrementAndGet();
+                                }
+                            } finally {
+                                inFlight.decrementAndGet();
+                                permits.release();
+                            }
+                        });
+            }
+        } finally {
+            // all permits back means every submitted rollover has completed
+            permits.acquireUninterruptibly(maxConcurrency);
         }
+        return new ShardResult(successes.get(), failures.get(), leaseLost);
+    }
 
-        return rolloverCount;
+    private boolean recordOutcome(CashFlowId cashFlowId, RolloverMonthsResult result, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            log.error("Failed to rollover CashFlow [{}]: {}", cashFlowId.id(), cause.getMessage(), cause);
+            failed.increment();
+            return false;
+        }
+        log.info("CashFlow [{}] rolled over [{}] month(s) successfully",
+                cashFlowId.id(), result.monthsRolledOver());
+        monthsRolledOver.increment(result.monthsRolledOver());
+        succeeded.increment();
+        return true;
     }
 
     /**
      * Manual trigger for rollover (useful for testing or catch-up scenarios).
      * <p>
      * This method can be called programmatically to trigger rollover outside the scheduled time.
+     * It ignores leases and processes all shards on the calling node.
      */
     public void triggerManualRollover() {
         log.info("Manual rollover triggered");
-        performMonthlyRollover();
+        job.record(() -> rolloverAllShards(false));
+    }
+
+    private static Counter cashFlowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("vidulum.rollover.cashflows")
+                .description("CashFlows processed by the monthly rollover job")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter shardCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("vidulum.rollover.shards")
+                .description("Rollover shards processed or skipped (leased by another node) on this node")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 }
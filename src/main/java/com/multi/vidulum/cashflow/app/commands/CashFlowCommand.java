@@ -0,0 +1,17 @@
+package com.multi.vidulum.cashflow.app.commands;
+
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.shared.cqrs.commands.AggregateCommand;
+
+/**
+ * Command against an existing CashFlow; serialised per {@link CashFlowId} under lane dispatch.
+ */
+public interface CashFlowCommand extends AggregateCommand {
+
+    CashFlowId cashFlowId();
+
+    @Override
+    default Object aggregateId() {
+        return cashFlowId();
+    }
+}
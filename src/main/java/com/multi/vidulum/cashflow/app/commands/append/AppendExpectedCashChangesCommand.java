@@ -0,0 +1,39 @@
+package com.multi.vidulum.cashflow.app.commands.append;
+
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.common.Money;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Command to append many expected cash changes to one CashFlow at once.
+ * <p>
+ * Used by the Recurring Rules module to create all occurrences of a rule in a single aggregate
+ * load and save instead of one {@link AppendExpectedCashChangeCommand} per occurrence.
+ * Either all cash changes are appended or, if any of them is invalid, none.
+ *
+ * @param cashFlowId   unique identifier of the cash flow
+ * @param sourceRuleId the recurring rule that generated the cash changes, may be null
+ * @param created      creation time of all cash changes
+ * @param cashChanges  cash changes to append, in order
+ */
+public record AppendExpectedCashChangesCommand(
+        CashFlowId cashFlowId,
+        String sourceRuleId,
+        ZonedDateTime created,
+        List<ExpectedCashChange> cashChanges
+) implements CashFlowCommand {
+
+    public record ExpectedCashChange(
+            CashChangeId cashChangeId,
+            CategoryName categoryName,
+            Name name,
+            Description description,
+            Money money,
+            Type type,
+            ZonedDateTime dueDate
+    ) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.multi.vidulum.cashflow.app.commands.append;
+
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
+import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Handler for appending a batch of expected cash changes.
+ * <p>
+ * Every cash change is validated like a single append before any of them is applied; the
+ * CashFlow is then loaded and saved once. One {@link CashFlowEvent.ExpectedCashChangeAppendedEvent}
+ * is still emitted per cash change, so read models handle a batch like the equivalent single appends.
+ * <p>
+ * Returns the ids of the appended cash changes in command order.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class AppendExpectedCashChangesCommandHandler implements CommandHandler<AppendExpectedCashChangesCommand, List<CashChangeId>> {
+
+    private final DomainCashFlowRepository domainCashFlowRepository;
+    private final CashFlowEventEmitter cashFlowEventEmitter;
+
+    @Override
+    public List<CashChangeId> handle(AppendExpectedCashChangesCommand command) {
+        CashFlow cashFlow = domainCashFlowRepository.findById(command.cashFlowId())
+                .orElseThrow(() -> new CashFlowDoesNotExistsException(command.cashFlowId()));
+
+        CashFlowSnapshot snapshot = cashFlow.getSnapshot();
+
+        // Validate: operation not allowed in SETUP mode
+        if (CashFlow.CashFlowStatus.SETUP.equals(snapshot.status())) {
+            throw new OperationNotAllowedInSetupModeException("appendExpectedCashChanges", command.cashFlowId());
+        }
+
+        if (command.cashChanges() == null || command.cashChanges().isEmpty()) {
+            log.info("No expected cash changes provided for batch append in CashFlow [{}]", command.cashFlowId());
+            return List.of();
+        }
+
+        command.cashChanges().forEach(cashChange -> ExpectedCashChangeValidator.validate(
+                snapshot, cashChange.categoryName(), cashChange.type(), cashChange.dueDate()));
+
+        List<CashFlowEvent.ExpectedCashChangeAppendedEvent> events = command.cashChanges().stream()
+                .map(cashChange -> new CashFlowEvent.ExpectedCashChangeAppendedEvent(
+                        command.cashFlowId(),
+                        cashChange.cashChangeId(),
+                        cashChange.name(),
+                        cashChange.description(),
+                        cashChange.money(),
+                        cashChange.type(),
+                        command.created(),
+                        cashChange.categoryName(),
+                        cashChange.dueDate(),
+                        command.sourceRuleId()))
+                .toList();
+        events.forEach(cashFlow::apply);
+
+        domainCashFlowRepository.save(cashFlow);
+
+        events.forEach(cashFlowEventEmitter::emit);
+
+        log.info("Appended [{}] expected cash changes for sourceRuleId [{}] to CashFlow [{}]",
+                events.size(), command.sourceRuleId(), command.cashFlowId());
+
+        return events.stream()
+                .map(CashFlowEvent.ExpectedCashChangeAppendedEvent::cashChangeId)
+                .toList();
+    }
+}
@@ -2,7 +2,7 @@ package com.multi.vidulum.cashflow.app.commands.append;
 
 import com.multi.vidulum.cashflow.domain.*;
 import com.multi.vidulum.common.Money;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 import java.time.ZonedDateTime;
 
@@ -17,5 +17,5 @@ public record AppendPaidCashChangeCommand(
         ZonedDateTime created,
         ZonedDateTime dueDate,
         ZonedDateTime paidDate
-) implements Command {
+) implements CashFlowCommand {
 }
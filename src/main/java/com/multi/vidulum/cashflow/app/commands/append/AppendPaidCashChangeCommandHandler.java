@@ -1,8 +1,6 @@
 package com.multi.vidulum.cashflow.app.commands.append;
 
 import com.multi.vidulum.cashflow.domain.*;
-import com.multi.vidulum.common.JsonContent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +9,6 @@ import org.springframework.stereotype.Component;
 import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @Component
@@ -70,12 +67,7 @@ public class AppendPaidCashChangeCommandHandler implements CommandHandler<Append
 
         domainCashFlowRepository.save(cashFlow);
 
-        cashFlowEventEmitter.emit(
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.PaidCashChangeAppendedEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emit(event);
 
         log.info("Paid cash change [{}] has been appended!", cashFlow.getSnapshot());
         return command.cashChangeId();
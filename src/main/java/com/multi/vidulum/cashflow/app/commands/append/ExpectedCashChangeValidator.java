@@ -0,0 +1,89 @@
+package com.multi.vidulum.cashflow.app.commands.append;
+
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
+
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Checks shared by the single and the batch append of expected cash changes.
+ */
+final class ExpectedCashChangeValidator {
+
+    private ExpectedCashChangeValidator() {
+    }
+
+    static void validate(CashFlowSnapshot snapshot, CategoryName categoryName, Type type, ZonedDateTime dueDate) {
+        // Validate: cannot add cash change to archived category
+        // When multiple categories with the same name exist (one archived, one active),
+        // we need to check if there's an active one available
+        List<Category> categories = type == Type.INFLOW
+                ? snapshot.inflowCategories()
+                : snapshot.outflowCategories();
+        Category activeCategory = findActiveCategory(categories, categoryName);
+        if (activeCategory == null) {
+            // No active category found - check if there's an archived one
+            Category archivedCategory = findArchivedCategory(categories, categoryName);
+            if (archivedCategory != null) {
+                throw new CategoryIsArchivedException(categoryName);
+            }
+            // No category at all - will be handled by domain layer
+        }
+
+        // Validate: dueDate must be within allowed range (activePeriod to activePeriod + 11 months)
+        validateDueDateRange(dueDate, snapshot.activePeriod());
+    }
+
+    /**
+     * Finds an active (non-archived) category by name.
+     */
+    private static Category findActiveCategory(List<Category> categories, CategoryName categoryName) {
+        for (Category category : categories) {
+            if (category.getCategoryName().equals(categoryName) && category.isActive()) {
+                return category;
+            }
+            // Check subcategories
+            Category found = findActiveCategory(category.getSubCategories(), categoryName);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds an archived category by name.
+     */
+    private static Category findArchivedCategory(List<Category> categories, CategoryName categoryName) {
+        for (Category category : categories) {
+            if (category.getCategoryName().equals(categoryName) && category.isArchived()) {
+                return category;
+            }
+            // Check subcategories
+            Category found = findArchivedCategory(category.getSubCategories(), categoryName);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Validates that dueDate is within allowed range.
+     * Allowed range: activePeriod (current month) to activePeriod + 11 months (forecasted period).
+     *
+     * @param dueDate      the due date to validate
+     * @param activePeriod the current active period
+     * @throws DueDateOutsideAllowedRangeException if dueDate is outside allowed range
+     */
+    private static void validateDueDateRange(ZonedDateTime dueDate, YearMonth activePeriod) {
+        YearMonth dueDateMonth = YearMonth.from(dueDate);
+        YearMonth maxAllowedMonth = activePeriod.plusMonths(11);
+
+        if (dueDateMonth.isBefore(activePeriod) || dueDateMonth.isAfter(maxAllowedMonth)) {
+            throw new DueDateOutsideAllowedRangeException(dueDate, activePeriod);
+        }
+    }
+}
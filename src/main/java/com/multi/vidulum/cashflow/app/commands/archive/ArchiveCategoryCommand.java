@@ -3,7 +3,7 @@ package com.multi.vidulum.cashflow.app.commands.archive;
 import com.multi.vidulum.cashflow.domain.CashFlowId;
 import com.multi.vidulum.cashflow.domain.CategoryName;
 import com.multi.vidulum.cashflow.domain.Type;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 /**
  * Command to archive a category, hiding it from new transactions while preserving historical data.
@@ -19,5 +19,5 @@ public record ArchiveCategoryCommand(
         CategoryName categoryName,
         Type categoryType,
         boolean forceArchiveChildren
-) implements Command {
+) implements CashFlowCommand {
 }
@@ -3,7 +3,7 @@ package com.multi.vidulum.cashflow.app.commands.archive;
 import com.multi.vidulum.cashflow.domain.CashFlowId;
 import com.multi.vidulum.cashflow.domain.CategoryName;
 import com.multi.vidulum.cashflow.domain.Type;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 /**
  * Command to unarchive a category, making it available for new transactions again.
@@ -16,5 +16,5 @@ public record UnarchiveCategoryCommand(
         CashFlowId cashFlowId,
         CategoryName categoryName,
         Type categoryType
-) implements Command {
+) implements CashFlowCommand {
 }
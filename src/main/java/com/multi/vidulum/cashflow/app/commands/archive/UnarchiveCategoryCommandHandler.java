@@ -1,8 +1,6 @@
 package com.multi.vidulum.cashflow.app.commands.archive;
 
 import com.multi.vidulum.cashflow.domain.*;
-import com.multi.vidulum.common.JsonContent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +9,6 @@ import org.springframework.stereotype.Component;
 import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Handler for unarchiving a category in a CashFlow.
@@ -66,12 +63,7 @@ public class UnarchiveCategoryCommandHandler implements CommandHandler<Unarchive
 
         domainCashFlowRepository.save(cashFlow);
 
-        cashFlowEventEmitter.emit(
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.CategoryUnarchivedEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emit(event);
 
         log.info("Category [{}] of type [{}] unarchived in cashflow [{}]",
                 command.categoryName().name(), command.categoryType(), command.cashFlowId().id());
@@ -2,7 +2,7 @@ package com.multi.vidulum.cashflow.app.commands.attest;
 
 import com.multi.vidulum.cashflow.domain.CashFlowId;
 import com.multi.vidulum.common.Money;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 import java.time.YearMonth;
 import java.time.ZonedDateTime;
@@ -12,5 +12,5 @@ public record MakeMonthlyAttestationCommand(
         YearMonth period,
         Money currentMoney,
         ZonedDateTime dateTime
-) implements Command {
+) implements CashFlowCommand {
 }
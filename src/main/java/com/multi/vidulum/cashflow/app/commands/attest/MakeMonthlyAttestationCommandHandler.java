@@ -1,14 +1,11 @@
 package com.multi.vidulum.cashflow.app.commands.attest;
 
 import com.multi.vidulum.cashflow.domain.*;
-import com.multi.vidulum.common.JsonContent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
 
 @Slf4j
 @Component
@@ -31,12 +28,7 @@ public class MakeMonthlyAttestationCommandHandler implements CommandHandler<Make
         cashFlow.apply(event);
         domainCashFlowRepository.save(cashFlow);
 
-        cashFlowEventEmitter.emit(
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.MonthAttestedEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emit(event);
         log.info("Cash flow [{}] period [{}] now is active!", command.cashFlowId(), command.period());
         return null;
     }
@@ -2,7 +2,7 @@ package com.multi.vidulum.cashflow.app.commands.attesthistoricalimport;
 
 import com.multi.vidulum.cashflow.domain.CashFlowId;
 import com.multi.vidulum.common.Money;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 /**
  * Command to attest a historical import, transitioning CashFlow from SETUP to OPEN mode.
@@ -18,5 +18,5 @@ public record AttestHistoricalImportCommand(
         Money confirmedBalance,
         boolean forceAttestation,
         boolean createAdjustment
-) implements Command {
+) implements CashFlowCommand {
 }
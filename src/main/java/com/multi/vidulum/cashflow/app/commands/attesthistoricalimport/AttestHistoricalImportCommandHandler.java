@@ -3,9 +3,7 @@ package com.multi.vidulum.cashflow.app.commands.attesthistoricalimport;
 import com.multi.vidulum.cashflow.domain.*;
 import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
 import com.multi.vidulum.common.BusinessIdGenerator;
-import com.multi.vidulum.common.JsonContent;
 import com.multi.vidulum.common.Money;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +11,6 @@ import org.springframework.stereotype.Component;
 
 import java.time.Clock;
 import java.time.ZonedDateTime;
-import java.util.Map;
 
 @Slf4j
 @Component
@@ -82,12 +79,7 @@ public class AttestHistoricalImportCommandHandler implements CommandHandler<Atte
                 command.cashFlowId().id(), confirmedBalance, calculatedBalance, difference,
                 event.forced(), adjustmentCashChangeId != null);
 
-        cashFlowEventEmitter.emit(
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.HistoricalImportAttestedEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emit(event);
 
         return cashFlow.getSnapshot();
     }
@@ -4,12 +4,12 @@ import com.multi.vidulum.cashflow.domain.CashFlowId;
 import com.multi.vidulum.cashflow.domain.CategoryName;
 import com.multi.vidulum.cashflow.domain.Type;
 import com.multi.vidulum.common.Money;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 public record SetBudgetingCommand(
         CashFlowId cashFlowId,
         CategoryName categoryName,
         Type categoryType,
         Money budget
-) implements Command {
+) implements CashFlowCommand {
 }
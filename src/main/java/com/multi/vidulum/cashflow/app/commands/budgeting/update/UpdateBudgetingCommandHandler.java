@@ -1,8 +1,6 @@
 package com.multi.vidulum.cashflow.app.commands.budgeting.update;
 
 import com.multi.vidulum.cashflow.domain.*;
-import com.multi.vidulum.common.JsonContent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,7 +8,6 @@ import org.springframework.stereotype.Component;
 
 import java.time.Clock;
 import java.time.ZonedDateTime;
-import java.util.Map;
 
 @Slf4j
 @Component
@@ -38,12 +35,7 @@ public class UpdateBudgetingCommandHandler implements CommandHandler<UpdateBudge
 
         domainCashFlowRepository.save(cashFlow);
 
-        cashFlowEventEmitter.emit(
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.BudgetingUpdatedEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emit(event);
 
         log.info("Budgeting updated for category [{}] in cashflow [{}]", command.categoryName().name(), command.cashFlowId().id());
         return null;
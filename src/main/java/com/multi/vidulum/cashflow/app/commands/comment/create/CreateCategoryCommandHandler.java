@@ -1,8 +1,6 @@
 package com.multi.vidulum.cashflow.app.commands.comment.create;
 
 import com.multi.vidulum.cashflow.domain.*;
-import com.multi.vidulum.common.JsonContent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +9,6 @@ import org.springframework.stereotype.Component;
 import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Handler for creating a new category in a CashFlow.
@@ -67,13 +64,7 @@ public class CreateCategoryCommandHandler implements CommandHandler<CreateCatego
         domainCashFlowRepository.save(cashFlow);
 
         // Use emitWithKey to ensure event ordering within the same CashFlow
-        cashFlowEventEmitter.emitWithKey(
-                command.cashFlowId(),
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.CategoryCreatedEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emitWithKey(command.cashFlowId(), event);
         log.info("New category [{}] has been added to cash flow [{}]", command.categoryName(), command.cashFlowId());
         return null;
     }
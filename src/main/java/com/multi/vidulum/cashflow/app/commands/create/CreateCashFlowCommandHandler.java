@@ -3,8 +3,6 @@ package com.multi.vidulum.cashflow.app.commands.create;
 import com.multi.vidulum.cashflow.domain.*;
 import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
 import com.multi.vidulum.common.BusinessIdGenerator;
-import com.multi.vidulum.common.JsonContent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +10,6 @@ import org.springframework.stereotype.Component;
 
 import java.time.Clock;
 import java.time.ZonedDateTime;
-import java.util.Map;
 
 @Slf4j
 @Component
@@ -46,12 +43,7 @@ public class CreateCashFlowCommandHandler implements CommandHandler<CreateCashFl
 
         CashFlow savedCashFlow = domainCashFlowRepository.save(cashFlow);
         log.info("Cash flow [{}] has been created!", savedCashFlow.getSnapshot());
-        cashFlowEventEmitter.emit(
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.CashFlowCreatedEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emit(event);
         return savedCashFlow.getSnapshot();
     }
 }
@@ -3,8 +3,6 @@ package com.multi.vidulum.cashflow.app.commands.create;
 import com.multi.vidulum.cashflow.domain.*;
 import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
 import com.multi.vidulum.common.BusinessIdGenerator;
-import com.multi.vidulum.common.JsonContent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +11,6 @@ import org.springframework.stereotype.Component;
 import java.time.Clock;
 import java.time.YearMonth;
 import java.time.ZonedDateTime;
-import java.util.Map;
 
 @Slf4j
 @Component
@@ -60,13 +57,7 @@ public class CreateCashFlowWithHistoryCommandHandler implements CommandHandler<C
         // Use emitWithKey to ensure event ordering within the same CashFlow.
         // The user_financial_profile module listens to this topic and claims/links the IBAN
         // to the user's owned-accounts registry (see UserFinancialProfileCashFlowListener).
-        cashFlowEventEmitter.emitWithKey(
-                event.cashFlowId(),
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.CashFlowWithHistoryCreatedEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emitWithKey(event.cashFlowId(), event);
 
         return savedCashFlow.getSnapshot();
     }
@@ -2,7 +2,7 @@ package com.multi.vidulum.cashflow.app.commands.delete;
 
 import com.multi.vidulum.cashflow.domain.CashChangeId;
 import com.multi.vidulum.cashflow.domain.CashFlowId;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 import java.util.List;
 
@@ -22,5 +22,5 @@ import java.util.List;
 public record BatchDeleteExpectedCashChangesCommand(
         CashFlowId cashFlowId,
         String sourceRuleId,
-        List<CashChangeId> cashChangeIds) implements Command {
+        List<CashChangeId> cashChangeIds) implements CashFlowCommand {
 }
@@ -3,8 +3,6 @@ package com.multi.vidulum.cashflow.app.commands.delete;
 import com.multi.vidulum.cashflow.domain.*;
 import com.multi.vidulum.cashflow.domain.snapshots.CashChangeSnapshot;
 import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
-import com.multi.vidulum.common.JsonContent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,7 +12,6 @@ import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Handler for batch deleting PENDING (expected) cash changes.
@@ -95,12 +92,7 @@ public class BatchDeleteExpectedCashChangesCommandHandler implements CommandHand
 
         domainCashFlowRepository.save(cashFlow);
 
-        cashFlowEventEmitter.emit(
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.ExpectedCashChangesBatchDeletedEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emit(event);
 
         log.info("Batch deleted [{}] expected cash changes for sourceRuleId [{}] from CashFlow [{}], skipped [{}]",
                 deletedIds.size(), command.sourceRuleId(), command.cashFlowId(), skippedCount);
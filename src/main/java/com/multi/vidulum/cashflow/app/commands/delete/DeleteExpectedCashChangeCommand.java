@@ -2,7 +2,7 @@ package com.multi.vidulum.cashflow.app.commands.delete;
 
 import com.multi.vidulum.cashflow.domain.CashChangeId;
 import com.multi.vidulum.cashflow.domain.CashFlowId;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 /**
  * Command to delete a single PENDING (expected) cash change.
@@ -15,5 +15,5 @@ import com.multi.vidulum.shared.cqrs.commands.Command;
  */
 public record DeleteExpectedCashChangeCommand(
         CashFlowId cashFlowId,
-        CashChangeId cashChangeId) implements Command {
+        CashChangeId cashChangeId) implements CashFlowCommand {
 }
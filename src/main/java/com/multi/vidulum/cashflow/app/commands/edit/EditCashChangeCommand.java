@@ -6,7 +6,7 @@ import com.multi.vidulum.cashflow.domain.CategoryName;
 import com.multi.vidulum.cashflow.domain.Description;
 import com.multi.vidulum.cashflow.domain.Name;
 import com.multi.vidulum.common.Money;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 import java.time.ZonedDateTime;
 
@@ -32,5 +32,5 @@ public record EditCashChangeCommand(
         Description description,
         Money money,
         CategoryName categoryName,
-        ZonedDateTime dueDate) implements Command {
+        ZonedDateTime dueDate) implements CashFlowCommand {
 }
@@ -3,8 +3,6 @@ package com.multi.vidulum.cashflow.app.commands.importhistorical;
 import com.multi.vidulum.cashflow.domain.*;
 import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
 import com.multi.vidulum.common.BusinessIdGenerator;
-import com.multi.vidulum.common.JsonContent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,7 +11,6 @@ import org.springframework.stereotype.Component;
 import java.time.Clock;
 import java.time.YearMonth;
 import java.time.ZonedDateTime;
-import java.util.Map;
 
 @Slf4j
 @Component
@@ -93,13 +90,7 @@ public class ImportHistoricalCashChangeCommandHandler implements CommandHandler<
 
         // Use emitWithKey to ensure event ordering within the same CashFlow
         // Critical for import: CategoryCreatedEvent must be processed before HistoricalCashChangeImportedEvent
-        cashFlowEventEmitter.emitWithKey(
-                command.cashFlowId(),
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.HistoricalCashChangeImportedEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emitWithKey(command.cashFlowId(), event);
 
         return cashChangeId;
     }
@@ -3,7 +3,7 @@ package com.multi.vidulum.cashflow.app.commands.move;
 import com.multi.vidulum.cashflow.domain.CashFlowId;
 import com.multi.vidulum.cashflow.domain.CategoryName;
 import com.multi.vidulum.cashflow.domain.Type;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 /**
  * Command to move a category to a different parent (or to root level) and/or reorder within siblings.
@@ -23,5 +23,5 @@ public record MoveCategoryCommand(
         CategoryName newParentCategoryName,
         Type categoryType,
         Integer position
-) implements Command {
+) implements CashFlowCommand {
 }
@@ -3,10 +3,10 @@ package com.multi.vidulum.cashflow.app.commands.reject;
 import com.multi.vidulum.cashflow.domain.CashChangeId;
 import com.multi.vidulum.cashflow.domain.CashFlowId;
 import com.multi.vidulum.common.Reason;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 public record RejectCashChangeCommand(
         CashFlowId cashFlowId,
         CashChangeId cashChangeId,
-        Reason reason) implements Command {
+        Reason reason) implements CashFlowCommand {
 }
@@ -1,7 +1,7 @@
 package com.multi.vidulum.cashflow.app.commands.rollbackimport;
 
 import com.multi.vidulum.cashflow.domain.CashFlowId;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 /**
  * Command to rollback (clear) all imported historical data from a CashFlow in SETUP mode.
@@ -13,5 +13,5 @@ import com.multi.vidulum.shared.cqrs.commands.Command;
 public record RollbackImportCommand(
         CashFlowId cashFlowId,
         boolean deleteCategories
-) implements Command {
+) implements CashFlowCommand {
 }
@@ -2,8 +2,6 @@ package com.multi.vidulum.cashflow.app.commands.rollbackimport;
 
 import com.multi.vidulum.cashflow.domain.*;
 import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
-import com.multi.vidulum.common.JsonContent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +10,6 @@ import org.springframework.stereotype.Component;
 import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Stack;
 
 @Slf4j
@@ -62,12 +59,7 @@ public class RollbackImportCommandHandler implements CommandHandler<RollbackImpo
         log.info("Import rolled back for CashFlow [{}]. Deleted [{}] transactions, [{}] categories (categoriesDeleted: [{}])",
                 command.cashFlowId().id(), transactionsCount, categoriesCount, command.deleteCategories());
 
-        cashFlowEventEmitter.emit(
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.ImportRolledBackEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emit(event);
 
         return cashFlow.getSnapshot();
     }
@@ -1,7 +1,7 @@
 package com.multi.vidulum.cashflow.app.commands.rollover;
 
 import com.multi.vidulum.cashflow.domain.CashFlowId;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 import java.time.ZonedDateTime;
 
@@ -33,5 +33,5 @@ import java.time.ZonedDateTime;
 public record RolloverMonthCommand(
         CashFlowId cashFlowId,
         ZonedDateTime dateTime
-) implements Command {
+) implements CashFlowCommand {
 }
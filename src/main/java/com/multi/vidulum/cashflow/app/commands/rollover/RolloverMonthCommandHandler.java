@@ -2,16 +2,13 @@ package com.multi.vidulum.cashflow.app.commands.rollover;
 
 import com.multi.vidulum.cashflow.domain.*;
 import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
-import com.multi.vidulum.common.JsonContent;
 import com.multi.vidulum.common.Money;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.YearMonth;
-import java.util.Map;
 
 /**
  * Handles RolloverMonthCommand - transitions the CashFlow from current month to the next.
@@ -67,12 +64,7 @@ public class RolloverMonthCommandHandler implements CommandHandler<RolloverMonth
         cashFlow.apply(event);
         domainCashFlowRepository.save(cashFlow);
 
-        cashFlowEventEmitter.emit(
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.MonthRolledOverEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emit(event);
 
         log.info("CashFlow [{}] rolled over successfully. New active period: [{}]",
                 command.cashFlowId().id(), newActivePeriod);
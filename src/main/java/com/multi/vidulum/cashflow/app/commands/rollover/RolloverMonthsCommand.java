@@ -0,0 +1,25 @@
+package com.multi.vidulum.cashflow.app.commands.rollover;
+
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+
+/**
+ * Command to rollover the CashFlow month by month until {@code targetPeriod} is ACTIVE.
+ * <p>
+ * Equivalent to one {@link RolloverMonthCommand} per lagging month, but the CashFlow is loaded and
+ * saved only once. A CashFlow whose active period is already at or after {@code targetPeriod} is
+ * left unchanged, so the command can safely be repeated (e.g. by the scheduler after a node failure).
+ *
+ * @param cashFlowId   unique identifier of the cash flow
+ * @param targetPeriod the period that should become ACTIVE
+ * @param dateTime     timestamp when the rollover is triggered
+ */
+public record RolloverMonthsCommand(
+        CashFlowId cashFlowId,
+        YearMonth targetPeriod,
+        ZonedDateTime dateTime
+) implements CashFlowCommand {
+}
@@ -0,0 +1,79 @@
+package com.multi.vidulum.cashflow.app.commands.rollover;
+
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Handles RolloverMonthsCommand - catch-up rollover over one or more months.
+ * <p>
+ * All lagging months are rolled over in one aggregate transition: the CashFlow is loaded once,
+ * a single {@link CashFlowEvent.MonthsRolledOverEvent} is applied and emitted, and the forecast
+ * processor closes all the months in one pass over the statement.
+ * <p>
+ * The closing balance of every rolled over month is the bank account's current balance,
+ * as in {@link RolloverMonthCommandHandler}.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class RolloverMonthsCommandHandler implements CommandHandler<RolloverMonthsCommand, RolloverMonthsResult> {
+
+    private final DomainCashFlowRepository domainCashFlowRepository;
+    private final CashFlowEventEmitter cashFlowEventEmitter;
+
+    @Override
+    public RolloverMonthsResult handle(RolloverMonthsCommand command) {
+        CashFlow cashFlow = domainCashFlowRepository.findById(command.cashFlowId())
+                .orElseThrow(() -> new CashFlowDoesNotExistsException(command.cashFlowId()));
+
+        CashFlowSnapshot snapshot = cashFlow.getSnapshot();
+
+        // Validate CashFlow is in OPEN status
+        if (snapshot.status() != CashFlow.CashFlowStatus.OPEN) {
+            throw new RolloverNotAllowedException(
+                    command.cashFlowId(),
+                    "CashFlow must be in OPEN status to perform rollover. Current status: " + snapshot.status());
+        }
+
+        YearMonth firstPeriod = snapshot.activePeriod();
+        Money closingBalance = snapshot.bankAccount().balance();
+
+        if (!firstPeriod.isBefore(command.targetPeriod())) {
+            log.info("CashFlow [{}] active period [{}] is not before [{}], nothing to roll over",
+                    command.cashFlowId().id(), firstPeriod, command.targetPeriod());
+            return new RolloverMonthsResult(command.cashFlowId(), 0, null, null, firstPeriod, closingBalance);
+        }
+
+        CashFlowEvent.MonthsRolledOverEvent event = new CashFlowEvent.MonthsRolledOverEvent(
+                command.cashFlowId(),
+                firstPeriod,
+                command.targetPeriod(),
+                closingBalance,
+                command.dateTime()
+        );
+        cashFlow.apply(event);
+
+        domainCashFlowRepository.save(cashFlow);
+
+        cashFlowEventEmitter.emit(event);
+
+        log.info("CashFlow [{}] rolled over [{}] month(s) from [{}] to [{}] with closing balance [{}]",
+                command.cashFlowId().id(), event.monthsRolledOver(), firstPeriod, command.targetPeriod(), closingBalance);
+
+        return new RolloverMonthsResult(
+                command.cashFlowId(),
+                event.monthsRolledOver(),
+                firstPeriod,
+                event.lastRolledOverPeriod(),
+                command.targetPeriod(),
+                closingBalance
+        );
+    }
+}
@@ -0,0 +1,26 @@
+package com.multi.vidulum.cashflow.app.commands.rollover;
+
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.common.Money;
+
+import java.time.YearMonth;
+
+/**
+ * Result of a multi-month rollover.
+ *
+ * @param cashFlowId            the CashFlow that was rolled over
+ * @param monthsRolledOver      number of months rolled over, 0 if the CashFlow was already up to date
+ * @param firstRolledOverPeriod the first period that was rolled over (the active period before the command)
+ * @param lastRolledOverPeriod  the last period that was rolled over
+ * @param newActivePeriod       the active period after the command
+ * @param closingBalance        the balance at the end of the rolled over periods
+ */
+public record RolloverMonthsResult(
+        CashFlowId cashFlowId,
+        int monthsRolledOver,
+        YearMonth firstRolledOverPeriod,
+        YearMonth lastRolledOverPeriod,
+        YearMonth newActivePeriod,
+        Money closingBalance
+) {
+}
@@ -5,7 +5,7 @@ import com.multi.vidulum.cashflow.domain.CashFlowId;
 import com.multi.vidulum.cashflow.domain.CategoryName;
 import com.multi.vidulum.cashflow.domain.Name;
 import com.multi.vidulum.common.Money;
-import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.cashflow.app.commands.CashFlowCommand;
 
 import java.util.List;
 
@@ -27,7 +27,7 @@ public record BatchUpdateCashChangesCommand(
         CashFlowId cashFlowId,
         String sourceRuleId,
         List<CashChangeId> cashChangeIds,
-        CashChangeUpdates updates) implements Command {
+        CashChangeUpdates updates) implements CashFlowCommand {
 
     /**
      * Represents the fields that can be updated in a batch operation.
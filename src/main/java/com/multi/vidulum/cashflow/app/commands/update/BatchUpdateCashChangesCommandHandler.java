@@ -3,8 +3,6 @@ package com.multi.vidulum.cashflow.app.commands.update;
 import com.multi.vidulum.cashflow.domain.*;
 import com.multi.vidulum.cashflow.domain.snapshots.CashChangeSnapshot;
 import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
-import com.multi.vidulum.common.JsonContent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -130,12 +128,7 @@ public class BatchUpdateCashChangesCommandHandler implements CommandHandler<Batc
 
         domainCashFlowRepository.save(cashFlow);
 
-        cashFlowEventEmitter.emit(
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", CashFlowEvent.CashChangesBatchUpdatedEvent.class.getSimpleName()))
-                        .content(JsonContent.asPrettyJson(event))
-                        .build()
-        );
+        cashFlowEventEmitter.emit(event);
 
         log.info("Batch updated [{}] cash changes for sourceRuleId [{}] in CashFlow [{}], skipped [{}]. Changes: {}",
                 updatedIds.size(), command.sourceRuleId(), command.cashFlowId(), skippedCount, changes.keySet());
@@ -467,6 +467,29 @@ public class CashFlow implements Aggregate<CashFlowId, CashFlowSnapshot> {
         add(event);
     }
 
+    /**
+     * Applies a catch-up rollover of several months in one transition.
+     * <p>
+     * Same as applying one {@link CashFlowEvent.MonthRolledOverEvent} per rolled over month:
+     * activePeriod moves to the new active period and the bank account balance to the closing balance.
+     */
+    public void apply(CashFlowEvent.MonthsRolledOverEvent event) {
+        if (!activePeriod.equals(event.firstRolledOverPeriod())) {
+            throw new IllegalArgumentException(
+                    "Active period [%s] does not match first rolled over period: [%s]"
+                            .formatted(activePeriod, event.firstRolledOverPeriod()));
+        }
+        if (!event.newActivePeriod().isAfter(activePeriod)) {
+            throw new IllegalArgumentException(
+                    "New active period [%s] must be after current active period [%s]"
+                            .formatted(event.newActivePeriod(), activePeriod));
+        }
+
+        activePeriod = event.newActivePeriod();
+        bankAccount = bankAccount.withUpdatedBalance(event.closingBalance());
+        add(event);
+    }
+
     public void apply(CashFlowEvent.CategoryCreatedEvent event) {
         List<Category> categories = Type.INFLOW.equals(event.type()) ? inflowCategories : outflowCategories;
 
@@ -18,6 +18,7 @@ public class CashFlowAggregateProjector {
                 case CashFlowEvent.ImportRolledBackEvent event -> cashFlow.apply(event);
                 case CashFlowEvent.MonthAttestedEvent event -> cashFlow.apply(event);
                 case CashFlowEvent.MonthRolledOverEvent event -> cashFlow.apply(event);
+                case CashFlowEvent.MonthsRolledOverEvent event -> cashFlow.apply(event);
                 case CashFlowEvent.ExpectedCashChangeAppendedEvent event -> cashFlow.apply(event);
                 case CashFlowEvent.PaidCashChangeAppendedEvent event -> cashFlow.apply(event);
                 case CashFlowEvent.CashChangeConfirmedEvent event -> cashFlow.apply(event);
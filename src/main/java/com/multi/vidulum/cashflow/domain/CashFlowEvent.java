@@ -7,6 +7,7 @@ import com.multi.vidulum.shared.ddd.event.DomainEvent;
 
 import java.time.YearMonth;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +20,7 @@ public sealed interface CashFlowEvent extends DomainEvent
         CashFlowEvent.HistoricalCashChangeImportedEvent,
         CashFlowEvent.MonthAttestedEvent,
         CashFlowEvent.MonthRolledOverEvent,
+        CashFlowEvent.MonthsRolledOverEvent,
         CashFlowEvent.ExpectedCashChangeAppendedEvent,
         CashFlowEvent.PaidCashChangeAppendedEvent,
         CashFlowEvent.CashChangeConfirmedEvent,
@@ -212,6 +214,45 @@ public sealed interface CashFlowEvent extends DomainEvent
         }
     }
 
+    /**
+     * Event emitted when several consecutive months are rolled over at once (catch-up rollover).
+     * <p>
+     * Equivalent to one {@link MonthRolledOverEvent} per month from {@code firstRolledOverPeriod}
+     * up to (but not including) {@code newActivePeriod}, all with the same closing balance.
+     *
+     * @param cashFlowId            unique identifier of the cash flow
+     * @param firstRolledOverPeriod the first period that was rolled over (the previous active period)
+     * @param newActivePeriod       the new active period (becomes ACTIVE)
+     * @param closingBalance        the balance at the end of every rolled over period
+     * @param rolledOverAt          timestamp when the rollover occurred
+     */
+    record MonthsRolledOverEvent(
+            CashFlowId cashFlowId,
+            YearMonth firstRolledOverPeriod,
+            YearMonth newActivePeriod,
+            Money closingBalance,
+            ZonedDateTime rolledOverAt
+    ) implements CashFlowEvent {
+        @Override
+        public ZonedDateTime occurredAt() {
+            return rolledOverAt;
+        }
+
+        /**
+         * @return the last period that was rolled over
+         */
+        public YearMonth lastRolledOverPeriod() {
+            return newActivePeriod.minusMonths(1);
+        }
+
+        /**
+         * @return number of rolled over months
+         */
+        public int monthsRolledOver() {
+            return (int) firstRolledOverPeriod.until(newActivePeriod, ChronoUnit.MONTHS);
+        }
+    }
+
     record ExpectedCashChangeAppendedEvent(CashFlowId cashFlowId, CashChangeId cashChangeId, Name name, Description description,
                                    Money money, Type type, ZonedDateTime created, CategoryName categoryName,
                                    ZonedDateTime dueDate, String sourceRuleId) implements CashFlowEvent {
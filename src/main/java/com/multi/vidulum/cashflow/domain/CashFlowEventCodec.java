@@ -0,0 +1,51 @@
+package com.multi.vidulum.cashflow.domain;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.multi.vidulum.common.JsonContent;
+import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Decodes {@code cash_flow} records straight into {@link CashFlowEvent}s.
+ * <p>
+ * The registry maps every permitted {@link CashFlowEvent} subtype, by simple class name, to a
+ * pre-built {@link ObjectReader}; it is derived from the sealed hierarchy, so a new event type
+ * is picked up without touching any listener. Listeners then dispatch with a pattern
+ * {@code switch} over the sealed type, as {@code CashFlowForecastProcessor} does.
+ */
+public final class CashFlowEventCodec {
+
+    private static final ObjectReader LEGACY_ENVELOPE_READER = JsonContent.readerFor(CashFlowUnifiedEvent.class);
+
+    private static final Map<String, ObjectReader> READERS = Arrays.stream(CashFlowEvent.class.getPermittedSubclasses())
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, JsonContent::readerFor));
+
+    private CashFlowEventCodec() {
+    }
+
+    public static CashFlowEvent decode(ConsumerRecord<String, byte[]> record) {
+        try {
+            if (CashFlowEventEnvelope.isV2(record.headers())) {
+                return readerFor(CashFlowEventEnvelope.eventType(record.headers())).readValue(record.value());
+            }
+            CashFlowUnifiedEvent envelope = LEGACY_ENVELOPE_READER.readValue(record.value());
+            return readerFor((String) envelope.getMetadata().get("event")).readValue(envelope.getContent().content());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode cash_flow record at offset " + record.offset(), e);
+        }
+    }
+
+    private static ObjectReader readerFor(String eventType) {
+        ObjectReader reader = READERS.get(eventType);
+        if (reader == null) {
+            throw new IllegalStateException("Unexpected value: " + eventType);
+        }
+        return reader;
+    }
+}
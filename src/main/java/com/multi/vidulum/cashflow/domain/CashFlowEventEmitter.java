@@ -1,8 +1,7 @@
 package com.multi.vidulum.cashflow.domain;
 
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
@@ -10,17 +9,26 @@ import java.util.concurrent.ExecutionException;
 
 @Slf4j
 @Component
-@AllArgsConstructor
 public class CashFlowEventEmitter {
-    private final KafkaTemplate<String, CashFlowUnifiedEvent> cashFlowUnifiedEventKafkaTemplate;
+    private static final String TOPIC = "cash_flow";
+
+    private final KafkaTemplate<String, byte[]> cashFlowEventKafkaTemplate;
+    private final CashFlowEventEnvelope.Version envelopeVersion;
+
+    public CashFlowEventEmitter(
+            KafkaTemplate<String, byte[]> cashFlowEventKafkaTemplate,
+            @Value("${vidulum.kafka.cash-flow.envelope-version:V2}") CashFlowEventEnvelope.Version envelopeVersion) {
+        this.cashFlowEventKafkaTemplate = cashFlowEventKafkaTemplate;
+        this.envelopeVersion = envelopeVersion;
+    }
 
     /**
      * Emit event without key (legacy behavior).
      * Events will be distributed across partitions without ordering guarantee.
      */
-    public void emit(CashFlowUnifiedEvent event) {
+    public void emit(CashFlowEvent event) {
         log.info("Event emitted: [{}]", event);
-        cashFlowUnifiedEventKafkaTemplate.send("cash_flow", event);
+        cashFlowEventKafkaTemplate.send(CashFlowEventEnvelope.encode(TOPIC, null, event, envelopeVersion));
     }
 
     /**
@@ -30,11 +38,11 @@ public class CashFlowEventEmitter {
      *
      * This method blocks until the message is acknowledged by Kafka.
      */
-    public void emitWithKey(CashFlowId cashFlowId, CashFlowUnifiedEvent event) {
+    public void emitWithKey(CashFlowId cashFlowId, CashFlowEvent event) {
         String key = cashFlowId.id();
         log.info("Event emitted with key [{}]: [{}]", key, event);
         try {
-            cashFlowUnifiedEventKafkaTemplate.send("cash_flow", key, event).get();
+            cashFlowEventKafkaTemplate.send(CashFlowEventEnvelope.encode(TOPIC, key, event, envelopeVersion)).get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("Interrupted while sending Kafka event", e);
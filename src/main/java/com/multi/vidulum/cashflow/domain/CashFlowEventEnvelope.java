@@ -0,0 +1,82 @@
+package com.multi.vidulum.cashflow.domain;
+
+import com.multi.vidulum.common.JsonContent;
+import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Wire format of records on the {@code cash_flow} topic.
+ * <p>
+ * <b>V1</b> (legacy) - the record value is a JSON {@link CashFlowUnifiedEvent}
+ * ({@code {"metadata":{"event":"..."},"content":{"content":"<pretty JSON>"}}}),
+ * so the event is encoded twice and has to be parsed twice.
+ * <p>
+ * <b>V2</b> - the record value is the compact JSON of the {@link CashFlowEvent} itself, encoded once.
+ * Everything a consumer needs for routing travels in headers:
+ * <ul>
+ *   <li>{@value #VERSION_HEADER} - {@code 2}</li>
+ *   <li>{@value #EVENT_TYPE_HEADER} - simple class name of the event, e.g. {@code CashFlowCreatedEvent}</li>
+ *   <li>{@value #CASH_FLOW_ID_HEADER} - id of the CashFlow the event belongs to</li>
+ *   <li>{@value #CONTENT_TYPE_HEADER} - {@value #CONTENT_TYPE_JSON}</li>
+ * </ul>
+ * <p>
+ * {@link CashFlowEventCodec} reads both versions, so consumers can be rolled out before producers switch to V2.
+ */
+public final class CashFlowEventEnvelope {
+
+    public static final String VERSION_HEADER = "envelope-version";
+    public static final String EVENT_TYPE_HEADER = "event-type";
+    public static final String CASH_FLOW_ID_HEADER = "cash-flow-id";
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String CONTENT_TYPE_JSON = "application/json";
+
+    private static final byte[] V2_MARKER = "2".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CONTENT_TYPE_JSON_BYTES = CONTENT_TYPE_JSON.getBytes(StandardCharsets.UTF_8);
+
+    public enum Version {
+        V1,
+        V2
+    }
+
+    private CashFlowEventEnvelope() {
+    }
+
+    public static ProducerRecord<String, byte[]> encode(String topic, String key, CashFlowEvent event, Version version) {
+        String eventType = event.getClass().getSimpleName();
+        return switch (version) {
+            case V1 -> new ProducerRecord<>(topic, key, JsonContent.asJsonBytes(
+                    CashFlowUnifiedEvent.builder()
+                            .metadata(Map.of("event", eventType))
+                            .content(JsonContent.asPrettyJson(event))
+                            .build()));
+            case V2 -> {
+                ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, key, JsonContent.asJsonBytes(event));
+                Headers headers = record.headers();
+                headers.add(VERSION_HEADER, V2_MARKER);
+                headers.add(EVENT_TYPE_HEADER, eventType.getBytes(StandardCharsets.UTF_8));
+                headers.add(CASH_FLOW_ID_HEADER, event.cashFlowId().id().getBytes(StandardCharsets.UTF_8));
+                headers.add(CONTENT_TYPE_HEADER, CONTENT_TYPE_JSON_BYTES);
+                yield record;
+            }
+        };
+    }
+
+    public static boolean isV2(Headers headers) {
+        Header version = headers.lastHeader(VERSION_HEADER);
+        return version != null && Arrays.equals(version.value(), V2_MARKER);
+    }
+
+    /**
+     * Event type from the {@value #EVENT_TYPE_HEADER} header, or null for V1 records.
+     */
+    public static String eventType(Headers headers) {
+        Header eventType = headers.lastHeader(EVENT_TYPE_HEADER);
+        return eventType != null ? new String(eventType.value(), StandardCharsets.UTF_8) : null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.multi.vidulum.cashflow.domain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+
+import java.util.Set;
+
+/**
+ * Drops {@code cash_flow} records whose {@value CashFlowEventEnvelope#EVENT_TYPE_HEADER} header
+ * is not one of {@code acceptedEventTypes}, before the listener decodes them.
+ * <p>
+ * V1 records carry no headers and are always passed on; the listener has to ignore them itself.
+ * Outcomes are counted in {@code vidulum.kafka.listener.records}, tagged by listener and
+ * {@code outcome=filtered|processed}.
+ */
+public class CashFlowEventTypeFilter implements RecordFilterStrategy<String, byte[]> {
+
+    private final Set<String> acceptedEventTypes;
+    private final Counter filtered;
+    private final Counter processed;
+
+    public CashFlowEventTypeFilter(String listener, Set<String> acceptedEventTypes, MeterRegistry meterRegistry) {
+        this.acceptedEventTypes = Set.copyOf(acceptedEventTypes);
+        this.filtered = counter(meterRegistry, listener, "filtered");
+        this.processed = counter(meterRegistry, listener, "processed");
+    }
+
+    @Override
+    public boolean filter(ConsumerRecord<String, byte[]> record) {
+        String eventType = CashFlowEventEnvelope.eventType(record.headers());
+        if (eventType != null && !acceptedEventTypes.contains(eventType)) {
+            filtered.increment();
+            return true;
+        }
+        processed.increment();
+        return false;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String listener, String outcome) {
+        return Counter.builder("vidulum.kafka.listener.records")
+                .description("cash_flow records seen by a selective listener")
+                .tag("topic", "cash_flow")
+                .tag("listener", listener)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
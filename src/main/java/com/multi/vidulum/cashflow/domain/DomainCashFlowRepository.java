@@ -6,6 +6,7 @@ import com.multi.vidulum.shared.ddd.event.DomainEvent;
 
 import java.time.YearMonth;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface DomainCashFlowRepository extends DomainRepository<CashFlowId, CashFlow> {
     List<DomainEvent> findDomainEvents(CashFlowId cashFlowId);
@@ -13,13 +14,18 @@ public interface DomainCashFlowRepository extends DomainRepository<CashFlowId, C
     List<CashFlow> findDetailsByUserId(UserId userId);
 
     /**
-     * Finds all CashFlows in OPEN status that need rollover.
+     * Streams the ids of CashFlows in OPEN status that need rollover, reading only the ids.
      * A CashFlow needs rollover when its activePeriod is before the given target period.
+     * Only CashFlows of one shard are returned: those whose id number modulo {@code shards} is {@code shard}.
+     * <p>
+     * The stream holds a database cursor and must be closed.
      *
      * @param targetPeriod the target period - CashFlows with activePeriod before this need rollover
-     * @return list of CashFlows needing rollover
+     * @param shard        the shard to return, from 0 to {@code shards - 1}
+     * @param shards       the number of shards
+     * @return ids of CashFlows needing rollover
      */
-    List<CashFlow> findOpenCashFlowsNeedingRollover(YearMonth targetPeriod);
+    Stream<CashFlowId> streamOpenCashFlowIdsNeedingRollover(YearMonth targetPeriod, int shard, int shards);
 
     /**
      * Checks if a CashFlow with the given name already exists for the specified user.
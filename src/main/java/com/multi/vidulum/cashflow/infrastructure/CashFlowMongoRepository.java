@@ -1,9 +1,7 @@
 package com.multi.vidulum.cashflow.infrastructure;
 
-import com.multi.vidulum.cashflow.domain.CashFlow;
 import com.multi.vidulum.cashflow.infrastructure.entity.CashFlowEntity;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,17 +12,6 @@ public interface CashFlowMongoRepository extends MongoRepository<CashFlowEntity,
 
     List<CashFlowEntity> findByUserId(String userId);
 
-    /**
-     * Finds all CashFlows in OPEN status that need rollover.
-     * A CashFlow needs rollover when its activePeriod is before the given period.
-     *
-     * @param status       the status to filter by (should be OPEN)
-     * @param targetPeriod the target period (format: yyyy-MM) - CashFlows with activePeriod before this need rollover
-     * @return list of CashFlow entities needing rollover
-     */
-    @Query("{ 'status': ?0, 'activePeriod': { $lt: ?1 } }")
-    List<CashFlowEntity> findByStatusAndActivePeriodBefore(CashFlow.CashFlowStatus status, String targetPeriod);
-
     /**
      * Checks if a CashFlow with the given name already exists for the specified user.
      *
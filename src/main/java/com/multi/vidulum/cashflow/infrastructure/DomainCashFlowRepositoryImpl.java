@@ -8,6 +8,10 @@ import com.multi.vidulum.common.UserId;
 import com.multi.vidulum.shared.ddd.event.DomainEvent;
 import com.multi.vidulum.shared.ddd.event.StoredDomainEvent;
 import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
 
 import java.time.Clock;
@@ -18,12 +22,17 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @AllArgsConstructor
 public class DomainCashFlowRepositoryImpl implements DomainCashFlowRepository {
 
+    private static final String CASH_FLOW_COLLECTION = "cash-flow-document";
+    private static final int ROLLOVER_SCAN_BATCH_SIZE = 1000;
+
     private final CashFlowMongoRepository cashFlowMongoRepository;
+    private final MongoTemplate mongoTemplate;
     private final Map<CashFlowId, List<StoredDomainEvent>> eventStore = new ConcurrentHashMap<>();
     private final Clock clock;
 
@@ -80,13 +89,18 @@ public class DomainCashFlowRepositoryImpl implements DomainCashFlowRepository {
     }
 
     @Override
-    public List<CashFlow> findOpenCashFlowsNeedingRollover(YearMonth targetPeriod) {
-        return cashFlowMongoRepository
-                .findByStatusAndActivePeriodBefore(CashFlow.CashFlowStatus.OPEN, targetPeriod.toString())
-                .stream()
-                .map(CashFlowEntity::toSnapshot)
-                .map(CashFlow::from)
-                .toList();
+    public Stream<CashFlowId> streamOpenCashFlowIdsNeedingRollover(YearMonth targetPeriod, int shard, int shards) {
+        // shard = number part of the id (CFxxxxxxxx) modulo shards
+        Document idNumberModShards = new Document("$mod", List.of(
+                new Document("$toLong", new Document("$substrCP", List.of("$_id", 2, 8))),
+                shards));
+        Document filter = new Document("status", CashFlow.CashFlowStatus.OPEN.name())
+                .append("activePeriod", new Document("$lt", targetPeriod.toString()))
+                .append("$expr", new Document("$eq", List.of(idNumberModShards, shard)));
+        Query query = new BasicQuery(filter, new Document("_id", 1));
+        query.cursorBatchSize(ROLLOVER_SCAN_BATCH_SIZE);
+        return mongoTemplate.stream(query, Document.class, CASH_FLOW_COLLECTION)
+                .map(document -> CashFlowId.of(document.getString("_id")));
     }
 
     @Override
@@ -1,10 +1,11 @@
 package com.multi.vidulum.cashflow_forecast_processor.app;
 
 import com.multi.vidulum.cashflow.domain.CashFlowEvent;
+import com.multi.vidulum.cashflow.domain.CashFlowEventCodec;
 import com.multi.vidulum.cashflow_forecast_processor.app.processing.CashFlowForecastProcessor;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
@@ -13,88 +14,22 @@ import org.springframework.stereotype.Component;
 @AllArgsConstructor
 public class CashFlowEventListener {
 
+    /**
+     * Listener container id, looked up by {@link ForecastProcessorHealthIndicator} for the consumer's records lag.
+     */
+    public static final String LISTENER_ID = "forecastProcessor";
+
     private final CashFlowForecastProcessor cashFlowForecastProcessor;
 
     @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
             groupId = "group_id7",
             topics = "cash_flow",
-            containerFactory = "cashFlowUnifiedEventContainerFactory")
-    public void on(CashFlowUnifiedEvent event) {
-        log.debug("CashFlowUnifiedEvent captured: [{}]", event);
-        CashFlowEvent cashFlowEvent = map(event);
+            containerFactory = "cashFlowEventContainerFactory")
+    public void on(ConsumerRecord<String, byte[]> record) {
+        CashFlowEvent cashFlowEvent = CashFlowEventCodec.decode(record);
+        log.debug("CashFlowEvent captured: [{}]", cashFlowEvent);
         cashFlowForecastProcessor.process(cashFlowEvent);
     }
-
-    private CashFlowEvent map(CashFlowUnifiedEvent event) {
-        String eventType = (String) event.getMetadata().get("event");
-        switch (eventType) {
-            case "CashFlowCreatedEvent" -> {
-                return event.getContent().to(CashFlowEvent.CashFlowCreatedEvent.class);
-            }
-            case "CashFlowWithHistoryCreatedEvent" -> {
-                return event.getContent().to(CashFlowEvent.CashFlowWithHistoryCreatedEvent.class);
-            }
-            case "HistoricalCashChangeImportedEvent" -> {
-                return event.getContent().to(CashFlowEvent.HistoricalCashChangeImportedEvent.class);
-            }
-            case "HistoricalImportAttestedEvent" -> {
-                return event.getContent().to(CashFlowEvent.HistoricalImportAttestedEvent.class);
-            }
-            case "ImportRolledBackEvent" -> {
-                return event.getContent().to(CashFlowEvent.ImportRolledBackEvent.class);
-            }
-            case "MonthAttestedEvent" -> {
-                return event.getContent().to(CashFlowEvent.MonthAttestedEvent.class);
-            }
-            case "MonthRolledOverEvent" -> {
-                return event.getContent().to(CashFlowEvent.MonthRolledOverEvent.class);
-            }
-            case "ExpectedCashChangeAppendedEvent" -> {
-                return event.getContent().to(CashFlowEvent.ExpectedCashChangeAppendedEvent.class);
-            }
-            case "PaidCashChangeAppendedEvent" -> {
-                return event.getContent().to(CashFlowEvent.PaidCashChangeAppendedEvent.class);
-            }
-            case "CashChangeEditedEvent" -> {
-                return event.getContent().to(CashFlowEvent.CashChangeEditedEvent.class);
-            }
-            case "CashChangeConfirmedEvent" -> {
-                return event.getContent().to(CashFlowEvent.CashChangeConfirmedEvent.class);
-            }
-            case "CashChangeRejectedEvent" -> {
-                return event.getContent().to(CashFlowEvent.CashChangeRejectedEvent.class);
-            }
-            case "CategoryCreatedEvent" -> {
-                return event.getContent().to(CashFlowEvent.CategoryCreatedEvent.class);
-            }
-            case "BudgetingSetEvent" -> {
-                return event.getContent().to(CashFlowEvent.BudgetingSetEvent.class);
-            }
-            case "BudgetingUpdatedEvent" -> {
-                return event.getContent().to(CashFlowEvent.BudgetingUpdatedEvent.class);
-            }
-            case "BudgetingRemovedEvent" -> {
-                return event.getContent().to(CashFlowEvent.BudgetingRemovedEvent.class);
-            }
-            case "CategoryArchivedEvent" -> {
-                return event.getContent().to(CashFlowEvent.CategoryArchivedEvent.class);
-            }
-            case "CategoryUnarchivedEvent" -> {
-                return event.getContent().to(CashFlowEvent.CategoryUnarchivedEvent.class);
-            }
-            case "CategoryMovedEvent" -> {
-                return event.getContent().to(CashFlowEvent.CategoryMovedEvent.class);
-            }
-            case "ExpectedCashChangeDeletedEvent" -> {
-                return event.getContent().to(CashFlowEvent.ExpectedCashChangeDeletedEvent.class);
-            }
-            case "ExpectedCashChangesBatchDeletedEvent" -> {
-                return event.getContent().to(CashFlowEvent.ExpectedCashChangesBatchDeletedEvent.class);
-            }
-            case "CashChangesBatchUpdatedEvent" -> {
-                return event.getContent().to(CashFlowEvent.CashChangesBatchUpdatedEvent.class);
-            }
-            default -> throw new IllegalStateException("Unexpected value: " + eventType);
-        }
-    }
 }
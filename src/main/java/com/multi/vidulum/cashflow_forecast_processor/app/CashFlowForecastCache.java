@@ -0,0 +1,123 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of mapped forecast statements, keyed by CashFlowId.
+ * <p>
+ * Entries are not validated on read; they stay correct because they are evicted by
+ * {@link com.multi.vidulum.cashflow_forecast_processor.app.processing.CashFlowForecastProcessor}
+ * after every applied event, on every other node through {@link CashFlowForecastInvalidationListener},
+ * and by {@link RecurringRuleDefinitionListener} when the projected occurrences of a rule change.
+ * <p>
+ * The cache is bounded by weight, where the weight of an entry is the number of months,
+ * categories and transactions it holds - a cheap proxy for its heap footprint.
+ * <p>
+ * Loads go through {@link Cache#get}, which computes atomically per key: an eviction that arrives
+ * while a load is in flight waits for it and then removes the (possibly stale) result.
+ */
+@Slf4j
+@Component
+public class CashFlowForecastCache {
+
+    static final String CACHE_NAME = "cash-flow-forecast";
+
+    private final boolean enabled;
+    private final Cache<String, CachedForecast> cache;
+
+    public CashFlowForecastCache(
+            @Value("${vidulum.forecast-cache.enabled:true}") boolean enabled,
+            @Value("${vidulum.forecast-cache.max-weight:2000000}") long maxWeight,
+            @Value("${vidulum.forecast-cache.expire-after-access-minutes:30}") long expireAfterAccessMinutes,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String cashFlowId, CachedForecast entry) -> entry.weight())
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.weighted.size", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .tag("cache", CACHE_NAME)
+                .description("Sum of entry weights (months + categories + transactions) held in the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached forecast for the given CashFlow, loading and caching it on a miss.
+     *
+     * @param cashFlowId the CashFlow identifier
+     * @param loader     produces the mapped forecast; may throw to signal a missing CashFlow
+     */
+    public CashFlowForecastDto.CashFlowForecastStatementJson get(
+            CashFlowId cashFlowId,
+            Supplier<CashFlowForecastDto.CashFlowForecastStatementJson> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return cache.get(cashFlowId.id(), id -> CachedForecast.of(loader.get())).forecast();
+    }
+
+    public void invalidate(CashFlowId cashFlowId) {
+        invalidate(cashFlowId.id());
+    }
+
+    public void invalidate(String cashFlowId) {
+        CachedForecast evicted = cache.asMap().remove(cashFlowId);
+        if (evicted != null) {
+            log.debug("Forecast cache entry for cashFlowId[{}] evicted", cashFlowId);
+        }
+    }
+
+    record CachedForecast(CashFlowForecastDto.CashFlowForecastStatementJson forecast, int weight) {
+
+        static CachedForecast of(CashFlowForecastDto.CashFlowForecastStatementJson forecast) {
+            return new CachedForecast(forecast, weigh(forecast));
+        }
+
+        private static int weigh(CashFlowForecastDto.CashFlowForecastStatementJson forecast) {
+            Map<String, CashFlowForecastDto.CashFlowMonthlyForecastJson> forecasts = forecast.getForecasts();
+            if (forecasts == null) {
+                return 1;
+            }
+            int weight = 1;
+            for (CashFlowForecastDto.CashFlowMonthlyForecastJson month : forecasts.values()) {
+                weight += 1 + weigh(month.getCategorizedInFlows()) + weigh(month.getCategorizedOutFlows());
+            }
+            return weight;
+        }
+
+        private static int weigh(List<CashFlowForecastDto.CashCategoryJson> categories) {
+            if (categories == null) {
+                return 0;
+            }
+            int weight = 0;
+            for (CashFlowForecastDto.CashCategoryJson category : categories) {
+                weight += 1 + weigh(category.getSubCategories());
+                if (category.getGroupedTransactions() != null && category.getGroupedTransactions().getTransactions() != null) {
+                    for (List<CashFlowForecastDto.TransactionDetailsJson> transactions : category.getGroupedTransactions().getTransactions().values()) {
+                        weight += transactions.size();
+                    }
+                }
+            }
+            return weight;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import java.util.*;
+
+/**
+ * Diffs two mapped forecasts of the same CashFlow into per-month {@link CashFlowForecastDeltaEvent.MonthDelta}s.
+ * <p>
+ * Works on {@link CashFlowForecastDto} rather than on the projection itself so that clients can apply
+ * deltas to the very JSON they got from {@code GET /cash-flow-forecast/cf={id}}. Categories are
+ * matched by (flow, categoryName) across the whole tree, transactions by
+ * (flow, categoryName, payment status, cashChangeId).
+ */
+public final class CashFlowForecastDeltaCalculator {
+
+    private static final String INFLOW = "INFLOW";
+    private static final String OUTFLOW = "OUTFLOW";
+
+    private CashFlowForecastDeltaCalculator() {
+    }
+
+    /**
+     * @param before forecast before the event, null if the CashFlow had no forecast yet
+     * @param after  forecast after the event
+     * @return changed months in period order; empty if nothing changed
+     */
+    public static List<CashFlowForecastDeltaEvent.MonthDelta> between(
+            CashFlowForecastDto.CashFlowForecastStatementJson before,
+            CashFlowForecastDto.CashFlowForecastStatementJson after) {
+        Map<String, CashFlowForecastDto.CashFlowMonthlyForecastJson> beforeMonths = forecasts(before);
+        Map<String, CashFlowForecastDto.CashFlowMonthlyForecastJson> afterMonths = forecasts(after);
+
+        SortedSet<String> periods = new TreeSet<>(beforeMonths.keySet());
+        periods.addAll(afterMonths.keySet());
+
+        List<CashFlowForecastDeltaEvent.MonthDelta> deltas = new ArrayList<>();
+        for (String period : periods) {
+            CashFlowForecastDto.CashFlowMonthlyForecastJson previous = beforeMonths.get(period);
+            CashFlowForecastDto.CashFlowMonthlyForecastJson current = afterMonths.get(period);
+            if (previous == null) {
+                deltas.add(CashFlowForecastDeltaEvent.MonthDelta.builder().period(period).month(current).build());
+            } else if (current == null) {
+                deltas.add(CashFlowForecastDeltaEvent.MonthDelta.builder().period(period).removed(true).build());
+            } else if (!previous.equals(current)) {
+                deltas.add(monthDelta(period, previous, current));
+            }
+        }
+        return deltas;
+    }
+
+    private static CashFlowForecastDeltaEvent.MonthDelta monthDelta(
+            String period,
+            CashFlowForecastDto.CashFlowMonthlyForecastJson previous,
+            CashFlowForecastDto.CashFlowMonthlyForecastJson current) {
+        Map<CategoryKey, CashFlowForecastDto.CashCategoryJson> previousCategories = categories(previous);
+        Map<CategoryKey, CashFlowForecastDto.CashCategoryJson> currentCategories = categories(current);
+        Map<TransactionKey, CashFlowForecastDto.TransactionDetailsJson> previousTransactions = transactions(previousCategories);
+        Map<TransactionKey, CashFlowForecastDto.TransactionDetailsJson> currentTransactions = transactions(currentCategories);
+
+        List<CashFlowForecastDeltaEvent.CategoryTotal> categoryTotals = new ArrayList<>();
+        currentCategories.forEach((key, category) -> {
+            CashFlowForecastDto.CashCategoryJson old = previousCategories.get(key);
+            if (old == null
+                    || !Objects.equals(old.getTotalPaidValue(), category.getTotalPaidValue())
+                    || !Objects.equals(old.getBudgeting(), category.getBudgeting())
+                    || old.isArchived() != category.isArchived()) {
+                categoryTotals.add(CashFlowForecastDeltaEvent.CategoryTotal.builder()
+                        .flow(key.flow())
+                        .categoryName(key.categoryName())
+                        .totalPaidValue(category.getTotalPaidValue())
+                        .budgeting(category.getBudgeting())
+                        .archived(category.isArchived())
+                        .build());
+            }
+        });
+
+        List<CashFlowForecastDeltaEvent.TransactionEntry> removed = new ArrayList<>();
+        previousTransactions.forEach((key, transaction) -> {
+            if (!transaction.equals(currentTransactions.get(key))) {
+                removed.add(key.entry(null));
+            }
+        });
+        List<CashFlowForecastDeltaEvent.TransactionEntry> added = new ArrayList<>();
+        currentTransactions.forEach((key, transaction) -> {
+            if (!transaction.equals(previousTransactions.get(key))) {
+                added.add(key.entry(transaction));
+            }
+        });
+
+        return CashFlowForecastDeltaEvent.MonthDelta.builder()
+                .period(period)
+                .status(Objects.equals(previous.getStatus(), current.getStatus()) ? null : current.getStatus())
+                .attestation(Objects.equals(previous.getAttestation(), current.getAttestation()) ? null : current.getAttestation())
+                .cashFlowStats(Objects.equals(previous.getCashFlowStats(), current.getCashFlowStats()) ? null : current.getCashFlowStats())
+                .categories(categoryTotals)
+                .addedTransactions(added)
+                .removedTransactions(removed)
+                .build();
+    }
+
+    private static Map<String, CashFlowForecastDto.CashFlowMonthlyForecastJson> forecasts(
+            CashFlowForecastDto.CashFlowForecastStatementJson statement) {
+        return statement != null && statement.getForecasts() != null ? statement.getForecasts() : Map.of();
+    }
+
+    private static Map<CategoryKey, CashFlowForecastDto.CashCategoryJson> categories(
+            CashFlowForecastDto.CashFlowMonthlyForecastJson month) {
+        Map<CategoryKey, CashFlowForecastDto.CashCategoryJson> categories = new LinkedHashMap<>();
+        flatten(INFLOW, month.getCategorizedInFlows(), categories);
+        flatten(OUTFLOW, month.getCategorizedOutFlows(), categories);
+        return categories;
+    }
+
+    private static void flatten(String flow, List<CashFlowForecastDto.CashCategoryJson> categories,
+                                Map<CategoryKey, CashFlowForecastDto.CashCategoryJson> into) {
+        if (categories == null) {
+            return;
+        }
+        for (CashFlowForecastDto.CashCategoryJson category : categories) {
+            into.put(new CategoryKey(flow, category.getCategoryName()), category);
+            flatten(flow, category.getSubCategories(), into);
+        }
+    }
+
+    private static Map<TransactionKey, CashFlowForecastDto.TransactionDetailsJson> transactions(
+            Map<CategoryKey, CashFlowForecastDto.CashCategoryJson> categories) {
+        Map<TransactionKey, CashFlowForecastDto.TransactionDetailsJson> transactions = new LinkedHashMap<>();
+        categories.forEach((categoryKey, category) -> {
+            if (category.getGroupedTransactions() == null || category.getGroupedTransactions().getTransactions() == null) {
+                return;
+            }
+            category.getGroupedTransactions().getTransactions().forEach((paymentStatus, details) ->
+                    details.forEach(transaction -> transactions.put(
+                            new TransactionKey(categoryKey.flow(), categoryKey.categoryName(), paymentStatus, transaction.getCashChangeId()),
+                            transaction)));
+        });
+        return transactions;
+    }
+
+    private record CategoryKey(String flow, String categoryName) {
+    }
+
+    private record TransactionKey(String flow, String categoryName, String paymentStatus, String cashChangeId) {
+
+        CashFlowForecastDeltaEvent.TransactionEntry entry(CashFlowForecastDto.TransactionDetailsJson transaction) {
+            return CashFlowForecastDeltaEvent.TransactionEntry.builder()
+                    .flow(flow)
+                    .categoryName(categoryName)
+                    .paymentStatus(paymentStatus)
+                    .cashChangeId(cashChangeId)
+                    .transaction(transaction)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.multi.vidulum.common.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * What one applied CashFlow event changed in the forecast, per month. Published on
+ * {@code cash_flow_forecast_delta} (key = cashFlowId) after every applied event, also when nothing
+ * visible changed, so that consecutive deltas form an unbroken chain:
+ * {@code previousChecksum} of a delta equals {@code checksum} of the one before it, and the
+ * {@code lastMessageChecksum} of a forecast snapshot tells which delta comes next.
+ *
+ * @see CashFlowForecastDeltaCalculator
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CashFlowForecastDeltaEvent {
+    private String cashFlowId;
+    private String eventType;
+    private String previousChecksum;
+    private String checksum;
+    private ZonedDateTime occurredAt;
+    private List<MonthDelta> months;
+
+    /**
+     * Changes of one month. A month that did not exist before is sent whole in {@code month};
+     * otherwise only what differs is set.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class MonthDelta {
+        private String period;
+        private CashFlowForecastDto.CashFlowMonthlyForecastJson month;
+        private boolean removed;
+        private String status;
+        private CashFlowForecastDto.AttestationJson attestation;
+        private CashFlowForecastDto.CashFlowStatsJson cashFlowStats;
+        private List<CategoryTotal> categories;
+        private List<TransactionEntry> addedTransactions;
+        private List<TransactionEntry> removedTransactions;
+    }
+
+    /**
+     * New totals of a category (sub-categories are listed on their own).
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryTotal {
+        private String flow;
+        private String categoryName;
+        private Money totalPaidValue;
+        private CashFlowForecastDto.BudgetingJson budgeting;
+        private boolean archived;
+    }
+
+    /**
+     * A transaction entering or leaving a (category, payment status) group. An edited transaction
+     * is removed and added again; removals only carry the cashChangeId.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class TransactionEntry {
+        private String flow;
+        private String categoryName;
+        private String paymentStatus;
+        private String cashChangeId;
+        private CashFlowForecastDto.TransactionDetailsJson transaction;
+    }
+}
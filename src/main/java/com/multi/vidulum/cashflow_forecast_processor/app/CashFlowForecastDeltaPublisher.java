@@ -0,0 +1,127 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.cashflow.domain.CashFlowEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Publishes a {@link CashFlowForecastDeltaEvent} for every event the forecast processor applies,
+ * so that WebSocket clients can keep a forecast up to date without refetching it.
+ * <p>
+ * The delta is built from the statement the handler itself works on: while the processor applies an event
+ * (between {@link #begin()} and {@link #publish} or {@link #end()}), the statement repository reports the
+ * first statement it loads and the last one it saves on that thread, as copies the handler never touches.
+ * Both are passed through the {@link RecurringOccurrenceProjector}, like the snapshots served by
+ * {@code GET /cash-flow-forecast/cf=}, and diffed, so no extra reads hit the database and the totals of a
+ * delta match the snapshot a client started from. The projection handlers stay unaware of it.
+ * Disabled with {@code vidulum.forecast-delta.enabled=false}.
+ */
+@Slf4j
+@Component
+public class CashFlowForecastDeltaPublisher {
+
+    static final String TOPIC = "cash_flow_forecast_delta";
+
+    private final boolean enabled;
+    private final CashFlowForecastMapper mapper;
+    private final RecurringOccurrenceProjector occurrenceProjector;
+    private final KafkaTemplate<String, CashFlowForecastDeltaEvent> cashFlowForecastDeltaKafkaTemplate;
+    private final ThreadLocal<Capture> capture = new ThreadLocal<>();
+
+    public CashFlowForecastDeltaPublisher(
+            @Value("${vidulum.forecast-delta.enabled:true}") boolean enabled,
+            CashFlowForecastMapper mapper,
+            RecurringOccurrenceProjector occurrenceProjector,
+            KafkaTemplate<String, CashFlowForecastDeltaEvent> cashFlowForecastDeltaKafkaTemplate) {
+        this.enabled = enabled;
+        this.mapper = mapper;
+        this.occurrenceProjector = occurrenceProjector;
+        this.cashFlowForecastDeltaKafkaTemplate = cashFlowForecastDeltaKafkaTemplate;
+    }
+
+    /**
+     * Starts capturing the statement the current thread loads and saves while applying one event.
+     */
+    public void begin() {
+        if (enabled) {
+            capture.set(new Capture());
+        }
+    }
+
+    /**
+     * Stops capturing without publishing; a no-op after {@link #publish}.
+     */
+    public void end() {
+        capture.remove();
+    }
+
+    /**
+     * Called by the statement repository for every statement it hands out.
+     *
+     * @param copy produces a copy of the loaded statement, independent of the one handed out
+     */
+    public void onLoaded(Supplier<CashFlowForecastStatement> copy) {
+        Capture current = capture.get();
+        if (current != null && current.before == null) {
+            current.before = copy;
+        }
+    }
+
+    /**
+     * Called by the statement repository for every statement it saves.
+     *
+     * @param copy produces a copy of the saved statement, independent of the one being saved
+     */
+    public void onSaved(Supplier<CashFlowForecastStatement> copy) {
+        Capture current = capture.get();
+        if (current != null) {
+            current.after = copy;
+        }
+    }
+
+    /**
+     * Diffs the captured statements and publishes the result, ending the capture. Failures are
+     * logged only: the projection is already updated and clients recover by refetching a snapshot
+     * when the checksum chain breaks.
+     */
+    public void publish(CashFlowEvent event) {
+        Capture current = capture.get();
+        capture.remove();
+        if (current == null || current.after == null) {
+            return;
+        }
+        try {
+            CashFlowForecastDto.CashFlowForecastStatementJson before = current.before != null ? project(current.before) : null;
+            CashFlowForecastDto.CashFlowForecastStatementJson after = project(current.after);
+            List<CashFlowForecastDeltaEvent.MonthDelta> months = CashFlowForecastDeltaCalculator.between(before, after);
+            CashFlowForecastDeltaEvent delta = CashFlowForecastDeltaEvent.builder()
+                    .cashFlowId(event.cashFlowId().id())
+                    .eventType(event.getClass().getSimpleName())
+                    .previousChecksum(before != null ? before.getLastMessageChecksum() : null)
+                    .checksum(after.getLastMessageChecksum())
+                    .occurredAt(event.occurredAt())
+                    .months(months)
+                    .build();
+            cashFlowForecastDeltaKafkaTemplate.send(TOPIC, delta.getCashFlowId(), delta);
+            log.debug("Forecast delta published: cashFlowId={}, event={}, months={}",
+                    delta.getCashFlowId(), delta.getEventType(), months.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to publish forecast delta for cashFlowId={} after {}",
+                    event.cashFlowId().id(), event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private CashFlowForecastDto.CashFlowForecastStatementJson project(Supplier<CashFlowForecastStatement> copy) {
+        return mapper.map(occurrenceProjector.project(copy.get()));
+    }
+
+    private static final class Capture {
+        private Supplier<CashFlowForecastStatement> before;
+        private Supplier<CashFlowForecastStatement> after;
+    }
+}
@@ -109,6 +109,8 @@ public final class CashFlowForecastDto {
         private ZonedDateTime created;
         private ZonedDateTime dueDate;
         private ZonedDateTime endDate;
+        /** Set only for virtual occurrences of a recurring rule, which have no cashChangeId */
+        private String sourceRuleId;
     }
 
     @Data
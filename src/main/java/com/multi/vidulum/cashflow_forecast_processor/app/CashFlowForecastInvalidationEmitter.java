@@ -0,0 +1,19 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.common.events.CashFlowForecastInvalidatedEvent;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class CashFlowForecastInvalidationEmitter {
+    private final KafkaTemplate<String, CashFlowForecastInvalidatedEvent> cashFlowForecastInvalidationKafkaTemplate;
+
+    public void emit(CashFlowForecastInvalidatedEvent event) {
+        cashFlowForecastInvalidationKafkaTemplate.send("cash_flow_forecast_invalidation", event.getCashFlowId(), event);
+        log.debug("emitting event [{}]", event);
+    }
+}
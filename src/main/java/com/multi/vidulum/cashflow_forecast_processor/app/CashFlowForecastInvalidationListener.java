@@ -0,0 +1,32 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.common.events.CashFlowForecastInvalidatedEvent;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts forecast cache entries invalidated by any node and releases requests
+ * awaiting the applied checksum.
+ * <p>
+ * Every instance joins its own consumer group so that all nodes receive every invalidation.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class CashFlowForecastInvalidationListener {
+
+    private final CashFlowForecastCache forecastCache;
+    private final CashFlowForecastSyncNotifier syncNotifier;
+
+    @KafkaListener(
+            groupId = "forecast_cache_#{T(java.util.UUID).randomUUID().toString()}",
+            topics = "cash_flow_forecast_invalidation",
+            containerFactory = "cashFlowForecastInvalidationContainerFactory")
+    public void on(CashFlowForecastInvalidatedEvent event) {
+        log.debug("CashFlowForecastInvalidatedEvent captured: [{}]", event);
+        forecastCache.invalidate(event.getCashFlowId());
+        syncNotifier.applied(event.getCashFlowId(), event.getChecksum());
+    }
+}
@@ -1,5 +1,6 @@
 package com.multi.vidulum.cashflow_forecast_processor.app;
 
+import com.multi.vidulum.cashflow.domain.CashChangeId;
 import org.springframework.stereotype.Component;
 
 import java.time.YearMonth;
@@ -103,12 +104,13 @@ public class CashFlowForecastMapper {
 
     private CashFlowForecastDto.TransactionDetailsJson mapTransactionDetails(TransactionDetails details) {
         return CashFlowForecastDto.TransactionDetailsJson.builder()
-                .cashChangeId(details.getCashChangeId().id())
+                .cashChangeId(ofNullable(details.getCashChangeId()).map(CashChangeId::id).orElse(null))
                 .name(details.getName().name())
                 .money(details.getMoney())
                 .created(details.getCreated())
                 .dueDate(details.getDueDate())
                 .endDate(details.getEndDate())
+                .sourceRuleId(details.getSourceRuleId())
                 .build();
     }
 
@@ -3,10 +3,13 @@ package com.multi.vidulum.cashflow_forecast_processor.app;
 import com.multi.vidulum.cashflow.domain.CashFlowDoesNotExistsException;
 import com.multi.vidulum.cashflow.domain.CashFlowId;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.time.YearMonth;
 import java.util.HashMap;
@@ -19,14 +22,39 @@ public class CashFlowForecastRestController {
 
     private final CashFlowForecastStatementRepository statementRepository;
     private final CashFlowForecastMapper mapper;
+    private final CashFlowForecastCache forecastCache;
+    private final CashFlowForecastSyncNotifier syncNotifier;
+    private final RecurringOccurrenceProjector occurrenceProjector;
 
     @GetMapping("/cf={cashFlowId}")
     public CashFlowForecastDto.CashFlowForecastStatementJson getForecastStatement(
             @PathVariable("cashFlowId") String cashFlowId) {
         CashFlowId id = CashFlowId.of(cashFlowId);
-        CashFlowForecastStatement statement = statementRepository.findByCashFlowId(id)
-                .orElseThrow(() -> new CashFlowDoesNotExistsException(id));
-        return mapper.map(statement);
+        return forecastCache.get(id, () -> statementRepository.findByCashFlowId(id)
+                .map(occurrenceProjector::project)
+                .map(mapper::map)
+                .orElseThrow(() -> new CashFlowDoesNotExistsException(id)));
+    }
+
+    /**
+     * Long-poll for read-your-writes: completes as soon as the forecast has applied the event
+     * with the given checksum (the aggregate's {@code lastMessageChecksum} after a command).
+     * <p>
+     * Returns 200 with the forecast once it is in sync, or 202 with no body when the timeout
+     * (in milliseconds, capped by {@code vidulum.forecast-await.max-timeout-ms}) elapses first.
+     * The request is parked without holding a servlet thread.
+     *
+     * @param cashFlowId the CashFlow identifier
+     * @param checksum   the checksum the forecast is expected to reach
+     * @param timeout    maximum wait in milliseconds
+     */
+    @GetMapping("/cf={cashFlowId}/await")
+    public DeferredResult<ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson>> awaitForecastStatement(
+            @PathVariable("cashFlowId") String cashFlowId,
+            @RequestParam("checksum") String checksum,
+            @RequestParam(value = "timeout", defaultValue = "10000") long timeout) {
+        CashFlowId id = CashFlowId.of(cashFlowId);
+        return syncNotifier.await(id, checksum, timeout, () -> getForecastStatement(cashFlowId));
     }
 
     /**
@@ -0,0 +1,160 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Parks read-your-writes requests until the forecast projection has applied a given event.
+ * <p>
+ * Requests are held as {@link DeferredResult}s, so no servlet thread is blocked while waiting.
+ * They are released by {@link #applied(String, String)}, which every node calls when it receives
+ * the forecast invalidation broadcast for a CashFlow.
+ * <p>
+ * Checksums carry no order, so the last {@value #RECENTLY_APPLIED} applied checksums of each CashFlow are
+ * remembered: a request is released once its checksum has been applied, even if later events were applied
+ * before the request was parked. The forecast returned is read off the Kafka listener thread.
+ */
+@Slf4j
+@Component
+public class CashFlowForecastSyncNotifier {
+
+    static final int RECENTLY_APPLIED = 256;
+
+    private final long maxTimeoutMs;
+    private final Executor releaseExecutor;
+
+    // cashFlowId -> parked requests
+    private final Map<String, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+    // cashFlowId -> checksums applied lately, oldest first
+    private final Cache<String, SequencedSet<String>> appliedChecksums;
+
+    @Autowired
+    public CashFlowForecastSyncNotifier(@Value("${vidulum.forecast-await.max-timeout-ms:30000}") long maxTimeoutMs) {
+        this(maxTimeoutMs, Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("forecast-await-", 0).factory()));
+    }
+
+    CashFlowForecastSyncNotifier(long maxTimeoutMs, Executor releaseExecutor) {
+        this.maxTimeoutMs = maxTimeoutMs;
+        this.releaseExecutor = releaseExecutor;
+        this.appliedChecksums = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * Completes with the forecast as soon as the event with {@code checksum} has been applied to it.
+     * On timeout completes with {@code 202 Accepted} and no body, meaning the event is not applied yet.
+     *
+     * @param current reads the current forecast; may throw to signal a missing CashFlow
+     */
+    public DeferredResult<ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson>> await(
+            CashFlowId cashFlowId,
+            String checksum,
+            long timeoutMs,
+            Supplier<CashFlowForecastDto.CashFlowForecastStatementJson> current) {
+
+        long effectiveTimeout = Math.max(1, Math.min(timeoutMs, maxTimeoutMs));
+        DeferredResult<ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson>> result =
+                new DeferredResult<>(effectiveTimeout, ResponseEntity.accepted().build());
+        Waiter waiter = new Waiter(checksum, current, result);
+
+        // Register before reading the current state, so an event applied in between is not missed
+        waiters.compute(cashFlowId.id(), (id, cashFlowWaiters) -> {
+            Set<Waiter> registered = cashFlowWaiters != null ? cashFlowWaiters : ConcurrentHashMap.newKeySet();
+            registered.add(waiter);
+            return registered;
+        });
+        result.onCompletion(() -> remove(cashFlowId.id(), waiter));
+
+        try {
+            CashFlowForecastDto.CashFlowForecastStatementJson forecast = current.get();
+            if (checksum.equals(forecast.getLastMessageChecksum()) || isApplied(cashFlowId.id(), checksum)) {
+                result.setResult(ResponseEntity.ok(forecast));
+            }
+        } catch (RuntimeException e) {
+            remove(cashFlowId.id(), waiter);
+            throw e;
+        }
+        return result;
+    }
+
+    /**
+     * Releases requests waiting for {@code checksum}, or for any checksum applied before it, on the given CashFlow.
+     */
+    public void applied(String cashFlowId, String checksum) {
+        if (checksum == null) {
+            return;
+        }
+        SequencedSet<String> applied = appliedChecksums.get(cashFlowId, id -> new LinkedHashSet<>());
+        synchronized (applied) {
+            applied.remove(checksum);
+            applied.add(checksum);
+            if (applied.size() > RECENTLY_APPLIED) {
+                applied.removeFirst();
+            }
+        }
+
+        Set<Waiter> cashFlowWaiters = waiters.get(cashFlowId);
+        if (cashFlowWaiters == null) {
+            return;
+        }
+        List<Waiter> released = cashFlowWaiters.stream()
+                .filter(waiter -> isApplied(cashFlowId, waiter.checksum()))
+                .toList();
+        if (!released.isEmpty()) {
+            releaseExecutor.execute(() -> release(cashFlowId, released));
+        }
+    }
+
+    private void release(String cashFlowId, List<Waiter> released) {
+        try {
+            CashFlowForecastDto.CashFlowForecastStatementJson forecast = released.getFirst().current().get();
+            released.forEach(waiter -> waiter.result().setResult(ResponseEntity.ok(forecast)));
+        } catch (RuntimeException e) {
+            log.warn("Failed to release forecast await for cashFlowId[{}]: {}", cashFlowId, e.getMessage());
+            released.forEach(waiter -> waiter.result().setErrorResult(e));
+        }
+    }
+
+    private boolean isApplied(String cashFlowId, String checksum) {
+        SequencedSet<String> applied = appliedChecksums.getIfPresent(cashFlowId);
+        if (applied == null) {
+            return false;
+        }
+        synchronized (applied) {
+            return applied.contains(checksum);
+        }
+    }
+
+    private void remove(String cashFlowId, Waiter waiter) {
+        waiters.computeIfPresent(cashFlowId, (id, cashFlowWaiters) -> {
+            cashFlowWaiters.remove(waiter);
+            return cashFlowWaiters.isEmpty() ? null : cashFlowWaiters;
+        });
+    }
+
+    private record Waiter(
+            String checksum,
+            Supplier<CashFlowForecastDto.CashFlowForecastStatementJson> current,
+            DeferredResult<ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson>> result) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+
+/**
+ * {@code forecastProcessor} health, from the records lag of the {@code cash_flow} consumer:
+ * <ul>
+ *   <li>UP while nothing is pending, however late the last applied event was</li>
+ *   <li>DOWN while records are pending and no event has been applied for {@code max-stall-seconds},
+ *       i.e. while the processor is stalled</li>
+ * </ul>
+ * Without a records lag (listener not running yet) health stays UP. The lag of the last applied event
+ * (occurredAt to applied) is reported as a detail only: a processor that keeps applying events is UP
+ * however far behind it is.
+ */
+@Component("forecastProcessor")
+public class ForecastProcessorHealthIndicator implements HealthIndicator {
+
+    private static final String FETCH_MANAGER_METRICS = "consumer-fetch-manager-metrics";
+    private static final String RECORDS_LAG = "records-lag";
+
+    private final ForecastProcessorMetrics metrics;
+    private final Supplier<OptionalLong> recordsLag;
+    private final Clock clock;
+    private final Duration maxStall;
+    // first time records were seen pending since the lag was last zero
+    private volatile Instant pendingSince;
+
+    @Autowired
+    public ForecastProcessorHealthIndicator(
+            ForecastProcessorMetrics metrics,
+            KafkaListenerEndpointRegistry listenerRegistry,
+            Clock clock,
+            @Value("${vidulum.forecast-processor.health.max-stall-seconds:60}") long maxStallSeconds) {
+        this(metrics, () -> recordsLag(listenerRegistry.getListenerContainer(CashFlowEventListener.LISTENER_ID)),
+                clock, maxStallSeconds);
+    }
+
+    ForecastProcessorHealthIndicator(ForecastProcessorMetrics metrics, Supplier<OptionalLong> recordsLag,
+                                     Clock clock, long maxStallSeconds) {
+        this.metrics = metrics;
+        this.recordsLag = recordsLag;
+        this.clock = clock;
+        this.maxStall = Duration.ofSeconds(maxStallSeconds);
+    }
+
+    @Override
+    public Health health() {
+        OptionalLong lag = recordsLag.get();
+        ForecastProcessorMetrics.AppliedEvent lastApplied = metrics.lastApplied();
+
+        Health.Builder health;
+        if (lag.isEmpty() || lag.getAsLong() == 0) {
+            pendingSince = null;
+            health = Health.up();
+        } else {
+            Instant now = clock.instant();
+            if (pendingSince == null) {
+                pendingSince = now;
+            }
+            Instant progressSince = lastApplied != null && lastApplied.appliedAt().isAfter(pendingSince)
+                    ? lastApplied.appliedAt()
+                    : pendingSince;
+            Duration stalledFor = Duration.between(progressSince, now);
+            health = stalledFor.compareTo(maxStall) > 0 ? Health.down() : Health.up();
+            health.withDetail("stalledFor", stalledFor.toString());
+        }
+        health.withDetail("maxStall", maxStall.toString())
+                .withDetail("recordsLag", lag.isPresent() ? lag.getAsLong() : "unknown");
+        if (lastApplied != null) {
+            health.withDetail("lag", lastApplied.lag().toString())
+                    .withDetail("lastEventType", lastApplied.eventType())
+                    .withDetail("lastCashFlowId", lastApplied.cashFlowId())
+                    .withDetail("lastAppliedAt", lastApplied.appliedAt().toString());
+        }
+        return health.build();
+    }
+
+    /**
+     * Sum of the current per-partition records lag of the container's consumers, empty if not known yet.
+     */
+    private static OptionalLong recordsLag(MessageListenerContainer container) {
+        if (container == null || !container.isRunning()) {
+            return OptionalLong.empty();
+        }
+        long total = 0;
+        boolean known = false;
+        for (Map<MetricName, ? extends Metric> consumerMetrics : container.metrics().values()) {
+            for (Map.Entry<MetricName, ? extends Metric> metric : consumerMetrics.entrySet()) {
+                MetricName name = metric.getKey();
+                if (RECORDS_LAG.equals(name.name()) && FETCH_MANAGER_METRICS.equals(name.group())
+                        && name.tags().containsKey("partition")
+                        && metric.getValue().metricValue() instanceof Number value && !Double.isNaN(value.doubleValue())) {
+                    total += value.longValue();
+                    known = true;
+                }
+            }
+        }
+        return known ? OptionalLong.of(total) : OptionalLong.empty();
+    }
+}
@@ -0,0 +1,136 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.cashflow.domain.CashFlowEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the forecast processor (consumer group {@code group_id7}):
+ * <ul>
+ *   <li>{@code vidulum.forecast.event.lag} - from the event's {@code occurredAt} to the projection
+ *       being saved, tagged by {@code eventType}</li>
+ *   <li>{@code vidulum.forecast.handler} - time spent in the {@code CashFlowEventHandler}, tagged by
+ *       {@code eventType} and {@code outcome=success|error}</li>
+ *   <li>{@code vidulum.forecast.statement.load} / {@code .save} - repository round trips</li>
+ *   <li>{@code vidulum.forecast.statement.size} - BSON size of saved statement documents, sampled
+ *       every {@code document-size-sample-every} saves</li>
+ * </ul>
+ * Offset lag of the consumer itself is published by the Kafka client metrics
+ * ({@code kafka.consumer.fetch.manager.records.lag}).
+ */
+@Component
+public class ForecastProcessorMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final int documentSizeSampleEvery;
+
+    private final Timer load;
+    private final Timer save;
+    private final DistributionSummary documentSize;
+    private final AtomicLong saves = new AtomicLong();
+    private final AtomicReference<AppliedEvent> lastApplied = new AtomicReference<>();
+
+    /**
+     * @param lag time from {@code occurredAt} to applied
+     */
+    public record AppliedEvent(String eventType, String cashFlowId, Duration lag, Instant appliedAt) {
+    }
+
+    public ForecastProcessorMetrics(
+            MeterRegistry meterRegistry,
+            Clock clock,
+            @Value("${vidulum.forecast-processor.metrics.document-size-sample-every:10}") int documentSizeSampleEvery) {
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.documentSizeSampleEvery = Math.max(1, documentSizeSampleEvery);
+        this.load = Timer.builder("vidulum.forecast.statement.load")
+                .description("Loading a forecast statement from MongoDB")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.save = Timer.builder("vidulum.forecast.statement.save")
+                .description("Saving a forecast statement to MongoDB")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.documentSize = DistributionSummary.builder("vidulum.forecast.statement.size")
+                .description("Serialised size of saved forecast statement documents")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public <T> T handle(CashFlowEvent event, Supplier<T> handler) {
+        String eventType = event.getClass().getSimpleName();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = handler.get();
+            outcome = "success";
+            return result;
+        } finally {
+            handlerTimer(eventType, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void applied(CashFlowEvent event) {
+        String eventType = event.getClass().getSimpleName();
+        Instant appliedAt = clock.instant();
+        Duration lag = event.occurredAt() != null
+                ? Duration.between(event.occurredAt().toInstant(), appliedAt)
+                : Duration.ZERO;
+        if (lag.isNegative()) {
+            // producer clock ahead of ours
+            lag = Duration.ZERO;
+        }
+        Timer.builder("vidulum.forecast.event.lag")
+                .description("Time from a CashFlow event occurring to its forecast being saved")
+                .tag("eventType", eventType)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(lag);
+        lastApplied.set(new AppliedEvent(eventType, event.cashFlowId().id(), lag, appliedAt));
+    }
+
+    public <T> T load(Supplier<T> loader) {
+        return load.record(loader);
+    }
+
+    public void save(Runnable saver) {
+        save.record(saver);
+    }
+
+    public boolean sampleDocumentSize() {
+        return saves.incrementAndGet() % documentSizeSampleEvery == 0;
+    }
+
+    public void documentSize(long bytes) {
+        documentSize.record(bytes);
+    }
+
+    /**
+     * @return the most recently applied event, null before the first one
+     */
+    public AppliedEvent lastApplied() {
+        return lastApplied.get();
+    }
+
+    private Timer handlerTimer(String eventType, String outcome) {
+        return Timer.builder("vidulum.forecast.handler")
+                .description("Time spent applying a CashFlow event to its forecast")
+                .tag("eventType", eventType)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
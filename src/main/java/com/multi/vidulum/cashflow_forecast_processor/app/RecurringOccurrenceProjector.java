@@ -0,0 +1,134 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.cashflow.domain.CategoryName;
+import com.multi.vidulum.cashflow.domain.Name;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.recurring_rules.app.RecurringRuleDefinitionEvent;
+import com.multi.vidulum.recurring_rules.domain.RuleStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static com.multi.vidulum.cashflow_forecast_processor.app.PaymentStatus.FORECAST;
+
+/**
+ * Adds the virtual occurrences of active recurring rules to a forecast statement at read time.
+ * <p>
+ * Occurrences after a rule's {@code materializedThrough} exist only as a rule definition; they are
+ * computed for the ACTIVE and FORECASTED months of the statement and added as FORECAST transactions
+ * without a cashChangeId. The statement passed in must be a freshly loaded copy - the projection
+ * is never saved. Forecast snapshots and forecast deltas are both projected, so their totals agree.
+ * <p>
+ * Disabled with {@code vidulum.recurring-rules.virtual-occurrences.enabled=false} (the default).
+ */
+@Slf4j
+@Component
+public class RecurringOccurrenceProjector {
+
+    private final boolean enabled;
+    private final RecurringRuleProjectionRepository projectionRepository;
+
+    public RecurringOccurrenceProjector(
+            @Value("${vidulum.recurring-rules.virtual-occurrences.enabled:false}") boolean enabled,
+            RecurringRuleProjectionRepository projectionRepository) {
+        this.enabled = enabled;
+        this.projectionRepository = projectionRepository;
+    }
+
+    /**
+     * @return the same statement, with virtual occurrences added and balances recalculated
+     */
+    public CashFlowForecastStatement project(CashFlowForecastStatement statement) {
+        if (!enabled) {
+            return statement;
+        }
+        Optional<YearMonth> activePeriod = statement.getForecasts().values().stream()
+                .filter(forecast -> CashFlowMonthlyForecast.Status.ACTIVE.equals(forecast.getStatus()))
+                .map(CashFlowMonthlyForecast::getPeriod)
+                .findFirst();
+        if (activePeriod.isEmpty()) {
+            return statement;
+        }
+
+        List<RecurringRuleDefinitionEvent> definitions = projectionRepository.findByCashFlowId(statement.getCashFlowId()).stream()
+                .filter(definition -> RuleStatus.ACTIVE.equals(definition.getStatus()))
+                .toList();
+        if (definitions.isEmpty()) {
+            return statement;
+        }
+
+        LocalDate windowStart = activePeriod.get().atDay(1);
+        LocalDate windowEnd = statement.findLastMonthlyForecast().getPeriod().atEndOfMonth();
+        String currency = statement.getBankAccountNumber().denomination().getId();
+
+        int projected = 0;
+        for (RecurringRuleDefinitionEvent definition : definitions) {
+            if (!currency.equals(definition.getBaseAmount().getCurrency())) {
+                log.warn("Rule [{}] in {} cannot be projected onto CashFlow [{}] in {}",
+                        definition.getRuleId(), definition.getBaseAmount().getCurrency(),
+                        definition.getCashFlowId(), currency);
+                continue;
+            }
+            LocalDate fromDate = definition.getMaterializedThrough() != null
+                    && !definition.getMaterializedThrough().isBefore(windowStart)
+                    ? definition.getMaterializedThrough().plusDays(1)
+                    : windowStart;
+            if (fromDate.isAfter(windowEnd)) {
+                continue;
+            }
+            for (LocalDate occurrence : definition.occurrences(fromDate, windowEnd)) {
+                if (addOccurrence(statement, definition, occurrence)) {
+                    projected++;
+                }
+            }
+        }
+
+        if (projected > 0) {
+            statement.updateStats();
+        }
+        log.debug("Projected [{}] virtual occurrences of [{}] rules onto CashFlow [{}]",
+                projected, definitions.size(), statement.getCashFlowId().id());
+        return statement;
+    }
+
+    private boolean addOccurrence(CashFlowForecastStatement statement, RecurringRuleDefinitionEvent definition, LocalDate occurrence) {
+        CashFlowMonthlyForecast forecast = statement.getForecasts().get(YearMonth.from(occurrence));
+        if (forecast == null
+                || !(CashFlowMonthlyForecast.Status.ACTIVE.equals(forecast.getStatus())
+                || CashFlowMonthlyForecast.Status.FORECASTED.equals(forecast.getStatus()))) {
+            return false;
+        }
+
+        CategoryName categoryName = new CategoryName(definition.getCategoryName());
+        Optional<CashCategory> category = definition.inflow()
+                ? forecast.findCategoryInflowsByCategoryName(categoryName)
+                : forecast.findCategoryOutflowsByCategoryName(categoryName);
+        if (category.isEmpty()) {
+            log.debug("Category [{}] of rule [{}] not found in [{}]", categoryName, definition.getRuleId(), forecast.getPeriod());
+            return false;
+        }
+
+        Money amount = definition.amountOn(occurrence);
+        Transaction transaction = new Transaction(
+                TransactionDetails.builder()
+                        .name(new Name(definition.getName()))
+                        .money(amount)
+                        .dueDate(occurrence.atStartOfDay(ZoneOffset.UTC))
+                        .sourceRuleId(definition.getRuleId())
+                        .build(),
+                FORECAST);
+
+        if (definition.inflow()) {
+            forecast.addToInflows(categoryName, transaction);
+        } else {
+            forecast.addToOutflows(categoryName, transaction);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.common.events.CashFlowForecastInvalidatedEvent;
+import com.multi.vidulum.recurring_rules.app.RecurringRuleDefinitionEvent;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Keeps the latest definition of every recurring rule for {@link RecurringOccurrenceProjector}.
+ * <p>
+ * Definitions of deleted, paused and completed rules are kept as well, so that a stale
+ * definition delivered late cannot bring a rule back. A changed definition changes the projected
+ * forecast without a CashFlow event, so the cached forecast is invalidated on all nodes.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class RecurringRuleDefinitionListener {
+
+    private final RecurringRuleProjectionRepository projectionRepository;
+    private final CashFlowForecastCache forecastCache;
+    private final CashFlowForecastInvalidationEmitter invalidationEmitter;
+    private final Clock clock;
+
+    @KafkaListener(
+            groupId = "forecast_recurring_rules",
+            topics = "recurring_rule_definitions",
+            containerFactory = "recurringRuleDefinitionContainerFactory")
+    public void on(RecurringRuleDefinitionEvent definition) {
+        log.debug("RecurringRuleDefinitionEvent captured: [{}]", definition);
+
+        Optional<RecurringRuleDefinitionEvent> current = projectionRepository.findByRuleId(definition.getRuleId());
+        if (current.isPresent() && isOlder(definition, current.get())) {
+            log.debug("Skipping stale definition of rule [{}] modified at [{}]",
+                    definition.getRuleId(), definition.getLastModifiedAt());
+            return;
+        }
+
+        projectionRepository.save(definition);
+
+        forecastCache.invalidate(definition.getCashFlowId());
+        invalidationEmitter.emit(CashFlowForecastInvalidatedEvent.builder()
+                .cashFlowId(definition.getCashFlowId())
+                .invalidatedAt(ZonedDateTime.now(clock))
+                .build());
+    }
+
+    private boolean isOlder(RecurringRuleDefinitionEvent definition, RecurringRuleDefinitionEvent current) {
+        return definition.getLastModifiedAt() != null
+                && current.getLastModifiedAt() != null
+                && definition.getLastModifiedAt().isBefore(current.getLastModifiedAt());
+    }
+}
@@ -0,0 +1,21 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.recurring_rules.app.RecurringRuleDefinitionEvent;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Latest known definition of every recurring rule, used to project virtual occurrences.
+ * <p>
+ * Primary implementation uses MongoDB ({@link com.multi.vidulum.cashflow_forecast_processor.infrastructure.RecurringRuleProjectionRepositoryImpl}).
+ */
+public interface RecurringRuleProjectionRepository {
+
+    Optional<RecurringRuleDefinitionEvent> findByRuleId(String ruleId);
+
+    List<RecurringRuleDefinitionEvent> findByCashFlowId(CashFlowId cashFlowId);
+
+    void save(RecurringRuleDefinitionEvent definition);
+}
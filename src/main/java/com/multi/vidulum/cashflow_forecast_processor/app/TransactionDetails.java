@@ -19,4 +19,15 @@ public class TransactionDetails {
     private ZonedDateTime created;
     private ZonedDateTime dueDate;
     private ZonedDateTime endDate;
+
+    /**
+     * Recurring rule of a virtual occurrence projected by {@link RecurringOccurrenceProjector};
+     * null for cash changes stored in the CashFlow.
+     */
+    private String sourceRuleId;
+
+    public TransactionDetails(CashChangeId cashChangeId, Name name, Money money,
+                              ZonedDateTime created, ZonedDateTime dueDate, ZonedDateTime endDate) {
+        this(cashChangeId, name, money, created, dueDate, endDate, null);
+    }
 }
@@ -12,6 +12,10 @@ public interface CashFlowEventHandler <T extends CashFlowEvent> {
     void handle(T cashFlowEvent);
 
     default Checksum getChecksum(CashFlowEvent event) {
+        return checksumOf(event);
+    }
+
+    static Checksum checksumOf(CashFlowEvent event) {
         String jsonizedEvent = JsonContent.asJson(event).content();
         return new Checksum(DigestUtils.md5DigestAsHex(jsonizedEvent.getBytes(StandardCharsets.UTF_8)));
     }
@@ -1,13 +1,21 @@
 package com.multi.vidulum.cashflow_forecast_processor.app.processing;
 
 import com.multi.vidulum.cashflow.domain.CashFlowEvent;
+import com.multi.vidulum.cashflow_forecast_processor.app.CashFlowForecastCache;
+import com.multi.vidulum.cashflow_forecast_processor.app.CashFlowForecastDeltaPublisher;
+import com.multi.vidulum.cashflow_forecast_processor.app.CashFlowForecastInvalidationEmitter;
+import com.multi.vidulum.cashflow_forecast_processor.app.ForecastProcessorMetrics;
 import com.multi.vidulum.cashflow_forecast_processor.infrastructure.CashFlowForecastEntity;
 import com.multi.vidulum.cashflow_forecast_processor.infrastructure.CashFlowForecastMongoRepository;
+import com.multi.vidulum.common.Checksum;
 import com.multi.vidulum.common.JsonContent;
+import com.multi.vidulum.common.events.CashFlowForecastInvalidatedEvent;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.ZonedDateTime;
 import java.util.LinkedList;
 
 @Slf4j
@@ -23,6 +31,7 @@ public class CashFlowForecastProcessor {
     private final ImportRolledBackEventHandler importRolledBackEventHandler;
     private final MonthAttestedEventHandler monthAttestedEventHandler;
     private final MonthRolledOverEventHandler monthRolledOverEventHandler;
+    private final MonthsRolledOverEventHandler monthsRolledOverEventHandler;
     private final ExpectedCashChangeAppendedEventHandler expectedCashChangeAppendedEventHandler;
     private final PaidCashChangeAppendedEventHandler paidCashChangeAppendedEventHandler;
     private final CashChangeConfirmedEventHandler cashChangeConfirmedEventHandler;
@@ -38,10 +47,42 @@ public class CashFlowForecastProcessor {
     private final ExpectedCashChangeDeletedEventHandler expectedCashChangeDeletedEventHandler;
     private final ExpectedCashChangesBatchDeletedEventHandler expectedCashChangesBatchDeletedEventHandler;
     private final CashChangesBatchUpdatedEventHandler cashChangesBatchUpdatedEventHandler;
+    private final CashFlowForecastCache forecastCache;
+    private final CashFlowForecastInvalidationEmitter invalidationEmitter;
+    private final CashFlowForecastDeltaPublisher deltaPublisher;
+    private final ForecastProcessorMetrics metrics;
+    private final Clock clock;
 
     public void process(CashFlowEvent cashFlowEvent) {
         oldProcessing(cashFlowEvent);
-        processEvent(cashFlowEvent);
+        Checksum appliedChecksum = null;
+        deltaPublisher.begin();
+        try {
+            metrics.handle(cashFlowEvent, () -> {
+                processEvent(cashFlowEvent);
+                return null;
+            });
+            metrics.applied(cashFlowEvent);
+            appliedChecksum = CashFlowEventHandler.checksumOf(cashFlowEvent);
+            deltaPublisher.publish(cashFlowEvent);
+        } finally {
+            deltaPublisher.end();
+            invalidateCachedForecast(cashFlowEvent, appliedChecksum);
+        }
+    }
+
+    /**
+     * Evicts the forecast locally right away and tells all nodes (this one included) to do the same.
+     * The broadcast also carries the applied checksum, which releases requests parked on
+     * {@code /cash-flow-forecast/cf={id}/await}.
+     */
+    private void invalidateCachedForecast(CashFlowEvent cashFlowEvent, Checksum appliedChecksum) {
+        forecastCache.invalidate(cashFlowEvent.cashFlowId());
+        invalidationEmitter.emit(CashFlowForecastInvalidatedEvent.builder()
+                .cashFlowId(cashFlowEvent.cashFlowId().id())
+                .checksum(appliedChecksum != null ? appliedChecksum.checksum() : null)
+                .invalidatedAt(ZonedDateTime.now(clock))
+                .build());
     }
 
     private void processEvent(CashFlowEvent cashFlowEvent) {
@@ -53,6 +94,7 @@ public class CashFlowForecastProcessor {
             case CashFlowEvent.ImportRolledBackEvent event -> importRolledBackEventHandler.handle(event);
             case CashFlowEvent.MonthAttestedEvent event -> monthAttestedEventHandler.handle(event);
             case CashFlowEvent.MonthRolledOverEvent event -> monthRolledOverEventHandler.handle(event);
+            case CashFlowEvent.MonthsRolledOverEvent event -> monthsRolledOverEventHandler.handle(event);
             case CashFlowEvent.ExpectedCashChangeAppendedEvent event -> expectedCashChangeAppendedEventHandler.handle(event);
             case CashFlowEvent.PaidCashChangeAppendedEvent event -> paidCashChangeAppendedEventHandler.handle(event);
             case CashFlowEvent.CashChangeConfirmedEvent event -> cashChangeConfirmedEventHandler.handle(event);
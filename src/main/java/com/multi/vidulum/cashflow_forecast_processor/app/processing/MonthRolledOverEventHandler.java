@@ -78,7 +78,7 @@ public class MonthRolledOverEventHandler implements CashFlowEventHandler<CashFlo
         nextCashFlowMonthlyForecast.setStatus(CashFlowMonthlyForecast.Status.ACTIVE);
 
         // Move expected (unpaid) cash changes to the next month
-        moveExpectedCashChangesToNextMonth(statement, actualPeriod);
+        moveExpectedCashChanges(statement, actualPeriod, event.newActivePeriod());
 
         // Add new FORECASTED month at the end of forecast horizon
         statement.addNextForecastAtTheTop();
@@ -94,12 +94,11 @@ public class MonthRolledOverEventHandler implements CashFlowEventHandler<CashFlo
     }
 
     /**
-     * Moves all expected (unpaid) cash changes from the rolled over month to the next month.
+     * Moves all expected (unpaid) cash changes from the rolled over month to the given later month.
      * This ensures pending transactions are not lost when a month is closed.
      */
-    private static void moveExpectedCashChangesToNextMonth(CashFlowForecastStatement statement, YearMonth actualPeriod) {
+    static void moveExpectedCashChanges(CashFlowForecastStatement statement, YearMonth actualPeriod, YearMonth targetPeriod) {
         CashFlowMonthlyForecast actualCashFlowMonthlyForecast = statement.getForecasts().get(actualPeriod);
-        YearMonth nextPeriod = actualPeriod.plusMonths(1);
 
         Stream.concat(
                         actualCashFlowMonthlyForecast.getCategorizedInFlows().stream(),
@@ -114,7 +113,7 @@ public class MonthRolledOverEventHandler implements CashFlowEventHandler<CashFlo
                             .forEach(cashChangeId -> statement.move(
                                     cashChangeId,
                                     actualPeriod,
-                                    nextPeriod));
+                                    targetPeriod));
                 });
     }
 }
@@ -0,0 +1,89 @@
+package com.multi.vidulum.cashflow_forecast_processor.app.processing;
+
+import com.multi.vidulum.cashflow.domain.CashFlowDoesNotExistsException;
+import com.multi.vidulum.cashflow.domain.CashFlowEvent;
+import com.multi.vidulum.cashflow_forecast_processor.app.*;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+import static com.multi.vidulum.cashflow_forecast_processor.app.Attestation.Type.AUTO;
+
+/**
+ * Handles MonthsRolledOverEvent - the catch-up rollover of several months at once.
+ * <p>
+ * The statement is loaded and saved once, and all months are closed in one pass:
+ * <ul>
+ *   <li>Every month from the first rolled over period up to the new active period becomes ROLLED_OVER,
+ *       attested with the closing balance</li>
+ *   <li>Expected (unpaid) cash changes of those months are moved straight to the new active month</li>
+ *   <li>One FORECASTED month per rolled over month is added at the end of the forecast horizon</li>
+ *   <li>Statistics are recalculated once</li>
+ * </ul>
+ * The resulting statement is the same as after one {@link MonthRolledOverEventHandler} run per month.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class MonthsRolledOverEventHandler implements CashFlowEventHandler<CashFlowEvent.MonthsRolledOverEvent> {
+
+    private final CashFlowForecastStatementRepository statementRepository;
+
+    @Override
+    public void handle(CashFlowEvent.MonthsRolledOverEvent event) {
+        CashFlowForecastStatement statement = statementRepository.findByCashFlowId(event.cashFlowId())
+                .orElseThrow(() -> new CashFlowDoesNotExistsException(event.cashFlowId()));
+
+        YearMonth actualPeriod = statement.fetchCurrentPeriod();
+
+        log.info("Processing rollover of [{}] month(s) for CashFlow [{}]: period [{}] -> [{}]",
+                event.monthsRolledOver(), event.cashFlowId().id(), event.firstRolledOverPeriod(), event.newActivePeriod());
+
+        // Validate that we're rolling over from the current active period
+        if (!actualPeriod.equals(event.firstRolledOverPeriod())) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot rollover period %s, current active period is [%s]",
+                            event.firstRolledOverPeriod(), actualPeriod));
+        }
+
+        if (!event.newActivePeriod().isAfter(actualPeriod)) {
+            throw new IllegalArgumentException(
+                    String.format("New active period [%s] must be after [%s]",
+                            event.newActivePeriod(), actualPeriod));
+        }
+
+        // Extend the forecast horizon first, so that the new active month exists even when the
+        // rollover spans more months than the horizon
+        for (int i = 0; i < event.monthsRolledOver(); i++) {
+            statement.addNextForecastAtTheTop();
+        }
+
+        // Change status: ACTIVE/FORECASTED -> ROLLED_OVER, moving expected cash changes forward
+        for (YearMonth period = actualPeriod; period.isBefore(event.newActivePeriod()); period = period.plusMonths(1)) {
+            CashFlowMonthlyForecast rolledOverForecast = statement.getForecasts().get(period);
+            rolledOverForecast.setStatus(CashFlowMonthlyForecast.Status.ROLLED_OVER);
+            rolledOverForecast.setAttestation(
+                    new Attestation(
+                            event.closingBalance(),
+                            AUTO,
+                            event.rolledOverAt()
+                    )
+            );
+            MonthRolledOverEventHandler.moveExpectedCashChanges(statement, period, event.newActivePeriod());
+        }
+
+        // Change status: FORECASTED -> ACTIVE
+        statement.getForecasts().get(event.newActivePeriod()).setStatus(CashFlowMonthlyForecast.Status.ACTIVE);
+
+        // Recalculate statistics
+        statement.updateStats();
+
+        // Update sync metadata
+        updateSyncMetadata(statement, event);
+
+        statementRepository.save(statement);
+        log.info("Months rolled over successfully: [{}] -> [{}]", event.firstRolledOverPeriod(), event.newActivePeriod());
+    }
+}
@@ -1,12 +1,18 @@
 package com.multi.vidulum.cashflow_forecast_processor.infrastructure;
 
 import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.cashflow_forecast_processor.app.CashFlowForecastDeltaPublisher;
 import com.multi.vidulum.cashflow_forecast_processor.app.CashFlowForecastStatement;
 import com.multi.vidulum.cashflow_forecast_processor.app.CashFlowForecastStatementRepository;
+import com.multi.vidulum.cashflow_forecast_processor.app.ForecastProcessorMetrics;
 import com.multi.vidulum.cashflow_forecast_processor.infrastructure.entity.CashFlowForecastStatementEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
@@ -18,19 +24,35 @@ import java.util.Optional;
 public class CashFlowForecastStatementRepositoryImpl implements CashFlowForecastStatementRepository {
 
     private final CashFlowForecastStatementMongoRepository mongoRepository;
+    private final MongoConverter mongoConverter;
+    private final ForecastProcessorMetrics metrics;
+    private final CashFlowForecastDeltaPublisher deltaPublisher;
 
     @Override
     public Optional<CashFlowForecastStatement> findByCashFlowId(CashFlowId cashFlowId) {
-        return mongoRepository.findByCashFlowId(cashFlowId.id())
-                .map(CashFlowForecastStatementEntity::toDomain);
+        return metrics.load(() -> mongoRepository.findByCashFlowId(cashFlowId.id()))
+                .map(entity -> {
+                    deltaPublisher.onLoaded(entity::toDomain);
+                    return entity.toDomain();
+                });
     }
 
     @Override
     public void save(CashFlowForecastStatement statement) {
         CashFlowForecastStatementEntity entity = CashFlowForecastStatementEntity.fromDomain(statement);
-        mongoRepository.save(entity);
+        metrics.save(() -> mongoRepository.save(entity));
+        deltaPublisher.onSaved(entity::toDomain);
+        if (metrics.sampleDocumentSize()) {
+            metrics.documentSize(bsonSize(entity));
+        }
         log.info("CashFlowForecastStatement for cashFlowId[{}] with checksum[{}] saved to MongoDB",
                 statement.getCashFlowId().id(),
                 statement.getLastMessageChecksum() != null ? statement.getLastMessageChecksum().checksum() : "null");
     }
+
+    private long bsonSize(CashFlowForecastStatementEntity entity) {
+        Document document = new Document();
+        mongoConverter.write(entity, document);
+        return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+    }
 }
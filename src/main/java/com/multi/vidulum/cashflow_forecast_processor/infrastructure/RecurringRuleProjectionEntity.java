@@ -0,0 +1,27 @@
+package com.multi.vidulum.cashflow_forecast_processor.infrastructure;
+
+import com.multi.vidulum.recurring_rules.app.RecurringRuleDefinitionEvent;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Data
+@Builder
+@Document("recurring-rule-projections")
+public class RecurringRuleProjectionEntity {
+    @Id
+    private String ruleId;
+    @Indexed
+    private String cashFlowId;
+    private RecurringRuleDefinitionEvent definition;
+
+    public static RecurringRuleProjectionEntity fromDefinition(RecurringRuleDefinitionEvent definition) {
+        return RecurringRuleProjectionEntity.builder()
+                .ruleId(definition.getRuleId())
+                .cashFlowId(definition.getCashFlowId())
+                .definition(definition)
+                .build();
+    }
+}
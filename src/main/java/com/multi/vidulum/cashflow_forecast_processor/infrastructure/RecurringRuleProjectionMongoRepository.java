@@ -0,0 +1,10 @@
+package com.multi.vidulum.cashflow_forecast_processor.infrastructure;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface RecurringRuleProjectionMongoRepository extends MongoRepository<RecurringRuleProjectionEntity, String> {
+
+    List<RecurringRuleProjectionEntity> findByCashFlowId(String cashFlowId);
+}
@@ -0,0 +1,34 @@
+package com.multi.vidulum.cashflow_forecast_processor.infrastructure;
+
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.cashflow_forecast_processor.app.RecurringRuleProjectionRepository;
+import com.multi.vidulum.recurring_rules.app.RecurringRuleDefinitionEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class RecurringRuleProjectionRepositoryImpl implements RecurringRuleProjectionRepository {
+
+    private final RecurringRuleProjectionMongoRepository mongoRepository;
+
+    @Override
+    public Optional<RecurringRuleDefinitionEvent> findByRuleId(String ruleId) {
+        return mongoRepository.findById(ruleId).map(RecurringRuleProjectionEntity::getDefinition);
+    }
+
+    @Override
+    public List<RecurringRuleDefinitionEvent> findByCashFlowId(CashFlowId cashFlowId) {
+        return mongoRepository.findByCashFlowId(cashFlowId.id()).stream()
+                .map(RecurringRuleProjectionEntity::getDefinition)
+                .toList();
+    }
+
+    @Override
+    public void save(RecurringRuleDefinitionEvent definition) {
+        mongoRepository.save(RecurringRuleProjectionEntity.fromDefinition(definition));
+    }
+}
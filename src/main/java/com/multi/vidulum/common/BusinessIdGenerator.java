@@ -10,6 +10,9 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.LongStream;
+
 /**
  * Generates unique business IDs using MongoDB atomic counters.
  * Ensures uniqueness across multiple application instances.
@@ -67,16 +70,37 @@ public class BusinessIdGenerator {
     }
 
     /**
-     * Gets the next value from a named sequence using MongoDB's atomic findAndModify.
+     * Generates {@code count} consecutive CashChangeIds with a single counter update.
+     *
+     * @param count number of ids to reserve
+     * @return new CashChangeIds in ascending order
+     */
+    public List<CashChangeId> generateCashChangeIds(int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        long last = getNextSequence(CASHCHANGE_SEQUENCE, INITIAL_VALUE_10_DIGITS, count);
+        return LongStream.rangeClosed(last - count + 1, last)
+                .mapToObj(seq -> CashChangeId.of(String.format("CC%010d", seq)))
+                .toList();
+    }
+
+    private long getNextSequence(String sequenceName, long initialValue) {
+        return getNextSequence(sequenceName, initialValue, 1);
+    }
+
+    /**
+     * Advances a named sequence by {@code count} using MongoDB's atomic findAndModify.
      * If the sequence doesn't exist, it's created with the specified initial value.
      *
      * @param sequenceName the name of the sequence
      * @param initialValue the initial value for new sequences
-     * @return the next sequence value
+     * @param count        how many values to reserve
+     * @return the last reserved sequence value
      */
-    private long getNextSequence(String sequenceName, long initialValue) {
+    private long getNextSequence(String sequenceName, long initialValue, int count) {
         Query query = new Query(Criteria.where("_id").is(sequenceName));
-        Update update = new Update().inc("value", 1);
+        Update update = new Update().inc("value", count);
         FindAndModifyOptions options = FindAndModifyOptions.options()
                 .returnNew(true)
                 .upsert(true);
@@ -85,8 +109,8 @@ public class BusinessIdGenerator {
 
         if (result == null || result.getValue() <= initialValue) {
             // Initialize sequence if it's new or below initial value
-            mongoTemplate.save(new SequenceDocument(sequenceName, initialValue + 1));
-            return initialValue + 1;
+            mongoTemplate.save(new SequenceDocument(sequenceName, initialValue + count));
+            return initialValue + count;
         }
 
         return result.getValue();
@@ -0,0 +1,26 @@
+package com.multi.vidulum.common;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * MongoDB document of a lease of {@link JobLeaseRepository}.
+ */
+@Builder
+@Getter
+@ToString
+@Document("job-leases")
+public class JobLeaseDocument {
+
+    @Id
+    private String leaseId;
+    private String owner;
+    private Date expiresAt;
+    private boolean completed;
+    private Date completedAt;
+}
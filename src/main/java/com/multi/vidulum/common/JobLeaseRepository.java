@@ -0,0 +1,44 @@
+package com.multi.vidulum.common;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Leases letting scheduled jobs, which run on every node, divide their work between nodes or run on one node only.
+ * <p>
+ * A lease is held by one owner until it expires or is completed; an expired lease that was not
+ * completed can be taken over by another owner, a completed lease cannot be acquired again.
+ * Primary implementation uses MongoDB ({@link JobLeaseRepositoryImpl}).
+ */
+public interface JobLeaseRepository {
+
+    /**
+     * @return true if the lease is now held by {@code owner} for {@code ttl}
+     */
+    boolean tryAcquire(String leaseId, String owner, Duration ttl);
+
+    /**
+     * Extends a lease held by {@code owner}.
+     *
+     * @return false if the lease was lost to another owner
+     */
+    boolean renew(String leaseId, String owner, Duration ttl);
+
+    /**
+     * Marks the lease held by {@code owner} as completed.
+     */
+    void complete(String leaseId, String owner);
+
+    /**
+     * Owner id of this node for {@link #tryAcquire}: host name and a random suffix, unique per call.
+     */
+    static String newOwner() {
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + UUID.randomUUID();
+        } catch (UnknownHostException e) {
+            return "unknown-host-" + UUID.randomUUID();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.multi.vidulum.common;
+
+import com.mongodb.client.result.UpdateResult;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Component
+@AllArgsConstructor
+public class JobLeaseRepositoryImpl implements JobLeaseRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+
+    @Override
+    public boolean tryAcquire(String leaseId, String owner, Duration ttl) {
+        Date now = Date.from(clock.instant());
+        // matches a free lease of this id; if the lease exists but is held or completed, the upsert
+        // attempts to insert a second document with the same _id and fails
+        Criteria free = where("_id").is(leaseId)
+                .and("completed").is(false)
+                .orOperator(where("expiresAt").lt(now), where("owner").is(owner));
+        try {
+            UpdateResult result = mongoTemplate.upsert(
+                    query(free),
+                    new Update().set("owner", owner).set("expiresAt", Date.from(clock.instant().plus(ttl))),
+                    JobLeaseDocument.class);
+            return result.getMatchedCount() > 0 || result.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean renew(String leaseId, String owner, Duration ttl) {
+        UpdateResult result = mongoTemplate.updateFirst(
+                query(where("_id").is(leaseId).and("owner").is(owner).and("completed").is(false)),
+                new Update().set("expiresAt", Date.from(clock.instant().plus(ttl))),
+                JobLeaseDocument.class);
+        return result.getMatchedCount() > 0;
+    }
+
+    @Override
+    public void complete(String leaseId, String owner) {
+        mongoTemplate.updateFirst(
+                query(where("_id").is(leaseId).and("owner").is(owner)),
+                new Update().set("completed", true).set("completedAt", Date.from(clock.instant())),
+                JobLeaseDocument.class);
+    }
+}
@@ -2,6 +2,7 @@ package com.multi.vidulum.common;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.SneakyThrows;
@@ -14,6 +15,8 @@ public record JsonContent(String content) {
         OBJECT_MAPPER = new ObjectMapper();
         OBJECT_MAPPER.registerModule(new JavaTimeModule());
         OBJECT_MAPPER.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Classpath scan for further Jackson modules - once, not per read
+        OBJECT_MAPPER.findAndRegisterModules();
     }
 
     @SneakyThrows
@@ -26,9 +29,25 @@ public record JsonContent(String content) {
         return new JsonContent(OBJECT_MAPPER.writeValueAsString(object));
     }
 
+    /**
+     * Compact UTF-8 JSON, for payloads that are written to the wire as-is.
+     */
+    @SneakyThrows
+    public static byte[] asJsonBytes(Object object) {
+        return OBJECT_MAPPER.writeValueAsBytes(object);
+    }
+
+    /**
+     * Reader bound to {@code clazz}, for callers that decode the same type repeatedly.
+     * ObjectReaders are immutable and thread-safe.
+     */
+    public static ObjectReader readerFor(Class<?> clazz) {
+        return OBJECT_MAPPER.readerFor(clazz);
+    }
+
     public <T> T to(Class<T> clazz) {
         try {
-            return OBJECT_MAPPER.findAndRegisterModules().readValue(content, clazz);
+            return OBJECT_MAPPER.readValue(content, clazz);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
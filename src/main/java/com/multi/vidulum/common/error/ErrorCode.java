@@ -112,6 +112,7 @@ public enum ErrorCode {
 
     // Internal
     INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred"),
+    COMMANDS_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending commands, retry later"),
     RESOURCE_NOT_FOUND(HttpStatus.NOT_FOUND, "Resource not found"),
 
     // ============ AI Bank CSV Adapter ============
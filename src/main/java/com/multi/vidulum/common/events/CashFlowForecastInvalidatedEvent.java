@@ -0,0 +1,24 @@
+package com.multi.vidulum.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Broadcast by the node that applied a CashFlow event to its forecast projection.
+ * Every node evicts its cached forecast for {@code cashFlowId} on receipt.
+ * <p>
+ * {@code checksum} is the checksum of the applied event, or null when applying it failed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CashFlowForecastInvalidatedEvent {
+    String cashFlowId;
+    String checksum;
+    ZonedDateTime invalidatedAt;
+}
@@ -0,0 +1,21 @@
+package com.multi.vidulum.common.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Broadcast by the node that revoked all tokens of {@code userId} (logout, logout-all, login, refresh).
+ * Every node drops its cached authentications of that user on receipt.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTokensRevokedEvent {
+    String userId;
+    Instant revokedAt;
+}
@@ -10,6 +10,8 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * <ul>
  *   <li>{@code MonthlyRolloverScheduler} - runs at 02:00 UTC on 1st of each month</li>
  *   <li>{@code RecurringRuleAutoResumeScheduler} - runs at 03:00 UTC daily</li>
+ *   <li>{@code RecurringRuleCalendarScheduler} - runs at 00:05 UTC daily</li>
+ *   <li>{@code PnlSnapshotScheduler} - runs at 00:15 UTC daily, when enabled</li>
  * </ul>
  */
 @Configuration
@@ -0,0 +1,146 @@
+package com.multi.vidulum.pnl.app;
+
+import com.multi.vidulum.common.JobLeaseRepository;
+import com.multi.vidulum.common.Range;
+import com.multi.vidulum.common.UserId;
+import com.multi.vidulum.pnl.app.commands.MakePnlSnapshotCommand;
+import com.multi.vidulum.pnl.domain.DomainPnlRepository;
+import com.multi.vidulum.shared.cqrs.CommandGateway;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Scheduled job taking the daily PnL snapshot of every user having a PnL history.
+ * <p>
+ * Runs at 00:15 UTC when {@code vidulum.pnl.snapshot.enabled} is set; each snapshot covers the trades
+ * of the previous day. Users are processed on virtual threads, at most {@code max-concurrency} at a time,
+ * and a failed snapshot does not stop the others.
+ * <p>
+ * The job is scheduled on every node, but a day is snapshotted by the node holding its lease
+ * ({@link JobLeaseRepository}). Snapshots are not idempotent, so the lease is completed even when some
+ * of them failed; only a day left unfinished by a stopped node is taken over, once its lease expires.
+ * <p>
+ * Meters: {@code vidulum.pnl.snapshots} (tagged {@code outcome=success|failure}) and {@code vidulum.pnl.snapshot.job}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "vidulum.pnl.snapshot.enabled", havingValue = "true")
+public class PnlSnapshotScheduler {
+
+    private static final int RENEW_EVERY = 500;
+
+    private final DomainPnlRepository pnlRepository;
+    private final JobLeaseRepository leaseRepository;
+    private final CommandGateway commandGateway;
+    private final Clock clock;
+    private final int maxConcurrency;
+    private final Duration leaseTtl;
+    private final String owner;
+
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Timer job;
+
+    public PnlSnapshotScheduler(
+            DomainPnlRepository pnlRepository,
+            JobLeaseRepository leaseRepository,
+            CommandGateway commandGateway,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${vidulum.pnl.snapshot.max-concurrency:16}") int maxConcurrency,
+            @Value("${vidulum.pnl.snapshot.lease-ttl-minutes:30}") long leaseTtlMinutes) {
+        this.pnlRepository = pnlRepository;
+        this.leaseRepository = leaseRepository;
+        this.commandGateway = commandGateway;
+        this.clock = clock;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.leaseTtl = Duration.ofMinutes(leaseTtlMinutes);
+        this.owner = JobLeaseRepository.newOwner();
+
+        this.succeeded = snapshotCounter(meterRegistry, "success");
+        this.failed = snapshotCounter(meterRegistry, "failure");
+        this.job = Timer.builder("vidulum.pnl.snapshot.job")
+                .description("Duration of the daily PnL snapshot job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${vidulum.pnl.snapshot.cron:0 15 0 * * *}")
+    public void snapshotAllUsers() {
+        job.record(this::snapshotPreviousDay);
+    }
+
+    private void snapshotPreviousDay() {
+        LocalDate today = LocalDate.now(clock);
+        String leaseId = "pnl-snapshot:" + today.minusDays(1);
+        if (!leaseRepository.tryAcquire(leaseId, owner, leaseTtl)) {
+            log.info("PnL snapshot of [{}] is taken by another node", today.minusDays(1));
+            return;
+        }
+        Range<ZonedDateTime> previousDay = Range.of(
+                today.minusDays(1).atStartOfDay(clock.getZone()),
+                today.atStartOfDay(clock.getZone()));
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        int users = 0;
+        boolean leaseLost = false;
+
+        // closing the executor waits for all submitted snapshots
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("pnl-snapshot-", 0).factory())) {
+            for (UserId userId : pnlRepository.findAllUserIds()) {
+                if (++users % RENEW_EVERY == 0 && !leaseRepository.renew(leaseId, owner, leaseTtl)) {
+                    leaseLost = true;
+                    break;
+                }
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        snapshot(userId, previousDay);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        if (leaseLost) {
+            log.warn("Lost lease [{}] during PnL snapshot, the day is left to its new owner", leaseId);
+            return;
+        }
+        leaseRepository.complete(leaseId, owner);
+        log.info("PnL snapshot job for [{}] completed for [{}] users", today.minusDays(1), users);
+    }
+
+    private void snapshot(UserId userId, Range<ZonedDateTime> dateTimeRange) {
+        try {
+            commandGateway.send(MakePnlSnapshotCommand.builder()
+                    .userId(userId)
+                    .dateTimeRange(dateTimeRange)
+                    .build());
+            succeeded.increment();
+        } catch (Exception e) {
+            log.error("Failed to make PnL snapshot of user [{}]: {}", userId.getId(), e.getMessage(), e);
+            failed.increment();
+        }
+    }
+
+    private static Counter snapshotCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("vidulum.pnl.snapshots")
+                .description("PnL snapshots made by the daily snapshot job")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
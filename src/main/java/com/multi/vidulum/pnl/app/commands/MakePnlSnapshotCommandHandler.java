@@ -17,6 +17,10 @@ import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
@@ -41,41 +45,73 @@ public class MakePnlSnapshotCommandHandler implements CommandHandler<MakePnlSnap
         return pnlRepository.save(pnlHistory);
     }
 
+    /**
+     * The aggregated portfolio and the trades are fetched concurrently, then the summaries of all
+     * portfolios, each on its own virtual thread, so the snapshot time no longer grows with the
+     * number of portfolios.
+     */
     private PnlStatement createProfitAndLossStatement(UserId userId, Range<ZonedDateTime> dateTimeRange) {
-        PortfolioDto.AggregatedPortfolioSummaryJson aggregatedPortfolio = portfolioRestClient.getAggregatedPortfolio(userId);
-
-        Map<String, List<TradingDto.TradeSummaryJson>> groupedTradesByPortfolio =
-                tradingRestClient.getTradesInDateRange(userId, dateTimeRange).stream()
-                        .collect(groupingBy(TradingDto.TradeSummaryJson::getPortfolioId));
-
-        List<PnlPortfolioStatement> pnlPortfolioStatements = aggregatedPortfolio.getPortfolioIds().stream()
-                .map(portfolioId -> {
-
-                    // get portfolio stats
-                    PortfolioDto.PortfolioSummaryJson portfolioSummaryJson = portfolioRestClient.getPortfolio(PortfolioId.of(portfolioId));
-
-                    // calculate trades from given period of time
-                    List<PnlTradeDetails> tradeDetails = mapToSnapshots(groupedTradesByPortfolio.getOrDefault(portfolioId, List.of()));
-
-                    return PnlPortfolioStatement.builder()
-                            .portfolioId(PortfolioId.of(portfolioSummaryJson.getPortfolioId()))
-                            .investedBalance(portfolioSummaryJson.getInvestedBalance())
-                            .currentValue(portfolioSummaryJson.getCurrentValue())
-                            .totalProfit(portfolioSummaryJson.getProfit())
-                            .pctProfit(portfolioSummaryJson.getPctProfit())
-                            .executedTrades(tradeDetails)
-                            .build();
-                })
-                .collect(toList());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<PortfolioDto.AggregatedPortfolioSummaryJson> aggregatedPortfolioFuture =
+                    executor.submit(() -> portfolioRestClient.getAggregatedPortfolio(userId));
+            Future<Map<String, List<TradingDto.TradeSummaryJson>>> groupedTradesFuture =
+                    executor.submit(() -> tradingRestClient.getTradesInDateRange(userId, dateTimeRange).stream()
+                            .collect(groupingBy(TradingDto.TradeSummaryJson::getPortfolioId)));
+
+            PortfolioDto.AggregatedPortfolioSummaryJson aggregatedPortfolio = await(aggregatedPortfolioFuture);
+
+            // get portfolio stats
+            List<Future<PortfolioDto.PortfolioSummaryJson>> portfolioSummaryFutures = aggregatedPortfolio.getPortfolioIds().stream()
+                    .map(portfolioId -> executor.submit(() -> portfolioRestClient.getPortfolio(PortfolioId.of(portfolioId))))
+                    .collect(toList());
+
+            Map<String, List<TradingDto.TradeSummaryJson>> groupedTradesByPortfolio = await(groupedTradesFuture);
+
+            List<PnlPortfolioStatement> pnlPortfolioStatements = portfolioSummaryFutures.stream()
+                    .map(MakePnlSnapshotCommandHandler::await)
+                    .map(portfolioSummaryJson -> {
+
+                        // calculate trades from given period of time
+                        List<PnlTradeDetails> tradeDetails = mapToSnapshots(
+                                groupedTradesByPortfolio.getOrDefault(portfolioSummaryJson.getPortfolioId(), List.of()));
+
+                        return PnlPortfolioStatement.builder()
+                                .portfolioId(PortfolioId.of(portfolioSummaryJson.getPortfolioId()))
+                                .investedBalance(portfolioSummaryJson.getInvestedBalance())
+                                .currentValue(portfolioSummaryJson.getCurrentValue())
+                                .totalProfit(portfolioSummaryJson.getProfit())
+                                .pctProfit(portfolioSummaryJson.getPctProfit())
+                                .executedTrades(tradeDetails)
+                                .build();
+                    })
+                    .collect(toList());
+
+            return PnlStatement.builder()
+                    .investedBalance(aggregatedPortfolio.getInvestedBalance())
+                    .currentValue(aggregatedPortfolio.getCurrentValue())
+                    .totalProfit(aggregatedPortfolio.getTotalProfit())
+                    .pctProfit(aggregatedPortfolio.getPctProfit())
+                    .pnlPortfolioStatements(pnlPortfolioStatements)
+                    .dateTime(ZonedDateTime.now(clock))
+                    .build();
+        }
+    }
 
-        return PnlStatement.builder()
-                .investedBalance(aggregatedPortfolio.getInvestedBalance())
-                .currentValue(aggregatedPortfolio.getCurrentValue())
-                .totalProfit(aggregatedPortfolio.getTotalProfit())
-                .pctProfit(aggregatedPortfolio.getPctProfit())
-                .pnlPortfolioStatements(pnlPortfolioStatements)
-                .dateTime(ZonedDateTime.now(clock))
-                .build();
+    /**
+     * Waits for the result, rethrowing the failure of the task as it was thrown.
+     */
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while making PnL snapshot", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
     }
 
     private List<PnlTradeDetails> mapToSnapshots(List<TradingDto.TradeSummaryJson> executedTrades) {
@@ -3,8 +3,14 @@ package com.multi.vidulum.pnl.domain;
 import com.multi.vidulum.common.UserId;
 import com.multi.vidulum.shared.ddd.DomainRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface DomainPnlRepository extends DomainRepository<PnlId, PnlHistory> {
     Optional<PnlHistory> findByUser(UserId userId);
+
+    /**
+     * @return users having a PnL history
+     */
+    List<UserId> findAllUserIds();
 }
@@ -8,6 +8,7 @@ import com.multi.vidulum.pnl.infrastructure.entities.PnlHistoryEntity;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -35,4 +36,12 @@ public class DomainPnlHistoryImpl implements DomainPnlRepository {
                 .map(PnlHistoryEntity::toSnapshot)
                 .map(PnlHistory::from);
     }
+
+    @Override
+    public List<UserId> findAllUserIds() {
+        return pnlMongoRepository.findAllUserIds().stream()
+                .map(PnlHistoryEntity::getUserId)
+                .map(UserId::of)
+                .toList();
+    }
 }
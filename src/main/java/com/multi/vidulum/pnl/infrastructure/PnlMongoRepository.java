@@ -2,10 +2,15 @@ package com.multi.vidulum.pnl.infrastructure;
 
 import com.multi.vidulum.pnl.infrastructure.entities.PnlHistoryEntity;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface PnlMongoRepository extends MongoRepository<PnlHistoryEntity, String> {
 
     Optional<PnlHistoryEntity> findByUserId(String userId);
+
+    @Query(value = "{}", fields = "{ 'userId' : 1 }")
+    List<PnlHistoryEntity> findAllUserIds();
 }
@@ -1,7 +1,6 @@
 package com.multi.vidulum.portfolio.app.queries;
 
 import com.multi.vidulum.common.Segment;
-import com.multi.vidulum.common.Ticker;
 import com.multi.vidulum.portfolio.app.AggregatedPortfolio;
 import com.multi.vidulum.portfolio.domain.AssetBasicInfo;
 import com.multi.vidulum.portfolio.domain.QuoteRestClient;
@@ -17,7 +16,7 @@ import java.util.List;
 import java.util.Map;
 
 import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 @Component
 @AllArgsConstructor
@@ -34,6 +33,13 @@ public class GetAggregatedPortfolioQueryHandler implements QueryHandler<GetAggre
             throw new RuntimeException("");
         }
 
+        // resolve the segments of all assets of all portfolios in one call
+        Map<QuoteRestClient.AssetKey, AssetBasicInfo> basicInfos = quoteRestClient.fetchBasicInfoAboutAssets(
+                portfolios.stream()
+                        .flatMap(portfolio -> portfolio.getAssets().stream()
+                                .map(asset -> new QuoteRestClient.AssetKey(portfolio.getBroker(), asset.getTicker())))
+                        .collect(toSet()));
+
         return portfolios
                 .stream()
                 .reduce(
@@ -43,15 +49,11 @@ public class GetAggregatedPortfolioQueryHandler implements QueryHandler<GetAggre
                                 .build(),
                         (aggregatedPortfolio, portfolio) -> {
 
-                            // TODO: improve aggregation per all portfolios
-                            Map<Ticker, List<AssetBasicInfo>> assetInfoMap = portfolio.getAssets().stream()
-                                    .map(asset -> quoteRestClient.fetchBasicInfoAboutAsset(portfolio.getBroker(), asset.getTicker()))
-                                    .collect(groupingBy(AssetBasicInfo::getTicker));
-                            Map<Ticker, Segment> segmentMap = assetInfoMap.entrySet().stream().collect(toMap(Map.Entry::getKey, tickerListEntry -> tickerListEntry.getValue().get(0).getSegment()));
-
                             // split assets per segment
                             Map<Segment, List<Asset>> segmentedAssets = portfolio.getAssets().stream()
-                                    .collect(groupingBy(asset -> segmentMap.get(asset.getTicker())));
+                                    .collect(groupingBy(asset -> basicInfos
+                                            .get(new QuoteRestClient.AssetKey(portfolio.getBroker(), asset.getTicker()))
+                                            .getSegment()));
 
                             // append assets to aggregated-portfolio by segment
                             segmentedAssets.forEach((segment, assets) -> {
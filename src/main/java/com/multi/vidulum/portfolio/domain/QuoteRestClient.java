@@ -5,10 +5,33 @@ import com.multi.vidulum.common.Broker;
 import com.multi.vidulum.common.Symbol;
 import com.multi.vidulum.common.Ticker;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface QuoteRestClient {
     AssetPriceMetadata fetch(Broker broker, Symbol symbol);
 
+    /**
+     * Resolves the price metadata of all keys in one call.
+     *
+     * @return price metadata by key, one entry per distinct key; keys without a quote are left out
+     */
+    Map<PriceKey, AssetPriceMetadata> fetchAll(Collection<PriceKey> keys);
+
     AssetBasicInfo fetchBasicInfoAboutAsset(Broker broker, Ticker ticker);
 
+    /**
+     * Resolves the basic info of all keys in one call; unknown assets resolve to {@link AssetBasicInfo#notFound}.
+     *
+     * @return basic info by key, one entry per distinct key
+     */
+    Map<AssetKey, AssetBasicInfo> fetchBasicInfoAboutAssets(Collection<AssetKey> keys);
+
     void registerBasicInfoAboutAsset(Broker broker, AssetBasicInfo assetBasicInfo);
+
+    record PriceKey(Broker broker, Symbol symbol) {
+    }
+
+    record AssetKey(Broker broker, Ticker ticker) {
+    }
 }
@@ -7,10 +7,20 @@ import com.multi.vidulum.common.Ticker;
 import com.multi.vidulum.portfolio.domain.AssetBasicInfo;
 import com.multi.vidulum.portfolio.domain.QuoteRestClient;
 import com.multi.vidulum.quotation.domain.QuotationService;
+import com.multi.vidulum.quotation.domain.QuoteNotFoundException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toSet;
+
 @Slf4j
 @Component
 @AllArgsConstructor
@@ -24,12 +34,53 @@ public class QuoteRestClientAdapter implements QuoteRestClient {
         return quotationService.fetch(broker, symbol);
     }
 
+    @Override
+    public Map<PriceKey, AssetPriceMetadata> fetchAll(Collection<PriceKey> keys) {
+        log.info("Getting price metadata of [{}] symbols", keys.size());
+        Map<PriceKey, AssetPriceMetadata> quotes = new HashMap<>();
+        keys.stream()
+                .collect(groupingBy(PriceKey::broker, mapping(PriceKey::symbol, toSet())))
+                .forEach((broker, symbols) -> fetchAvailable(broker, symbols)
+                        .forEach((symbol, quote) -> quotes.put(new PriceKey(broker, symbol), quote)));
+        return quotes;
+    }
+
+    /**
+     * All symbols at once; when one of them has no quote, symbol by symbol, leaving the missing ones out.
+     */
+    private Map<Symbol, AssetPriceMetadata> fetchAvailable(Broker broker, Set<Symbol> symbols) {
+        try {
+            return quotationService.fetchAll(broker, symbols);
+        } catch (QuoteNotFoundException e) {
+            Map<Symbol, AssetPriceMetadata> quotes = new HashMap<>();
+            for (Symbol symbol : symbols) {
+                try {
+                    quotes.put(symbol, quotationService.fetch(broker, symbol));
+                } catch (QuoteNotFoundException missing) {
+                    log.warn("[{}] No quote of [{}]", broker, symbol);
+                }
+            }
+            return quotes;
+        }
+    }
+
     @Override
     public AssetBasicInfo fetchBasicInfoAboutAsset(Broker broker, Ticker ticker) {
         log.info("[{}] Getting info about asset [{}]", broker, ticker);
         return quotationService.fetchBasicInfoAboutAsset(broker, ticker);
     }
 
+    @Override
+    public Map<AssetKey, AssetBasicInfo> fetchBasicInfoAboutAssets(Collection<AssetKey> keys) {
+        log.info("Getting info about [{}] assets", keys.size());
+        Map<AssetKey, AssetBasicInfo> basicInfos = new HashMap<>();
+        keys.stream()
+                .collect(groupingBy(AssetKey::broker, mapping(AssetKey::ticker, toSet())))
+                .forEach((broker, tickers) -> quotationService.fetchBasicInfoAboutAssets(broker, tickers)
+                        .forEach((ticker, basicInfo) -> basicInfos.put(new AssetKey(broker, ticker), basicInfo)));
+        return basicInfos;
+    }
+
     @Override
     public void registerBasicInfoAboutAsset(Broker broker, AssetBasicInfo assetBasicInfo) {
         quotationService.registerAssetBasicInfo(broker, assetBasicInfo);
@@ -1,21 +1,32 @@
 package com.multi.vidulum.quotation;
 
 
+import com.multi.vidulum.cashflow.domain.CashFlowEvent;
+import com.multi.vidulum.cashflow.domain.CashFlowEventTypeFilter;
+import com.multi.vidulum.cashflow_forecast_processor.app.CashFlowForecastDeltaEvent;
 import com.multi.vidulum.common.events.BankDataIngestionUnifiedEvent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
+import com.multi.vidulum.common.events.CashFlowForecastInvalidatedEvent;
 import com.multi.vidulum.common.events.OrderFilledEvent;
 import com.multi.vidulum.common.events.TradeCapturedEvent;
 import com.multi.vidulum.common.events.UserCreatedEvent;
 import com.multi.vidulum.common.events.UserFinancialProfileUnifiedEvent;
+import com.multi.vidulum.common.events.UserTokensRevokedEvent;
 import com.multi.vidulum.quotation.app.BinanceBrokerQuotationProvider;
 import com.multi.vidulum.quotation.app.DegiroBrokerQuotationProvider;
 import com.multi.vidulum.quotation.app.PMBrokerQuotationProvider;
 import com.multi.vidulum.quotation.domain.BrokerQuotationProvider;
 import com.multi.vidulum.quotation.domain.PriceChangedEvent;
+import com.multi.vidulum.quotation.domain.PriceHistoryJournal;
 import com.multi.vidulum.quotation.domain.QuotationService;
+import com.multi.vidulum.quotation.infrastructure.FilePriceHistoryJournal;
+import com.multi.vidulum.recurring_rules.app.RecurringRuleDefinitionEvent;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,8 +38,10 @@ import org.springframework.kafka.core.*;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Configuration
 public class KafkaTopicConfig {
@@ -45,9 +58,12 @@ public class KafkaTopicConfig {
                 ));
     }
 
+    /**
+     * Keyed by {@link PriceChangedEvent#partitionKey}, so partitions keep the ticks of a symbol in order.
+     */
     @Bean
-    public NewTopic quotesTopic() {
-        return new NewTopic("quotes", 1, (short) 1);
+    public NewTopic quotesTopic(@Value("${vidulum.quotation.quotes.partitions:6}") int partitions) {
+        return new NewTopic("quotes", partitions, (short) 1);
     }
 
     @Bean
@@ -65,11 +81,13 @@ public class KafkaTopicConfig {
     }
 
     @Bean
-    public ConsumerFactory<String, PriceChangedEvent> pricingConsumerFactory() {
+    public ConsumerFactory<String, PriceChangedEvent> pricingConsumerFactory(
+            @Value("${vidulum.quotation.quotes.max-poll-records:2000}") int maxPollRecords) {
         Map<String, Object> configProps = Map.of(
                 ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress,
                 ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
-                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class,
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
 
         return new DefaultKafkaConsumerFactory<>(
                 configProps,
@@ -77,21 +95,37 @@ public class KafkaTopicConfig {
                 new JsonDeserializer<>(PriceChangedEvent.class));
     }
 
+    /**
+     * Batch listener with {@code vidulum.quotation.quotes.concurrency} consumers sharing the quotes partitions;
+     * {@link QuotationService#onPriceChanges} conflates each poll.
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, PriceChangedEvent> priceChangingContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, PriceChangedEvent> priceChangingContainerFactory(
+            ConsumerFactory<String, PriceChangedEvent> pricingConsumerFactory,
+            @Value("${vidulum.quotation.quotes.concurrency:3}") int concurrency) {
         ConcurrentKafkaListenerContainerFactory<String, PriceChangedEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(pricingConsumerFactory());
+        factory.setConsumerFactory(pricingConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
         return factory;
     }
 
     @Bean
     public QuotationService quotationService(@Autowired List<BrokerQuotationProvider> brokerQuotationProviders) {
         QuotationService quotationService = new QuotationService();
-        brokerQuotationProviders.forEach(quotationService::registerBroker);
+        brokerQuotationProviders.forEach(brokerQuotationProvider -> {
+            brokerQuotationProvider.restoreHistory();
+            quotationService.registerBroker(brokerQuotationProvider);
+        });
         return quotationService;
     }
 
+    @Bean
+    public PriceHistoryJournal priceHistoryJournal(@Value("${vidulum.quotation.history.journal-dir:}") String journalDir) {
+        return journalDir.isBlank() ? PriceHistoryJournal.NONE : new FilePriceHistoryJournal(Path.of(journalDir));
+    }
+
     //    *******
     @Bean
     public NewTopic userCreatedTopic() {
@@ -224,22 +258,89 @@ public class KafkaTopicConfig {
         return new NewTopic("cash_flow", 1, (short) 1);
     }
 
+    /**
+     * Records are written pre-encoded by {@link com.multi.vidulum.cashflow.domain.CashFlowEventEnvelope},
+     * so the cash_flow topic is raw bytes on both ends.
+     */
     @Bean
-    public ProducerFactory<String, CashFlowUnifiedEvent> cashFlowProducerFactory() {
+    public ProducerFactory<String, byte[]> cashFlowProducerFactory() {
         Map<String, Object> configProps = Map.of(
                 ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress,
                 ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
-                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
     @Bean
-    public KafkaTemplate<String, CashFlowUnifiedEvent> cashFlowUnifiedEventKafkaTemplate() {
+    public KafkaTemplate<String, byte[]> cashFlowEventKafkaTemplate() {
         return new KafkaTemplate<>(cashFlowProducerFactory());
     }
 
     @Bean
-    public ConsumerFactory<String, CashFlowUnifiedEvent> cashFlowUnifiedEventConsumerFactory() {
+    public ConsumerFactory<String, byte[]> cashFlowEventConsumerFactory(MeterRegistry meterRegistry) {
+        Map<String, Object> configProps = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+
+        DefaultKafkaConsumerFactory<String, byte[]> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                configProps,
+                new StringDeserializer(),
+                new ByteArrayDeserializer());
+        // kafka.consumer.* client metrics, incl. records lag per partition of the forecast processor (group_id7)
+        consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return consumerFactory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> cashFlowEventContainerFactory(MeterRegistry meterRegistry) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(cashFlowEventConsumerFactory(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * For the owned-accounts registry, which only reacts to CashFlow creation;
+     * every other event type is dropped on its header.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> cashFlowCreationEventContainerFactory(MeterRegistry meterRegistry) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(cashFlowEventConsumerFactory(meterRegistry));
+        factory.setRecordFilterStrategy(new CashFlowEventTypeFilter(
+                "owned_accounts_group",
+                Set.of(CashFlowEvent.CashFlowCreatedEvent.class.getSimpleName(),
+                        CashFlowEvent.CashFlowWithHistoryCreatedEvent.class.getSimpleName()),
+                meterRegistry));
+        return factory;
+    }
+
+
+    //    ******* Forecast Cache Invalidation Events *******
+
+    @Bean
+    public NewTopic cashFlowForecastInvalidationTopic() {
+        return new NewTopic("cash_flow_forecast_invalidation", 1, (short) 1);
+    }
+
+    @Bean
+    public ProducerFactory<String, CashFlowForecastInvalidatedEvent> cashFlowForecastInvalidationProducerFactory() {
+        Map<String, Object> configProps = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, CashFlowForecastInvalidatedEvent> cashFlowForecastInvalidationKafkaTemplate() {
+        return new KafkaTemplate<>(cashFlowForecastInvalidationProducerFactory());
+    }
+
+    @Bean
+    public ConsumerFactory<String, CashFlowForecastInvalidatedEvent> cashFlowForecastInvalidationConsumerFactory() {
         Map<String, Object> configProps = Map.of(
                 ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress,
                 ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
@@ -248,17 +349,122 @@ public class KafkaTopicConfig {
         return new DefaultKafkaConsumerFactory<>(
                 configProps,
                 new StringDeserializer(),
-                new JsonDeserializer<>(CashFlowUnifiedEvent.class));
+                new JsonDeserializer<>(CashFlowForecastInvalidatedEvent.class));
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, CashFlowUnifiedEvent> cashFlowUnifiedEventContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, CashFlowUnifiedEvent> factory =
+    public ConcurrentKafkaListenerContainerFactory<String, CashFlowForecastInvalidatedEvent> cashFlowForecastInvalidationContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, CashFlowForecastInvalidatedEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(cashFlowUnifiedEventConsumerFactory());
+        factory.setConsumerFactory(cashFlowForecastInvalidationConsumerFactory());
         return factory;
     }
 
+    //    ******* Token Revocation Events (auth cache invalidation) *******
+
+    @Bean
+    public NewTopic userTokensRevokedTopic() {
+        return new NewTopic("user_tokens_revoked", 1, (short) 1);
+    }
+
+    @Bean
+    public ProducerFactory<String, UserTokensRevokedEvent> userTokensRevokedProducerFactory() {
+        Map<String, Object> configProps = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, UserTokensRevokedEvent> userTokensRevokedKafkaTemplate() {
+        return new KafkaTemplate<>(userTokensRevokedProducerFactory());
+    }
+
+    @Bean
+    public ConsumerFactory<String, UserTokensRevokedEvent> userTokensRevokedConsumerFactory() {
+        Map<String, Object> configProps = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+
+        return new DefaultKafkaConsumerFactory<>(
+                configProps,
+                new StringDeserializer(),
+                new JsonDeserializer<>(UserTokensRevokedEvent.class));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, UserTokensRevokedEvent> userTokensRevokedContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, UserTokensRevokedEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(userTokensRevokedConsumerFactory());
+        return factory;
+    }
+
+    //    ******* Forecast Delta Events (websocket streaming) *******
+
+    @Bean
+    public NewTopic cashFlowForecastDeltaTopic() {
+        return new NewTopic("cash_flow_forecast_delta", 1, (short) 1);
+    }
+
+    @Bean
+    public ProducerFactory<String, CashFlowForecastDeltaEvent> cashFlowForecastDeltaProducerFactory() {
+        Map<String, Object> configProps = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class,
+                JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, CashFlowForecastDeltaEvent> cashFlowForecastDeltaKafkaTemplate() {
+        return new KafkaTemplate<>(cashFlowForecastDeltaProducerFactory());
+    }
+
+    //    ******* Recurring Rule Definitions (virtual forecast occurrences) *******
+
+    @Bean
+    public NewTopic recurringRuleDefinitionsTopic() {
+        return new NewTopic("recurring_rule_definitions", 1, (short) 1);
+    }
+
+    @Bean
+    public ProducerFactory<String, RecurringRuleDefinitionEvent> recurringRuleDefinitionProducerFactory() {
+        Map<String, Object> configProps = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, RecurringRuleDefinitionEvent> recurringRuleDefinitionKafkaTemplate() {
+        return new KafkaTemplate<>(recurringRuleDefinitionProducerFactory());
+    }
+
+    @Bean
+    public ConsumerFactory<String, RecurringRuleDefinitionEvent> recurringRuleDefinitionConsumerFactory() {
+        Map<String, Object> configProps = Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress,
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+
+        return new DefaultKafkaConsumerFactory<>(
+                configProps,
+                new StringDeserializer(),
+                new JsonDeserializer<>(RecurringRuleDefinitionEvent.class));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, RecurringRuleDefinitionEvent> recurringRuleDefinitionContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, RecurringRuleDefinitionEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(recurringRuleDefinitionConsumerFactory());
+        return factory;
+    }
 
     //    ******* Bank Data Ingestion Events *******
 
@@ -349,17 +555,20 @@ public class KafkaTopicConfig {
     //    *******
 
     @Bean
-    public BinanceBrokerQuotationProvider binanceBrokerQuotationProvider() {
-        return new BinanceBrokerQuotationProvider();
+    public BinanceBrokerQuotationProvider binanceBrokerQuotationProvider(
+            @Value("${vidulum.quotation.history.capacity:4096}") int historyCapacity, PriceHistoryJournal priceHistoryJournal) {
+        return new BinanceBrokerQuotationProvider(historyCapacity, priceHistoryJournal);
     }
 
     @Bean
-    public PMBrokerQuotationProvider pmBrokerQuotationProvider() {
-        return new PMBrokerQuotationProvider();
+    public PMBrokerQuotationProvider pmBrokerQuotationProvider(
+            @Value("${vidulum.quotation.history.capacity:4096}") int historyCapacity, PriceHistoryJournal priceHistoryJournal) {
+        return new PMBrokerQuotationProvider(historyCapacity, priceHistoryJournal);
     }
 
     @Bean
-    public DegiroBrokerQuotationProvider degiroBrokerQuotationProvider() {
-        return new DegiroBrokerQuotationProvider();
+    public DegiroBrokerQuotationProvider degiroBrokerQuotationProvider(
+            @Value("${vidulum.quotation.history.capacity:4096}") int historyCapacity, PriceHistoryJournal priceHistoryJournal) {
+        return new DegiroBrokerQuotationProvider(historyCapacity, priceHistoryJournal);
     }
 }
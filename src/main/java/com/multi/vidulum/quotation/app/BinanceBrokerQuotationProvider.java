@@ -2,9 +2,10 @@ package com.multi.vidulum.quotation.app;
 
 import com.multi.vidulum.common.Broker;
 import com.multi.vidulum.quotation.domain.BrokerQuotationProvider;
+import com.multi.vidulum.quotation.domain.PriceHistoryJournal;
 
 public class BinanceBrokerQuotationProvider extends BrokerQuotationProvider {
-    public BinanceBrokerQuotationProvider() {
-        super(Broker.of("BINANCE"));
+    public BinanceBrokerQuotationProvider(int historyCapacity, PriceHistoryJournal journal) {
+        super(Broker.of("BINANCE"), historyCapacity, journal);
     }
 }
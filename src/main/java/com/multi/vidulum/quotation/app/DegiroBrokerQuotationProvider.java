@@ -2,9 +2,10 @@ package com.multi.vidulum.quotation.app;
 
 import com.multi.vidulum.common.Broker;
 import com.multi.vidulum.quotation.domain.BrokerQuotationProvider;
+import com.multi.vidulum.quotation.domain.PriceHistoryJournal;
 
 public class DegiroBrokerQuotationProvider extends BrokerQuotationProvider {
-    public DegiroBrokerQuotationProvider() {
-        super(Broker.of("DEGIRO"));
+    public DegiroBrokerQuotationProvider(int historyCapacity, PriceHistoryJournal journal) {
+        super(Broker.of("DEGIRO"), historyCapacity, journal);
     }
 }
@@ -2,9 +2,10 @@ package com.multi.vidulum.quotation.app;
 
 import com.multi.vidulum.common.Broker;
 import com.multi.vidulum.quotation.domain.BrokerQuotationProvider;
+import com.multi.vidulum.quotation.domain.PriceHistoryJournal;
 
 public class PMBrokerQuotationProvider extends BrokerQuotationProvider {
-    public PMBrokerQuotationProvider() {
-        super(Broker.of("PM"));
+    public PMBrokerQuotationProvider(int historyCapacity, PriceHistoryJournal journal) {
+        super(Broker.of("PM"), historyCapacity, journal);
     }
 }
@@ -1,10 +1,15 @@
 package com.multi.vidulum.quotation.app;
 
+import com.multi.vidulum.common.Price;
+import com.multi.vidulum.common.Symbol;
+import com.multi.vidulum.quotation.domain.PriceHistory;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.List;
 
 public class QuotationDto {
@@ -19,4 +24,81 @@ public class QuotationDto {
         String segment;
         List<String> tags;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceKeyJson {
+        String broker;
+        String origin;
+        String destination;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AssetKeyJson {
+        String broker;
+        String ticker;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuoteJson {
+        String broker;
+        Symbol symbol;
+        Price currentPrice;
+        double pctChange;
+        ZonedDateTime dateTime;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BrokerAssetBasicInfoJson {
+        String broker;
+        String ticker;
+        String fullName;
+        String segment;
+        List<String> tags;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceHistoryJson {
+        String broker;
+        String symbol;
+        String currency;
+        List<PriceHistory.Sample> samples;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBarsJson {
+        String broker;
+        String symbol;
+        String currency;
+        Duration interval;
+        List<PriceHistory.Bar> bars;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceChangeJson {
+        String broker;
+        String symbol;
+        ZonedDateTime since;
+        Double pctChange;
+    }
 }
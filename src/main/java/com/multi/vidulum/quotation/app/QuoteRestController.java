@@ -3,13 +3,24 @@ package com.multi.vidulum.quotation.app;
 import com.multi.vidulum.common.*;
 import com.multi.vidulum.portfolio.domain.AssetBasicInfo;
 import com.multi.vidulum.quotation.domain.PriceChangedEvent;
+import com.multi.vidulum.quotation.domain.PriceHistory;
 import com.multi.vidulum.quotation.domain.QuotationService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
 
 @Slf4j
 @RestController
@@ -27,6 +38,115 @@ public class QuoteRestController {
         return quotationService.fetch(Broker.of(broker), Symbol.of(Ticker.of(origin), Ticker.of(destination)));
     }
 
+    /**
+     * Resolves the quotes of many (broker, symbol) pairs in one call, in request order.
+     */
+    @PostMapping(value = "/quote/batch")
+    public List<QuotationDto.QuoteJson> fetchAll(@RequestBody List<QuotationDto.PriceKeyJson> keys) {
+        Map<Broker, Map<Symbol, AssetPriceMetadata>> quotes = keys.stream()
+                .collect(groupingBy(key -> Broker.of(key.getBroker()), mapping(QuoteRestController::toSymbol, toSet())))
+                .entrySet().stream()
+                .collect(toMap(Map.Entry::getKey, entry -> quotationService.fetchAll(entry.getKey(), entry.getValue())));
+
+        return keys.stream()
+                .map(key -> {
+                    AssetPriceMetadata quote = quotes.get(Broker.of(key.getBroker())).get(toSymbol(key));
+                    return QuotationDto.QuoteJson.builder()
+                            .broker(key.getBroker())
+                            .symbol(quote.getSymbol())
+                            .currentPrice(quote.getCurrentPrice())
+                            .pctChange(quote.getPctChange())
+                            .dateTime(quote.getDateTime())
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Resolves the basic info of many (broker, ticker) pairs in one call, in request order.
+     */
+    @PostMapping(value = "/quote/basic-info/batch")
+    public List<QuotationDto.BrokerAssetBasicInfoJson> fetchBasicInfoAboutAssets(@RequestBody List<QuotationDto.AssetKeyJson> keys) {
+        Map<Broker, Map<Ticker, AssetBasicInfo>> basicInfos = keys.stream()
+                .collect(groupingBy(key -> Broker.of(key.getBroker()), mapping(key -> Ticker.of(key.getTicker()), toSet())))
+                .entrySet().stream()
+                .collect(toMap(Map.Entry::getKey, entry -> quotationService.fetchBasicInfoAboutAssets(entry.getKey(), entry.getValue())));
+
+        return keys.stream()
+                .map(key -> {
+                    AssetBasicInfo basicInfo = basicInfos.get(Broker.of(key.getBroker())).get(Ticker.of(key.getTicker()));
+                    return QuotationDto.BrokerAssetBasicInfoJson.builder()
+                            .broker(key.getBroker())
+                            .ticker(basicInfo.getTicker().getId())
+                            .fullName(basicInfo.getFullName())
+                            .segment(basicInfo.getSegment().getName())
+                            .tags(basicInfo.getTags())
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Ticks of the symbol within the range (inclusive), for charts.
+     */
+    @GetMapping(value = "/quote/{broker}/{origin}/{destination}/history")
+    public QuotationDto.PriceHistoryJson fetchHistory(
+            @PathVariable("broker") String broker,
+            @PathVariable("origin") String origin,
+            @PathVariable("destination") String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to) {
+        Symbol symbol = Symbol.of(Ticker.of(origin), Ticker.of(destination));
+        PriceHistory history = quotationService.fetchHistory(Broker.of(broker), symbol);
+        return QuotationDto.PriceHistoryJson.builder()
+                .broker(broker)
+                .symbol(symbol.getId())
+                .currency(history.getCurrency())
+                .samples(history.range(from.toInstant(), to.toInstant()))
+                .build();
+    }
+
+    /**
+     * OHLC bars of the symbol within the range (inclusive), {@code interval} as ISO-8601 duration, e.g. PT1M.
+     */
+    @GetMapping(value = "/quote/{broker}/{origin}/{destination}/bars")
+    public QuotationDto.PriceBarsJson fetchBars(
+            @PathVariable("broker") String broker,
+            @PathVariable("origin") String origin,
+            @PathVariable("destination") String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+            @RequestParam Duration interval) {
+        Symbol symbol = Symbol.of(Ticker.of(origin), Ticker.of(destination));
+        PriceHistory history = quotationService.fetchHistory(Broker.of(broker), symbol);
+        return QuotationDto.PriceBarsJson.builder()
+                .broker(broker)
+                .symbol(symbol.getId())
+                .currency(history.getCurrency())
+                .interval(interval)
+                .bars(history.bars(from.toInstant(), to.toInstant(), interval))
+                .build();
+    }
+
+    /**
+     * Change of the latest price since the given time, as a fraction; {@code null} when it cannot be computed.
+     */
+    @GetMapping(value = "/quote/{broker}/{origin}/{destination}/change")
+    public QuotationDto.PriceChangeJson fetchChange(
+            @PathVariable("broker") String broker,
+            @PathVariable("origin") String origin,
+            @PathVariable("destination") String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime since) {
+        Symbol symbol = Symbol.of(Ticker.of(origin), Ticker.of(destination));
+        OptionalDouble change = quotationService.fetchHistory(Broker.of(broker), symbol).changeSince(since.toInstant());
+        return QuotationDto.PriceChangeJson.builder()
+                .broker(broker)
+                .symbol(symbol.getId())
+                .since(since)
+                .pctChange(change.isPresent() ? change.getAsDouble() : null)
+                .build();
+    }
+
     @PutMapping(value = "/quote/{broker}/")
     public void registerAssetBasicInfo(@PathVariable("broker") String broker, @RequestBody QuotationDto.AssetBasicInfoJson assetBasicInfoJson) {
         AssetBasicInfo assetBasicInfo = AssetBasicInfo.builder()
@@ -58,7 +178,9 @@ public class QuoteRestController {
                 .pctChange(pctChange)
                 .dateTime(ZonedDateTime.now())
                 .build();
-        pricingKafkaTemplate.send("quotes", priceChangedEvent);
+        pricingKafkaTemplate.send("quotes",
+                PriceChangedEvent.partitionKey(priceChangedEvent.getBroker(), priceChangedEvent.getSymbol()),
+                priceChangedEvent);
     }
 
     @GetMapping(value = "/quote/clearCaches")
@@ -67,4 +189,8 @@ public class QuoteRestController {
         log.info("Caches have been cleared");
 
     }
+
+    private static Symbol toSymbol(QuotationDto.PriceKeyJson key) {
+        return Symbol.of(Ticker.of(key.getOrigin()), Ticker.of(key.getDestination()));
+    }
 }
@@ -5,22 +5,89 @@ import com.multi.vidulum.common.Broker;
 import com.multi.vidulum.common.Symbol;
 import com.multi.vidulum.common.Ticker;
 import com.multi.vidulum.portfolio.domain.AssetBasicInfo;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Quotes of one broker: the latest price metadata and basic info per asset, and a {@link PriceHistory}
+ * of the last {@code historyCapacity} ticks per symbol.
+ * <p>
+ * Ticks are also appended to the {@link PriceHistoryJournal}; {@link #restoreHistory()} replays it
+ * on startup, and {@link #compactJournal()} keeps it within about twice the histories while running.
+ */
 @Slf4j
-@AllArgsConstructor
 public abstract class BrokerQuotationProvider {
+    public static final int DEFAULT_HISTORY_CAPACITY = 4096;
+
     @Getter
     protected Broker broker;
     private final ConcurrentHashMap<Symbol, AssetPriceMetadata> cache = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<Ticker, AssetBasicInfo> basicInfo = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Symbol, PriceHistory> histories = new ConcurrentHashMap<>();
+    private final int historyCapacity;
+    private final PriceHistoryJournal journal;
+    private final AtomicLong journaledSinceCompaction = new AtomicLong();
+
+    protected BrokerQuotationProvider(Broker broker) {
+        this(broker, DEFAULT_HISTORY_CAPACITY, PriceHistoryJournal.NONE);
+    }
 
+    protected BrokerQuotationProvider(Broker broker, int historyCapacity, PriceHistoryJournal journal) {
+        this.broker = broker;
+        this.historyCapacity = historyCapacity;
+        this.journal = journal;
+    }
 
     void onPriceChange(PriceChangedEvent event) {
+        recordTick(event);
+        updateLatestPrice(event);
+    }
+
+    /**
+     * Applies one poll of ticks: every tick goes into the price history, but the latest price of a symbol
+     * is updated only once, from its newest tick in the batch.
+     *
+     * @return number of symbols whose latest price was updated
+     */
+    int onPriceChanges(List<PriceChangedEvent> events) {
+        // one lookup per tick: the history and newest tick of each symbol seen in this batch
+        Map<Symbol, LatestTick> latest = new HashMap<>();
+        for (PriceChangedEvent event : events) {
+            LatestTick tick = latest.get(event.getSymbol());
+            if (tick == null) {
+                tick = new LatestTick(history(event.getSymbol(), event.getCurrentPrice().getCurrency()), event);
+                latest.put(event.getSymbol(), tick);
+            } else if (!event.getDateTime().isBefore(tick.event.getDateTime())) {
+                tick.event = event;
+            }
+            recordTick(tick.history, event);
+        }
+        latest.values().forEach(tick -> updateLatestPrice(tick.event));
+        return latest.size();
+    }
+
+    private void recordTick(PriceChangedEvent event) {
+        recordTick(history(event.getSymbol(), event.getCurrentPrice().getCurrency()), event);
+    }
+
+    private void recordTick(PriceHistory history, PriceChangedEvent event) {
+        long epochMillis = event.getDateTime().toEpochSecond() * 1000 + event.getDateTime().getNano() / 1_000_000;
+        double price = event.getCurrentPrice().getAmount().doubleValue();
+        if (history.append(epochMillis, price)) {
+            journal.append(broker, event.getSymbol(), history.getCurrency(), epochMillis, price);
+            journaledSinceCompaction.incrementAndGet();
+        }
+    }
+
+    private void updateLatestPrice(PriceChangedEvent event) {
         AssetPriceMetadata priceMetadata = AssetPriceMetadata.builder()
                 .symbol(event.getSymbol())
                 .currentPrice(event.getCurrentPrice())
@@ -28,7 +95,58 @@ public abstract class BrokerQuotationProvider {
                 .dateTime(event.getDateTime())
                 .build();
         cache.put(event.getSymbol(), priceMetadata);
-        log.info("[{}] Price of [{}] has been updated to [{}]", getBroker(), event.getSymbol().getId(), event.getCurrentPrice());
+        if (log.isDebugEnabled()) {
+            log.debug("[{}] Price of [{}] has been updated to [{}]", getBroker(), event.getSymbol().getId(), event.getCurrentPrice());
+        }
+    }
+
+    /**
+     * Replays the journal into the price histories and compacts it to the samples they kept.
+     */
+    public void restoreHistory() {
+        journal.replay(broker, (symbol, currency, epochMillis, price) -> history(symbol, currency).append(epochMillis, price));
+        journal.rewrite(broker, Map.copyOf(histories));
+        if (!histories.isEmpty()) {
+            log.info("[{}] Restored price history of [{}] symbols", broker, histories.size());
+        }
+    }
+
+    /**
+     * Rewrites the journal to the samples kept by the histories once more ticks were journaled since
+     * the last compaction than the histories can hold.
+     *
+     * @return whether the journal was compacted
+     */
+    boolean compactJournal() {
+        long capacityOfHistories = (long) historyCapacity * Math.max(1, histories.size());
+        if (journaledSinceCompaction.get() < capacityOfHistories) {
+            return false;
+        }
+        // reset before the snapshot: ticks journaled during the rewrite count towards the next compaction
+        journaledSinceCompaction.set(0);
+        try {
+            journal.rewrite(broker, Map.copyOf(histories));
+        } catch (UncheckedIOException e) {
+            log.warn("[{}] Cannot compact price journal: {}", broker, e.getMessage());
+            return false;
+        }
+        log.info("[{}] Compacted price journal of [{}] symbols", broker, histories.size());
+        return true;
+    }
+
+    /**
+     * @return the price history of the symbol, empty if no tick has been seen yet
+     */
+    Optional<PriceHistory> fetchHistory(Symbol symbol) {
+        return Optional.ofNullable(histories.get(symbol));
+    }
+
+    private PriceHistory history(Symbol symbol, String currency) {
+        PriceHistory history = histories.get(symbol);
+        if (history == null) {
+            history = histories.computeIfAbsent(symbol, newSymbol -> new PriceHistory(historyCapacity, currency));
+        }
+        return history;
     }
 
     AssetPriceMetadata fetch(Symbol symbol) {
@@ -66,5 +184,16 @@ public abstract class BrokerQuotationProvider {
     public void clearCaches() {
         cache.clear();
         basicInfo.clear();
+        histories.clear();
+    }
+
+    private static final class LatestTick {
+        private final PriceHistory history;
+        private PriceChangedEvent event;
+
+        private LatestTick(PriceHistory history, PriceChangedEvent event) {
+            this.history = history;
+            this.event = event;
+        }
     }
 }
@@ -20,4 +20,11 @@ public class PriceChangedEvent {
     private Price currentPrice;
     private double pctChange;
     private ZonedDateTime dateTime;
+
+    /**
+     * Record key on the quotes topic, so that all ticks of one symbol land in one partition, in order.
+     */
+    public static String partitionKey(Broker broker, Symbol symbol) {
+        return broker.getId() + ":" + symbol.getId();
+    }
 }
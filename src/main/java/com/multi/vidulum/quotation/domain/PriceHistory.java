@@ -0,0 +1,167 @@
+package com.multi.vidulum.quotation.domain;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+
+/**
+ * Recent price samples of one symbol, kept in a fixed-capacity ring buffer of primitives.
+ * <p>
+ * Appending a tick allocates nothing; once the buffer is full the oldest sample is overwritten.
+ * Samples are kept in time order: a tick older than the latest sample is dropped.
+ * Queries copy the requested samples out, so readers never see the buffer being modified.
+ */
+public class PriceHistory {
+
+    private final String currency;
+    private final long[] timestamps;
+    private final double[] prices;
+    private int first;
+    private int size;
+
+    public PriceHistory(int capacity, String currency) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.currency = currency;
+        this.timestamps = new long[capacity];
+        this.prices = new double[capacity];
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * @return whether the sample was stored; ticks older than the latest sample are dropped
+     */
+    public synchronized boolean append(long epochMillis, double price) {
+        if (size > 0 && epochMillis < timestamps[physical(size - 1)]) {
+            return false;
+        }
+        int capacity = timestamps.length;
+        if (size < capacity) {
+            int index = physical(size);
+            timestamps[index] = epochMillis;
+            prices[index] = price;
+            size++;
+        } else {
+            timestamps[first] = epochMillis;
+            prices[first] = price;
+            first = (first + 1) % capacity;
+        }
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Samples within the range (inclusive), oldest first.
+     */
+    public synchronized List<Sample> range(Instant from, Instant to) {
+        int start = firstIndexAtOrAfter(from.toEpochMilli());
+        int end = firstIndexAtOrAfter(to.toEpochMilli() + 1);
+        List<Sample> samples = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            int index = physical(i);
+            samples.add(new Sample(Instant.ofEpochMilli(timestamps[index]), prices[index]));
+        }
+        return samples;
+    }
+
+    /**
+     * OHLC bars of the samples within the range (inclusive), oldest first.
+     * Bars are aligned to multiples of {@code barSize} since the epoch; periods without samples have no bar.
+     */
+    public synchronized List<Bar> bars(Instant from, Instant to, Duration barSize) {
+        long barMillis = barSize.toMillis();
+        if (barMillis < 1) {
+            throw new IllegalArgumentException("Bar size must be at least 1ms: " + barSize);
+        }
+        int start = firstIndexAtOrAfter(from.toEpochMilli());
+        int end = firstIndexAtOrAfter(to.toEpochMilli() + 1);
+        List<Bar> bars = new ArrayList<>();
+        int i = start;
+        while (i < end) {
+            int index = physical(i);
+            long barStart = Math.floorDiv(timestamps[index], barMillis) * barMillis;
+            double open = prices[index];
+            double high = open;
+            double low = open;
+            double close = open;
+            int samples = 0;
+            while (i < end && timestamps[physical(i)] < barStart + barMillis) {
+                double price = prices[physical(i)];
+                high = Math.max(high, price);
+                low = Math.min(low, price);
+                close = price;
+                samples++;
+                i++;
+            }
+            bars.add(new Bar(Instant.ofEpochMilli(barStart), open, high, low, close, samples));
+        }
+        return bars;
+    }
+
+    /**
+     * Change of the latest price against the price at {@code since} (the last sample at or before it,
+     * or the oldest sample if the history starts later), as a fraction like {@code Money.diffPct}.
+     *
+     * @return empty when there are no samples or the reference price is zero
+     */
+    public synchronized OptionalDouble changeSince(Instant since) {
+        if (size == 0) {
+            return OptionalDouble.empty();
+        }
+        int after = firstIndexAtOrAfter(since.toEpochMilli() + 1);
+        double reference = prices[physical(Math.max(0, after - 1))];
+        double latest = prices[physical(size - 1)];
+        return reference == 0 ? OptionalDouble.empty() : OptionalDouble.of(latest / reference - 1);
+    }
+
+    /**
+     * Passes every sample, oldest first, to the consumer while holding the lock.
+     */
+    public synchronized void forEach(SampleConsumer consumer) {
+        for (int i = 0; i < size; i++) {
+            int index = physical(i);
+            consumer.accept(timestamps[index], prices[index]);
+        }
+    }
+
+    private int physical(int logical) {
+        return (first + logical) % timestamps.length;
+    }
+
+    /**
+     * @return logical index of the first sample at or after the timestamp, {@code size} if there is none
+     */
+    private int firstIndexAtOrAfter(long epochMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamps[physical(middle)] < epochMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @FunctionalInterface
+    public interface SampleConsumer {
+        void accept(long epochMillis, double price);
+    }
+
+    public record Sample(Instant dateTime, double price) {
+    }
+
+    public record Bar(Instant start, double open, double high, double low, double close, int samples) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.multi.vidulum.quotation.domain;
+
+import com.multi.vidulum.common.Broker;
+import com.multi.vidulum.common.Symbol;
+
+import java.util.Map;
+
+/**
+ * Append-only log of price samples, replayed into {@link PriceHistory}s on a warm restart.
+ */
+public interface PriceHistoryJournal {
+
+    /**
+     * Journal that keeps nothing; the price history starts empty after a restart.
+     */
+    PriceHistoryJournal NONE = new PriceHistoryJournal() {
+        @Override
+        public void append(Broker broker, Symbol symbol, String currency, long epochMillis, double price) {
+        }
+
+        @Override
+        public void replay(Broker broker, Sink sink) {
+        }
+
+        @Override
+        public void rewrite(Broker broker, Map<Symbol, PriceHistory> histories) {
+        }
+    };
+
+    void append(Broker broker, Symbol symbol, String currency, long epochMillis, double price);
+
+    /**
+     * Passes every journaled sample of the broker to the sink, in the order they were appended.
+     */
+    void replay(Broker broker, Sink sink);
+
+    /**
+     * Replaces the journal of the broker with the samples still held by the histories,
+     * so that the journal does not outgrow them.
+     */
+    void rewrite(Broker broker, Map<Symbol, PriceHistory> histories);
+
+    @FunctionalInterface
+    interface Sink {
+        void accept(Symbol symbol, String currency, long epochMillis, double price);
+    }
+}
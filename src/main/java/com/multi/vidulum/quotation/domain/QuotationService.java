@@ -6,12 +6,22 @@ import com.multi.vidulum.common.Symbol;
 import com.multi.vidulum.common.Ticker;
 import com.multi.vidulum.portfolio.domain.AssetBasicInfo;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.scheduling.annotation.Scheduled;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+@Slf4j
 @AllArgsConstructor
 public class QuotationService {
     private final Map<Broker, BrokerQuotationProvider> registeredBrokers = new ConcurrentHashMap<>();
@@ -20,10 +30,6 @@ public class QuotationService {
         registeredBrokers.putIfAbsent(brokerQuotationProvider.getBroker(), brokerQuotationProvider);
     }
 
-    @KafkaListener(
-            groupId = "group_id1",
-            topics = "quotes",
-            containerFactory = "priceChangingContainerFactory")
     public void onPriceChange(PriceChangedEvent event) {
         findBrokerOrRaiseException(event.getBroker(), brokerProvider -> {
             brokerProvider.onPriceChange(event);
@@ -31,14 +37,76 @@ public class QuotationService {
         });
     }
 
+    /**
+     * Batch listener of the quotes topic: conflates each poll to the newest tick per symbol before
+     * updating the latest prices; every tick still goes into the price history.
+     * Ticks of a broker that is not registered are skipped.
+     */
+    @KafkaListener(
+            groupId = "group_id1",
+            topics = "quotes",
+            containerFactory = "priceChangingContainerFactory")
+    public void onPriceChanges(List<PriceChangedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Broker firstBroker = events.get(0).getBroker();
+        Map<Broker, List<PriceChangedEvent>> eventsByBroker = events.stream().allMatch(event -> firstBroker.equals(event.getBroker()))
+                ? Map.of(firstBroker, events)
+                : events.stream().collect(groupingBy(PriceChangedEvent::getBroker, LinkedHashMap::new, toList()));
+        eventsByBroker.forEach((broker, brokerEvents) -> {
+            BrokerQuotationProvider brokerProvider = registeredBrokers.get(broker);
+            if (brokerProvider == null) {
+                log.warn("Skipped [{}] price changes of unknown broker [{}]", brokerEvents.size(), broker);
+                return;
+            }
+            int updated = brokerProvider.onPriceChanges(brokerEvents);
+            if (log.isDebugEnabled()) {
+                log.debug("[{}] Conflated [{}] price changes to [{}] symbols", broker, brokerEvents.size(), updated);
+            }
+        });
+    }
+
+    /**
+     * Compacts the price journal of every broker that has outgrown its price histories, so that the
+     * journal does not grow between restarts.
+     */
+    @Scheduled(fixedDelayString = "${vidulum.quotation.history.journal-compact-ms:60000}")
+    public void compactJournals() {
+        registeredBrokers.values().forEach(BrokerQuotationProvider::compactJournal);
+    }
+
     public AssetPriceMetadata fetch(Broker broker, Symbol symbol) {
         return findBrokerOrRaiseException(broker, brokerProvider -> brokerProvider.fetch(symbol));
     }
 
+    /**
+     * Resolves all symbols of one broker at once; fails with {@link QuoteNotFoundException} on the first missing quote.
+     */
+    public Map<Symbol, AssetPriceMetadata> fetchAll(Broker broker, Collection<Symbol> symbols) {
+        return findBrokerOrRaiseException(broker, brokerProvider -> symbols.stream()
+                .distinct()
+                .collect(toMap(Function.identity(), brokerProvider::fetch)));
+    }
+
+    /**
+     * @throws QuoteNotFoundException when no tick of the symbol has been seen
+     */
+    public PriceHistory fetchHistory(Broker broker, Symbol symbol) {
+        return findBrokerOrRaiseException(broker, brokerProvider -> brokerProvider.fetchHistory(symbol)
+                .orElseThrow(() -> new QuoteNotFoundException(symbol)));
+    }
+
     public AssetBasicInfo fetchBasicInfoAboutAsset(Broker broker, Ticker ticker) {
         return findBrokerOrRaiseException(broker, brokerProvider -> brokerProvider.fetchBasicInfoAboutAsset(ticker));
     }
 
+    public Map<Ticker, AssetBasicInfo> fetchBasicInfoAboutAssets(Broker broker, Collection<Ticker> tickers) {
+        return findBrokerOrRaiseException(broker, brokerProvider -> tickers.stream()
+                .distinct()
+                .collect(toMap(Function.identity(), brokerProvider::fetchBasicInfoAboutAsset)));
+    }
+
     public void registerAssetBasicInfo(Broker broker, AssetBasicInfo assetBasicInfo) {
         findBrokerOrRaiseException(broker, brokerQuotationProvider -> {
             brokerQuotationProvider.registerBasicInfoAboutAsset(assetBasicInfo);
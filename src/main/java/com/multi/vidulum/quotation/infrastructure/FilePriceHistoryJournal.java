@@ -0,0 +1,182 @@
+package com.multi.vidulum.quotation.infrastructure;
+
+import com.multi.vidulum.common.Broker;
+import com.multi.vidulum.common.Symbol;
+import com.multi.vidulum.quotation.domain.PriceHistory;
+import com.multi.vidulum.quotation.domain.PriceHistoryJournal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link PriceHistoryJournal} keeping one append-only file per broker, {@code <broker>.prices},
+ * of {@code (symbol, currency, epochMillis, price)} records.
+ * <p>
+ * Appends are buffered and flushed every {@code vidulum.quotation.history.journal-flush-ms}, so a
+ * crash loses at most that much of the history. A record cut short by a crash ends the replay.
+ * <p>
+ * {@link #rewrite} may run while ticks are appended: it holds the broker's output for the whole rewrite
+ * and swaps in an output of the compacted file, so appends waiting for it go to the new file.
+ */
+@Slf4j
+public class FilePriceHistoryJournal implements PriceHistoryJournal, Closeable {
+
+    private final Path directory;
+    private final Map<Broker, DataOutputStream> outputs = new ConcurrentHashMap<>();
+
+    public FilePriceHistoryJournal(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void append(Broker broker, Symbol symbol, String currency, long epochMillis, double price) {
+        while (true) {
+            DataOutputStream output;
+            try {
+                output = output(broker);
+            } catch (UncheckedIOException e) {
+                log.warn("[{}] Cannot journal price of [{}]: {}", broker, symbol.getId(), e.getMessage());
+                return;
+            }
+            synchronized (output) {
+                if (outputs.get(broker) != output) {
+                    // replaced by a rewrite meanwhile
+                    continue;
+                }
+                try {
+                    write(output, symbol.getId(), currency, epochMillis, price);
+                } catch (IOException e) {
+                    log.warn("[{}] Cannot journal price of [{}]: {}", broker, symbol.getId(), e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void replay(Broker broker, Sink sink) {
+        Path file = file(broker);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                Symbol symbol = Symbol.of(input.readUTF());
+                String currency = input.readUTF();
+                long epochMillis = input.readLong();
+                double price = input.readDouble();
+                sink.accept(symbol, currency, epochMillis, price);
+            }
+        } catch (EOFException e) {
+            // end of the journal, or a record cut short by a crash
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay price journal " + file, e);
+        }
+    }
+
+    @Override
+    public void rewrite(Broker broker, Map<Symbol, PriceHistory> histories) {
+        Path file = file(broker);
+        Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+        DataOutputStream previous = output(broker);
+        synchronized (previous) {
+            try {
+                previous.close();
+            } catch (IOException e) {
+                log.warn("[{}] Cannot close price journal: {}", broker, e.getMessage());
+            }
+            try {
+                writeCompacted(compacted, histories);
+                Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot rewrite price journal " + file, e);
+            } finally {
+                // appends continue on the compacted file, or on the old one if the rewrite failed
+                outputs.remove(broker, previous);
+            }
+        }
+    }
+
+    private static void writeCompacted(Path compacted, Map<Symbol, PriceHistory> histories) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(compacted)))) {
+            for (Map.Entry<Symbol, PriceHistory> entry : histories.entrySet()) {
+                String symbolId = entry.getKey().getId();
+                String currency = entry.getValue().getCurrency();
+                IOException[] failure = new IOException[1];
+                entry.getValue().forEach((epochMillis, price) -> {
+                    if (failure[0] == null) {
+                        try {
+                            write(output, symbolId, currency, epochMillis, price);
+                        } catch (IOException e) {
+                            failure[0] = e;
+                        }
+                    }
+                });
+                if (failure[0] != null) {
+                    throw failure[0];
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${vidulum.quotation.history.journal-flush-ms:1000}")
+    public void flush() {
+        outputs.forEach((broker, output) -> {
+            synchronized (output) {
+                try {
+                    output.flush();
+                } catch (IOException e) {
+                    log.warn("[{}] Cannot flush price journal: {}", broker, e.getMessage());
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        flush();
+        outputs.forEach((broker, output) -> {
+            synchronized (output) {
+                try {
+                    output.close();
+                } catch (IOException e) {
+                    log.warn("[{}] Cannot close price journal: {}", broker, e.getMessage());
+                }
+            }
+        });
+        outputs.clear();
+    }
+
+    private DataOutputStream output(Broker broker) {
+        DataOutputStream output = outputs.get(broker);
+        return output != null ? output : outputs.computeIfAbsent(broker, this::open);
+    }
+
+    private DataOutputStream open(Broker broker) {
+        try {
+            Files.createDirectories(directory);
+            return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                    file(broker), StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open price journal of " + broker.getId(), e);
+        }
+    }
+
+    private Path file(Broker broker) {
+        return directory.resolve(broker.getId() + ".prices");
+    }
+
+    private static void write(DataOutputStream output, String symbolId, String currency, long epochMillis, double price) throws IOException {
+        output.writeUTF(symbolId);
+        output.writeUTF(currency);
+        output.writeLong(epochMillis);
+        output.writeDouble(price);
+    }
+}
@@ -0,0 +1,31 @@
+package com.multi.vidulum.recurring_rules.app;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Scheduled job moving occurrence calendars of recurring rules to the current month.
+ * <p>
+ * Runs daily at 00:05 UTC. Only calendars built in an earlier month are rebuilt, so on most days
+ * the job finds nothing to do. Calendars missed by the job are rebuilt on their first read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecurringRuleCalendarScheduler {
+
+    private final RecurringRuleOccurrenceCalendar occurrenceCalendar;
+    private final Clock clock;
+
+    @Scheduled(cron = "${vidulum.recurring-rules.calendar.cron:0 5 0 * * *}")
+    public void rebuildStaleCalendars() {
+        LocalDate today = LocalDate.now(clock);
+        int rebuilt = occurrenceCalendar.rebuildStaleCalendars();
+        log.info("Occurrence calendar job for date [{}] rebuilt [{}] calendars", today, rebuilt);
+    }
+}
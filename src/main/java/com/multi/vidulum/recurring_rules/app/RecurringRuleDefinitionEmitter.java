@@ -0,0 +1,23 @@
+package com.multi.vidulum.recurring_rules.app;
+
+import com.multi.vidulum.recurring_rules.domain.RecurringRule;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class RecurringRuleDefinitionEmitter {
+
+    static final String TOPIC = "recurring_rule_definitions";
+
+    private final KafkaTemplate<String, RecurringRuleDefinitionEvent> recurringRuleDefinitionKafkaTemplate;
+
+    public void emit(RecurringRule rule) {
+        RecurringRuleDefinitionEvent event = RecurringRuleDefinitionEvent.of(rule);
+        recurringRuleDefinitionKafkaTemplate.send(TOPIC, event.getCashFlowId(), event);
+        log.debug("emitting event [{}]", event);
+    }
+}
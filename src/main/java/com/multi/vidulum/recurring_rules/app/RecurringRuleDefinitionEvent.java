@@ -0,0 +1,125 @@
+package com.multi.vidulum.recurring_rules.app;
+
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.recurring_rules.app.dto.PatternDto;
+import com.multi.vidulum.recurring_rules.domain.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+/**
+ * Current definition of a recurring rule, published on topic {@code recurring_rule_definitions}
+ * (keyed by cashFlowId) after every change of the rule.
+ * <p>
+ * The forecast processor keeps the latest definition per rule and projects the occurrences after
+ * {@code materializedThrough} as virtual transactions, so they do not have to exist as expected
+ * cash changes in the CashFlow. Definitions are last-writer-wins by {@code lastModifiedAt}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringRuleDefinitionEvent {
+    private String ruleId;
+    private String cashFlowId;
+    private String name;
+    private String categoryName;
+    private RuleStatus status;
+    private Money baseAmount;
+    private PatternDto pattern;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    /** Occurrences left before the rule completes, null when unlimited */
+    private Integer remainingOccurrences;
+    private List<Month> activeMonths;
+    private List<LocalDate> excludedDates;
+    private List<AmountChangeDefinition> amountChanges;
+    /** Occurrences up to and including this date exist as concrete cash changes, null when none do */
+    private LocalDate materializedThrough;
+    private Instant lastModifiedAt;
+
+    public static RecurringRuleDefinitionEvent of(RecurringRule rule) {
+        return RecurringRuleDefinitionEvent.builder()
+                .ruleId(rule.getRuleId().id())
+                .cashFlowId(rule.getCashFlowId().id())
+                .name(rule.getName())
+                .categoryName(rule.getCategoryName().name())
+                .status(rule.getStatus())
+                .baseAmount(rule.getBaseAmount())
+                .pattern(PatternDto.fromPattern(rule.getPattern()))
+                .startDate(rule.getStartDate())
+                .endDate(rule.getEndDate().orElse(null))
+                .remainingOccurrences(rule.getRemainingOccurrences().orElse(null))
+                .activeMonths(rule.getActiveMonths())
+                .excludedDates(rule.getExcludedDates())
+                .amountChanges(rule.getAmountChanges().stream().map(AmountChangeDefinition::from).toList())
+                .materializedThrough(rule.getMaterializedThrough().orElse(null))
+                .lastModifiedAt(rule.getLastModifiedAt())
+                .build();
+    }
+
+    /**
+     * Occurrence dates within the range, computed with the same rules as the materialized ones.
+     */
+    public List<LocalDate> occurrences(LocalDate fromDate, LocalDate toDate) {
+        return toRule().generateOccurrences(fromDate, toDate);
+    }
+
+    /**
+     * Absolute amount of the occurrence on the given date.
+     */
+    public Money amountOn(LocalDate date) {
+        Money effectiveAmount = toRule().calculateEffectiveAmount(date);
+        return effectiveAmount.isPositive()
+                ? effectiveAmount
+                : Money.of(effectiveAmount.getAmount().negate(), effectiveAmount.getCurrency());
+    }
+
+    public boolean inflow() {
+        return baseAmount.isPositive();
+    }
+
+    private RecurringRule toRule() {
+        return RecurringRule.builder()
+                .ruleId(RecurringRuleId.of(ruleId))
+                .name(name)
+                .baseAmount(baseAmount)
+                .pattern(pattern.toPattern())
+                .startDate(startDate)
+                .endDate(endDate)
+                .maxOccurrences(remainingOccurrences)
+                .activeMonths(activeMonths != null ? activeMonths : List.of())
+                .excludedDates(excludedDates != null ? excludedDates : List.of())
+                .status(status)
+                .amountChanges(amountChanges != null
+                        ? amountChanges.stream().map(AmountChangeDefinition::toAmountChange).toList()
+                        : List.of())
+                .executions(List.of())
+                .generatedCashChangeIds(List.of())
+                .build();
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AmountChangeDefinition {
+        private String id;
+        private Money amount;
+        private AmountChangeType type;
+
+        static AmountChangeDefinition from(AmountChange amountChange) {
+            return new AmountChangeDefinition(amountChange.id().id(), amountChange.amount(), amountChange.type());
+        }
+
+        AmountChange toAmountChange() {
+            return new AmountChange(AmountChangeId.of(id), amount, type, null);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.multi.vidulum.recurring_rules.app;
+
+import com.multi.vidulum.common.JobLeaseRepository;
+import com.multi.vidulum.recurring_rules.domain.RecurringRule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Scheduled job creating the due occurrences of recurring rules as expected cash changes, when
+ * virtual occurrences are enabled.
+ * <p>
+ * Runs daily at 00:10 UTC, after {@link RecurringRuleCalendarScheduler}. Each active rule materialized
+ * before today is materialized through today, including occurrences missed on earlier days.
+ * The job runs on one node per day, under the day's lease of {@link JobLeaseRepository}. A rule
+ * that failed keeps its {@code materializedThrough}, so the next run catches it up.
+ * <p>
+ * There is no user token here, so the expected cash changes are appended through the command gateway
+ * of this node ({@link RecurringRuleService#materializeDueOccurrences}) instead of the CashFlow's REST API.
+ */
+@Slf4j
+@Component
+public class RecurringRuleMaterializationScheduler {
+
+    private final RecurringRuleService ruleService;
+    private final JobLeaseRepository leaseRepository;
+    private final Clock clock;
+    private final Duration leaseTtl;
+    private final String owner;
+
+    public RecurringRuleMaterializationScheduler(
+            RecurringRuleService ruleService,
+            JobLeaseRepository leaseRepository,
+            Clock clock,
+            @Value("${vidulum.recurring-rules.materialize.lease-ttl-minutes:30}") long leaseTtlMinutes) {
+        this.ruleService = ruleService;
+        this.leaseRepository = leaseRepository;
+        this.clock = clock;
+        this.leaseTtl = Duration.ofMinutes(leaseTtlMinutes);
+        this.owner = JobLeaseRepository.newOwner();
+    }
+
+    @Scheduled(cron = "${vidulum.recurring-rules.materialize.cron:0 10 0 * * *}")
+    public void materializeDueOccurrences() {
+        LocalDate today = LocalDate.now(clock);
+        List<RecurringRule> rules = ruleService.findRulesForMaterialization(today);
+        if (rules.isEmpty()) {
+            return;
+        }
+
+        String leaseId = "recurring-materialize:" + today;
+        if (!leaseRepository.tryAcquire(leaseId, owner, leaseTtl)) {
+            log.info("Materialization job for date [{}] is run by another node", today);
+            return;
+        }
+
+        int successCount = 0;
+        int failureCount = 0;
+        for (RecurringRule rule : rules) {
+            try {
+                ruleService.materializeDueOccurrences(rule.getRuleId());
+                successCount++;
+            } catch (Exception e) {
+                log.error("Failed to materialize occurrences of rule [{}]: {}",
+                        rule.getRuleId().id(), e.getMessage(), e);
+                failureCount++;
+            }
+        }
+
+        leaseRepository.complete(leaseId, owner);
+        log.info("Materialization job for date [{}] completed. Success: [{}], Failures: [{}]",
+                today, successCount, failureCount);
+    }
+}
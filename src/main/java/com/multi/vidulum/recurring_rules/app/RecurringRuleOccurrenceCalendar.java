@@ -0,0 +1,108 @@
+package com.multi.vidulum.recurring_rules.app;
+
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.common.UserId;
+import com.multi.vidulum.recurring_rules.domain.DomainOccurrenceCalendarRepository;
+import com.multi.vidulum.recurring_rules.domain.DomainRecurringRuleRepository;
+import com.multi.vidulum.recurring_rules.domain.RecurringRule;
+import com.multi.vidulum.recurring_rules.domain.RuleOccurrence;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Precomputed occurrences of active recurring rules, per CashFlow.
+ * <p>
+ * The calendar covers the current month and the following {@code CALENDAR_MONTHS - 1} months, which
+ * is the longest range the dashboard and upcoming views can ask for. The occurrences of a rule are
+ * replaced whenever the rule is saved, and the whole calendar of a CashFlow is rebuilt when the
+ * month rolls over - by {@link RecurringRuleCalendarScheduler}, or on the first read of a stale calendar.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecurringRuleOccurrenceCalendar {
+
+    static final int CALENDAR_MONTHS = 12;
+
+    private final DomainRecurringRuleRepository ruleRepository;
+    private final DomainOccurrenceCalendarRepository calendarRepository;
+    private final Clock clock;
+
+    /**
+     * Replaces the occurrences of the rule; rules that are not active have none.
+     */
+    public void refresh(RecurringRule rule) {
+        YearMonth currentMonth = currentMonth();
+        if (!isCurrent(rule.getCashFlowId(), currentMonth)) {
+            rebuild(rule.getCashFlowId(), currentMonth);
+            return;
+        }
+        calendarRepository.replaceOccurrences(rule.getRuleId(), RuleOccurrence.of(rule, windowStart(currentMonth), windowEnd(currentMonth)));
+    }
+
+    /**
+     * Occurrences due within the range (inclusive), ordered by due date.
+     * The range must lie within the current calendar window.
+     */
+    public List<RuleOccurrence> find(UserId userId, CashFlowId cashFlowId, LocalDate fromDate, LocalDate toDate) {
+        YearMonth currentMonth = currentMonth();
+        if (!isCurrent(cashFlowId, currentMonth)) {
+            rebuild(cashFlowId, currentMonth);
+        }
+        return calendarRepository.findByUserIdAndCashFlowIdAndDueDateBetween(userId, cashFlowId, fromDate, toDate);
+    }
+
+    /**
+     * Rebuilds every calendar whose window started before the current month.
+     *
+     * @return number of rebuilt calendars
+     */
+    public int rebuildStaleCalendars() {
+        YearMonth currentMonth = currentMonth();
+        int rebuilt = 0;
+        for (CashFlowId cashFlowId : calendarRepository.findCashFlowsWithWindowStartBefore(windowStart(currentMonth))) {
+            try {
+                rebuild(cashFlowId, currentMonth);
+                rebuilt++;
+            } catch (Exception e) {
+                log.error("Failed to rebuild occurrence calendar of CashFlow [{}]: {}", cashFlowId.id(), e.getMessage(), e);
+            }
+        }
+        return rebuilt;
+    }
+
+    private void rebuild(CashFlowId cashFlowId, YearMonth currentMonth) {
+        LocalDate windowStart = windowStart(currentMonth);
+        LocalDate windowEnd = windowEnd(currentMonth);
+        List<RuleOccurrence> occurrences = ruleRepository.findActiveRulesByCashFlowId(cashFlowId).stream()
+                .flatMap(rule -> RuleOccurrence.of(rule, windowStart, windowEnd).stream())
+                .toList();
+        calendarRepository.replaceCalendar(cashFlowId, windowStart, windowEnd, occurrences);
+        log.info("Rebuilt occurrence calendar of CashFlow [{}] for [{}] - [{}] with [{}] occurrences",
+                cashFlowId.id(), windowStart, windowEnd, occurrences.size());
+    }
+
+    private boolean isCurrent(CashFlowId cashFlowId, YearMonth currentMonth) {
+        return calendarRepository.findWindowStart(cashFlowId)
+                .map(windowStart(currentMonth)::equals)
+                .orElse(false);
+    }
+
+    private YearMonth currentMonth() {
+        return YearMonth.now(clock);
+    }
+
+    private static LocalDate windowStart(YearMonth currentMonth) {
+        return currentMonth.atDay(1);
+    }
+
+    private static LocalDate windowEnd(YearMonth currentMonth) {
+        return currentMonth.plusMonths(CALENDAR_MONTHS - 1).atEndOfMonth();
+    }
+}
@@ -12,9 +12,11 @@ import com.multi.vidulum.recurring_rules.app.dto.DeleteImpactPreviewResponse;
 import com.multi.vidulum.recurring_rules.app.dto.UpcomingTransactionsResponse;
 import com.multi.vidulum.recurring_rules.domain.*;
 import com.multi.vidulum.recurring_rules.domain.exceptions.*;
+import com.multi.vidulum.recurring_rules.infrastructure.CashFlowCommandClient;
 import com.multi.vidulum.recurring_rules.infrastructure.CashFlowHttpClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -22,7 +24,6 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -37,8 +38,18 @@ public class RecurringRuleService {
 
     private final DomainRecurringRuleRepository ruleRepository;
     private final CashFlowHttpClient cashFlowHttpClient;
+    private final CashFlowCommandClient cashFlowCommandClient;
+    private final RecurringRuleDefinitionEmitter definitionEmitter;
+    private final RecurringRuleOccurrenceCalendar occurrenceCalendar;
     private final Clock clock;
 
+    /**
+     * When enabled, only occurrences that are due are created as expected cash changes. Later
+     * occurrences are projected by the forecast from the published {@link RecurringRuleDefinitionEvent}.
+     */
+    @Value("${vidulum.recurring-rules.virtual-occurrences.enabled:false}")
+    private boolean virtualOccurrences;
+
     private static final int FORECAST_MONTHS = 12; // Current + 11 months
 
     // Command Handlers
@@ -85,7 +96,7 @@ public class RecurringRuleService {
                 clock
         );
 
-        ruleRepository.save(rule);
+        save(rule);
 
         // Generate expected cash changes
         generateExpectedCashChanges(rule, authToken);
@@ -137,7 +148,7 @@ public class RecurringRuleService {
                 clock
         );
 
-        ruleRepository.save(rule);
+        save(rule);
 
         // Generate new expected cash changes
         if (rule.isActive()) {
@@ -164,7 +175,7 @@ public class RecurringRuleService {
                 : PauseInfo.indefinite(clock.instant(), command.reason());
 
         rule.pause(pauseInfo, clock);
-        ruleRepository.save(rule);
+        save(rule);
 
         log.info("Paused recurring rule {} until {} (cleared pending cash changes)", ruleId.id(),
                 command.resumeDate() != null ? command.resumeDate() : "indefinitely");
@@ -180,12 +191,12 @@ public class RecurringRuleService {
         }
 
         rule.resume(clock);
-        ruleRepository.save(rule);
+        save(rule);
 
         // Defensive: clear any remaining pending cash changes (edge case - should be empty after proper pause)
         clearGeneratedCashChanges(rule, authToken);
-        // Generate new expected cash changes from today
-        generateExpectedCashChanges(rule, authToken);
+        // Generate new expected cash changes from today - occurrences of the paused period are skipped
+        generateExpectedCashChanges(rule, LocalDate.now(clock), authToken);
 
         log.info("Resumed recurring rule {} (regenerated cash changes)", ruleId.id());
     }
@@ -212,7 +223,12 @@ public class RecurringRuleService {
         }
 
         rule.resume(clock);
-        ruleRepository.save(rule);
+        LocalDate yesterday = LocalDate.now(clock).minusDays(1);
+        if (virtualOccurrences && rule.getMaterializedThrough().map(date -> date.isBefore(yesterday)).orElse(true)) {
+            // occurrences of the paused period are skipped; the materialization job starts from today
+            rule.markMaterializedThrough(yesterday, clock);
+        }
+        save(rule);
 
         // Note: Cash changes are NOT generated here because we don't have an auth token
         // The scheduler will need to handle this separately or use a system token
@@ -226,6 +242,19 @@ public class RecurringRuleService {
         return ruleRepository.findPausedRulesWithResumeDateOnOrBefore(date);
     }
 
+    /**
+     * Returns the active rules with occurrences that fell due after their last materialization.
+     * Without virtual occurrences every occurrence is created up front, so there are none.
+     */
+    public List<RecurringRule> findRulesForMaterialization(LocalDate date) {
+        if (!virtualOccurrences) {
+            return List.of();
+        }
+        return ruleRepository.findActiveRules().stream()
+                .filter(rule -> rule.getMaterializedThrough().map(through -> through.isBefore(date)).orElse(true))
+                .toList();
+    }
+
     public void handle(DeleteRuleCommand command, String authToken) throws RecurringRuleException {
         RecurringRuleId ruleId = RecurringRuleId.of(command.ruleId());
         RecurringRule rule = findRuleOrThrow(ruleId);
@@ -238,7 +267,7 @@ public class RecurringRuleService {
         clearGeneratedCashChanges(rule, authToken);
 
         rule.delete(command.reason(), clock);
-        ruleRepository.save(rule);
+        save(rule);
 
         log.info("Deleted recurring rule {}", ruleId.id());
     }
@@ -257,6 +286,55 @@ public class RecurringRuleService {
         generateExpectedCashChanges(rule, authToken);
     }
 
+    /**
+     * Creates expected cash changes for the virtual occurrences of a rule up to and including
+     * {@code command.through()}, so that they can be confirmed before they fall due.
+     * Occurrences that fell due since the last materialization are created as well.
+     *
+     * @return ids of the created cash changes, in occurrence order
+     */
+    public List<CashChangeId> handle(MaterializeOccurrencesCommand command, String authToken) throws RecurringRuleException {
+        RecurringRuleId ruleId = RecurringRuleId.of(command.ruleId());
+        RecurringRule rule = findRuleOrThrow(ruleId);
+
+        if (!rule.isActive()) {
+            throw new InvalidRuleStateException(ruleId, rule.getStatus(), "materialize occurrences");
+        }
+        return materializeThrough(rule, command.through(), overHttp(rule, authToken));
+    }
+
+    /**
+     * Creates the occurrences of an active rule due through today as expected cash changes. Called by the
+     * daily materialization job; it has no auth token, so the CashFlow is called in process.
+     *
+     * @return ids of the created cash changes, in occurrence order
+     */
+    public List<CashChangeId> materializeDueOccurrences(RecurringRuleId ruleId) throws RecurringRuleException {
+        RecurringRule rule = findRuleOrThrow(ruleId);
+        if (!rule.isActive()) {
+            return List.of();
+        }
+        return materializeThrough(rule, null, requests -> cashFlowCommandClient.createExpectedCashChanges(
+                rule.getCashFlowId(), rule.getRuleId(), requests));
+    }
+
+    private List<CashChangeId> materializeThrough(RecurringRule rule, LocalDate through, CashChangeCreator creator)
+            throws CashFlowCommunicationException {
+        LocalDate today = LocalDate.now(clock);
+        YearMonth currentMonth = YearMonth.from(today);
+        LocalDate horizon = currentMonth.plusMonths(FORECAST_MONTHS - 1).atEndOfMonth();
+        LocalDate toDate = through != null ? through : today;
+        if (toDate.isAfter(horizon)) {
+            toDate = horizon;
+        }
+
+        LocalDate fromDate = firstUnmaterializedDate(rule, currentMonth.atDay(1), today);
+        if (fromDate.isAfter(toDate)) {
+            return List.of();
+        }
+        return materialize(rule, fromDate, toDate, creator);
+    }
+
     public AmountChangeId handle(AddAmountChangeCommand command, String authToken) throws RecurringRuleException {
         RecurringRuleId ruleId = RecurringRuleId.of(command.ruleId());
         RecurringRule rule = findRuleOrThrow(ruleId);
@@ -277,7 +355,7 @@ public class RecurringRuleService {
         );
 
         rule.addAmountChange(amountChange, clock);
-        ruleRepository.save(rule);
+        save(rule);
 
         // Regenerate expected cash changes if rule is active
         if (rule.isActive()) {
@@ -299,7 +377,7 @@ public class RecurringRuleService {
 
         AmountChangeId changeId = AmountChangeId.of(command.amountChangeId());
         rule.removeAmountChange(changeId, clock);
-        ruleRepository.save(rule);
+        save(rule);
 
         // Regenerate expected cash changes if rule is active
         if (rule.isActive()) {
@@ -460,15 +538,13 @@ public class RecurringRuleService {
         UserId userIdObj = UserId.of(userId);
         CashFlowId cashFlowIdObj = CashFlowId.of(cashFlowId);
 
-        // Get rule counts by status (filtered by cashFlowId)
-        int activeCount = (int) ruleRepository.countByUserIdAndCashFlowIdAndStatus(userIdObj, cashFlowIdObj, RuleStatus.ACTIVE);
-        int pausedCount = (int) ruleRepository.countByUserIdAndCashFlowIdAndStatus(userIdObj, cashFlowIdObj, RuleStatus.PAUSED);
-        int completedCount = (int) ruleRepository.countByUserIdAndCashFlowIdAndStatus(userIdObj, cashFlowIdObj, RuleStatus.COMPLETED);
+        // Get rule counts by status (filtered by cashFlowId) in one aggregation
+        Map<RuleStatus, Long> countsByStatus = ruleRepository.countByUserIdAndCashFlowIdGroupedByStatus(userIdObj, cashFlowIdObj);
 
         DashboardResponse.Summary summary = DashboardResponse.Summary.builder()
-                .activeRulesCount(activeCount)
-                .pausedRulesCount(pausedCount)
-                .completedRulesCount(completedCount)
+                .activeRulesCount(countsByStatus.getOrDefault(RuleStatus.ACTIVE, 0L).intValue())
+                .pausedRulesCount(countsByStatus.getOrDefault(RuleStatus.PAUSED, 0L).intValue())
+                .completedRulesCount(countsByStatus.getOrDefault(RuleStatus.COMPLETED, 0L).intValue())
                 .build();
 
         // Calculate projection period based on projectionMonths
@@ -476,6 +552,7 @@ public class RecurringRuleService {
         YearMonth currentMonth = YearMonth.from(today);
         LocalDate projectionStart = currentMonth.atDay(1);
         LocalDate projectionEnd = currentMonth.plusMonths(projectionMonths - 1).atEndOfMonth();
+        LocalDate upcomingEnd = today.plusDays(upcomingDays);
 
         DashboardResponse.ProjectionPeriod projectionPeriod = DashboardResponse.ProjectionPeriod.builder()
                 .startDate(projectionStart)
@@ -488,24 +565,25 @@ public class RecurringRuleService {
                 .projectionPeriod(projectionPeriod)
                 .build();
 
-        // Calculate monthly projection from active rules (filtered by cashFlowId)
-        List<RecurringRule> activeRules = ruleRepository.findByUserIdAndCashFlowIdAndStatus(userIdObj, cashFlowIdObj, RuleStatus.ACTIVE);
+        // Projection and upcoming transactions are both read from the occurrence calendar in one query
+        List<RuleOccurrence> occurrences = occurrenceCalendar.find(
+                userIdObj, cashFlowIdObj, projectionStart, upcomingEnd.isAfter(projectionEnd) ? upcomingEnd : projectionEnd);
 
         BigDecimal totalExpenses = BigDecimal.ZERO;
         BigDecimal totalIncome = BigDecimal.ZERO;
-        String currency = "PLN"; // Default currency, will be updated from first rule
-
-        for (RecurringRule rule : activeRules) {
-            List<LocalDate> occurrences = rule.generateOccurrences(projectionStart, projectionEnd);
-            for (LocalDate occurrence : occurrences) {
-                Money effectiveAmount = rule.calculateEffectiveAmount(occurrence);
-                currency = effectiveAmount.getCurrency();
-
-                if (effectiveAmount.isPositive()) {
-                    totalIncome = totalIncome.add(effectiveAmount.getAmount());
-                } else {
-                    totalExpenses = totalExpenses.add(effectiveAmount.getAmount().abs());
-                }
+        String currency = "PLN"; // Default currency, will be updated from first occurrence
+
+        for (RuleOccurrence occurrence : occurrences) {
+            if (occurrence.dueDate().isAfter(projectionEnd)) {
+                continue;
+            }
+            Money effectiveAmount = occurrence.amount();
+            currency = effectiveAmount.getCurrency();
+
+            if (effectiveAmount.isPositive()) {
+                totalIncome = totalIncome.add(effectiveAmount.getAmount());
+            } else {
+                totalExpenses = totalExpenses.add(effectiveAmount.getAmount().abs());
             }
         }
 
@@ -516,7 +594,7 @@ public class RecurringRuleService {
                 .build();
 
         // Get upcoming transactions (filtered by cashFlowId)
-        UpcomingTransactionsResponse upcomingResponse = getUpcomingTransactions(userId, cashFlowId, upcomingDays, 5);
+        UpcomingTransactionsResponse upcomingResponse = toUpcomingTransactions(occurrences, today, upcomingEnd, 5);
 
         List<DashboardResponse.UpcomingTransactionDto> upcomingTransactions = upcomingResponse.getTransactions().stream()
                 .map(t -> DashboardResponse.UpcomingTransactionDto.builder()
@@ -543,46 +621,27 @@ public class RecurringRuleService {
     }
 
     public UpcomingTransactionsResponse getUpcomingTransactions(String userId, String cashFlowId, int days, int limit) {
-        UserId userIdObj = UserId.of(userId);
-        CashFlowId cashFlowIdObj = CashFlowId.of(cashFlowId);
         LocalDate today = LocalDate.now(clock);
         LocalDate endDate = today.plusDays(days);
 
-        List<RecurringRule> activeRules = ruleRepository.findByUserIdAndCashFlowIdAndStatus(userIdObj, cashFlowIdObj, RuleStatus.ACTIVE);
-
-        List<UpcomingTransactionsResponse.UpcomingTransaction> allTransactions = new ArrayList<>();
-
-        for (RecurringRule rule : activeRules) {
-            List<LocalDate> occurrences = rule.generateOccurrences(today, endDate);
-
-            for (LocalDate occurrence : occurrences) {
-                Money effectiveAmount = rule.calculateEffectiveAmount(occurrence);
-                String type = effectiveAmount.isPositive() ? "INFLOW" : "OUTFLOW";
-                int daysUntilDue = (int) java.time.temporal.ChronoUnit.DAYS.between(today, occurrence);
-
-                // Find matching generated cash change ID if exists
-                String cashChangeId = findGeneratedCashChangeIdForDate(rule, occurrence);
-
-                UpcomingTransactionsResponse.UpcomingTransaction transaction =
-                        UpcomingTransactionsResponse.UpcomingTransaction.builder()
-                                .ruleId(rule.getRuleId().id())
-                                .ruleName(rule.getName())
-                                .cashChangeId(cashChangeId)
-                                .dueDate(occurrence)
-                                .amount(Money.of(effectiveAmount.getAmount().abs(), effectiveAmount.getCurrency()))
-                                .type(type)
-                                .category(rule.getCategoryName().name())
-                                .daysUntilDue(daysUntilDue)
-                                .build();
-
-                allTransactions.add(transaction);
-            }
-        }
+        List<RuleOccurrence> occurrences = occurrenceCalendar.find(UserId.of(userId), CashFlowId.of(cashFlowId), today, endDate);
+        return toUpcomingTransactions(occurrences, today, endDate, limit);
+    }
 
-        // Sort by due date and apply limit
-        List<UpcomingTransactionsResponse.UpcomingTransaction> sortedTransactions = allTransactions.stream()
-                .sorted((a, b) -> a.getDueDate().compareTo(b.getDueDate()))
+    private UpcomingTransactionsResponse toUpcomingTransactions(List<RuleOccurrence> occurrences, LocalDate today, LocalDate endDate, int limit) {
+        // Occurrences come sorted by due date
+        List<UpcomingTransactionsResponse.UpcomingTransaction> sortedTransactions = occurrences.stream()
+                .filter(occurrence -> !occurrence.dueDate().isBefore(today) && !occurrence.dueDate().isAfter(endDate))
                 .limit(limit > 0 ? limit : Integer.MAX_VALUE)
+                .map(occurrence -> UpcomingTransactionsResponse.UpcomingTransaction.builder()
+                        .ruleId(occurrence.ruleId().id())
+                        .ruleName(occurrence.ruleName())
+                        .dueDate(occurrence.dueDate())
+                        .amount(Money.of(occurrence.amount().getAmount().abs(), occurrence.amount().getCurrency()))
+                        .type(occurrence.isInflow() ? "INFLOW" : "OUTFLOW")
+                        .category(occurrence.categoryName().name())
+                        .daysUntilDue((int) java.time.temporal.ChronoUnit.DAYS.between(today, occurrence.dueDate()))
+                        .build())
                 .toList();
 
         // Calculate totals
@@ -608,17 +667,6 @@ public class RecurringRuleService {
                 .build();
     }
 
-    /**
-     * Finds the generated cash change ID for a specific occurrence date.
-     * Returns null if no matching cash change was generated yet.
-     */
-    private String findGeneratedCashChangeIdForDate(RecurringRule rule, LocalDate occurrenceDate) {
-        // This is a simplified implementation - we don't have a direct mapping
-        // In a full implementation, we would store the mapping in GenerationInfo
-        // For now, return null as the UI can still show upcoming transactions without the ID
-        return null;
-    }
-
     // Private helper methods
 
     private RecurringRule findRuleOrThrow(RecurringRuleId ruleId) throws RuleNotFoundException {
@@ -646,59 +694,102 @@ public class RecurringRuleService {
 
     private void generateExpectedCashChanges(RecurringRule rule, String authToken)
             throws CashFlowCommunicationException {
-        LocalDate fromDate = LocalDate.now(clock);
-        YearMonth currentMonth = YearMonth.from(fromDate);
-        LocalDate toDate = currentMonth.plusMonths(FORECAST_MONTHS - 1).atEndOfMonth();
+        generateExpectedCashChanges(rule, YearMonth.now(clock).atDay(1), authToken);
+    }
 
+    /**
+     * @param notBefore earliest occurrence date created; only used with virtual occurrences
+     */
+    private void generateExpectedCashChanges(RecurringRule rule, LocalDate notBefore, String authToken)
+            throws CashFlowCommunicationException {
+        LocalDate today = LocalDate.now(clock);
+        if (!virtualOccurrences) {
+            materialize(rule, today, YearMonth.from(today).plusMonths(FORECAST_MONTHS - 1).atEndOfMonth(), overHttp(rule, authToken));
+            return;
+        }
+        // With virtual occurrences only due occurrences are created, the rest is projected by the forecast.
+        // Occurrences that fell due since the last materialization are created along with today's.
+        LocalDate fromDate = firstUnmaterializedDate(rule, notBefore, today);
+        materialize(rule, fromDate.isAfter(today) ? today : fromDate, today, overHttp(rule, authToken));
+    }
+
+    /**
+     * Day after the rule's {@code materializedThrough} (today when never materialized), but not before
+     * {@code notBefore}. Due dates before the current month are rejected by the CashFlow.
+     */
+    private static LocalDate firstUnmaterializedDate(RecurringRule rule, LocalDate notBefore, LocalDate today) {
+        LocalDate fromDate = rule.getMaterializedThrough()
+                .map(date -> date.plusDays(1))
+                .orElse(today);
+        return fromDate.isBefore(notBefore) ? notBefore : fromDate;
+    }
+
+    /**
+     * Creates expected cash changes in the CashFlow, all of them or none.
+     */
+    @FunctionalInterface
+    private interface CashChangeCreator {
+        List<CashChangeId> create(List<CashFlowHttpClient.ExpectedCashChangeRequest> cashChanges)
+                throws CashFlowCommunicationException;
+    }
+
+    private CashChangeCreator overHttp(RecurringRule rule, String authToken) {
+        return requests -> cashFlowHttpClient.createExpectedCashChanges(
+                rule.getCashFlowId(), rule.getRuleId(), requests, authToken);
+    }
+
+    private List<CashChangeId> materialize(RecurringRule rule, LocalDate fromDate, LocalDate toDate, CashChangeCreator creator)
+            throws CashFlowCommunicationException {
         List<LocalDate> occurrences = rule.generateOccurrences(fromDate, toDate);
-        List<CashChangeId> generatedIds = new ArrayList<>();
+        int remaining = rule.getRemainingOccurrences().orElse(Integer.MAX_VALUE);
+        if (occurrences.size() > remaining) {
+            occurrences = occurrences.subList(0, remaining);
+        }
 
         String type = rule.getBaseAmount().isPositive() ? "INFLOW" : "OUTFLOW";
 
+        List<CashFlowHttpClient.ExpectedCashChangeRequest> cashChanges = new ArrayList<>(occurrences.size());
         for (LocalDate occurrence : occurrences) {
-            try {
-                Money effectiveAmount = rule.calculateEffectiveAmount(occurrence);
-                Money absAmount = effectiveAmount.isPositive()
-                        ? effectiveAmount
-                        : Money.of(effectiveAmount.getAmount().negate(), effectiveAmount.getCurrency());
-
-                ZonedDateTime dueDate = occurrence.atStartOfDay(ZoneOffset.UTC);
-
-                CashChangeId cashChangeId = cashFlowHttpClient.createExpectedCashChange(
-                        rule.getCashFlowId(),
-                        rule.getRuleId(),
-                        rule.getCategoryName(),
-                        rule.getName(),
-                        rule.getDescription(),
-                        absAmount,
-                        type,
-                        dueDate,
-                        authToken
-                );
-
-                generatedIds.add(cashChangeId);
-                log.debug("Created expected cash change {} for rule {} on {}",
-                        cashChangeId.id(), rule.getRuleId().id(), occurrence);
-            } catch (CashFlowCommunicationException e) {
-                log.error("Failed to create expected cash change for rule {} on {}: {}",
-                        rule.getRuleId().id(), occurrence, e.getMessage());
-                throw e;
-            }
+            Money effectiveAmount = rule.calculateEffectiveAmount(occurrence);
+            Money absAmount = effectiveAmount.isPositive()
+                    ? effectiveAmount
+                    : Money.of(effectiveAmount.getAmount().negate(), effectiveAmount.getCurrency());
+
+            cashChanges.add(new CashFlowHttpClient.ExpectedCashChangeRequest(
+                    rule.getCategoryName(),
+                    rule.getName(),
+                    rule.getDescription(),
+                    absAmount,
+                    type,
+                    occurrence.atStartOfDay(ZoneOffset.UTC)
+            ));
         }
 
+        // All occurrences are appended in one CashFlow transaction - either all or none
+        List<CashChangeId> generatedIds;
+        try {
+            generatedIds = creator.create(cashChanges);
+        } catch (CashFlowCommunicationException e) {
+            log.error("Failed to create {} expected cash changes for rule {}: {}",
+                    cashChanges.size(), rule.getRuleId().id(), e.getMessage());
+            throw e;
+        }
+
+        rule.markMaterializedThrough(toDate, clock);
         if (!generatedIds.isEmpty()) {
             rule.recordGeneratedCashChanges(generatedIds, fromDate, toDate, clock);
-            ruleRepository.save(rule);
             log.info("Generated {} expected cash changes for rule {}", generatedIds.size(), rule.getRuleId().id());
-
-            // Check if rule should auto-complete after reaching maxOccurrences
-            if (rule.shouldAutoComplete()) {
-                rule.complete("Reached maximum occurrences (" + rule.getMaxOccurrences().orElse(0) + ")", clock);
-                ruleRepository.save(rule);
-                log.info("Rule {} auto-completed after reaching {} occurrences",
-                        rule.getRuleId().id(), rule.getMaxOccurrences().orElse(0));
-            }
         }
+        save(rule);
+
+        // Check if rule should auto-complete after reaching maxOccurrences
+        if (!generatedIds.isEmpty() && rule.shouldAutoComplete()) {
+            rule.complete("Reached maximum occurrences (" + rule.getMaxOccurrences().orElse(0) + ")", clock);
+            save(rule);
+            log.info("Rule {} auto-completed after reaching {} occurrences",
+                    rule.getRuleId().id(), rule.getMaxOccurrences().orElse(0));
+        }
+        return generatedIds;
     }
 
     private void clearGeneratedCashChanges(RecurringRule rule, String authToken)
@@ -720,6 +811,16 @@ public class RecurringRuleService {
                 result.deletedCount(), rule.getRuleId().id(), result.skippedCount());
 
         rule.clearGeneratedCashChanges(toDelete, clock);
+        save(rule);
+    }
+
+    /**
+     * Persists the rule, refreshes its occurrence calendar and publishes its current definition
+     * for the forecast projection.
+     */
+    private void save(RecurringRule rule) {
         ruleRepository.save(rule);
+        occurrenceCalendar.refresh(rule);
+        definitionEmitter.emit(rule);
     }
 }
@@ -1,5 +1,6 @@
 package com.multi.vidulum.recurring_rules.app;
 
+import com.multi.vidulum.cashflow.domain.CashChangeId;
 import com.multi.vidulum.cashflow.domain.CategoryName;
 import com.multi.vidulum.recurring_rules.app.commands.*;
 import com.multi.vidulum.recurring_rules.app.dto.*;
@@ -15,12 +16,14 @@ import com.multi.vidulum.user.domain.User;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -232,6 +235,24 @@ public class RecurringRulesController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Creates expected cash changes for the rule's virtual (forecast-only) occurrences up to and
+     * including {@code through} (today when omitted), e.g. to confirm an occurrence before it is due.
+     */
+    @PostMapping("/{ruleId}/materialize")
+    public ResponseEntity<Map<String, List<String>>> materializeOccurrences(
+            @PathVariable String ruleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate through,
+            @RequestHeader("Authorization") String authHeader
+    ) throws RecurringRuleException {
+        String authToken = extractToken(authHeader);
+
+        MaterializeOccurrencesCommand command = new MaterializeOccurrencesCommand(ruleId, through);
+        List<CashChangeId> cashChangeIds = ruleService.handle(command, authToken);
+
+        return ResponseEntity.ok(Map.of("cashChangeIds", cashChangeIds.stream().map(CashChangeId::id).toList()));
+    }
+
     // Amount Changes endpoints
 
     @PostMapping("/{ruleId}/amount-changes")
@@ -0,0 +1,16 @@
+package com.multi.vidulum.recurring_rules.app.commands;
+
+import com.multi.vidulum.shared.cqrs.commands.Command;
+
+import java.time.LocalDate;
+
+/**
+ * Command to turn the virtual occurrences of a recurring rule into expected cash changes,
+ * up to and including the given date (today when null).
+ * Used to confirm an occurrence before it falls due.
+ */
+public record MaterializeOccurrencesCommand(
+        String ruleId,
+        LocalDate through
+) implements Command {
+}
@@ -0,0 +1,42 @@
+package com.multi.vidulum.recurring_rules.domain;
+
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.common.UserId;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository of the per-CashFlow occurrence calendar of recurring rules.
+ * <p>
+ * The calendar of a CashFlow covers a window of whole months starting at {@code windowStart};
+ * it holds the occurrences of the rules that were active when they were last saved.
+ */
+public interface DomainOccurrenceCalendarRepository {
+
+    /**
+     * Replaces the whole calendar of the CashFlow and records the window it was built for.
+     */
+    void replaceCalendar(CashFlowId cashFlowId, LocalDate windowStart, LocalDate windowEnd, List<RuleOccurrence> occurrences);
+
+    /**
+     * Replaces the occurrences of a single rule, leaving the window untouched.
+     */
+    void replaceOccurrences(RecurringRuleId ruleId, List<RuleOccurrence> occurrences);
+
+    /**
+     * @return the first day of the window the CashFlow calendar was built for, empty if it was never built
+     */
+    Optional<LocalDate> findWindowStart(CashFlowId cashFlowId);
+
+    /**
+     * @return CashFlows whose calendar window starts before the given date
+     */
+    List<CashFlowId> findCashFlowsWithWindowStartBefore(LocalDate date);
+
+    /**
+     * Occurrences due within the range (inclusive), ordered by due date.
+     */
+    List<RuleOccurrence> findByUserIdAndCashFlowIdAndDueDateBetween(UserId userId, CashFlowId cashFlowId, LocalDate fromDate, LocalDate toDate);
+}
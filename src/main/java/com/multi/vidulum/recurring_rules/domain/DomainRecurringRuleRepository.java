@@ -5,6 +5,7 @@ import com.multi.vidulum.common.UserId;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -57,6 +58,13 @@ public interface DomainRecurringRuleRepository {
      */
     long countByUserIdAndCashFlowIdAndStatus(UserId userId, CashFlowId cashFlowId, RuleStatus status);
 
+    /**
+     * Count rules by user and cashflow, grouped by status in a single query.
+     * Statuses without rules are absent from the map.
+     * Used for dashboard summary filtered by cashflow.
+     */
+    Map<RuleStatus, Long> countByUserIdAndCashFlowIdGroupedByStatus(UserId userId, CashFlowId cashFlowId);
+
     /**
      * Find rules by user, cashflow and status.
      * Used for dashboard filtering by cashflow.
@@ -53,6 +53,11 @@ public class RecurringRule implements Aggregate<RecurringRuleId, RecurringRuleSn
     private List<AmountChange> amountChanges;
     private List<RuleExecution> executions;
     private List<CashChangeId> generatedCashChangeIds;
+    /**
+     * Last date for which occurrences exist as concrete cash changes in the CashFlow.
+     * Later occurrences are only projected (virtual) by the forecast.
+     */
+    private LocalDate materializedThrough;
     private Instant createdAt;
     private Instant lastModifiedAt;
 
@@ -133,6 +138,7 @@ public class RecurringRule implements Aggregate<RecurringRuleId, RecurringRuleSn
         rule.amountChanges = new ArrayList<>(snapshot.amountChanges());
         rule.executions = new ArrayList<>(snapshot.executions());
         rule.generatedCashChangeIds = new ArrayList<>(snapshot.generatedCashChangeIds());
+        rule.materializedThrough = snapshot.materializedThrough();
         rule.createdAt = snapshot.createdAt();
         rule.lastModifiedAt = snapshot.lastModifiedAt();
         return rule;
@@ -159,6 +165,7 @@ public class RecurringRule implements Aggregate<RecurringRuleId, RecurringRuleSn
                 List.copyOf(amountChanges),
                 List.copyOf(executions),
                 List.copyOf(generatedCashChangeIds),
+                materializedThrough,
                 createdAt,
                 lastModifiedAt
         );
@@ -300,6 +307,15 @@ public class RecurringRule implements Aggregate<RecurringRuleId, RecurringRuleSn
         ));
     }
 
+    /**
+     * Moves the materialization watermark: occurrences up to and including {@code date} exist as
+     * concrete cash changes, later ones are virtual.
+     */
+    public void markMaterializedThrough(LocalDate date, Clock clock) {
+        this.materializedThrough = date;
+        this.lastModifiedAt = clock.instant();
+    }
+
     public void clearGeneratedCashChanges(List<CashChangeId> clearedIds, Clock clock) {
         this.generatedCashChangeIds.removeAll(clearedIds);
         this.lastModifiedAt = clock.instant();
@@ -572,6 +588,10 @@ public class RecurringRule implements Aggregate<RecurringRuleId, RecurringRuleSn
         return List.copyOf(generatedCashChangeIds);
     }
 
+    public Optional<LocalDate> getMaterializedThrough() {
+        return Optional.ofNullable(materializedThrough);
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
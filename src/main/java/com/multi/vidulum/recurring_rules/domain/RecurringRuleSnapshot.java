@@ -34,6 +34,7 @@ public record RecurringRuleSnapshot(
         List<AmountChange> amountChanges,
         List<RuleExecution> executions,
         List<CashChangeId> generatedCashChangeIds,
+        LocalDate materializedThrough,
         Instant createdAt,
         Instant lastModifiedAt
 ) implements EntitySnapshot<RecurringRuleId> {
@@ -0,0 +1,54 @@
+package com.multi.vidulum.recurring_rules.domain;
+
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.cashflow.domain.CategoryName;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.common.UserId;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One precomputed occurrence of an active recurring rule in the occurrence calendar.
+ * The amount is the effective amount on the due date (negative for outflows).
+ */
+public record RuleOccurrence(
+        RecurringRuleId ruleId,
+        UserId userId,
+        CashFlowId cashFlowId,
+        String ruleName,
+        CategoryName categoryName,
+        LocalDate dueDate,
+        Money amount
+) {
+    public RuleOccurrence {
+        Objects.requireNonNull(ruleId, "Rule ID cannot be null");
+        Objects.requireNonNull(cashFlowId, "CashFlow ID cannot be null");
+        Objects.requireNonNull(dueDate, "Due date cannot be null");
+        Objects.requireNonNull(amount, "Amount cannot be null");
+    }
+
+    /**
+     * Occurrences of the rule within the range, empty unless the rule is active.
+     */
+    public static List<RuleOccurrence> of(RecurringRule rule, LocalDate fromDate, LocalDate toDate) {
+        if (!rule.isActive()) {
+            return List.of();
+        }
+        return rule.generateOccurrences(fromDate, toDate).stream()
+                .map(date -> new RuleOccurrence(
+                        rule.getRuleId(),
+                        rule.getUserId(),
+                        rule.getCashFlowId(),
+                        rule.getName(),
+                        rule.getCategoryName(),
+                        date,
+                        rule.calculateEffectiveAmount(date)))
+                .toList();
+    }
+
+    public boolean isInflow() {
+        return amount.isPositive();
+    }
+}
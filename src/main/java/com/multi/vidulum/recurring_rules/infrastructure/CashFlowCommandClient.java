@@ -0,0 +1,72 @@
+package com.multi.vidulum.recurring_rules.infrastructure;
+
+import com.multi.vidulum.cashflow.app.commands.append.AppendExpectedCashChangesCommand;
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.common.BusinessIdGenerator;
+import com.multi.vidulum.recurring_rules.domain.RecurringRuleId;
+import com.multi.vidulum.recurring_rules.domain.exceptions.CashFlowCommunicationException;
+import com.multi.vidulum.shared.cqrs.CommandGateway;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-process counterpart of {@link CashFlowHttpClient} for scheduled jobs, which have no user token.
+ * <p>
+ * Sends the same {@link AppendExpectedCashChangesCommand} as the batch endpoint, through the
+ * {@link CommandGateway} of this node.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CashFlowCommandClient {
+
+    private final CommandGateway commandGateway;
+    private final BusinessIdGenerator businessIdGenerator;
+    private final Clock clock;
+
+    /**
+     * Creates many expected cash changes in the CashFlow at once - either all or none.
+     *
+     * @return IDs of the created cash changes, in the order of {@code cashChanges}
+     */
+    public List<CashChangeId> createExpectedCashChanges(
+            CashFlowId cashFlowId,
+            RecurringRuleId sourceRuleId,
+            List<CashFlowHttpClient.ExpectedCashChangeRequest> cashChanges
+    ) throws CashFlowCommunicationException {
+        if (cashChanges.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            List<CashChangeId> ids = businessIdGenerator.generateCashChangeIds(cashChanges.size());
+            List<AppendExpectedCashChangesCommand.ExpectedCashChange> commands = new ArrayList<>(cashChanges.size());
+            for (int i = 0; i < cashChanges.size(); i++) {
+                CashFlowHttpClient.ExpectedCashChangeRequest cashChange = cashChanges.get(i);
+                commands.add(new AppendExpectedCashChangesCommand.ExpectedCashChange(
+                        ids.get(i),
+                        cashChange.categoryName(),
+                        new Name(cashChange.name()),
+                        new Description(cashChange.description()),
+                        cashChange.money(),
+                        Type.valueOf(cashChange.type()),
+                        cashChange.dueDate()
+                ));
+            }
+
+            List<CashChangeId> cashChangeIds = commandGateway.send(new AppendExpectedCashChangesCommand(
+                    cashFlowId, sourceRuleId.id(), ZonedDateTime.now(clock), commands));
+
+            log.info("Created {} expected cash changes for rule {} in process", cashChangeIds.size(), sourceRuleId.id());
+            return cashChangeIds;
+        } catch (RuntimeException e) {
+            throw new CashFlowCommunicationException(cashFlowId, "create expected cash changes", e);
+        }
+    }
+}
@@ -169,6 +169,96 @@ public class CashFlowHttpClient {
         }
     }
 
+    /**
+     * Creates many expected cash changes in the CashFlow with a single request.
+     * The CashFlow appends all of them in one transaction - either all or none.
+     *
+     * @param cashFlowId the CashFlow ID
+     * @param sourceRuleId the recurring rule that generated the cash changes
+     * @param cashChanges cash changes to create
+     * @param authToken the auth token
+     * @return IDs of the created cash changes, in the order of {@code cashChanges}
+     */
+    public List<CashChangeId> createExpectedCashChanges(
+            CashFlowId cashFlowId,
+            RecurringRuleId sourceRuleId,
+            List<ExpectedCashChangeRequest> cashChanges,
+            String authToken
+    ) throws CashFlowCommunicationException {
+        if (cashChanges.isEmpty()) {
+            return List.of();
+        }
+
+        String url = getCashFlowServiceUrl() + "/cash-flow/cf=" + cashFlowId.id() + "/expected-cash-changes/batch";
+
+        try {
+            HttpHeaders headers = createHeaders(authToken);
+
+            List<Map<String, Object>> items = cashChanges.stream()
+                    .map(cashChange -> {
+                        // Use HashMap instead of Map.of() to allow null values
+                        Map<String, Object> item = new HashMap<>();
+                        item.put("category", cashChange.categoryName().name());
+                        item.put("name", cashChange.name());
+                        if (cashChange.description() != null) {
+                            item.put("description", cashChange.description());
+                        }
+                        item.put("money", Map.of(
+                                "amount", cashChange.money().getAmount(),
+                                "currency", cashChange.money().getCurrency()
+                        ));
+                        item.put("type", cashChange.type());
+                        item.put("dueDate", cashChange.dueDate().toString());
+                        return item;
+                    })
+                    .toList();
+
+            Map<String, Object> request = new HashMap<>();
+            request.put("sourceRuleId", sourceRuleId.id());
+            request.put("cashChanges", items);
+
+            ResponseEntity<Map> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    new HttpEntity<>(request, headers),
+                    Map.class
+            );
+
+            Map<String, Object> body = response.getBody();
+            if (body == null) {
+                throw new CashFlowCommunicationException(cashFlowId, "create expected cash changes", "Empty response body");
+            }
+
+            // Response structure: { "cashChangeIds": ["...", ...] }
+            List<String> cashChangeIds = (List<String>) body.get("cashChangeIds");
+            if (cashChangeIds == null || cashChangeIds.size() != cashChanges.size()) {
+                throw new CashFlowCommunicationException(cashFlowId, "create expected cash changes",
+                        "Expected " + cashChanges.size() + " cashChangeIds in response");
+            }
+
+            log.info("Created {} expected cash changes for rule {}", cashChangeIds.size(), sourceRuleId.id());
+
+            return cashChangeIds.stream().map(CashChangeId::new).toList();
+        } catch (CashFlowCommunicationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CashFlowCommunicationException(cashFlowId, "create expected cash changes", e);
+        }
+    }
+
+    /**
+     * Single cash change of a batch create request.
+     */
+    public record ExpectedCashChangeRequest(
+            CategoryName categoryName,
+            String name,
+            String description,
+            Money money,
+            String type,
+            ZonedDateTime dueDate
+    ) {
+    }
+
     /**
      * Batch deletes expected cash changes from the CashFlow.
      * Only PENDING cash changes will be deleted; CONFIRMED ones are skipped.
@@ -0,0 +1,28 @@
+package com.multi.vidulum.recurring_rules.infrastructure;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+/**
+ * Window the occurrence calendar of a CashFlow was last built for.
+ */
+@Builder
+@Getter
+@ToString
+@Document("recurring-rule-calendars")
+public class OccurrenceCalendarEntity {
+
+    @Id
+    private String cashFlowId;
+
+    @Indexed
+    private LocalDate windowStart;
+
+    private LocalDate windowEnd;
+}
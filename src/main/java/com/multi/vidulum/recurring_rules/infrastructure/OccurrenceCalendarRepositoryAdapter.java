@@ -0,0 +1,79 @@
+package com.multi.vidulum.recurring_rules.infrastructure;
+
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.common.UserId;
+import com.multi.vidulum.recurring_rules.domain.DomainOccurrenceCalendarRepository;
+import com.multi.vidulum.recurring_rules.domain.RecurringRuleId;
+import com.multi.vidulum.recurring_rules.domain.RuleOccurrence;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Component
+@RequiredArgsConstructor
+public class OccurrenceCalendarRepositoryAdapter implements DomainOccurrenceCalendarRepository {
+
+    private final RuleOccurrenceMongoRepository occurrenceRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void replaceCalendar(CashFlowId cashFlowId, LocalDate windowStart, LocalDate windowEnd, List<RuleOccurrence> occurrences) {
+        replace(where("cashFlowId").is(cashFlowId.id()), occurrences);
+        mongoTemplate.save(OccurrenceCalendarEntity.builder()
+                .cashFlowId(cashFlowId.id())
+                .windowStart(windowStart)
+                .windowEnd(windowEnd)
+                .build());
+    }
+
+    @Override
+    public void replaceOccurrences(RecurringRuleId ruleId, List<RuleOccurrence> occurrences) {
+        replace(where("ruleId").is(ruleId.id()), occurrences);
+    }
+
+    @Override
+    public Optional<LocalDate> findWindowStart(CashFlowId cashFlowId) {
+        return Optional.ofNullable(mongoTemplate.findById(cashFlowId.id(), OccurrenceCalendarEntity.class))
+                .map(OccurrenceCalendarEntity::getWindowStart);
+    }
+
+    @Override
+    public List<CashFlowId> findCashFlowsWithWindowStartBefore(LocalDate date) {
+        return mongoTemplate.find(query(where("windowStart").lt(date)), OccurrenceCalendarEntity.class).stream()
+                .map(calendar -> CashFlowId.of(calendar.getCashFlowId()))
+                .toList();
+    }
+
+    @Override
+    public List<RuleOccurrence> findByUserIdAndCashFlowIdAndDueDateBetween(UserId userId, CashFlowId cashFlowId, LocalDate fromDate, LocalDate toDate) {
+        return occurrenceRepository.findInRange(userId.getId(), cashFlowId.id(), fromDate, toDate).stream()
+                .map(RuleOccurrenceEntity::toDomain)
+                .toList();
+    }
+
+    /**
+     * Upserts the occurrences by their deterministic id, then removes the ones of {@code scope} that are
+     * gone. Unlike delete and insert, calendars rebuilt concurrently (the scheduler runs on every node and
+     * reads rebuild stale calendars) never collide on an id; the last writer wins.
+     */
+    private void replace(Criteria scope, List<RuleOccurrence> occurrences) {
+        List<RuleOccurrenceEntity> entities = occurrences.stream().map(RuleOccurrenceEntity::fromDomain).toList();
+        if (!entities.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RuleOccurrenceEntity.class);
+            entities.forEach(entity -> bulk.replaceOne(query(where("_id").is(entity.getId())), entity, FindAndReplaceOptions.options().upsert()));
+            bulk.execute();
+        }
+        List<String> ids = entities.stream().map(RuleOccurrenceEntity::getId).toList();
+        mongoTemplate.remove(query(scope.and("_id").nin(ids)), RuleOccurrenceEntity.class);
+    }
+}
@@ -50,6 +50,7 @@ public class RecurringRuleEntity {
     private List<AmountChangeEmbedded> amountChanges;
     private List<RuleExecutionEmbedded> executions;
     private List<String> generatedCashChangeIds;
+    private LocalDate materializedThrough;
     private Date createdAt;
     private Date lastModifiedAt;
 
@@ -79,6 +80,7 @@ public class RecurringRuleEntity {
                 .generatedCashChangeIds(snapshot.generatedCashChangeIds().stream()
                         .map(CashChangeId::id)
                         .collect(Collectors.toList()))
+                .materializedThrough(snapshot.materializedThrough())
                 .createdAt(Date.from(snapshot.createdAt()))
                 .lastModifiedAt(Date.from(snapshot.lastModifiedAt()))
                 .build();
@@ -104,6 +106,7 @@ public class RecurringRuleEntity {
                 amountChanges.stream().map(AmountChangeEmbedded::toAmountChange).collect(Collectors.toList()),
                 executions.stream().map(RuleExecutionEmbedded::toRuleExecution).collect(Collectors.toList()),
                 generatedCashChangeIds.stream().map(CashChangeId::new).collect(Collectors.toList()),
+                materializedThrough,
                 createdAt.toInstant(),
                 lastModifiedAt.toInstant()
         );
@@ -4,16 +4,22 @@ import com.multi.vidulum.cashflow.domain.CashFlowId;
 import com.multi.vidulum.common.UserId;
 import com.multi.vidulum.recurring_rules.domain.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.springframework.data.mongodb.core.FindAndModifyOptions.options;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
 import static org.springframework.data.mongodb.core.query.Criteria.where;
 import static org.springframework.data.mongodb.core.query.Query.query;
 
@@ -103,6 +109,17 @@ public class RecurringRuleRepositoryAdapter implements DomainRecurringRuleReposi
         return mongoRepository.countByUserIdAndCashFlowIdAndStatus(userId.getId(), cashFlowId.id(), status);
     }
 
+    @Override
+    public Map<RuleStatus, Long> countByUserIdAndCashFlowIdGroupedByStatus(UserId userId, CashFlowId cashFlowId) {
+        Aggregation aggregation = newAggregation(
+                match(where("userId").is(userId.getId()).and("cashFlowId").is(cashFlowId.id())),
+                group("status").count().as("count")
+        );
+        return mongoTemplate.aggregate(aggregation, RecurringRuleEntity.class, StatusCount.class)
+                .getMappedResults().stream()
+                .collect(Collectors.toMap(StatusCount::getStatus, StatusCount::getCount));
+    }
+
     @Override
     public List<RecurringRule> findByUserIdAndCashFlowIdAndStatus(UserId userId, CashFlowId cashFlowId, RuleStatus status) {
         return mongoRepository.findByUserIdAndCashFlowIdAndStatus(userId.getId(), cashFlowId.id(), status).stream()
@@ -133,6 +150,20 @@ public class RecurringRuleRepositoryAdapter implements DomainRecurringRuleReposi
         return counter != null ? counter.getSeq() : 1;
     }
 
+    private static class StatusCount {
+        @Id
+        private RuleStatus status;
+        private long count;
+
+        public RuleStatus getStatus() {
+            return status;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
     @org.springframework.data.mongodb.core.mapping.Document(collection = "database_sequences")
     private static class SequenceDocument {
         private String id;
@@ -0,0 +1,63 @@
+package com.multi.vidulum.recurring_rules.infrastructure;
+
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.cashflow.domain.CategoryName;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.common.UserId;
+import com.multi.vidulum.recurring_rules.domain.RecurringRuleId;
+import com.multi.vidulum.recurring_rules.domain.RuleOccurrence;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+@Builder
+@Getter
+@ToString
+@Document("recurring-rule-occurrences")
+@CompoundIndex(name = "cashflow_due_date", def = "{'cashFlowId': 1, 'dueDate': 1}")
+public class RuleOccurrenceEntity {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String ruleId;
+
+    private String userId;
+    private String cashFlowId;
+    private String ruleName;
+    private String categoryName;
+    private LocalDate dueDate;
+    private Money amount;
+
+    public static RuleOccurrenceEntity fromDomain(RuleOccurrence occurrence) {
+        return RuleOccurrenceEntity.builder()
+                .id(occurrence.ruleId().id() + ":" + occurrence.dueDate())
+                .ruleId(occurrence.ruleId().id())
+                .userId(occurrence.userId() != null ? occurrence.userId().getId() : null)
+                .cashFlowId(occurrence.cashFlowId().id())
+                .ruleName(occurrence.ruleName())
+                .categoryName(occurrence.categoryName() != null ? occurrence.categoryName().name() : null)
+                .dueDate(occurrence.dueDate())
+                .amount(occurrence.amount())
+                .build();
+    }
+
+    public RuleOccurrence toDomain() {
+        return new RuleOccurrence(
+                RecurringRuleId.of(ruleId),
+                userId != null ? UserId.of(userId) : null,
+                CashFlowId.of(cashFlowId),
+                ruleName,
+                categoryName != null ? new CategoryName(categoryName) : null,
+                dueDate,
+                amount
+        );
+    }
+}
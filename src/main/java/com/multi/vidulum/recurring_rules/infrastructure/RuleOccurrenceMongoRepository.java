@@ -0,0 +1,18 @@
+package com.multi.vidulum.recurring_rules.infrastructure;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RuleOccurrenceMongoRepository extends MongoRepository<RuleOccurrenceEntity, String> {
+
+    /**
+     * Occurrences due within the range (inclusive) for dashboard and upcoming views.
+     */
+    @Query(value = "{ 'userId': ?0, 'cashFlowId': ?1, 'dueDate': { $gte: ?2, $lte: ?3 } }", sort = "{ 'dueDate': 1 }")
+    List<RuleOccurrenceEntity> findInRange(String userId, String cashFlowId, LocalDate fromDate, LocalDate toDate);
+}
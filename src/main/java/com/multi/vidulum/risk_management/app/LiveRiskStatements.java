@@ -0,0 +1,192 @@
+package com.multi.vidulum.risk_management.app;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.multi.vidulum.common.Broker;
+import com.multi.vidulum.common.Price;
+import com.multi.vidulum.common.Ticker;
+import com.multi.vidulum.portfolio.domain.portfolio.PortfolioId;
+import com.multi.vidulum.quotation.domain.PriceChangedEvent;
+import com.multi.vidulum.risk_management.domain.PortfolioRiskState;
+import com.multi.vidulum.risk_management.domain.RiskManagementEngine;
+import com.multi.vidulum.risk_management.domain.RiskManagementStatement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory risk states of the portfolios whose risk view is being read, kept current by price ticks.
+ * <p>
+ * A portfolio is seeded by {@link RiskManagementEngine#seed} on its first read and then follows the quotes
+ * topic: a tick of {@code <ticker>/USD} recomputes that asset in the portfolios of the broker holding it.
+ * Like {@code BrokerQuotationProvider#fetch}, an asset without USD ticks follows {@code <ticker>/USDT}.
+ * Reads are served from the state, so they cost the same however many portfolios and orders exist.
+ * <p>
+ * Seeding calls other services, so it runs outside of the cache's locks; concurrent first reads of a
+ * portfolio may seed it more than once. The newest quote of each asset is kept and applied to a state when
+ * it is registered, so ticks arriving while the portfolio was being read are not lost.
+ * <p>
+ * Order fills drop the state of the portfolio. Orders placed or cancelled and deposits have no event, so a state
+ * older than {@code vidulum.risk.live-state.max-age-seconds} is re-seeded on read. States not read for
+ * {@code expire-after-access-minutes} are dropped and stop following ticks.
+ */
+@Slf4j
+@Component
+public class LiveRiskStatements {
+
+    static final String CACHE_NAME = "risk-state";
+    private static final Ticker USD = Ticker.of("USD");
+    private static final Ticker USDT = Ticker.of("USDT");
+    private static final int INVALIDATION_STRIPES = 64;
+
+    private final RiskManagementEngine riskManagementEngine;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final Cache<PortfolioId, PortfolioRiskState> states;
+    // states by the assets they hold; identity sets, so dropping a replaced state never touches its successor
+    private final Map<HeldAsset, Set<PortfolioRiskState>> holders = new ConcurrentHashMap<>();
+    private final Map<HeldAsset, UsdQuote> latestQuotes = new ConcurrentHashMap<>();
+    // invalidations by portfolio stripe, so that a seed overlapping an invalidation is not cached
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+    private final Counter recalculations;
+
+    public LiveRiskStatements(
+            RiskManagementEngine riskManagementEngine,
+            Clock clock,
+            MeterRegistry meterRegistry,
+            @Value("${vidulum.risk.live-state.enabled:true}") boolean enabled,
+            @Value("${vidulum.risk.live-state.max-portfolios:10000}") long maxPortfolios,
+            @Value("${vidulum.risk.live-state.max-age-seconds:30}") long maxAgeSeconds,
+            @Value("${vidulum.risk.live-state.expire-after-access-minutes:10}") long expireAfterAccessMinutes) {
+        this.riskManagementEngine = riskManagementEngine;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxPortfolios)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .removalListener((PortfolioId portfolioId, PortfolioRiskState state, RemovalCause cause) -> {
+                    if (state != null && cause != RemovalCause.REPLACED) {
+                        untrack(state);
+                    }
+                })
+                .recordStats()
+                .build();
+        this.recalculations = Counter.builder("vidulum.risk.asset_recalculations")
+                .description("Asset risk statements recomputed on price ticks")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, states, CACHE_NAME);
+    }
+
+    public RiskManagementStatement statement(PortfolioId portfolioId) {
+        if (!enabled) {
+            return riskManagementEngine.accept(portfolioId);
+        }
+        PortfolioRiskState current = states.getIfPresent(portfolioId);
+        if (current != null && !isStale(current)) {
+            return current.statement();
+        }
+        int stripe = Math.floorMod(portfolioId.hashCode(), INVALIDATION_STRIPES);
+        long invalidation = invalidations.get(stripe);
+        PortfolioRiskState seeded = riskManagementEngine.seed(portfolioId);
+        if (invalidations.get(stripe) != invalidation) {
+            // may have been read before the change that invalidated it; the next read seeds it again
+            return seeded.statement();
+        }
+        PortfolioRiskState state = states.asMap().compute(portfolioId, (id, existing) ->
+                existing != null && existing != current && !isStale(existing) ? existing : register(seeded, existing));
+        return state.statement();
+    }
+
+    /**
+     * Applies one poll of ticks, conflated to the newest tick per broker and symbol.
+     */
+    public void onPriceChanges(List<PriceChangedEvent> events) {
+        Map<HeldAsset, UsdQuote> latest = new HashMap<>();
+        for (PriceChangedEvent event : events) {
+            Ticker destination = event.getSymbol().getDestination();
+            if (USD.equals(destination) || USDT.equals(destination)) {
+                UsdQuote quote = new UsdQuote(Price.of(event.getCurrentPrice().getAmount(), "USD"),
+                        event.getDateTime(), USD.equals(destination));
+                latest.merge(new HeldAsset(event.getBroker(), event.getSymbol().getOrigin()), quote, UsdQuote::newer);
+            }
+        }
+        latest.forEach((asset, quote) -> {
+            // recorded before the holders are read, so a state registered meanwhile picks the quote up itself
+            if (latestQuotes.merge(asset, quote, UsdQuote::newer) != quote) {
+                return;
+            }
+            holders.getOrDefault(asset, Set.of()).forEach(state -> {
+                if (state.onPriceChange(asset.ticker(), quote.price())) {
+                    recalculations.increment();
+                }
+            });
+        });
+    }
+
+    /**
+     * Drops the state of the portfolio after its holdings or orders have changed; the next read re-seeds it.
+     * Re-seeding here could read the portfolio before its own listener has applied the change.
+     */
+    public void invalidate(PortfolioId portfolioId) {
+        invalidations.incrementAndGet(Math.floorMod(portfolioId.hashCode(), INVALIDATION_STRIPES));
+        states.invalidate(portfolioId);
+    }
+
+    private PortfolioRiskState register(PortfolioRiskState state, PortfolioRiskState previous) {
+        if (previous != null) {
+            untrack(previous);
+        }
+        state.tickers().forEach(ticker -> {
+            HeldAsset asset = new HeldAsset(state.getBroker(), ticker);
+            holders.computeIfAbsent(asset, held -> ConcurrentHashMap.newKeySet()).add(state);
+            UsdQuote quote = latestQuotes.get(asset);
+            if (quote != null) {
+                state.onPriceChange(ticker, quote.price());
+            }
+        });
+        return state;
+    }
+
+    private void untrack(PortfolioRiskState state) {
+        state.tickers().forEach(ticker -> holders.computeIfPresent(new HeldAsset(state.getBroker(), ticker), (asset, holding) -> {
+            holding.remove(state);
+            return holding.isEmpty() ? null : holding;
+        }));
+    }
+
+    private boolean isStale(PortfolioRiskState state) {
+        return state.getSeededAt().plus(maxAge).isBefore(clock.instant());
+    }
+
+    private record HeldAsset(Broker broker, Ticker ticker) {
+    }
+
+    /**
+     * Price of an asset in USD, from its {@code /USD} ticks or else its {@code /USDT} ones.
+     */
+    private record UsdQuote(Price price, ZonedDateTime dateTime, boolean usd) {
+
+        static UsdQuote newer(UsdQuote previous, UsdQuote next) {
+            if (previous.usd() != next.usd()) {
+                return previous.usd() ? previous : next;
+            }
+            return next.dateTime().isBefore(previous.dateTime()) ? previous : next;
+        }
+    }
+}
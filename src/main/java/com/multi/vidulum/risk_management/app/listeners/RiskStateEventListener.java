@@ -0,0 +1,42 @@
+package com.multi.vidulum.risk_management.app.listeners;
+
+import com.multi.vidulum.common.events.OrderFilledEvent;
+import com.multi.vidulum.quotation.domain.PriceChangedEvent;
+import com.multi.vidulum.risk_management.app.LiveRiskStatements;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the {@link LiveRiskStatements} of this node current.
+ * <p>
+ * Every instance joins its own consumer groups so that all nodes receive every tick and fill.
+ * Captured trades reach the risk states as the order fills they produce.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class RiskStateEventListener {
+
+    private final LiveRiskStatements liveRiskStatements;
+
+    @KafkaListener(
+            groupId = "risk_state_quotes_#{T(java.util.UUID).randomUUID().toString()}",
+            topics = "quotes",
+            containerFactory = "priceChangingContainerFactory")
+    public void onPriceChanges(List<PriceChangedEvent> events) {
+        liveRiskStatements.onPriceChanges(events);
+    }
+
+    @KafkaListener(
+            groupId = "risk_state_orders_#{T(java.util.UUID).randomUUID().toString()}",
+            topics = "order_filled",
+            containerFactory = "orderFilledContainerFactory")
+    public void on(OrderFilledEvent event) {
+        log.debug("OrderFilledEvent captured, invalidating risk state of portfolio [{}]", event.getPortfolioId());
+        liveRiskStatements.invalidate(event.getPortfolioId());
+    }
+}
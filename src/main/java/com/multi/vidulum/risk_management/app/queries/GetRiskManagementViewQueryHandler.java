@@ -1,6 +1,6 @@
 package com.multi.vidulum.risk_management.app.queries;
 
-import com.multi.vidulum.risk_management.domain.RiskManagementEngine;
+import com.multi.vidulum.risk_management.app.LiveRiskStatements;
 import com.multi.vidulum.risk_management.domain.RiskManagementStatement;
 import com.multi.vidulum.shared.cqrs.queries.QueryHandler;
 import lombok.AllArgsConstructor;
@@ -11,10 +11,10 @@ import org.springframework.stereotype.Component;
 @AllArgsConstructor
 public class GetRiskManagementViewQueryHandler implements QueryHandler<GetRiskManagementStatementQuery, RiskManagementStatement> {
 
-    private final RiskManagementEngine riskManagementEngine;
+    private final LiveRiskStatements liveRiskStatements;
 
     @Override
     public RiskManagementStatement query(GetRiskManagementStatementQuery query) {
-        return riskManagementEngine.accept(query.getPortfolioId());
+        return liveRiskStatements.statement(query.getPortfolioId());
     }
 }
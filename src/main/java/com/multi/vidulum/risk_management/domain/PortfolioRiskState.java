@@ -0,0 +1,208 @@
+package com.multi.vidulum.risk_management.domain;
+
+import com.multi.vidulum.common.*;
+import com.multi.vidulum.portfolio.domain.portfolio.PortfolioId;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Risk of one portfolio kept up to date in memory, seeded by {@link RiskManagementEngine#seed}.
+ * <p>
+ * A price tick recomputes the {@link AssetRiskManagementStatement} of the asset it quotes and adjusts the
+ * portfolio totals by the difference; the other assets are left as they are. Reads get a
+ * {@link RiskManagementStatement} built once per change.
+ */
+public class PortfolioRiskState {
+
+    private static final Ticker USD = Ticker.of("USD");
+
+    @Getter
+    private final PortfolioId portfolioId;
+    private final UserId userId;
+    private final String name;
+    @Getter
+    private final Broker broker;
+    private final Money investedBalance;
+    @Getter
+    private final Instant seededAt;
+    private final Map<Ticker, AssetPosition> positions = new LinkedHashMap<>();
+
+    private Money currentValue;
+    private Money risk;
+    private Money safe;
+    private RiskManagementStatement statement;
+
+    public PortfolioRiskState(PortfolioId portfolioId, UserId userId, String name, Broker broker,
+                              Money investedBalance, Money currentValue, List<AssetPosition> positions, Instant seededAt) {
+        this.portfolioId = portfolioId;
+        this.userId = userId;
+        this.name = name;
+        this.broker = broker;
+        this.investedBalance = investedBalance;
+        this.currentValue = currentValue;
+        this.seededAt = seededAt;
+        this.risk = Money.zero("USD");
+        this.safe = Money.zero("USD");
+        positions.forEach(position -> {
+            position.evaluate();
+            this.positions.put(position.ticker, position);
+            risk = risk.plus(position.statement.getRiskMoney());
+            safe = safe.plus(position.statement.getSafeMoney());
+        });
+    }
+
+    /**
+     * Applies the latest USD price of an asset; non-USD stop losses of the asset are levelled at it as well.
+     *
+     * @return whether the portfolio holds the asset
+     */
+    public synchronized boolean onPriceChange(Ticker ticker, Price usdPrice) {
+        AssetPosition position = positions.get(ticker);
+        if (position == null) {
+            return false;
+        }
+        AssetRiskManagementStatement previous = position.statement;
+        position.reprice(usdPrice);
+        currentValue = currentValue.minus(previous.getCurrentValue()).plus(position.statement.getCurrentValue());
+        risk = risk.minus(previous.getRiskMoney()).plus(position.statement.getRiskMoney());
+        safe = safe.minus(previous.getSafeMoney()).plus(position.statement.getSafeMoney());
+        statement = null;
+        return true;
+    }
+
+    public synchronized Set<Ticker> tickers() {
+        return Set.copyOf(positions.keySet());
+    }
+
+    public synchronized RiskManagementStatement statement() {
+        if (statement == null) {
+            statement = buildStatement();
+        }
+        return statement;
+    }
+
+    private RiskManagementStatement buildStatement() {
+        List<AssetRiskManagementStatement> assetStatements = new ArrayList<>(positions.size());
+        for (AssetPosition position : positions.values()) {
+            AssetRiskManagementStatement asset = position.statement;
+            assetStatements.add(AssetRiskManagementStatement.builder()
+                    .ticker(asset.getTicker())
+                    .quantity(asset.getQuantity())
+                    .stopLosses(asset.getStopLosses())
+                    .avgPurchasePrice(asset.getAvgPurchasePrice())
+                    .currentValue(asset.getCurrentValue())
+                    .currentPrice(asset.getCurrentPrice())
+                    .safeMoney(asset.getSafeMoney())
+                    .riskMoney(asset.getRiskMoney())
+                    .ragStatus(asset.getRagStatus())
+                    .pctRiskOfPortfolio(USD.equals(asset.getTicker()) ? 0 : currentValue.diffPct(asset.getRiskMoney()))
+                    .build());
+        }
+        Money profit = currentValue.minus(investedBalance);
+        return RiskManagementStatement.builder()
+                .portfolioId(portfolioId)
+                .userId(userId)
+                .name(name)
+                .broker(broker)
+                .assetRiskManagementStatements(assetStatements)
+                .investedBalance(investedBalance)
+                .currentValue(currentValue)
+                .pctProfit(Money.zero("USD").equals(investedBalance) ? 0 : profit.diffPct(investedBalance))
+                .profit(profit)
+                .safe(safe)
+                .risk(risk)
+                .riskPct(currentValue.diffPct(risk.multiply(-1)))
+                .build();
+    }
+
+    /**
+     * Stop loss with the USD price level it protects: its own limit price when quoted in USD,
+     * otherwise the USD price of the asset.
+     */
+    public record StopLossLevel(StopLoss stopLoss, Price usdPrice) {
+    }
+
+    /**
+     * Holding of one asset with its stop losses; {@link #statement} is recomputed on every price change.
+     */
+    public static final class AssetPosition {
+        private final Ticker ticker;
+        private final Quantity quantity;
+        private final Price avgPurchasePrice;
+        private Price currentPrice;
+        private Money currentValue;
+        private List<StopLossLevel> stopLossLevels;
+        private AssetRiskManagementStatement statement;
+
+        public AssetPosition(Ticker ticker, Quantity quantity, Price avgPurchasePrice,
+                             Price currentPrice, Money currentValue, List<StopLossLevel> stopLossLevels) {
+            this.ticker = ticker;
+            this.quantity = quantity;
+            this.avgPurchasePrice = avgPurchasePrice;
+            this.currentPrice = currentPrice;
+            this.currentValue = currentValue;
+            this.stopLossLevels = stopLossLevels;
+        }
+
+        private void reprice(Price usdPrice) {
+            currentPrice = usdPrice.withScale(4);
+            currentValue = usdPrice.multiply(quantity).withScale(4);
+            stopLossLevels = stopLossLevels.stream()
+                    .map(level -> isUsdDenominated(level.stopLoss()) ? level : new StopLossLevel(level.stopLoss(), usdPrice))
+                    .toList();
+            evaluate();
+        }
+
+        private void evaluate() {
+            Quantity quantityCoveredWithStopLoss = Quantity.zero();
+            Money totalAssetRiskMoney = Money.zero("USD");
+            List<StopLoss> stopLosses = new ArrayList<>(stopLossLevels.size());
+            for (StopLossLevel level : stopLossLevels) {
+                Price riskPriceLevel = currentPrice.minus(level.usdPrice());
+                boolean applicable = riskPriceLevel.isPositive();
+                if (applicable) {
+                    quantityCoveredWithStopLoss = quantityCoveredWithStopLoss.plus(level.stopLoss().getQuantity());
+                    totalAssetRiskMoney = totalAssetRiskMoney.plus(riskPriceLevel.multiply(level.stopLoss().getQuantity()));
+                }
+                stopLosses.add(StopLoss.builder()
+                        .symbol(level.stopLoss().getSymbol())
+                        .originOrderId(level.stopLoss().getOriginOrderId())
+                        .quantity(level.stopLoss().getQuantity())
+                        .price(level.stopLoss().getPrice())
+                        .isApplicable(applicable)
+                        .dateTime(level.stopLoss().getDateTime())
+                        .build());
+            }
+
+            Quantity notProtectedQuantity = quantity.minus(quantityCoveredWithStopLoss);
+            if (notProtectedQuantity.isPositive()) {
+                totalAssetRiskMoney = totalAssetRiskMoney.plus(currentPrice.multiply(notProtectedQuantity));
+            }
+
+            AssetRiskManagementStatement.AssetRiskManagementStatementBuilder builder = AssetRiskManagementStatement.builder()
+                    .ticker(ticker)
+                    .quantity(quantity)
+                    .stopLosses(stopLosses)
+                    .avgPurchasePrice(avgPurchasePrice)
+                    .currentValue(currentValue)
+                    .currentPrice(currentPrice)
+                    .ragStatus(RagStatus.GREEN);
+            if (USD.equals(ticker)) {
+                builder.safeMoney(currentValue).riskMoney(Money.zero("USD"));
+            } else {
+                builder.safeMoney(currentValue.minus(totalAssetRiskMoney)).riskMoney(totalAssetRiskMoney);
+            }
+            statement = builder.build();
+        }
+    }
+
+    static boolean isUsdDenominated(StopLoss stopLoss) {
+        return stopLoss.getSymbol().getDestination().equals(USD);
+    }
+}
@@ -10,9 +10,10 @@ import com.multi.vidulum.user.domain.PortfolioRestClient;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -22,35 +23,29 @@ public class RiskManagementEngine {
     private final PortfolioRestClient portfolioRestClient;
     private final TradingRestClient tradingRestClient;
     private final QuoteRestClient quoteRestClient;
+    private final Clock clock;
 
     public RiskManagementStatement accept(PortfolioId portfolioId) {
+        return seed(portfolioId).statement();
+    }
+
+    /**
+     * Builds the risk state of the portfolio from the portfolio, its opened orders and the quotes of its stop losses.
+     */
+    public PortfolioRiskState seed(PortfolioId portfolioId) {
         PortfolioDto.PortfolioSummaryJson portfolio = portfolioRestClient.getPortfolio(portfolioId);
         List<TradingDto.OrderSummaryJson> openedOrders = tradingRestClient.getOpenedOrders(portfolioId);
         List<StopLoss> stopLosses = fetchStopLosses(openedOrders);
-        List<AssetRiskManagementStatement> assetStatements = buildAssetStatements(portfolio, stopLosses);
-        Money totalRiskMoney = assetStatements.stream()
-                .map(AssetRiskManagementStatement::getRiskMoney)
-                .reduce(Money.zero("USD"), Money::plus);
-
-        Money totalSafeMoney = assetStatements.stream()
-                .map(AssetRiskManagementStatement::getSafeMoney)
-                .reduce(Money.zero("USD"), Money::plus);
 
-
-        return RiskManagementStatement.builder()
-                .portfolioId(PortfolioId.of(portfolio.getPortfolioId()))
-                .userId(UserId.of(portfolio.getUserId()))
-                .name(portfolio.getName())
-                .broker(Broker.of(portfolio.getBroker()))
-                .assetRiskManagementStatements(assetStatements)
-                .investedBalance(portfolio.getInvestedBalance())
-                .currentValue(portfolio.getCurrentValue())
-                .pctProfit(portfolio.getPctProfit())
-                .profit(portfolio.getProfit())
-                .safe(totalSafeMoney)
-                .risk(totalRiskMoney)
-                .riskPct(portfolio.getCurrentValue().diffPct(totalRiskMoney.multiply(-1)))
-                .build();
+        return new PortfolioRiskState(
+                PortfolioId.of(portfolio.getPortfolioId()),
+                UserId.of(portfolio.getUserId()),
+                portfolio.getName(),
+                Broker.of(portfolio.getBroker()),
+                portfolio.getInvestedBalance(),
+                portfolio.getCurrentValue(),
+                buildAssetPositions(portfolio, stopLosses),
+                clock.instant());
     }
 
     private List<StopLoss> fetchStopLosses(List<TradingDto.OrderSummaryJson> openedOrders) {
@@ -67,70 +62,56 @@ public class RiskManagementEngine {
                 .collect(Collectors.toList());
     }
 
-    private List<AssetRiskManagementStatement> buildAssetStatements(PortfolioDto.PortfolioSummaryJson portfolio, List<StopLoss> stopLosses) {
+    private List<PortfolioRiskState.AssetPosition> buildAssetPositions(PortfolioDto.PortfolioSummaryJson portfolio, List<StopLoss> stopLosses) {
         Broker broker = Broker.of(portfolio.getBroker());
         Map<Ticker, List<StopLoss>> stopLossMap = stopLosses.stream()
                 .collect(Collectors.groupingBy(stopLoss -> stopLoss.getSymbol().getOrigin()));
+        Map<QuoteRestClient.PriceKey, AssetPriceMetadata> usdQuotes = fetchUsdQuotes(broker, portfolio, stopLossMap);
 
         return portfolio.getAssets().stream()
                 .map(asset -> {
-                    AtomicReference<Quantity> quantityCoveredWithStopLoss = new AtomicReference<>(Quantity.zero());
-                    List<StopLoss> relatedStopLosses = stopLossMap.getOrDefault(Ticker.of(asset.getTicker()), List.of());
-                    Money totalAssetRiskMoney = relatedStopLosses.stream()
-                            .map(stopLoss -> {
-                                Price usdStopLossPriceLevel = fetchUsdPrice(broker, stopLoss);
-                                Price riskPriceLevel = asset.getCurrentPrice().minus(usdStopLossPriceLevel);
-                                stopLoss.setApplicable(riskPriceLevel.isPositive());
-                                if (riskPriceLevel.isPositive()) {
-                                    Quantity protectedQuantity = quantityCoveredWithStopLoss.get().plus(stopLoss.getQuantity());
-                                    quantityCoveredWithStopLoss.set(protectedQuantity);
-                                    return riskPriceLevel.multiply(stopLoss.getQuantity());
-                                } else {
-                                    return Money.zero("USD");
-                                }
-                            })
-                            .reduce(Money.zero("USD"), Money::plus);
-
-                    Quantity notProtectedQuantity = asset.getQuantity().minus(quantityCoveredWithStopLoss.get());
-                    if (notProtectedQuantity.isPositive()) {
-                        totalAssetRiskMoney = totalAssetRiskMoney.plus(asset.getCurrentPrice().multiply(notProtectedQuantity));
-                    }
-
-                    AssetRiskManagementStatement.AssetRiskManagementStatementBuilder assetRiskManagementStatementBuilder =
-                            AssetRiskManagementStatement.builder()
-                                    .ticker(Ticker.of(asset.getTicker()))
-                                    .quantity(asset.getQuantity())
-                                    .stopLosses(relatedStopLosses)
-                                    .avgPurchasePrice(asset.getAvgPurchasePrice())
-                                    .currentValue(asset.getCurrentValue())
-                                    .currentPrice(asset.getCurrentPrice())
-                                    .ragStatus(RagStatus.GREEN);
-
-                    if (Ticker.of("USD").equals(Ticker.of(asset.getTicker()))) {
-                        assetRiskManagementStatementBuilder
-                                .safeMoney(asset.getCurrentValue())
-                                .riskMoney(Money.zero("USD"))
-                                .pctRiskOfPortfolio(0);
-
-                    } else {
-                        assetRiskManagementStatementBuilder
-                                .safeMoney(asset.getCurrentValue().minus(totalAssetRiskMoney))
-                                .riskMoney(totalAssetRiskMoney)
-                                .pctRiskOfPortfolio(portfolio.getCurrentValue().diffPct(totalAssetRiskMoney));
-                    }
-                    return assetRiskManagementStatementBuilder.build();
+                    List<PortfolioRiskState.StopLossLevel> stopLossLevels = stopLossMap.getOrDefault(Ticker.of(asset.getTicker()), List.of()).stream()
+                            .map(stopLoss -> new PortfolioRiskState.StopLossLevel(stopLoss, usdPrice(broker, stopLoss, asset.getCurrentPrice(), usdQuotes)))
+                            .toList();
+                    return new PortfolioRiskState.AssetPosition(
+                            Ticker.of(asset.getTicker()),
+                            asset.getQuantity(),
+                            asset.getAvgPurchasePrice(),
+                            asset.getCurrentPrice(),
+                            asset.getCurrentValue(),
+                            stopLossLevels);
                 })
                 .collect(Collectors.toList());
     }
 
-    private Price fetchUsdPrice(Broker broker, StopLoss stopLoss) {
-        boolean isUsdDenominated = stopLoss.getSymbol().getDestination().equals(Ticker.of("USD"));
-        if (isUsdDenominated) {
+    /**
+     * Quotes of the non-USD stop losses of held assets, resolved in one call and reused for the whole statement.
+     */
+    private Map<QuoteRestClient.PriceKey, AssetPriceMetadata> fetchUsdQuotes(Broker broker, PortfolioDto.PortfolioSummaryJson portfolio,
+                                                                          Map<Ticker, List<StopLoss>> stopLossMap) {
+        Set<QuoteRestClient.PriceKey> keys = portfolio.getAssets().stream()
+                .flatMap(asset -> stopLossMap.getOrDefault(Ticker.of(asset.getTicker()), List.of()).stream())
+                .filter(stopLoss -> !isUsdDenominated(stopLoss))
+                .map(stopLoss -> new QuoteRestClient.PriceKey(broker, Symbol.of(stopLoss.getSymbol().getOrigin(), Ticker.of("USD"))))
+                .collect(Collectors.toSet());
+        return keys.isEmpty() ? Map.of() : quoteRestClient.fetchAll(keys);
+    }
+
+    /**
+     * USD price level of the stop loss; a non-USD stop loss without a quote is levelled at the asset's current price,
+     * as price ticks level it later on.
+     */
+    private Price usdPrice(Broker broker, StopLoss stopLoss, Price assetPrice, Map<QuoteRestClient.PriceKey, AssetPriceMetadata> usdQuotes) {
+        if (isUsdDenominated(stopLoss)) {
             return stopLoss.getPrice();
         } else {
             Symbol usdSymbol = Symbol.of(stopLoss.getSymbol().getOrigin(), Ticker.of("USD"));
-            AssetPriceMetadata assetPriceMetadata = quoteRestClient.fetch(broker, usdSymbol);
-            return assetPriceMetadata.getCurrentPrice();
+            AssetPriceMetadata assetPriceMetadata = usdQuotes.get(new QuoteRestClient.PriceKey(broker, usdSymbol));
+            return assetPriceMetadata != null ? assetPriceMetadata.getCurrentPrice() : assetPrice;
         }
     }
+
+    private static boolean isUsdDenominated(StopLoss stopLoss) {
+        return PortfolioRiskState.isUsdDenominated(stopLoss);
+    }
 }
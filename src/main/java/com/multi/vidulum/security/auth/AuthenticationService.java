@@ -1,8 +1,11 @@
 package com.multi.vidulum.security.auth;
 
+import com.multi.vidulum.common.events.UserTokensRevokedEvent;
+import com.multi.vidulum.security.config.AuthenticatedTokenCache;
 import com.multi.vidulum.security.config.JwtService;
 import com.multi.vidulum.security.token.Token;
 import com.multi.vidulum.security.token.TokenRepository;
+import com.multi.vidulum.security.token.TokenRevocationEmitter;
 import com.multi.vidulum.security.token.TokenType;
 import com.multi.vidulum.shared.cqrs.CommandGateway;
 import com.multi.vidulum.user.app.commands.register.RegisterUserCommand;
@@ -28,6 +31,8 @@ public class AuthenticationService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final CommandGateway commandGateway;
+    private final AuthenticatedTokenCache tokenCache;
+    private final TokenRevocationEmitter tokenRevocationEmitter;
 
     public AuthenticationResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -221,6 +226,11 @@ public class AuthenticationService {
             }
         }
         tokenRepository.saveAll(allUserTokens);
+        tokenCache.revokeUser(userId);
+        tokenRevocationEmitter.emit(UserTokensRevokedEvent.builder()
+                .userId(userId)
+                .revokedAt(Instant.now())
+                .build());
         return revokedCount;
     }
 
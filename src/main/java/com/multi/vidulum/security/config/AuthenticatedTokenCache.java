@@ -0,0 +1,123 @@
+package com.multi.vidulum.security.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Outcome of verifying a bearer token (signature, user, stored revocation status), keyed by the token,
+ * so that {@link JwtAuthenticationFilter} only goes to the database once per token and TTL.
+ * <p>
+ * An entry lives for {@code ttl-seconds} at most and never past the token's own expiry. Both valid and
+ * rejected tokens are cached - a revoked token never becomes valid again.
+ * <p>
+ * {@link #revokeUser} drops a user's entries on logout, logout-all, login and refresh, here and (via
+ * {@code TokenRevocationListener}) on every other node. It also records when the user was revoked:
+ * an entry whose load started before that moment is discarded on read, which covers loads that were
+ * in flight while the revocation ran.
+ */
+@Slf4j
+@Component
+public class AuthenticatedTokenCache {
+
+    static final String CACHE_NAME = "authenticated-token";
+
+    /**
+     * @param userId    owner of the stored token, null when the token is unknown
+     * @param expiresAt the token's {@code exp} claim
+     */
+    public record TokenAuthentication(String userId, UserDetails userDetails, boolean valid, Instant expiresAt) {
+    }
+
+    private record Entry(TokenAuthentication authentication, Instant loadedAt) {
+    }
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Cache<String, Entry> cache;
+    // userId -> last revocation seen by this node; older than ttl is irrelevant
+    private final Cache<String, Instant> revocations;
+
+    public AuthenticatedTokenCache(
+            @Value("${application.security.token-cache.enabled:true}") boolean enabled,
+            @Value("${application.security.token-cache.max-size:100000}") long maxSize,
+            @Value("${application.security.token-cache.ttl-seconds:300}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<String, Entry>creating((token, entry) -> lifetime(entry)))
+                .recordStats()
+                .build();
+        this.revocations = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached verification of {@code token}, running {@code loader} on a miss or when the
+     * cached one is stale. Exceptions from the loader (malformed or expired JWT) propagate and nothing
+     * is cached.
+     */
+    public TokenAuthentication get(String token, Supplier<TokenAuthentication> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Entry cached = cache.getIfPresent(token);
+        if (cached != null) {
+            if (isCurrent(cached)) {
+                return cached.authentication();
+            }
+            cache.asMap().remove(token, cached);
+        }
+        Instant loadedAt = Instant.now();
+        Entry loaded = new Entry(loader.get(), loadedAt);
+        // A revocation that ran during the load leaves the result usable for this request only
+        if (isCurrent(loaded)) {
+            cache.put(token, loaded);
+        }
+        return loaded.authentication();
+    }
+
+    public void revokeUser(String userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        revocations.put(userId, Instant.now());
+        boolean removed = cache.asMap().values().removeIf(entry -> userId.equals(entry.authentication().userId()));
+        if (removed) {
+            log.debug("Cached token authentications of userId[{}] evicted", userId);
+        }
+    }
+
+    private boolean isCurrent(Entry entry) {
+        TokenAuthentication authentication = entry.authentication();
+        if (authentication.expiresAt() != null && !authentication.expiresAt().isAfter(Instant.now())) {
+            return false;
+        }
+        Instant revokedAt = authentication.userId() != null ? revocations.getIfPresent(authentication.userId()) : null;
+        return revokedAt == null || entry.loadedAt().isAfter(revokedAt);
+    }
+
+    private Duration lifetime(Entry entry) {
+        Instant expiresAt = entry.authentication().expiresAt();
+        if (expiresAt == null) {
+            return ttl;
+        }
+        Duration untilExpiry = Duration.between(Instant.now(), expiresAt);
+        return untilExpiry.isNegative() ? Duration.ZERO : (untilExpiry.compareTo(ttl) < 0 ? untilExpiry : ttl);
+    }
+}
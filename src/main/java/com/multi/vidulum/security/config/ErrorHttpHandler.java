@@ -33,6 +33,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @ControllerAdvice
@@ -661,6 +662,15 @@ public class ErrorHttpHandler {
         return ResponseEntity.status(error.httpStatus()).body(error);
     }
 
+    // ============ Command Dispatch ============
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiError> handleCommandsOverloaded(RejectedExecutionException ex) {
+        log.warn("Command rejected: {}", ex.getMessage());
+        ApiError error = ApiError.of(ErrorCode.COMMANDS_OVERLOADED);
+        return ResponseEntity.status(error.httpStatus()).body(error);
+    }
+
     // ============ General Error Handler ============
 
     @ExceptionHandler(Exception.class)
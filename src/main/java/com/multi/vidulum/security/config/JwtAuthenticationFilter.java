@@ -1,5 +1,6 @@
 package com.multi.vidulum.security.config;
 
+import com.multi.vidulum.security.token.Token;
 import com.multi.vidulum.security.token.TokenRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -16,7 +17,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
 
+/**
+ * Authenticates requests carrying a bearer token. Verification results are kept in
+ * {@link AuthenticatedTokenCache}, so repeated requests with the same token skip the JWT parsing
+ * and both database lookups.
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -24,6 +32,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
     private final TokenRepository tokenRepository;
+    private final AuthenticatedTokenCache tokenCache;
 
     @Override
     protected void doFilterInternal(
@@ -37,19 +46,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
         jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            var isTokenValid = tokenRepository.findByToken(jwt)
-                    .map(t -> !t.isExpired() && !t.isRevoked())
-                    .orElse(false);
-            if (jwtService.isTokenValid(jwt, userDetails.getUsername()) && isTokenValid) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedTokenCache.TokenAuthentication authentication = tokenCache.get(jwt, () -> verify(jwt));
+            if (authentication.valid()) {
+                UserDetails userDetails = authentication.userDetails();
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -63,4 +68,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Full check of a token: signature and expiry, owning user, stored revocation status.
+     */
+    private AuthenticatedTokenCache.TokenAuthentication verify(String jwt) {
+        final String username = jwtService.extractUsername(jwt);
+        final Instant expiresAt = jwtService.extractExpiration(jwt).toInstant();
+        if (username == null) {
+            return new AuthenticatedTokenCache.TokenAuthentication(null, null, false, expiresAt);
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        Optional<Token> token = tokenRepository.findByToken(jwt);
+        var isTokenValid = token
+                .map(t -> !t.isExpired() && !t.isRevoked())
+                .orElse(false);
+        return new AuthenticatedTokenCache.TokenAuthentication(
+                token.map(Token::getUserId).orElse(null),
+                userDetails,
+                jwtService.isTokenValid(jwt, userDetails.getUsername()) && isTokenValid,
+                expiresAt);
+    }
 }
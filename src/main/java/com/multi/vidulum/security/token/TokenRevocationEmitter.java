@@ -0,0 +1,19 @@
+package com.multi.vidulum.security.token;
+
+import com.multi.vidulum.common.events.UserTokensRevokedEvent;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class TokenRevocationEmitter {
+    private final KafkaTemplate<String, UserTokensRevokedEvent> userTokensRevokedKafkaTemplate;
+
+    public void emit(UserTokensRevokedEvent event) {
+        userTokensRevokedKafkaTemplate.send("user_tokens_revoked", event.getUserId(), event);
+        log.debug("emitting event [{}]", event);
+    }
+}
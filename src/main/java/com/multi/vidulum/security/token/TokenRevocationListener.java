@@ -0,0 +1,30 @@
+package com.multi.vidulum.security.token;
+
+import com.multi.vidulum.common.events.UserTokensRevokedEvent;
+import com.multi.vidulum.security.config.AuthenticatedTokenCache;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached token authentications of users whose tokens were revoked on any node.
+ * <p>
+ * Every instance joins its own consumer group so that all nodes receive every revocation.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class TokenRevocationListener {
+
+    private final AuthenticatedTokenCache tokenCache;
+
+    @KafkaListener(
+            groupId = "token_cache_#{T(java.util.UUID).randomUUID().toString()}",
+            topics = "user_tokens_revoked",
+            containerFactory = "userTokensRevokedContainerFactory")
+    public void on(UserTokensRevokedEvent event) {
+        log.debug("UserTokensRevokedEvent captured: [{}]", event);
+        tokenCache.revokeUser(event.getUserId());
+    }
+}
@@ -1,6 +1,7 @@
 package com.multi.vidulum.shared.cqrs;
 
 
+import com.multi.vidulum.shared.cqrs.commands.AggregateCommand;
 import com.multi.vidulum.shared.cqrs.commands.Command;
 import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
 import lombok.extern.slf4j.Slf4j;
@@ -8,12 +9,36 @@ import lombok.extern.slf4j.Slf4j;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Routes commands to their handlers.
+ * <p>
+ * {@link #sendAsync} dispatches onto {@link CommandLanes}: {@link AggregateCommand}s of one aggregate
+ * run one after another, everything else in parallel. {@link #send} runs the handler on the caller's
+ * thread in {@link DispatchMode#SYNC}; in {@link DispatchMode#LANES} it goes through the lane too and
+ * waits, so that synchronous and asynchronous writes to one aggregate never overlap.
+ */
 @Slf4j
 public class CommandGateway {
 
+    public enum DispatchMode {
+        SYNC,
+        LANES
+    }
+
     private final Map<Class<?>, CommandHandler<? extends Command, ?>> commandHandlers = new ConcurrentHashMap<>();
+    private final GatewayMetrics metrics;
+    private final CommandLanes lanes;
+    private final DispatchMode dispatchMode;
+
+    public CommandGateway(GatewayMetrics metrics, CommandLanes lanes, DispatchMode dispatchMode) {
+        this.metrics = metrics;
+        this.lanes = lanes;
+        this.dispatchMode = dispatchMode;
+    }
 
     public void registerCommandHandler(CommandHandler<? extends Command, ?> commandHandler) {
 
@@ -35,11 +60,48 @@ public class CommandGateway {
 
 
     public <T extends Command, R> R send(T command) {
+        Object aggregateId = aggregateId(command);
+        if (dispatchMode == DispatchMode.SYNC || aggregateId == null || lanes.isOnLane(aggregateId)) {
+            return handle(command);
+        }
+        try {
+            return this.<T, R>sendAsync(command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Handles {@code command} on a virtual thread, after all earlier commands of the same aggregate.
+     * The future fails with {@link java.util.concurrent.RejectedExecutionException} when the lane
+     * or the dispatcher is full.
+     */
+    public <T extends Command, R> CompletableFuture<R> sendAsync(T command) {
+        Object aggregateId = aggregateId(command);
+        if (lanes.isOnLane(aggregateId)) {
+            // the calling handler holds the lane; queueing behind it would never run
+            try {
+                return CompletableFuture.completedFuture(handle(command));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return lanes.submit(aggregateId, () -> handle(command));
+    }
+
+    private <T extends Command, R> R handle(T command) {
         if (commandHandlers.containsKey(command.getClass())) {
             CommandHandler<T, R> commandHandler = (CommandHandler<T, R>) commandHandlers.get(command.getClass());
-            return commandHandler.handle(command);
+            return metrics.record(command, () -> commandHandler.handle(command));
         } else {
             throw new IllegalArgumentException();
         }
     }
+
+    private static Object aggregateId(Command command) {
+        return command instanceof AggregateCommand aggregateCommand ? aggregateCommand.aggregateId() : null;
+    }
 }
@@ -0,0 +1,198 @@
+package com.multi.vidulum.shared.cqrs;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks on virtual threads, one lane per key: tasks of the same key run one at a time in
+ * submission order, tasks of different keys run in parallel. A lane exists only while it has work;
+ * its drain loop runs on one virtual thread and removes the lane when the queue runs dry.
+ * <p>
+ * Bounds: {@code maxPendingPerLane} queued tasks per key and {@code maxPending} in total; a task
+ * over either bound is rejected with {@link RejectedExecutionException} in the returned future.
+ * Tasks without a key run immediately on their own virtual thread, counted against
+ * {@code maxPending} only.
+ * <p>
+ * A task runs with the MDC and the {@link SecurityContext} of the thread that submitted it, so logs
+ * and security checks inside handlers see the caller's request.
+ */
+@Slf4j
+public class CommandLanes implements AutoCloseable {
+
+    private static final ThreadLocal<Object> CURRENT_LANE = new ThreadLocal<>();
+
+    private final int maxPendingPerLane;
+    private final int maxPending;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("command-lane-", 0).factory());
+
+    private final Map<Object, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public CommandLanes(int maxPendingPerLane, int maxPending, MeterRegistry meterRegistry) {
+        this.maxPendingPerLane = maxPendingPerLane;
+        this.maxPending = maxPending;
+        Gauge.builder("vidulum.cqrs.command.lanes", lanes, Map::size)
+                .description("Aggregates with queued or running commands")
+                .register(meterRegistry);
+        Gauge.builder("vidulum.cqrs.command.pending", pending, AtomicInteger::get)
+                .description("Commands queued or running on lanes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the calling thread is currently draining the lane of {@code key}. Submitting to the
+     * own lane and waiting for the result would deadlock; such calls have to run inline.
+     */
+    public boolean isOnLane(Object key) {
+        return key != null && key.equals(CURRENT_LANE.get());
+    }
+
+    public <R> CompletableFuture<R> submit(Object key, Supplier<R> task) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            result.completeExceptionally(new RejectedExecutionException(
+                    "Too many pending commands: %d".formatted(maxPending)));
+            return result;
+        }
+        Task run = new Task(withCallerContext(() -> complete(result, task)), result);
+        if (key == null) {
+            try {
+                executor.execute(run.body());
+            } catch (RejectedExecutionException e) {
+                reject(run, e);
+            }
+            return result;
+        }
+
+        boolean[] start = new boolean[1];
+        boolean[] full = new boolean[1];
+        // a lane's queue is only touched under the map's lock for key, here and in poll()
+        lanes.compute(key, (k, lane) -> {
+            if (lane != null && lane.queue.size() >= maxPendingPerLane) {
+                full[0] = true;
+                return lane;
+            }
+            Lane current = lane != null ? lane : new Lane();
+            current.queue.add(run);
+            start[0] = lane == null;
+            return current;
+        });
+        if (full[0]) {
+            pending.decrementAndGet();
+            result.completeExceptionally(new RejectedExecutionException(
+                    "Too many pending commands for aggregate [%s]: %d".formatted(key, maxPendingPerLane)));
+        } else if (start[0]) {
+            try {
+                executor.execute(() -> drain(key));
+            } catch (RejectedExecutionException e) {
+                // closed: no drain will ever run, so drop the lane with whatever was queued on it meanwhile
+                Lane orphaned = lanes.remove(key);
+                if (orphaned != null) {
+                    orphaned.queue.forEach(queued -> reject(queued, e));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void reject(Task task, RejectedExecutionException e) {
+        pending.decrementAndGet();
+        task.result().completeExceptionally(e);
+    }
+
+    private void drain(Object key) {
+        CURRENT_LANE.set(key);
+        try {
+            Task next;
+            while ((next = poll(key)) != null) {
+                next.body().run();
+            }
+        } finally {
+            CURRENT_LANE.remove();
+        }
+    }
+
+    private Task poll(Object key) {
+        Task[] next = new Task[1];
+        lanes.computeIfPresent(key, (k, lane) -> {
+            next[0] = lane.queue.poll();
+            // an empty lane is dropped; the next submit for key starts a new drain
+            return next[0] != null ? lane : null;
+        });
+        return next[0];
+    }
+
+    private static Runnable withCallerContext(Runnable body) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        return () -> {
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            setMdc(mdc);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                body.run();
+            } finally {
+                setMdc(previousMdc);
+                SecurityContextHolder.setContext(previousSecurityContext);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> contextMap) {
+        if (contextMap != null) {
+            MDC.setContextMap(contextMap);
+        } else {
+            MDC.clear();
+        }
+    }
+
+    private <R> void complete(CompletableFuture<R> result, Supplier<R> task) {
+        try {
+            result.complete(task.get());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Command lanes did not drain within 30s, {} commands pending", pending.get());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Task(Runnable body, CompletableFuture<?> result) {
+    }
+
+    private static final class Lane {
+        private final Queue<Task> queue = new ArrayDeque<>();
+    }
+}
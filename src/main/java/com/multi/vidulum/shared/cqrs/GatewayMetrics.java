@@ -0,0 +1,167 @@
+package com.multi.vidulum.shared.cqrs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Meters of one gateway, {@code kind} being {@code command} or {@code query}:
+ * <ul>
+ *   <li>{@code vidulum.cqrs.<kind>} - timer tagged by {@code <kind>} (class simple name) and
+ *       {@code outcome=success|error}</li>
+ *   <li>{@code vidulum.cqrs.<kind>.errors} - counter tagged by {@code <kind>} and {@code exception}</li>
+ *   <li>{@code vidulum.cqrs.<kind>.active} - gauge of calls in flight, tagged by {@code <kind>}</li>
+ * </ul>
+ * A call slower than {@link Settings#slowThreshold} is logged with the shape of its payload - field
+ * names, types and collection sizes, never values - at most once per {@link Settings#slowLogInterval}
+ * and class.
+ */
+@Slf4j
+public class GatewayMetrics {
+
+    /**
+     * @param percentileHistogram publish histogram buckets so that percentiles can be aggregated across nodes
+     * @param percentiles         client-side percentiles to publish, e.g. 0.5, 0.99; empty for none
+     */
+    public record Settings(boolean percentileHistogram, double[] percentiles, Duration slowThreshold, Duration slowLogInterval) {
+
+        public static Settings defaults() {
+            return new Settings(false, new double[0], Duration.ofMillis(500), Duration.ofMinutes(1));
+        }
+    }
+
+    private final String kind;
+    private final MeterRegistry meterRegistry;
+    private final Settings settings;
+    private final Map<Class<?>, Meters> meters = new ConcurrentHashMap<>();
+
+    public GatewayMetrics(String kind, MeterRegistry meterRegistry, Settings settings) {
+        this.kind = kind;
+        this.meterRegistry = meterRegistry;
+        this.settings = settings;
+    }
+
+    public <R> R record(Object message, Supplier<R> call) {
+        Meters messageMeters = meters.computeIfAbsent(message.getClass(), this::meters);
+        messageMeters.active.incrementAndGet();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            R result = call.get();
+            success = true;
+            return result;
+        } catch (RuntimeException e) {
+            errors(message.getClass(), e).increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            messageMeters.active.decrementAndGet();
+            (success ? messageMeters.success : messageMeters.error).record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed > settings.slowThreshold().toNanos()) {
+                logSlow(message, messageMeters, elapsed, success);
+            }
+        }
+    }
+
+    private Meters meters(Class<?> messageType) {
+        AtomicInteger active = new AtomicInteger();
+        Gauge.builder("vidulum.cqrs." + kind + ".active", active, AtomicInteger::get)
+                .description("In-flight " + kind + "s")
+                .tag(kind, messageType.getSimpleName())
+                .register(meterRegistry);
+        return new Meters(timer(messageType, "success"), timer(messageType, "error"), active, new AtomicLong());
+    }
+
+    private Timer timer(Class<?> messageType, String outcome) {
+        return Timer.builder("vidulum.cqrs." + kind)
+                .description("Time spent handling a " + kind)
+                .tag(kind, messageType.getSimpleName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram(settings.percentileHistogram())
+                .publishPercentiles(settings.percentiles())
+                .register(meterRegistry);
+    }
+
+    private Counter errors(Class<?> messageType, RuntimeException e) {
+        return Counter.builder("vidulum.cqrs." + kind + ".errors")
+                .description("Failed " + kind + "s by exception")
+                .tag(kind, messageType.getSimpleName())
+                .tag("exception", e.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+
+    private void logSlow(Object message, Meters messageMeters, long elapsedNanos, boolean success) {
+        long now = System.nanoTime();
+        long last = messageMeters.lastSlowLog.get();
+        if (last != 0 && now - last < settings.slowLogInterval().toNanos()) {
+            return;
+        }
+        if (messageMeters.lastSlowLog.compareAndSet(last, now)) {
+            log.warn("Slow {} [{}] took {} ms ({}), payload shape: {}",
+                    kind, message.getClass().getSimpleName(), elapsedNanos / 1_000_000,
+                    success ? "success" : "error", shape(message));
+        }
+    }
+
+    static String shape(Object message) {
+        StringJoiner fields = new StringJoiner(", ", message.getClass().getSimpleName() + "(", ")");
+        if (message.getClass().isRecord()) {
+            for (RecordComponent component : message.getClass().getRecordComponents()) {
+                fields.add(fieldShape(component.getName(), component.getType(), () -> component.getAccessor().invoke(message)));
+            }
+        } else {
+            Arrays.stream(message.getClass().getDeclaredFields())
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                    .forEach(field -> fields.add(fieldShape(field.getName(), field.getType(), () -> value(field, message))));
+        }
+        return fields.toString();
+    }
+
+    private static String fieldShape(String name, Class<?> type, ValueSupplier value) {
+        String shape = name + ": " + type.getSimpleName();
+        if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type) || type.isArray()) {
+            try {
+                Object current = value.get();
+                if (current instanceof Collection<?> collection) {
+                    shape += "[" + collection.size() + "]";
+                } else if (current instanceof Map<?, ?> map) {
+                    shape += "[" + map.size() + "]";
+                } else if (current instanceof Object[] array) {
+                    shape += "[" + array.length + "]";
+                }
+            } catch (Exception e) {
+                // size is best effort
+            }
+        }
+        return shape;
+    }
+
+    private static Object value(Field field, Object target) throws IllegalAccessException {
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+    @FunctionalInterface
+    private interface ValueSupplier {
+        Object get() throws Exception;
+    }
+
+    private record Meters(Timer success, Timer error, AtomicInteger active, AtomicLong lastSlowLog) {
+    }
+}
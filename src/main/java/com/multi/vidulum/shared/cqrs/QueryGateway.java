@@ -11,6 +11,11 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class QueryGateway {
     private final Map<Class<?>, QueryHandler<? extends Query, ?>> queryHandlers = new ConcurrentHashMap<>();
+    private final GatewayMetrics metrics;
+
+    public QueryGateway(GatewayMetrics metrics) {
+        this.metrics = metrics;
+    }
 
     public <R> void registerQueryHandler(QueryHandler<? extends Query, R> queryHandler) {
 
@@ -33,7 +38,7 @@ public class QueryGateway {
     public <T extends Query, R> R send(T query) {
         if (queryHandlers.containsKey(query.getClass())) {
             QueryHandler<T, R> queryHandler = (QueryHandler<T, R>) queryHandlers.get(query.getClass());
-            return queryHandler.query(query);
+            return metrics.record(query, () -> queryHandler.query(query));
         } else {
             throw new IllegalArgumentException();
         }
@@ -0,0 +1,13 @@
+package com.multi.vidulum.shared.cqrs.commands;
+
+/**
+ * Command that changes exactly one aggregate. With lane dispatch, commands of the same
+ * {@link #aggregateId()} are handled one at a time, in submission order.
+ */
+public interface AggregateCommand extends Command {
+
+    /**
+     * Identity of the changed aggregate; must implement equals/hashCode. Null opts out of ordering.
+     */
+    Object aggregateId();
+}
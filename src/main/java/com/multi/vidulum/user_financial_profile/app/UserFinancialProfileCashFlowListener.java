@@ -1,9 +1,10 @@
 package com.multi.vidulum.user_financial_profile.app;
 
 import com.multi.vidulum.cashflow.domain.CashFlowEvent;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
+import com.multi.vidulum.cashflow.domain.CashFlowEventCodec;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
@@ -15,7 +16,9 @@ import org.springframework.stereotype.Component;
  * {@link CashFlowEvent.CashFlowWithHistoryCreatedEvent}) with a single idempotent
  * service call — {@link UserFinancialProfileService#claimOrLinkAccountForCashFlow}.
  *
- * <p>Other event types on the topic are ignored (the forecast processor handles them).
+ * <p>Other event types on the topic are dropped by the container's header filter before
+ * decoding (see {@code cashFlowCreationEventContainerFactory}); legacy records without
+ * headers are decoded and ignored here.
  */
 @Slf4j
 @Component
@@ -27,21 +30,16 @@ public class UserFinancialProfileCashFlowListener {
     @KafkaListener(
             groupId = "owned_accounts_group",
             topics = "cash_flow",
-            containerFactory = "cashFlowUnifiedEventContainerFactory"
+            containerFactory = "cashFlowCreationEventContainerFactory"
     )
-    public void on(CashFlowUnifiedEvent envelope) {
-        String eventType = (String) envelope.getMetadata().get("event");
-        switch (eventType) {
-            case "CashFlowCreatedEvent" -> {
-                CashFlowEvent.CashFlowCreatedEvent e = envelope.getContent()
-                        .to(CashFlowEvent.CashFlowCreatedEvent.class);
-                handleCashFlowCreation(e.userId(), e.bankAccount(), e.cashFlowId(), eventType);
-            }
-            case "CashFlowWithHistoryCreatedEvent" -> {
-                CashFlowEvent.CashFlowWithHistoryCreatedEvent e = envelope.getContent()
-                        .to(CashFlowEvent.CashFlowWithHistoryCreatedEvent.class);
-                handleCashFlowCreation(e.userId(), e.bankAccount(), e.cashFlowId(), eventType);
-            }
+    public void on(ConsumerRecord<String, byte[]> record) {
+        CashFlowEvent event = CashFlowEventCodec.decode(record);
+        String eventType = event.getClass().getSimpleName();
+        switch (event) {
+            case CashFlowEvent.CashFlowCreatedEvent e ->
+                    handleCashFlowCreation(e.userId(), e.bankAccount(), e.cashFlowId(), eventType);
+            case CashFlowEvent.CashFlowWithHistoryCreatedEvent e ->
+                    handleCashFlowCreation(e.userId(), e.bankAccount(), e.cashFlowId(), eventType);
             default -> log.debug("Ignoring cash_flow event of type [{}]", eventType);
         }
     }
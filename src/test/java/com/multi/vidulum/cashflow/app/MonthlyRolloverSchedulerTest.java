@@ -0,0 +1,153 @@
+package com.multi.vidulum.cashflow.app;
+
+import com.multi.vidulum.cashflow.app.commands.rollover.RolloverMonthsCommand;
+import com.multi.vidulum.cashflow.app.commands.rollover.RolloverMonthsResult;
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.cashflow.domain.DomainCashFlowRepository;
+import com.multi.vidulum.common.JobLeaseRepository;
+import com.multi.vidulum.shared.cqrs.CommandGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for MonthlyRolloverScheduler: sharding under leases, catch-up commands and metrics.
+ */
+@ExtendWith(MockitoExtension.class)
+class MonthlyRolloverSchedulerTest {
+
+    private static final YearMonth CURRENT_MONTH = YearMonth.of(2024, 3);
+    private static final CashFlowId FIRST = CashFlowId.of("CF10000002");
+    private static final CashFlowId SECOND = CashFlowId.of("CF10000004");
+
+    @Mock
+    private DomainCashFlowRepository domainCashFlowRepository;
+
+    @Mock
+    private JobLeaseRepository leaseRepository;
+
+    @Mock
+    private CommandGateway commandGateway;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MonthlyRolloverScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-03-01T02:00:00Z"), ZoneOffset.UTC);
+        scheduler = new MonthlyRolloverScheduler(
+                domainCashFlowRepository, leaseRepository, commandGateway, clock, meterRegistry, 2, 4, 30);
+    }
+
+    @Test
+    void shouldRolloverOnlyShardsWithAcquiredLease() {
+        // given - this node gets the lease of shard 0 only
+        when(leaseRepository.tryAcquire(eq("rollover:2024-03:0/2"), anyString(), any())).thenReturn(true);
+        when(leaseRepository.tryAcquire(eq("rollover:2024-03:1/2"), anyString(), any())).thenReturn(false);
+        when(domainCashFlowRepository.streamOpenCashFlowIdsNeedingRollover(CURRENT_MONTH, 0, 2))
+                .thenReturn(Stream.of(FIRST, SECOND));
+        when(commandGateway.<RolloverMonthsCommand, RolloverMonthsResult>sendAsync(any(RolloverMonthsCommand.class)))
+                .thenReturn(CompletableFuture.completedFuture(new RolloverMonthsResult(FIRST, 2, null, null, CURRENT_MONTH, null)));
+
+        // when
+        scheduler.performMonthlyRollover();
+
+        // then - one catch-up command per CashFlow, targeting the current month
+        verify(commandGateway).sendAsync(argThat((RolloverMonthsCommand command) ->
+                command.cashFlowId().equals(FIRST) && command.targetPeriod().equals(CURRENT_MONTH)));
+        verify(commandGateway).sendAsync(argThat((RolloverMonthsCommand command) -> command.cashFlowId().equals(SECOND)));
+        verify(domainCashFlowRepository, never()).streamOpenCashFlowIdsNeedingRollover(CURRENT_MONTH, 1, 2);
+        verify(leaseRepository).complete(eq("rollover:2024-03:0/2"), anyString());
+        verify(leaseRepository, never()).complete(eq("rollover:2024-03:1/2"), anyString());
+
+        assertThat(meterRegistry.get("vidulum.rollover.cashflows").tag("outcome", "success").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("vidulum.rollover.months").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("vidulum.rollover.shards").tag("outcome", "processed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("vidulum.rollover.shards").tag("outcome", "skipped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("vidulum.rollover.in_flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldCountFailedCashFlowsAndContinue() {
+        // given
+        when(leaseRepository.tryAcquire(anyString(), anyString(), any())).thenReturn(true);
+        when(domainCashFlowRepository.streamOpenCashFlowIdsNeedingRollover(CURRENT_MONTH, 0, 2))
+                .thenReturn(Stream.of(FIRST, SECOND));
+        when(domainCashFlowRepository.streamOpenCashFlowIdsNeedingRollover(CURRENT_MONTH, 1, 2))
+                .thenReturn(Stream.empty());
+        when(commandGateway.<RolloverMonthsCommand, RolloverMonthsResult>sendAsync(
+                argThat((RolloverMonthsCommand command) -> command != null && command.cashFlowId().equals(FIRST))))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+        when(commandGateway.<RolloverMonthsCommand, RolloverMonthsResult>sendAsync(
+                argThat((RolloverMonthsCommand command) -> command != null && command.cashFlowId().equals(SECOND))))
+                .thenReturn(CompletableFuture.completedFuture(new RolloverMonthsResult(SECOND, 1, null, null, CURRENT_MONTH, null)));
+
+        // when
+        scheduler.performMonthlyRollover();
+
+        // then - the shard with a failure is left to expire, the failure is counted
+        verify(leaseRepository, never()).complete(eq("rollover:2024-03:0/2"), anyString());
+        verify(leaseRepository).complete(eq("rollover:2024-03:1/2"), anyString());
+        assertThat(meterRegistry.get("vidulum.rollover.cashflows").tag("outcome", "success").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("vidulum.rollover.cashflows").tag("outcome", "failure").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetryFailedCashFlowsWhenLeaseExpired() {
+        // given - shard 1 is completed by another node; shard 0 fails once, then its lease expires
+        when(leaseRepository.tryAcquire(eq("rollover:2024-03:0/2"), anyString(), any())).thenReturn(true);
+        when(leaseRepository.tryAcquire(eq("rollover:2024-03:1/2"), anyString(), any())).thenReturn(false);
+        when(domainCashFlowRepository.streamOpenCashFlowIdsNeedingRollover(CURRENT_MONTH, 0, 2))
+                .thenReturn(Stream.of(FIRST))
+                .thenReturn(Stream.of(FIRST));
+        when(commandGateway.<RolloverMonthsCommand, RolloverMonthsResult>sendAsync(any(RolloverMonthsCommand.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")))
+                .thenReturn(CompletableFuture.completedFuture(new RolloverMonthsResult(FIRST, 1, null, null, CURRENT_MONTH, null)));
+
+        // when - the next hourly run
+        scheduler.performMonthlyRollover();
+        scheduler.performMonthlyRollover();
+
+        // then - the failed CashFlow is rolled over again and only then the shard is completed
+        verify(commandGateway, times(2)).sendAsync(argThat((RolloverMonthsCommand command) -> command.cashFlowId().equals(FIRST)));
+        verify(leaseRepository, times(1)).complete(eq("rollover:2024-03:0/2"), anyString());
+        assertThat(meterRegistry.get("vidulum.rollover.cashflows").tag("outcome", "failure").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("vidulum.rollover.cashflows").tag("outcome", "success").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void manualRolloverShouldIgnoreLeases() {
+        // given
+        when(domainCashFlowRepository.streamOpenCashFlowIdsNeedingRollover(eq(CURRENT_MONTH), any(Integer.class), eq(2)))
+                .thenAnswer(invocation -> Stream.empty());
+
+        // when
+        scheduler.triggerManualRollover();
+
+        // then
+        verify(domainCashFlowRepository).streamOpenCashFlowIdsNeedingRollover(CURRENT_MONTH, 0, 2);
+        verify(domainCashFlowRepository).streamOpenCashFlowIdsNeedingRollover(CURRENT_MONTH, 1, 2);
+        verify(leaseRepository, never()).tryAcquire(anyString(), anyString(), any());
+        verify(leaseRepository, never()).complete(anyString(), anyString());
+    }
+}
@@ -0,0 +1,105 @@
+package com.multi.vidulum.cashflow.app.commands.append;
+
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.common.Currency;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.common.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AppendExpectedCashChangesCommandHandler: all or nothing, ids in command order.
+ */
+@ExtendWith(MockitoExtension.class)
+class AppendExpectedCashChangesCommandHandlerTest {
+
+    private static final CashFlowId CASH_FLOW_ID = CashFlowId.of("CF10000001");
+    private static final ZonedDateTime CREATED = ZonedDateTime.parse("2024-03-01T10:00:00Z");
+
+    @Mock
+    private DomainCashFlowRepository domainCashFlowRepository;
+
+    @Mock
+    private CashFlowEventEmitter cashFlowEventEmitter;
+
+    private AppendExpectedCashChangesCommandHandler handler;
+    private CashFlow cashFlow;
+
+    @BeforeEach
+    void setUp() {
+        handler = new AppendExpectedCashChangesCommandHandler(domainCashFlowRepository, cashFlowEventEmitter);
+        cashFlow = new CashFlow();
+        cashFlow.apply(new CashFlowEvent.CashFlowCreatedEvent(
+                CASH_FLOW_ID,
+                new UserId("U10000001"),
+                new Name("name"),
+                new Description("description"),
+                BankAccount.fromIban("bank", "PL61109010140000071219812874", Currency.of("PLN"), Money.of(0, "PLN"), null),
+                CREATED));
+        when(domainCashFlowRepository.findById(CASH_FLOW_ID)).thenReturn(Optional.of(cashFlow));
+    }
+
+    @Test
+    void shouldApplyNothingWhenOneCashChangeIsInvalid() {
+        // given - the second cash change is due a year after the active period
+        AppendExpectedCashChangesCommand command = command(
+                cashChange("CC1000000001", "2024-03-10T00:00:00Z"),
+                cashChange("CC1000000002", "2025-03-10T00:00:00Z"),
+                cashChange("CC1000000003", "2024-04-10T00:00:00Z"));
+
+        // when / then
+        assertThatThrownBy(() -> handler.handle(command)).isInstanceOf(DueDateOutsideAllowedRangeException.class);
+        assertThat(cashFlow.getSnapshot().cashChanges()).isEmpty();
+        verify(domainCashFlowRepository, never()).save(any());
+        verify(cashFlowEventEmitter, never()).emit(any());
+    }
+
+    @Test
+    void shouldReturnIdsInCommandOrder() {
+        // given - ids not in ascending order
+        AppendExpectedCashChangesCommand command = command(
+                cashChange("CC1000000003", "2024-05-10T00:00:00Z"),
+                cashChange("CC1000000001", "2024-03-10T00:00:00Z"),
+                cashChange("CC1000000002", "2024-04-10T00:00:00Z"));
+
+        // when
+        List<CashChangeId> ids = handler.handle(command);
+
+        // then - saved once, one event per cash change
+        assertThat(ids).containsExactly(
+                CashChangeId.of("CC1000000003"), CashChangeId.of("CC1000000001"), CashChangeId.of("CC1000000002"));
+        assertThat(cashFlow.getSnapshot().cashChanges()).hasSize(3);
+        verify(domainCashFlowRepository).save(cashFlow);
+        verify(cashFlowEventEmitter, times(3)).emit(any(CashFlowEvent.ExpectedCashChangeAppendedEvent.class));
+    }
+
+    private static AppendExpectedCashChangesCommand command(AppendExpectedCashChangesCommand.ExpectedCashChange... cashChanges) {
+        return new AppendExpectedCashChangesCommand(CASH_FLOW_ID, "RR00000001", CREATED, List.of(cashChanges));
+    }
+
+    private static AppendExpectedCashChangesCommand.ExpectedCashChange cashChange(String cashChangeId, String dueDate) {
+        return new AppendExpectedCashChangesCommand.ExpectedCashChange(
+                CashChangeId.of(cashChangeId),
+                new CategoryName("Uncategorized"),
+                new Name("Rent"),
+                new Description("monthly rent"),
+                Money.of(-2_000, "PLN"),
+                Type.OUTFLOW,
+                ZonedDateTime.parse(dueDate));
+    }
+}
@@ -0,0 +1,88 @@
+package com.multi.vidulum.cashflow.app.commands.append;
+
+import com.multi.vidulum.cashflow.domain.*;
+import com.multi.vidulum.cashflow.domain.snapshots.CashFlowSnapshot;
+import com.multi.vidulum.common.Currency;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.common.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ExpectedCashChangeValidator: the checks AppendExpectedCashChangeCommandHandler made
+ * before they were shared with the batch append.
+ */
+class ExpectedCashChangeValidatorTest {
+
+    private static final CashFlowId CASH_FLOW_ID = CashFlowId.of("CF10000001");
+    private static final ZonedDateTime CREATED = ZonedDateTime.parse("2024-03-01T10:00:00Z");
+    private static final CategoryName RENT = new CategoryName("Rent");
+    private static final CategoryName OLD_RENT = new CategoryName("Old rent");
+
+    private CashFlow cashFlow;
+
+    @BeforeEach
+    void setUp() {
+        // active period 2024-03; "Rent" active, "Old rent" archived, "Rent" also archived once and re-created
+        cashFlow = new CashFlow();
+        cashFlow.apply(new CashFlowEvent.CashFlowCreatedEvent(
+                CASH_FLOW_ID,
+                new UserId("U10000001"),
+                new Name("name"),
+                new Description("description"),
+                BankAccount.fromIban("bank", "PL61109010140000071219812874", Currency.of("PLN"), Money.of(0, "PLN"), null),
+                CREATED));
+        cashFlow.apply(new CashFlowEvent.CategoryCreatedEvent(CASH_FLOW_ID, null, RENT, Type.OUTFLOW, CREATED));
+        cashFlow.apply(new CashFlowEvent.CategoryArchivedEvent(CASH_FLOW_ID, RENT, Type.OUTFLOW, CREATED, false));
+        cashFlow.apply(new CashFlowEvent.CategoryCreatedEvent(CASH_FLOW_ID, null, RENT, Type.OUTFLOW, CREATED));
+        cashFlow.apply(new CashFlowEvent.CategoryCreatedEvent(CASH_FLOW_ID, null, OLD_RENT, Type.OUTFLOW, CREATED));
+        cashFlow.apply(new CashFlowEvent.CategoryArchivedEvent(CASH_FLOW_ID, OLD_RENT, Type.OUTFLOW, CREATED, false));
+    }
+
+    @Test
+    void shouldRejectArchivedCategory() {
+        assertThatThrownBy(() -> validate(OLD_RENT, Type.OUTFLOW, "2024-03-10T00:00:00Z"))
+                .isInstanceOf(CategoryIsArchivedException.class);
+    }
+
+    @Test
+    void shouldAcceptCategoryWithActiveNamesakeOfArchivedOne() {
+        assertThatCode(() -> validate(RENT, Type.OUTFLOW, "2024-03-10T00:00:00Z")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldLeaveUnknownCategoryToDomain() {
+        assertThatCode(() -> validate(new CategoryName("Unknown"), Type.OUTFLOW, "2024-03-10T00:00:00Z"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldLookUpCategoryByType() {
+        // "Old rent" is an outflow category; as an inflow it is unknown, not archived
+        assertThatCode(() -> validate(OLD_RENT, Type.INFLOW, "2024-03-10T00:00:00Z")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldAcceptDueDatesFromActivePeriodToElevenMonthsAhead() {
+        assertThatCode(() -> validate(RENT, Type.OUTFLOW, "2024-03-01T00:00:00Z")).doesNotThrowAnyException();
+        assertThatCode(() -> validate(RENT, Type.OUTFLOW, "2025-02-28T23:59:59Z")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldRejectDueDatesOutsideAllowedRange() {
+        assertThatThrownBy(() -> validate(RENT, Type.OUTFLOW, "2024-02-29T23:59:59Z"))
+                .isInstanceOf(DueDateOutsideAllowedRangeException.class);
+        assertThatThrownBy(() -> validate(RENT, Type.OUTFLOW, "2025-03-01T00:00:00Z"))
+                .isInstanceOf(DueDateOutsideAllowedRangeException.class);
+    }
+
+    private void validate(CategoryName categoryName, Type type, String dueDate) {
+        CashFlowSnapshot snapshot = cashFlow.getSnapshot();
+        ExpectedCashChangeValidator.validate(snapshot, categoryName, type, ZonedDateTime.parse(dueDate));
+    }
+}
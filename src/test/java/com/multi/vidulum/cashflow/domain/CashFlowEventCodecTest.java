@@ -0,0 +1,85 @@
+package com.multi.vidulum.cashflow.domain;
+
+import com.multi.vidulum.common.JsonContent;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CashFlowEventCodec")
+class CashFlowEventCodecTest {
+
+    @ParameterizedTest
+    @EnumSource(CashFlowEventEnvelope.Version.class)
+    @DisplayName("Should decode both envelope versions to the typed event")
+    void shouldDecodeBothVersions(CashFlowEventEnvelope.Version version) {
+        // given
+        CashFlowEvent.CashChangeConfirmedEvent event = new CashFlowEvent.CashChangeConfirmedEvent(
+                CashFlowId.of("CF10000001"),
+                CashChangeId.of("CC1000000001"),
+                ZonedDateTime.parse("2025-06-15T16:30:00Z"));
+
+        // when
+        CashFlowEvent decoded = CashFlowEventCodec.decode(
+                toConsumerRecord(CashFlowEventEnvelope.encode("cash_flow", "CF10000001", event, version)));
+
+        // then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Should resolve readers for the whole sealed hierarchy")
+    void shouldResolveReadersForSealedHierarchy() {
+        // given
+        CashFlowEvent.MonthAttestedEvent event = new CashFlowEvent.MonthAttestedEvent(
+                CashFlowId.of("CF10000001"),
+                YearMonth.of(2025, 6),
+                Money.of(100, "PLN"),
+                ZonedDateTime.parse("2025-07-01T00:00:00Z"));
+
+        // when
+        CashFlowEvent decoded = CashFlowEventCodec.decode(toConsumerRecord(
+                CashFlowEventEnvelope.encode("cash_flow", "CF10000001", event, CashFlowEventEnvelope.Version.V2)));
+
+        // then
+        assertThat(decoded).isInstanceOf(CashFlowEvent.MonthAttestedEvent.class).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown event types")
+    void shouldRejectUnknownEventType() {
+        // given
+        byte[] legacy = JsonContent.asJsonBytes(CashFlowUnifiedEvent.builder()
+                .metadata(Map.of("event", "NoSuchEvent"))
+                .content(new JsonContent("{}"))
+                .build());
+        ConsumerRecord<String, byte[]> record = toConsumerRecord(new ProducerRecord<>("cash_flow", "CF10000001", legacy));
+
+        // when / then
+        assertThatThrownBy(() -> CashFlowEventCodec.decode(record))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("NoSuchEvent");
+    }
+
+    private static ConsumerRecord<String, byte[]> toConsumerRecord(ProducerRecord<String, byte[]> record) {
+        return new ConsumerRecord<>(
+                record.topic(), 0, 0L, 0L, TimestampType.CREATE_TIME,
+                record.key().length(), record.value().length,
+                record.key(), record.value(),
+                new RecordHeaders(record.headers().toArray()), Optional.empty());
+    }
+}
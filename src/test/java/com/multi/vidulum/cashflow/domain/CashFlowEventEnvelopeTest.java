@@ -0,0 +1,98 @@
+package com.multi.vidulum.cashflow.domain;
+
+import com.multi.vidulum.common.Money;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CashFlowEventEnvelope")
+class CashFlowEventEnvelopeTest {
+
+    private static final CashFlowEvent.ExpectedCashChangeAppendedEvent EVENT =
+            new CashFlowEvent.ExpectedCashChangeAppendedEvent(
+                    CashFlowId.of("CF10000001"),
+                    CashChangeId.of("CC1000000001"),
+                    new Name("Monthly rent"),
+                    new Description("Rent for the apartment"),
+                    Money.of(2450.50, "PLN"),
+                    Type.OUTFLOW,
+                    ZonedDateTime.parse("2025-06-01T06:30:00Z"),
+                    new CategoryName("Housing"),
+                    ZonedDateTime.parse("2025-06-10T00:00:00Z"),
+                    null);
+
+    @Test
+    @DisplayName("Should write V2 payload once with routing data in headers")
+    void shouldWriteV2PayloadWithHeaders() {
+        // when
+        ProducerRecord<String, byte[]> record =
+                CashFlowEventEnvelope.encode("cash_flow", "CF10000001", EVENT, CashFlowEventEnvelope.Version.V2);
+
+        // then
+        assertThat(CashFlowEventEnvelope.isV2(record.headers())).isTrue();
+        assertThat(CashFlowEventEnvelope.eventType(record.headers())).isEqualTo("ExpectedCashChangeAppendedEvent");
+        assertThat(new String(record.headers().lastHeader(CashFlowEventEnvelope.CASH_FLOW_ID_HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo("CF10000001");
+        assertThat(new String(record.value(), StandardCharsets.UTF_8))
+                .startsWith("{\"cashFlowId\"")
+                .doesNotContain("\n");
+    }
+
+    @Test
+    @DisplayName("Should decode V2 records to the original event")
+    void shouldRoundTripV2() {
+        // given
+        ConsumerRecord<String, byte[]> record = toConsumerRecord(
+                CashFlowEventEnvelope.encode("cash_flow", "CF10000001", EVENT, CashFlowEventEnvelope.Version.V2));
+
+        // when
+        CashFlowEvent decoded = CashFlowEventCodec.decode(record);
+
+        // then
+        assertThat(decoded).isEqualTo(EVENT);
+    }
+
+    @Test
+    @DisplayName("Should keep reading legacy V1 records")
+    void shouldRoundTripV1() {
+        // given
+        ProducerRecord<String, byte[]> produced =
+                CashFlowEventEnvelope.encode("cash_flow", "CF10000001", EVENT, CashFlowEventEnvelope.Version.V1);
+        ConsumerRecord<String, byte[]> record = toConsumerRecord(produced);
+
+        // when
+        CashFlowEvent decoded = CashFlowEventCodec.decode(record);
+
+        // then
+        assertThat(produced.headers().toArray()).isEmpty();
+        assertThat(decoded).isEqualTo(EVENT);
+    }
+
+    @Test
+    @DisplayName("Should make V2 records smaller than V1")
+    void shouldShrinkRecord() {
+        // when
+        int v1 = CashFlowEventEnvelope.encode("cash_flow", "CF10000001", EVENT, CashFlowEventEnvelope.Version.V1).value().length;
+        int v2 = CashFlowEventEnvelope.encode("cash_flow", "CF10000001", EVENT, CashFlowEventEnvelope.Version.V2).value().length;
+
+        // then
+        assertThat(v2).isLessThan(v1);
+    }
+
+    private static ConsumerRecord<String, byte[]> toConsumerRecord(ProducerRecord<String, byte[]> record) {
+        return new ConsumerRecord<>(
+                record.topic(), 0, 0L, 0L, TimestampType.CREATE_TIME,
+                record.key().length(), record.value().length,
+                record.key(), record.value(),
+                new RecordHeaders(record.headers().toArray()), Optional.empty());
+    }
+}
@@ -0,0 +1,92 @@
+package com.multi.vidulum.cashflow.domain;
+
+import com.multi.vidulum.common.Reason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CashFlowEventTypeFilter")
+class CashFlowEventTypeFilterTest {
+
+    private static final CashFlowEvent.CashChangeConfirmedEvent CONFIRMED = new CashFlowEvent.CashChangeConfirmedEvent(
+            CashFlowId.of("CF10000001"),
+            CashChangeId.of("CC1000000001"),
+            ZonedDateTime.parse("2025-06-15T16:30:00Z"));
+
+    private SimpleMeterRegistry meterRegistry;
+    private CashFlowEventTypeFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new CashFlowEventTypeFilter("test_listener", Set.of("CashChangeConfirmedEvent"), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should pass accepted event types and drop the rest")
+    void shouldFilterOnEventTypeHeader() {
+        // given
+        CashFlowEvent.CashChangeRejectedEvent rejected = new CashFlowEvent.CashChangeRejectedEvent(
+                CashFlowId.of("CF10000001"),
+                CashChangeId.of("CC1000000001"),
+                new Reason("duplicate"),
+                ZonedDateTime.parse("2025-06-15T16:30:00Z"));
+
+        // when
+        boolean confirmedDropped = filter.filter(v2(CONFIRMED));
+        boolean rejectedDropped = filter.filter(v2(rejected));
+
+        // then
+        assertThat(confirmedDropped).isFalse();
+        assertThat(rejectedDropped).isTrue();
+        assertThat(count("processed")).isEqualTo(1);
+        assertThat(count("filtered")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should pass legacy records that carry no headers")
+    void shouldPassLegacyRecords() {
+        // given
+        ProducerRecord<String, byte[]> produced =
+                CashFlowEventEnvelope.encode("cash_flow", "CF10000001", CONFIRMED, CashFlowEventEnvelope.Version.V1);
+
+        // when
+        boolean dropped = filter.filter(toConsumerRecord(produced));
+
+        // then
+        assertThat(dropped).isFalse();
+        assertThat(count("processed")).isEqualTo(1);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("vidulum.kafka.listener.records")
+                .tag("listener", "test_listener")
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+
+    private static ConsumerRecord<String, byte[]> v2(CashFlowEvent event) {
+        return toConsumerRecord(
+                CashFlowEventEnvelope.encode("cash_flow", "CF10000001", event, CashFlowEventEnvelope.Version.V2));
+    }
+
+    private static ConsumerRecord<String, byte[]> toConsumerRecord(ProducerRecord<String, byte[]> record) {
+        return new ConsumerRecord<>(
+                record.topic(), 0, 0L, 0L, TimestampType.CREATE_TIME,
+                record.key().length(), record.value().length,
+                record.key(), record.value(),
+                new RecordHeaders(record.headers().toArray()), Optional.empty());
+    }
+}
@@ -0,0 +1,111 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.TestIds;
+import com.multi.vidulum.cashflow.domain.CashFlowDoesNotExistsException;
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CashFlowForecastCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CashFlowForecastCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CashFlowForecastCache(true, 1_000, 30, meterRegistry);
+    }
+
+    @Test
+    void shouldServeSecondReadFromCache() {
+        // given
+        CashFlowId cashFlowId = TestIds.nextCashFlowId();
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        cache.get(cashFlowId, () -> forecast(cashFlowId, "checksum-1", loads));
+        CashFlowForecastDto.CashFlowForecastStatementJson second =
+                cache.get(cashFlowId, () -> forecast(cashFlowId, "checksum-2", loads));
+
+        // then
+        assertThat(loads).hasValue(1);
+        assertThat(second.getLastMessageChecksum()).isEqualTo("checksum-1");
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.weighted.size").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+        // given
+        CashFlowId cashFlowId = TestIds.nextCashFlowId();
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(cashFlowId, () -> forecast(cashFlowId, "checksum-1", loads));
+
+        // when
+        cache.invalidate(cashFlowId.id());
+        CashFlowForecastDto.CashFlowForecastStatementJson reloaded =
+                cache.get(cashFlowId, () -> forecast(cashFlowId, "checksum-2", loads));
+
+        // then
+        assertThat(loads).hasValue(2);
+        assertThat(reloaded.getLastMessageChecksum()).isEqualTo("checksum-2");
+    }
+
+    @Test
+    void shouldNotCacheMissingCashFlow() {
+        // given
+        CashFlowId cashFlowId = TestIds.nextCashFlowId();
+
+        // when & then
+        assertThatThrownBy(() -> cache.get(cashFlowId, () -> {
+            throw new CashFlowDoesNotExistsException(cashFlowId);
+        })).isInstanceOf(CashFlowDoesNotExistsException.class);
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldBypassCacheWhenDisabled() {
+        // given
+        CashFlowForecastCache disabledCache = new CashFlowForecastCache(false, 1_000, 30, new SimpleMeterRegistry());
+        CashFlowId cashFlowId = TestIds.nextCashFlowId();
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        disabledCache.get(cashFlowId, () -> forecast(cashFlowId, "checksum-1", loads));
+        disabledCache.get(cashFlowId, () -> forecast(cashFlowId, "checksum-1", loads));
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    private static CashFlowForecastDto.CashFlowForecastStatementJson forecast(
+            CashFlowId cashFlowId, String checksum, AtomicInteger loads) {
+        loads.incrementAndGet();
+        CashFlowForecastDto.CashCategoryJson category = CashFlowForecastDto.CashCategoryJson.builder()
+                .categoryName("Uncategorized")
+                .subCategories(List.of())
+                .groupedTransactions(CashFlowForecastDto.GroupedTransactionsJson.builder()
+                        .transactions(Map.of("EXPECTED", List.of(
+                                CashFlowForecastDto.TransactionDetailsJson.builder().name("rent").build())))
+                        .build())
+                .build();
+        return CashFlowForecastDto.CashFlowForecastStatementJson.builder()
+                .cashFlowId(cashFlowId.id())
+                .forecasts(Map.of("2022-01", CashFlowForecastDto.CashFlowMonthlyForecastJson.builder()
+                        .period("2022-01")
+                        .categorizedInFlows(List.of(category))
+                        .categorizedOutFlows(List.of())
+                        .build()))
+                .lastMessageChecksum(checksum)
+                .build();
+    }
+}
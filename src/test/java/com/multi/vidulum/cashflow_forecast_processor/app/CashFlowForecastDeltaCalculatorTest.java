@@ -0,0 +1,140 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.common.Money;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CashFlowForecastDeltaCalculatorTest {
+
+    private static final ZonedDateTime CREATED = ZonedDateTime.parse("2025-06-01T10:00:00Z");
+
+    @Test
+    void shouldReportAddedTransactionWithNewTotalsAndStatsOnly() {
+        // given
+        CashFlowForecastDto.CashFlowForecastStatementJson before = statement(
+                month("2025-06", "ACTIVE", Money.of(0, "PLN"), List.of()),
+                month("2025-07", "FORECASTED", Money.of(0, "PLN"), List.of()));
+        CashFlowForecastDto.CashFlowForecastStatementJson after = statement(
+                month("2025-06", "ACTIVE", Money.of(2450.50, "PLN"), List.of(transaction("CC1", 2450.50))),
+                month("2025-07", "FORECASTED", Money.of(0, "PLN"), List.of()));
+
+        // when
+        List<CashFlowForecastDeltaEvent.MonthDelta> deltas = CashFlowForecastDeltaCalculator.between(before, after);
+
+        // then
+        assertThat(deltas).hasSize(1);
+        CashFlowForecastDeltaEvent.MonthDelta june = deltas.get(0);
+        assertThat(june.getPeriod()).isEqualTo("2025-06");
+        assertThat(june.getStatus()).isNull();
+        assertThat(june.getCashFlowStats().getEnd()).isEqualTo(Money.of(2450.50, "PLN"));
+        assertThat(june.getCategories()).singleElement().satisfies(category -> {
+            assertThat(category.getFlow()).isEqualTo("OUTFLOW");
+            assertThat(category.getCategoryName()).isEqualTo("Rent");
+            assertThat(category.getTotalPaidValue()).isEqualTo(Money.of(2450.50, "PLN"));
+        });
+        assertThat(june.getAddedTransactions()).singleElement().satisfies(entry -> {
+            assertThat(entry.getPaymentStatus()).isEqualTo("PAID");
+            assertThat(entry.getTransaction().getCashChangeId()).isEqualTo("CC1");
+        });
+        assertThat(june.getRemovedTransactions()).isEmpty();
+    }
+
+    @Test
+    void shouldReportEditedTransactionAsRemovedAndAddedAndStatusChange() {
+        // given
+        CashFlowForecastDto.CashFlowForecastStatementJson before = statement(
+                month("2025-06", "ACTIVE", Money.of(100, "PLN"), List.of(transaction("CC1", 100))));
+        CashFlowForecastDto.CashFlowForecastStatementJson after = statement(
+                month("2025-06", "ATTESTED", Money.of(120, "PLN"), List.of(transaction("CC1", 120))));
+
+        // when
+        CashFlowForecastDeltaEvent.MonthDelta june = CashFlowForecastDeltaCalculator.between(before, after).get(0);
+
+        // then
+        assertThat(june.getStatus()).isEqualTo("ATTESTED");
+        assertThat(june.getRemovedTransactions()).singleElement().satisfies(entry -> {
+            assertThat(entry.getCashChangeId()).isEqualTo("CC1");
+            assertThat(entry.getTransaction()).isNull();
+        });
+        assertThat(june.getAddedTransactions()).singleElement()
+                .satisfies(entry -> assertThat(entry.getTransaction().getMoney()).isEqualTo(Money.of(120, "PLN")));
+    }
+
+    @Test
+    void shouldSendNewMonthsWholeAndNothingForUnchangedForecast() {
+        // given
+        CashFlowForecastDto.CashFlowMonthlyForecastJson june = month("2025-06", "ACTIVE", Money.of(0, "PLN"), List.of());
+        CashFlowForecastDto.CashFlowMonthlyForecastJson july = month("2025-07", "FORECASTED", Money.of(0, "PLN"), List.of());
+
+        // when
+        List<CashFlowForecastDeltaEvent.MonthDelta> created = CashFlowForecastDeltaCalculator.between(null, statement(june));
+        List<CashFlowForecastDeltaEvent.MonthDelta> rolledOver = CashFlowForecastDeltaCalculator.between(statement(june), statement(june, july));
+        List<CashFlowForecastDeltaEvent.MonthDelta> unchanged = CashFlowForecastDeltaCalculator.between(statement(june), statement(june));
+
+        // then
+        assertThat(created).singleElement().satisfies(delta -> assertThat(delta.getMonth()).isEqualTo(june));
+        assertThat(rolledOver).singleElement().satisfies(delta -> {
+            assertThat(delta.getPeriod()).isEqualTo("2025-07");
+            assertThat(delta.getMonth()).isEqualTo(july);
+        });
+        assertThat(unchanged).isEmpty();
+    }
+
+    private static CashFlowForecastDto.CashFlowForecastStatementJson statement(
+            CashFlowForecastDto.CashFlowMonthlyForecastJson... months) {
+        Map<String, CashFlowForecastDto.CashFlowMonthlyForecastJson> forecasts = new LinkedHashMap<>();
+        for (CashFlowForecastDto.CashFlowMonthlyForecastJson month : months) {
+            forecasts.put(month.getPeriod(), month);
+        }
+        return CashFlowForecastDto.CashFlowForecastStatementJson.builder()
+                .cashFlowId("CF10000001")
+                .forecasts(forecasts)
+                .build();
+    }
+
+    private static CashFlowForecastDto.CashFlowMonthlyForecastJson month(
+            String period, String status, Money paid, List<CashFlowForecastDto.TransactionDetailsJson> paidRent) {
+        Money zero = Money.of(0, "PLN");
+        return CashFlowForecastDto.CashFlowMonthlyForecastJson.builder()
+                .period(period)
+                .status(status)
+                .cashFlowStats(CashFlowForecastDto.CashFlowStatsJson.builder()
+                        .start(zero)
+                        .end(paid)
+                        .netChange(paid)
+                        .build())
+                .categorizedInFlows(List.of(category("Salary", zero, List.of())))
+                .categorizedOutFlows(List.of(category("Rent", paid, paidRent)))
+                .build();
+    }
+
+    private static CashFlowForecastDto.CashCategoryJson category(
+            String name, Money totalPaid, List<CashFlowForecastDto.TransactionDetailsJson> paid) {
+        Map<String, List<CashFlowForecastDto.TransactionDetailsJson>> transactions = new LinkedHashMap<>();
+        transactions.put("PAID", new ArrayList<>(paid));
+        transactions.put("EXPECTED", new ArrayList<>());
+        return CashFlowForecastDto.CashCategoryJson.builder()
+                .categoryName(name)
+                .subCategories(List.of())
+                .groupedTransactions(new CashFlowForecastDto.GroupedTransactionsJson(transactions))
+                .totalPaidValue(totalPaid)
+                .build();
+    }
+
+    private static CashFlowForecastDto.TransactionDetailsJson transaction(String cashChangeId, double amount) {
+        return CashFlowForecastDto.TransactionDetailsJson.builder()
+                .cashChangeId(cashChangeId)
+                .name("Rent")
+                .money(Money.of(amount, "PLN"))
+                .created(CREATED)
+                .dueDate(CREATED)
+                .build();
+    }
+}
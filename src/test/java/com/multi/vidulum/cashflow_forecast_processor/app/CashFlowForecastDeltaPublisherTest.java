@@ -0,0 +1,106 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.cashflow.domain.CashChangeId;
+import com.multi.vidulum.cashflow.domain.CashFlowEvent;
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CashFlowForecastDeltaPublisherTest {
+
+    private static final CashFlowEvent.CashChangeConfirmedEvent EVENT = new CashFlowEvent.CashChangeConfirmedEvent(
+            CashFlowId.of("CF10000001"),
+            CashChangeId.of("CC1000000001"),
+            ZonedDateTime.parse("2025-06-15T16:30:00Z"));
+
+    @Mock
+    private CashFlowForecastMapper mapper;
+    @Mock
+    private RecurringOccurrenceProjector occurrenceProjector;
+    @Mock
+    private KafkaTemplate<String, CashFlowForecastDeltaEvent> kafkaTemplate;
+    @Mock
+    private CashFlowForecastStatement loaded;
+    @Mock
+    private CashFlowForecastStatement saved;
+    @Mock
+    private CashFlowForecastStatement projectedLoaded;
+    @Mock
+    private CashFlowForecastStatement projectedSaved;
+
+    private CashFlowForecastDeltaPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new CashFlowForecastDeltaPublisher(true, mapper, occurrenceProjector, kafkaTemplate);
+    }
+
+    @Test
+    void shouldDiffLoadedAgainstSavedStatementWithVirtualOccurrences() {
+        // given - both sides projected like the snapshot served to clients
+        when(occurrenceProjector.project(loaded)).thenReturn(projectedLoaded);
+        when(occurrenceProjector.project(saved)).thenReturn(projectedSaved);
+        when(mapper.map(projectedLoaded)).thenReturn(json("checksum-1"));
+        when(mapper.map(projectedSaved)).thenReturn(json("checksum-2"));
+
+        // when
+        publisher.begin();
+        publisher.onLoaded(() -> loaded);
+        publisher.onSaved(() -> saved);
+        publisher.publish(EVENT);
+
+        // then - projected and mapped once each, no other reads
+        ArgumentCaptor<CashFlowForecastDeltaEvent> delta = ArgumentCaptor.forClass(CashFlowForecastDeltaEvent.class);
+        verify(kafkaTemplate).send(eq(CashFlowForecastDeltaPublisher.TOPIC), eq("CF10000001"), delta.capture());
+        assertThat(delta.getValue().getPreviousChecksum()).isEqualTo("checksum-1");
+        assertThat(delta.getValue().getChecksum()).isEqualTo("checksum-2");
+        assertThat(delta.getValue().getEventType()).isEqualTo("CashChangeConfirmedEvent");
+        verify(mapper).map(projectedLoaded);
+        verify(mapper).map(projectedSaved);
+    }
+
+    @Test
+    void shouldIgnoreStatementsOutsideOfCapture() {
+        // when - e.g. a forecast read by a REST request
+        publisher.onLoaded(() -> loaded);
+        publisher.onSaved(() -> saved);
+        publisher.publish(EVENT);
+
+        // then
+        verifyNoInteractions(mapper, occurrenceProjector, kafkaTemplate);
+    }
+
+    @Test
+    void shouldNotPublishWhenNothingWasSaved() {
+        // when
+        publisher.begin();
+        publisher.end();
+        publisher.onSaved(() -> saved);
+        publisher.publish(EVENT);
+
+        // then
+        verify(kafkaTemplate, never()).send(any(), any(), any());
+    }
+
+    private static CashFlowForecastDto.CashFlowForecastStatementJson json(String checksum) {
+        return CashFlowForecastDto.CashFlowForecastStatementJson.builder()
+                .cashFlowId("CF10000001")
+                .forecasts(Map.of())
+                .lastMessageChecksum(checksum)
+                .build();
+    }
+}
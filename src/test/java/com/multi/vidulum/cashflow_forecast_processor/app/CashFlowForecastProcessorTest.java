@@ -5,7 +5,6 @@ import com.multi.vidulum.TestIds;
 import com.multi.vidulum.cashflow.domain.*;
 import com.multi.vidulum.cashflow.domain.CategoryOrigin;
 import com.multi.vidulum.common.*;
-import com.multi.vidulum.common.events.CashFlowUnifiedEvent;
 import com.multi.vidulum.trading.domain.IntegrationTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.util.DigestUtils;
@@ -1837,11 +1836,7 @@ class CashFlowForecastProcessorTest extends IntegrationTest {
     }
 
     private Checksum emit(CashFlowEvent cashFlowEvent) {
-        cashFlowEventEmitter.emit(
-                CashFlowUnifiedEvent.builder()
-                        .metadata(Map.of("event", cashFlowEvent.getClass().getSimpleName()))
-                        .content(JsonContent.asPrettyJson(cashFlowEvent))
-                        .build());
+        cashFlowEventEmitter.emit(cashFlowEvent);
         return new Checksum(
                 DigestUtils.md5DigestAsHex(
                         JsonContent.asJson(cashFlowEvent)
@@ -0,0 +1,126 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.TestIds;
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CashFlowForecastSyncNotifierTest {
+
+    private CashFlowForecastSyncNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        notifier = new CashFlowForecastSyncNotifier(30_000, Runnable::run);
+    }
+
+    @Test
+    void shouldCompleteImmediatelyWhenAlreadyInSync() {
+        // given
+        CashFlowId cashFlowId = TestIds.nextCashFlowId();
+
+        // when
+        DeferredResult<ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson>> result =
+                notifier.await(cashFlowId, "checksum-1", 5_000, () -> forecast(cashFlowId, "checksum-1"));
+
+        // then
+        assertThat(result.hasResult()).isTrue();
+        assertThat(responseOf(result).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void shouldCompleteWhenMatchingChecksumIsApplied() {
+        // given
+        CashFlowId cashFlowId = TestIds.nextCashFlowId();
+        AtomicReference<String> currentChecksum = new AtomicReference<>("checksum-1");
+        DeferredResult<ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson>> result =
+                notifier.await(cashFlowId, "checksum-3", 5_000, () -> forecast(cashFlowId, currentChecksum.get()));
+
+        // when
+        currentChecksum.set("checksum-2");
+        notifier.applied(cashFlowId.id(), "checksum-2");
+        boolean completedOnIntermediateEvent = result.hasResult();
+
+        currentChecksum.set("checksum-3");
+        notifier.applied(cashFlowId.id(), "checksum-3");
+
+        // then
+        assertThat(completedOnIntermediateEvent).isFalse();
+        assertThat(result.hasResult()).isTrue();
+        assertThat(responseOf(result).getBody().getLastMessageChecksum()).isEqualTo("checksum-3");
+    }
+
+    @Test
+    void shouldCompleteWhenLaterEventIsAppliedBeforeAwaitedOneIsObserved() {
+        // given - checksum-2 is applied before the request is parked, checksum-3 right after
+        CashFlowId cashFlowId = TestIds.nextCashFlowId();
+        AtomicReference<String> currentChecksum = new AtomicReference<>("checksum-3");
+        notifier.applied(cashFlowId.id(), "checksum-2");
+
+        // when
+        DeferredResult<ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson>> result =
+                notifier.await(cashFlowId, "checksum-2", 5_000, () -> forecast(cashFlowId, currentChecksum.get()));
+
+        // then - released with the newer forecast instead of timing out
+        assertThat(result.hasResult()).isTrue();
+        assertThat(responseOf(result).getBody().getLastMessageChecksum()).isEqualTo("checksum-3");
+    }
+
+    @Test
+    void shouldReleaseOffTheListenerThread() {
+        // given
+        CashFlowId cashFlowId = TestIds.nextCashFlowId();
+        List<Runnable> scheduled = new ArrayList<>();
+        AtomicReference<String> currentChecksum = new AtomicReference<>("checksum-1");
+        notifier = new CashFlowForecastSyncNotifier(30_000, scheduled::add);
+        DeferredResult<ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson>> result =
+                notifier.await(cashFlowId, "checksum-2", 5_000, () -> forecast(cashFlowId, currentChecksum.get()));
+
+        // when
+        currentChecksum.set("checksum-2");
+        notifier.applied(cashFlowId.id(), "checksum-2");
+
+        // then - the forecast is read by the release task, not by applied()
+        assertThat(result.hasResult()).isFalse();
+        assertThat(scheduled).hasSize(1);
+        scheduled.getFirst().run();
+        assertThat(responseOf(result).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void shouldIgnoreOtherCashFlows() {
+        // given
+        CashFlowId cashFlowId = TestIds.nextCashFlowId();
+        CashFlowId otherCashFlowId = TestIds.nextCashFlowId();
+        DeferredResult<ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson>> result =
+                notifier.await(cashFlowId, "checksum-2", 5_000, () -> forecast(cashFlowId, "checksum-1"));
+
+        // when
+        notifier.applied(otherCashFlowId.id(), "checksum-2");
+
+        // then
+        assertThat(result.hasResult()).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson> responseOf(
+            DeferredResult<ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson>> result) {
+        return (ResponseEntity<CashFlowForecastDto.CashFlowForecastStatementJson>) result.getResult();
+    }
+
+    private static CashFlowForecastDto.CashFlowForecastStatementJson forecast(CashFlowId cashFlowId, String checksum) {
+        return CashFlowForecastDto.CashFlowForecastStatementJson.builder()
+                .cashFlowId(cashFlowId.id())
+                .lastMessageChecksum(checksum)
+                .build();
+    }
+}
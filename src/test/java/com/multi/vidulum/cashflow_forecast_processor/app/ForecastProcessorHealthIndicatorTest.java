@@ -0,0 +1,101 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.cashflow.domain.CashFlowEvent;
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.cashflow.domain.CategoryName;
+import com.multi.vidulum.cashflow.domain.Type;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Status;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ForecastProcessorHealthIndicatorTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ForecastProcessorMetrics metrics =
+            new ForecastProcessorMetrics(meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC), 1);
+    private final AtomicReference<OptionalLong> recordsLag = new AtomicReference<>(OptionalLong.empty());
+    private final Clock healthClock = mock(Clock.class);
+    private final ForecastProcessorHealthIndicator healthIndicator =
+            new ForecastProcessorHealthIndicator(metrics, recordsLag::get, healthClock, 60);
+
+    @Test
+    void shouldBeUpBeforeFirstEvent() {
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void shouldStayUpWhenNothingIsPendingHoweverLateTheLastEventWas() {
+        // given - a drained backlog: the last event was applied 90s after it occurred
+        metrics.applied(categoryCreated(NOW.minusSeconds(90)));
+        recordsLag.set(OptionalLong.of(0));
+
+        // when / then
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("lag", "PT1M30S");
+        assertThat(meterRegistry.get("vidulum.forecast.event.lag")
+                .tag("eventType", "CategoryCreatedEvent").timer().max(TimeUnit.SECONDS)).isEqualTo(90);
+    }
+
+    @Test
+    void shouldStayUpWhileRecordsArePendingWithProgressHoweverHighTheLag() {
+        // given - a backlog being worked off: the last event occurred 10 minutes before it was applied
+        metrics.applied(categoryCreated(NOW.minusSeconds(600)));
+        recordsLag.set(OptionalLong.of(5_000));
+        when(healthClock.instant()).thenReturn(NOW.plusSeconds(30));
+
+        // when / then - the lag alone never makes it DOWN, only the stall does
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("lag", "PT10M");
+    }
+
+    @Test
+    void shouldReportDownWhenRecordsArePendingWithoutProgress() {
+        // given - applied at NOW, then records pile up while nothing more is applied
+        metrics.applied(categoryCreated(NOW.minusSeconds(1)));
+        recordsLag.set(OptionalLong.of(250));
+        when(healthClock.instant()).thenReturn(NOW.plusSeconds(30));
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+
+        // when
+        when(healthClock.instant()).thenReturn(NOW.plusSeconds(120));
+
+        // then
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.DOWN);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("recordsLag", 250L);
+
+        // and UP again once the backlog drains
+        recordsLag.set(OptionalLong.of(0));
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void shouldTimeHandlersByEventTypeAndOutcome() {
+        metrics.handle(categoryCreated(NOW), () -> null);
+
+        assertThat(meterRegistry.get("vidulum.forecast.handler")
+                .tag("eventType", "CategoryCreatedEvent").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    private static CashFlowEvent.CategoryCreatedEvent categoryCreated(Instant occurredAt) {
+        return new CashFlowEvent.CategoryCreatedEvent(
+                new CashFlowId("CF10000001"),
+                CategoryName.NOT_DEFINED,
+                new CategoryName("Groceries"),
+                Type.OUTFLOW,
+                ZonedDateTime.ofInstant(occurredAt, ZoneOffset.UTC));
+    }
+}
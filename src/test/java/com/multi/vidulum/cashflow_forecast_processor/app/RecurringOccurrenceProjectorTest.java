@@ -0,0 +1,178 @@
+package com.multi.vidulum.cashflow_forecast_processor.app;
+
+import com.multi.vidulum.TestIds;
+import com.multi.vidulum.cashflow.domain.BankAccountNumber;
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.cashflow.domain.CategoryName;
+import com.multi.vidulum.common.Currency;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.recurring_rules.app.RecurringRuleDefinitionEvent;
+import com.multi.vidulum.recurring_rules.app.dto.PatternDto;
+import com.multi.vidulum.recurring_rules.domain.RecurrenceType;
+import com.multi.vidulum.recurring_rules.domain.RecurringRuleId;
+import com.multi.vidulum.recurring_rules.domain.RuleStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+import static com.multi.vidulum.cashflow_forecast_processor.app.PaymentStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurringOccurrenceProjectorTest {
+
+    private final CashFlowId cashFlowId = TestIds.nextCashFlowId();
+    private long ruleSequence = 1;
+
+    @Test
+    void project_shouldAddOccurrencesAfterWatermarkAsForecastTransactions() {
+        // given - March is ACTIVE, April and May FORECASTED, rule materialized through March
+        CashFlowForecastStatement statement = createStatement(Map.of(
+                YearMonth.of(2024, 3), CashFlowMonthlyForecast.Status.ACTIVE,
+                YearMonth.of(2024, 4), CashFlowMonthlyForecast.Status.FORECASTED,
+                YearMonth.of(2024, 5), CashFlowMonthlyForecast.Status.FORECASTED));
+        RecurringRuleDefinitionEvent rent = monthlyDefinition("Rent", Money.of(-1500, "USD"), LocalDate.of(2024, 3, 31));
+        RecurringOccurrenceProjector projector = new RecurringOccurrenceProjector(true, new InMemoryProjections(rent));
+
+        // when
+        projector.project(statement);
+
+        // then - April and May get one FORECAST outflow each, March is untouched
+        assertThat(forecastOutflows(statement, YearMonth.of(2024, 3))).isEmpty();
+        List<TransactionDetails> april = forecastOutflows(statement, YearMonth.of(2024, 4));
+        assertThat(april).hasSize(1);
+        assertThat(april.getFirst().getCashChangeId()).isNull();
+        assertThat(april.getFirst().getSourceRuleId()).isEqualTo(rent.getRuleId());
+        assertThat(april.getFirst().getMoney()).isEqualTo(Money.of(1500, "USD"));
+        assertThat(april.getFirst().getDueDate().toLocalDate()).isEqualTo(LocalDate.of(2024, 4, 10));
+        assertThat(forecastOutflows(statement, YearMonth.of(2024, 5))).hasSize(1);
+
+        // and balances include the virtual occurrences
+        assertThat(statement.getForecasts().get(YearMonth.of(2024, 5)).getCashFlowStats().getEnd().getAmount())
+                .isEqualByComparingTo("-3000");
+    }
+
+    @Test
+    void project_shouldStartFromActiveMonthWhenNothingMaterialized() {
+        // given
+        CashFlowForecastStatement statement = createStatement(Map.of(
+                YearMonth.of(2024, 2), CashFlowMonthlyForecast.Status.ATTESTED,
+                YearMonth.of(2024, 3), CashFlowMonthlyForecast.Status.ACTIVE,
+                YearMonth.of(2024, 4), CashFlowMonthlyForecast.Status.FORECASTED));
+        RecurringRuleDefinitionEvent salary = monthlyDefinition("Salary", Money.of(5000, "USD"), null);
+        RecurringOccurrenceProjector projector = new RecurringOccurrenceProjector(true, new InMemoryProjections(salary));
+
+        // when
+        projector.project(statement);
+
+        // then - attested February is never projected onto
+        assertThat(forecastInflows(statement, YearMonth.of(2024, 2))).isEmpty();
+        assertThat(forecastInflows(statement, YearMonth.of(2024, 3))).hasSize(1);
+        assertThat(forecastInflows(statement, YearMonth.of(2024, 4))).hasSize(1);
+    }
+
+    @Test
+    void project_shouldSkipInactiveRulesAndDisabledProjection() {
+        // given
+        RecurringRuleDefinitionEvent paused = monthlyDefinition("Salary", Money.of(5000, "USD"), null);
+        paused.setStatus(RuleStatus.PAUSED);
+        CashFlowForecastStatement statement = createStatement(Map.of(
+                YearMonth.of(2024, 3), CashFlowMonthlyForecast.Status.ACTIVE,
+                YearMonth.of(2024, 4), CashFlowMonthlyForecast.Status.FORECASTED));
+
+        // when
+        new RecurringOccurrenceProjector(true, new InMemoryProjections(paused)).project(statement);
+        new RecurringOccurrenceProjector(false, new InMemoryProjections(
+                monthlyDefinition("Salary", Money.of(5000, "USD"), null))).project(statement);
+
+        // then
+        assertThat(forecastInflows(statement, YearMonth.of(2024, 3))).isEmpty();
+        assertThat(forecastInflows(statement, YearMonth.of(2024, 4))).isEmpty();
+    }
+
+    private RecurringRuleDefinitionEvent monthlyDefinition(String categoryName, Money amount, LocalDate materializedThrough) {
+        return RecurringRuleDefinitionEvent.builder()
+                .ruleId(RecurringRuleId.generate(ruleSequence++).id())
+                .cashFlowId(cashFlowId.id())
+                .name(categoryName)
+                .categoryName(categoryName)
+                .status(RuleStatus.ACTIVE)
+                .baseAmount(amount)
+                .pattern(PatternDto.builder().type(RecurrenceType.MONTHLY).dayOfMonth(10).intervalMonths(1).build())
+                .startDate(LocalDate.of(2024, 1, 1))
+                .materializedThrough(materializedThrough)
+                .lastModifiedAt(Instant.now())
+                .build();
+    }
+
+    private List<TransactionDetails> forecastInflows(CashFlowForecastStatement statement, YearMonth period) {
+        return statement.getForecasts().get(period).findCategoryInflowsByCategoryName(new CategoryName("Salary"))
+                .orElseThrow().getGroupedTransactions().get(FORECAST);
+    }
+
+    private List<TransactionDetails> forecastOutflows(CashFlowForecastStatement statement, YearMonth period) {
+        return statement.getForecasts().get(period).findCategoryOutflowsByCategoryName(new CategoryName("Rent"))
+                .orElseThrow().getGroupedTransactions().get(FORECAST);
+    }
+
+    private CashFlowForecastStatement createStatement(Map<YearMonth, CashFlowMonthlyForecast.Status> periods) {
+        Map<YearMonth, CashFlowMonthlyForecast> forecasts = new TreeMap<>();
+        periods.forEach((period, status) -> forecasts.put(period, new CashFlowMonthlyForecast(
+                period,
+                new CashFlowStats(
+                        Money.zero("USD"),
+                        Money.zero("USD"),
+                        Money.zero("USD"),
+                        new CashSummary(Money.zero("USD"), Money.zero("USD"), Money.zero("USD")),
+                        new CashSummary(Money.zero("USD"), Money.zero("USD"), Money.zero("USD"))
+                ),
+                new ArrayList<>(List.of(createEmptyCategory("Salary"))),
+                new ArrayList<>(List.of(createEmptyCategory("Rent"))),
+                status,
+                null
+        )));
+        return new CashFlowForecastStatement(
+                cashFlowId,
+                new LinkedHashMap<>(forecasts),
+                BankAccountNumber.fromIban("GB29NWBK60161331926819", Currency.of("USD")),
+                new CurrentCategoryStructure(new ArrayList<>(), new ArrayList<>(), ZonedDateTime.now()),
+                null,
+                null
+        );
+    }
+
+    private CashCategory createEmptyCategory(String name) {
+        Map<PaymentStatus, List<TransactionDetails>> transactions = new LinkedHashMap<>();
+        transactions.put(PAID, new LinkedList<>());
+        transactions.put(EXPECTED, new LinkedList<>());
+        transactions.put(FORECAST, new LinkedList<>());
+        return CashCategory.builder()
+                .categoryName(new CategoryName(name))
+                .category(new Category(name))
+                .subCategories(new ArrayList<>())
+                .groupedTransactions(new GroupedTransactions(transactions))
+                .totalPaidValue(Money.zero("USD"))
+                .budgeting(null)
+                .build();
+    }
+
+    private record InMemoryProjections(RecurringRuleDefinitionEvent definition) implements RecurringRuleProjectionRepository {
+
+        @Override
+        public Optional<RecurringRuleDefinitionEvent> findByRuleId(String ruleId) {
+            return Optional.of(definition).filter(d -> d.getRuleId().equals(ruleId));
+        }
+
+        @Override
+        public List<RecurringRuleDefinitionEvent> findByCashFlowId(CashFlowId cashFlowId) {
+            return List.of(definition);
+        }
+
+        @Override
+        public void save(RecurringRuleDefinitionEvent definition) {
+        }
+    }
+}
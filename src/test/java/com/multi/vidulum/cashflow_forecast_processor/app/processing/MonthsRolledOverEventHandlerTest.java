@@ -0,0 +1,154 @@
+package com.multi.vidulum.cashflow_forecast_processor.app.processing;
+
+import com.multi.vidulum.TestIds;
+import com.multi.vidulum.cashflow.domain.BankAccountNumber;
+import com.multi.vidulum.cashflow.domain.CashChangeId;
+import com.multi.vidulum.cashflow.domain.CashFlowEvent;
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.cashflow.domain.CategoryName;
+import com.multi.vidulum.cashflow.domain.Name;
+import com.multi.vidulum.cashflow_forecast_processor.app.*;
+import com.multi.vidulum.common.Currency;
+import com.multi.vidulum.common.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+import static com.multi.vidulum.cashflow_forecast_processor.app.PaymentStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for MonthsRolledOverEventHandler.
+ */
+@ExtendWith(MockitoExtension.class)
+class MonthsRolledOverEventHandlerTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2024, 1);
+    private static final ZonedDateTime ROLLED_OVER_AT = ZonedDateTime.parse("2024-03-01T02:00:00Z");
+
+    @Mock
+    private CashFlowForecastStatementRepository statementRepository;
+
+    @Test
+    void shouldRollOverAllMonthsInOnePass() {
+        // given - January is active and has an expected cash change
+        CashChangeId expectedCashChangeId = TestIds.nextCashChangeId();
+        CashFlowForecastStatement statement = createStatement(expectedCashChangeId);
+        when(statementRepository.findByCashFlowId(statement.getCashFlowId())).thenReturn(Optional.of(statement));
+
+        // when - roll over January and February at once
+        new MonthsRolledOverEventHandler(statementRepository).handle(new CashFlowEvent.MonthsRolledOverEvent(
+                statement.getCashFlowId(), JANUARY, JANUARY.plusMonths(2), Money.of(500, "USD"), ROLLED_OVER_AT));
+
+        // then
+        Map<YearMonth, CashFlowMonthlyForecast> forecasts = statement.getForecasts();
+        for (YearMonth period : List.of(JANUARY, JANUARY.plusMonths(1))) {
+            assertThat(forecasts.get(period).getStatus()).isEqualTo(CashFlowMonthlyForecast.Status.ROLLED_OVER);
+            assertThat(forecasts.get(period).getAttestation().bankAccountBalance()).isEqualTo(Money.of(500, "USD"));
+        }
+        assertThat(forecasts.get(JANUARY.plusMonths(2)).getStatus()).isEqualTo(CashFlowMonthlyForecast.Status.ACTIVE);
+        assertThat(statement.fetchCurrentPeriod()).isEqualTo(JANUARY.plusMonths(2));
+
+        // the expected cash change lands straight in the new active month
+        assertThat(expectedIds(forecasts.get(JANUARY))).isEmpty();
+        assertThat(expectedIds(forecasts.get(JANUARY.plusMonths(2)))).containsExactly(expectedCashChangeId);
+
+        // one new month at the end of the horizon per rolled over month
+        assertThat(forecasts).containsKeys(JANUARY.plusMonths(4), JANUARY.plusMonths(5));
+        assertThat(forecasts).doesNotContainKey(JANUARY.plusMonths(6));
+
+        assertThat(statement.getLastModification()).isEqualTo(ROLLED_OVER_AT);
+        verify(statementRepository).save(statement);
+    }
+
+    @Test
+    void shouldRejectRolloverNotStartingAtActivePeriod() {
+        // given
+        CashFlowForecastStatement statement = createStatement(TestIds.nextCashChangeId());
+        when(statementRepository.findByCashFlowId(statement.getCashFlowId())).thenReturn(Optional.of(statement));
+        CashFlowEvent.MonthsRolledOverEvent event = new CashFlowEvent.MonthsRolledOverEvent(
+                statement.getCashFlowId(), JANUARY.plusMonths(1), JANUARY.plusMonths(3), Money.of(500, "USD"), ROLLED_OVER_AT);
+
+        // when / then
+        assertThatThrownBy(() -> new MonthsRolledOverEventHandler(statementRepository).handle(event))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(statementRepository, never()).save(any());
+    }
+
+    private static List<CashChangeId> expectedIds(CashFlowMonthlyForecast forecast) {
+        return forecast.getCategorizedInFlows().stream()
+                .flatMap(category -> category.getGroupedTransactions().get(EXPECTED).stream())
+                .map(TransactionDetails::getCashChangeId)
+                .toList();
+    }
+
+    private static CashFlowForecastStatement createStatement(CashChangeId expectedCashChangeId) {
+        Map<YearMonth, CashFlowMonthlyForecast> forecasts = new LinkedHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            YearMonth period = JANUARY.plusMonths(i);
+            forecasts.put(period, createForecast(period, i == 0
+                    ? CashFlowMonthlyForecast.Status.ACTIVE
+                    : CashFlowMonthlyForecast.Status.FORECASTED));
+        }
+        TransactionDetails expected = TransactionDetails.builder()
+                .cashChangeId(expectedCashChangeId)
+                .name(new Name("Invoice"))
+                .money(Money.of(100, "USD"))
+                .created(ZonedDateTime.parse("2024-01-05T10:00:00Z"))
+                .dueDate(ZonedDateTime.parse("2024-01-20T10:00:00Z"))
+                .build();
+        forecasts.get(JANUARY).getCategorizedInFlows().getFirst()
+                .getGroupedTransactions().addTransaction(new Transaction(expected, EXPECTED));
+
+        CashFlowId cashFlowId = TestIds.nextCashFlowId();
+        CashFlowForecastStatement statement = new CashFlowForecastStatement(
+                cashFlowId,
+                forecasts,
+                BankAccountNumber.fromIban("GB29NWBK60161331926819", Currency.of("USD")),
+                new CurrentCategoryStructure(
+                        new ArrayList<>(List.of(new CategoryNode(null, new CategoryName("Income"), new LinkedList<>()))),
+                        new ArrayList<>(List.of(new CategoryNode(null, new CategoryName("Expenses"), new LinkedList<>()))),
+                        ZonedDateTime.now()),
+                null,
+                null
+        );
+        statement.updateStats();
+        return statement;
+    }
+
+    private static CashFlowMonthlyForecast createForecast(YearMonth period, CashFlowMonthlyForecast.Status status) {
+        return new CashFlowMonthlyForecast(
+                period,
+                CashFlowStats.justBalance(Money.zero("USD")),
+                new ArrayList<>(List.of(createCategory("Income"))),
+                new ArrayList<>(List.of(createCategory("Expenses"))),
+                status,
+                null
+        );
+    }
+
+    private static CashCategory createCategory(String name) {
+        Map<PaymentStatus, List<TransactionDetails>> transactions = new LinkedHashMap<>();
+        transactions.put(PAID, new LinkedList<>());
+        transactions.put(EXPECTED, new LinkedList<>());
+        transactions.put(FORECAST, new LinkedList<>());
+        return CashCategory.builder()
+                .categoryName(new CategoryName(name))
+                .category(new Category(name))
+                .subCategories(new ArrayList<>())
+                .groupedTransactions(new GroupedTransactions(transactions))
+                .totalPaidValue(Money.zero("USD"))
+                .budgeting(null)
+                .build();
+    }
+}
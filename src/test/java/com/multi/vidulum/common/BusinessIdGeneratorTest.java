@@ -0,0 +1,79 @@
+package com.multi.vidulum.common;
+
+import com.multi.vidulum.cashflow.domain.CashChangeId;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BusinessIdGenerator: a block of cash change ids is reserved with one increment.
+ */
+@ExtendWith(MockitoExtension.class)
+class BusinessIdGeneratorTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private BusinessIdGenerator businessIdGenerator;
+
+    @BeforeEach
+    void setUp() {
+        businessIdGenerator = new BusinessIdGenerator(mongoTemplate);
+    }
+
+    @Test
+    void shouldReserveBlockOfCashChangeIdsWithOneIncrement() {
+        // given - the sequence ends at the last id of the reserved block
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(SequenceDocument.class)))
+                .thenReturn(new SequenceDocument("cashchange_sequence", 1_000_000_015L));
+
+        // when
+        List<CashChangeId> ids = businessIdGenerator.generateCashChangeIds(3);
+
+        // then
+        assertThat(ids).containsExactly(
+                CashChangeId.of("CC1000000013"), CashChangeId.of("CC1000000014"), CashChangeId.of("CC1000000015"));
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class), eq(SequenceDocument.class));
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class).get("value")).isEqualTo(3);
+        verify(mongoTemplate, never()).save(any());
+    }
+
+    @Test
+    void shouldStartNewSequenceAtInitialValue() {
+        // given - the upsert created the sequence at the increment only
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(SequenceDocument.class)))
+                .thenReturn(new SequenceDocument("cashchange_sequence", 2));
+
+        // when
+        List<CashChangeId> ids = businessIdGenerator.generateCashChangeIds(2);
+
+        // then
+        assertThat(ids).containsExactly(CashChangeId.of("CC1000000001"), CashChangeId.of("CC1000000002"));
+        verify(mongoTemplate).save(new SequenceDocument("cashchange_sequence", 1_000_000_002L));
+    }
+
+    @Test
+    void shouldReserveNothingForEmptyBlock() {
+        assertThat(businessIdGenerator.generateCashChangeIds(0)).isEmpty();
+        verifyNoInteractions(mongoTemplate);
+    }
+}
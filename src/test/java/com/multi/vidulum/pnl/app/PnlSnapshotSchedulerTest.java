@@ -0,0 +1,87 @@
+package com.multi.vidulum.pnl.app;
+
+import com.multi.vidulum.common.JobLeaseRepository;
+import com.multi.vidulum.common.UserId;
+import com.multi.vidulum.pnl.app.commands.MakePnlSnapshotCommand;
+import com.multi.vidulum.pnl.domain.DomainPnlRepository;
+import com.multi.vidulum.shared.cqrs.CommandGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PnlSnapshotScheduler: one node per day under a lease.
+ */
+@ExtendWith(MockitoExtension.class)
+class PnlSnapshotSchedulerTest {
+
+    private static final String LEASE_ID = "pnl-snapshot:2024-02-29";
+
+    @Mock
+    private DomainPnlRepository pnlRepository;
+
+    @Mock
+    private JobLeaseRepository leaseRepository;
+
+    @Mock
+    private CommandGateway commandGateway;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PnlSnapshotScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-03-01T00:15:00Z"), ZoneOffset.UTC);
+        scheduler = new PnlSnapshotScheduler(pnlRepository, leaseRepository, commandGateway, clock, meterRegistry, 4, 30);
+    }
+
+    @Test
+    void shouldSnapshotEveryUserAndCompleteTheDay() {
+        // given
+        when(leaseRepository.tryAcquire(eq(LEASE_ID), anyString(), any())).thenReturn(true);
+        when(pnlRepository.findAllUserIds()).thenReturn(List.of(UserId.of("U10000001"), UserId.of("U10000002")));
+        when(commandGateway.send(any(MakePnlSnapshotCommand.class)))
+                .thenReturn(null)
+                .thenThrow(new IllegalStateException("boom"));
+
+        // when
+        scheduler.snapshotAllUsers();
+
+        // then - completed despite the failure, a retry would snapshot the other user twice
+        verify(commandGateway, times(2)).send(any(MakePnlSnapshotCommand.class));
+        verify(leaseRepository).complete(eq(LEASE_ID), anyString());
+        assertThat(meterRegistry.get("vidulum.pnl.snapshots").tag("outcome", "success").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("vidulum.pnl.snapshots").tag("outcome", "failure").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSkipDayTakenByAnotherNode() {
+        // given
+        when(leaseRepository.tryAcquire(eq(LEASE_ID), anyString(), any())).thenReturn(false);
+
+        // when
+        scheduler.snapshotAllUsers();
+
+        // then
+        verifyNoInteractions(pnlRepository, commandGateway);
+        verify(leaseRepository, never()).complete(anyString(), anyString());
+    }
+}
@@ -0,0 +1,146 @@
+package com.multi.vidulum.pnl.app.commands;
+
+import com.multi.vidulum.common.*;
+import com.multi.vidulum.pnl.domain.DomainPnlRepository;
+import com.multi.vidulum.pnl.domain.PnlHistory;
+import com.multi.vidulum.pnl.domain.PnlId;
+import com.multi.vidulum.pnl.domain.PnlPortfolioStatement;
+import com.multi.vidulum.pnl.domain.PnlStatement;
+import com.multi.vidulum.portfolio.app.PortfolioDto;
+import com.multi.vidulum.portfolio.domain.TradingRestClient;
+import com.multi.vidulum.portfolio.domain.portfolio.PortfolioId;
+import com.multi.vidulum.trading.app.TradingDto;
+import com.multi.vidulum.user.domain.PortfolioRestClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MakePnlSnapshotCommandHandlerTest {
+
+    private static final UserId USER_ID = new UserId("U10000001");
+    private static final Range<ZonedDateTime> RANGE = Range.of(
+            ZonedDateTime.parse("2024-03-01T00:00:00Z"), ZonedDateTime.parse("2024-03-02T00:00:00Z"));
+
+    @Mock
+    private PortfolioRestClient portfolioRestClient;
+
+    @Mock
+    private TradingRestClient tradingRestClient;
+
+    @Mock
+    private DomainPnlRepository pnlRepository;
+
+    private MakePnlSnapshotCommandHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-03-02T00:15:00Z"), ZoneOffset.UTC);
+        handler = new MakePnlSnapshotCommandHandler(portfolioRestClient, tradingRestClient, pnlRepository, clock);
+    }
+
+    @Test
+    public void shouldFetchPortfolioSummariesConcurrently() {
+        // given - each portfolio lookup waits for the other one, which only works when they run concurrently
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(pnlRepository.findByUser(USER_ID)).thenReturn(Optional.of(emptyHistory()));
+        when(pnlRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(portfolioRestClient.getAggregatedPortfolio(USER_ID)).thenReturn(aggregatedPortfolio("P1", "P2"));
+        when(portfolioRestClient.getPortfolio(any())).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertThat(bothStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            return portfolioSummary(invocation.<PortfolioId>getArgument(0).getId());
+        });
+        when(tradingRestClient.getTradesInDateRange(USER_ID, RANGE)).thenReturn(List.of(trade("T1", "P2")));
+
+        // when
+        PnlHistory pnlHistory = handler.handle(MakePnlSnapshotCommand.builder().userId(USER_ID).dateTimeRange(RANGE).build());
+
+        // then - portfolio statements keep the order of the aggregated portfolio
+        PnlStatement pnlStatement = pnlHistory.getPnlStatements().getFirst();
+        assertThat(pnlStatement.getPnlPortfolioStatements())
+                .extracting(PnlPortfolioStatement::getPortfolioId)
+                .containsExactly(PortfolioId.of("P1"), PortfolioId.of("P2"));
+        assertThat(pnlStatement.getPnlPortfolioStatements().get(0).getExecutedTrades()).isEmpty();
+        assertThat(pnlStatement.getPnlPortfolioStatements().get(1).getExecutedTrades()).hasSize(1);
+        assertThat(pnlStatement.getDateTime()).isEqualTo(ZonedDateTime.parse("2024-03-02T00:15:00Z"));
+    }
+
+    @Test
+    public void shouldRethrowFailureOfPortfolioLookup() {
+        // given
+        when(pnlRepository.findByUser(USER_ID)).thenReturn(Optional.of(emptyHistory()));
+        when(portfolioRestClient.getAggregatedPortfolio(USER_ID)).thenReturn(aggregatedPortfolio("P1"));
+        when(portfolioRestClient.getPortfolio(PortfolioId.of("P1"))).thenThrow(new IllegalStateException("portfolio unavailable"));
+        when(tradingRestClient.getTradesInDateRange(USER_ID, RANGE)).thenReturn(List.of());
+
+        // when / then
+        assertThatThrownBy(() -> handler.handle(MakePnlSnapshotCommand.builder().userId(USER_ID).dateTimeRange(RANGE).build()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("portfolio unavailable");
+        verify(pnlRepository, never()).save(any());
+    }
+
+    private static PnlHistory emptyHistory() {
+        return PnlHistory.builder()
+                .pnlId(PnlId.of("PNL1"))
+                .userId(USER_ID)
+                .pnlStatements(new ArrayList<>())
+                .build();
+    }
+
+    private static PortfolioDto.AggregatedPortfolioSummaryJson aggregatedPortfolio(String... portfolioIds) {
+        return PortfolioDto.AggregatedPortfolioSummaryJson.builder()
+                .userId(USER_ID.getId())
+                .portfolioIds(List.of(portfolioIds))
+                .investedBalance(Money.of(1000, "USD"))
+                .currentValue(Money.of(1100, "USD"))
+                .totalProfit(Money.of(100, "USD"))
+                .pctProfit(0.1)
+                .build();
+    }
+
+    private static PortfolioDto.PortfolioSummaryJson portfolioSummary(String portfolioId) {
+        return PortfolioDto.PortfolioSummaryJson.builder()
+                .portfolioId(portfolioId)
+                .investedBalance(Money.of(500, "USD"))
+                .currentValue(Money.of(550, "USD"))
+                .profit(Money.of(50, "USD"))
+                .pctProfit(0.1)
+                .build();
+    }
+
+    private static TradingDto.TradeSummaryJson trade(String tradeId, String portfolioId) {
+        return TradingDto.TradeSummaryJson.builder()
+                .tradeId(tradeId)
+                .originTradeId(tradeId)
+                .userId(USER_ID.getId())
+                .portfolioId(portfolioId)
+                .subName("")
+                .symbol("BTC/USD")
+                .side(Side.BUY)
+                .quantity(Quantity.of(0.1))
+                .price(Price.of(40000, "USD"))
+                .originDateTime(ZonedDateTime.parse("2024-03-01T10:00:00Z"))
+                .build();
+    }
+}
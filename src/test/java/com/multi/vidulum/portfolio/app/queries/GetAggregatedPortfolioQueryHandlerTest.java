@@ -0,0 +1,99 @@
+package com.multi.vidulum.portfolio.app.queries;
+
+import com.multi.vidulum.common.*;
+import com.multi.vidulum.portfolio.app.AggregatedPortfolio;
+import com.multi.vidulum.portfolio.domain.AssetBasicInfo;
+import com.multi.vidulum.portfolio.domain.QuoteRestClient;
+import com.multi.vidulum.portfolio.domain.portfolio.DomainPortfolioRepository;
+import com.multi.vidulum.portfolio.domain.portfolio.Portfolio;
+import com.multi.vidulum.portfolio.domain.portfolio.PortfolioFactory;
+import com.multi.vidulum.portfolio.domain.portfolio.PortfolioId;
+import com.multi.vidulum.portfolio.domain.trades.ExecutedTrade;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetAggregatedPortfolioQueryHandlerTest {
+
+    private static final UserId USER_ID = new UserId("U10000001");
+    private static final Broker FIRST_BROKER = Broker.of("first-broker");
+    private static final Broker SECOND_BROKER = Broker.of("second-broker");
+
+    @Mock
+    private DomainPortfolioRepository repository;
+
+    @Mock
+    private QuoteRestClient quoteRestClientMock;
+
+    @InjectMocks
+    private GetAggregatedPortfolioQueryHandler handler;
+
+    @Test
+    public void shouldResolveBasicInfoOfAllPortfoliosInOneCall() {
+        // Given
+        Portfolio cryptoPortfolio = portfolioWithBitcoin(FIRST_BROKER);
+        Portfolio cashPortfolio = new PortfolioFactory().empty(PortfolioId.generate(), "cash", USER_ID, SECOND_BROKER, Currency.of("USD"));
+        cashPortfolio.depositMoney(Money.of(500, "USD"));
+        when(repository.findByUserId(USER_ID)).thenReturn(List.of(cryptoPortfolio, cashPortfolio));
+
+        QuoteRestClient.AssetKey firstUsd = new QuoteRestClient.AssetKey(FIRST_BROKER, Ticker.of("USD"));
+        QuoteRestClient.AssetKey firstBtc = new QuoteRestClient.AssetKey(FIRST_BROKER, Ticker.of("BTC"));
+        QuoteRestClient.AssetKey secondUsd = new QuoteRestClient.AssetKey(SECOND_BROKER, Ticker.of("USD"));
+        when(quoteRestClientMock.fetchBasicInfoAboutAssets(Set.of(firstUsd, firstBtc, secondUsd)))
+                .thenReturn(Map.of(
+                        firstUsd, basicInfo("USD", "Cash"),
+                        firstBtc, basicInfo("BTC", "Crypto"),
+                        secondUsd, basicInfo("USD", "Cash")));
+
+        // When
+        AggregatedPortfolio aggregatedPortfolio = handler.query(GetAggregatedPortfolioQuery.builder().userId(USER_ID).build());
+
+        // Then
+        assertThat(aggregatedPortfolio.fetchSegmentedAssets()).containsOnlyKeys(Segment.of("Cash"), Segment.of("Crypto"));
+        assertThat(aggregatedPortfolio.fetchSegmentedAssets().get(Segment.of("Cash"))).containsOnlyKeys(FIRST_BROKER, SECOND_BROKER);
+        assertThat(aggregatedPortfolio.getPortfolioIds())
+                .containsExactly(cryptoPortfolio.getPortfolioId(), cashPortfolio.getPortfolioId());
+        verify(quoteRestClientMock, never()).fetchBasicInfoAboutAsset(any(), any());
+    }
+
+    private static Portfolio portfolioWithBitcoin(Broker broker) {
+        Portfolio portfolio = new PortfolioFactory().empty(PortfolioId.generate(), "crypto", USER_ID, broker, Currency.of("USD"));
+        portfolio.depositMoney(Money.of(10000, "USD"));
+        portfolio.lockAsset(Ticker.of("USD"), OrderId.of("order-id"), Quantity.of(4000), ZonedDateTime.parse("2021-06-01T06:30:00Z"));
+        portfolio.handleExecutedTrade(
+                ExecutedTrade.builder()
+                        .portfolioId(portfolio.getPortfolioId())
+                        .orderId(OrderId.of("order-id"))
+                        .tradeId(TradeId.of("trade-1"))
+                        .symbol(Symbol.of("BTC/USD"))
+                        .subName(SubName.none())
+                        .side(Side.BUY)
+                        .quantity(Quantity.of(0.1))
+                        .price(Price.of(40000.0, "USD"))
+                        .build());
+        return portfolio;
+    }
+
+    private static AssetBasicInfo basicInfo(String ticker, String segment) {
+        return AssetBasicInfo.builder()
+                .ticker(Ticker.of(ticker))
+                .fullName(ticker)
+                .segment(Segment.of(segment))
+                .tags(List.of())
+                .build();
+    }
+}
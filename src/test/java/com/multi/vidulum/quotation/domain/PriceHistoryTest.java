@@ -0,0 +1,102 @@
+package com.multi.vidulum.quotation.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class PriceHistoryTest {
+
+    private static final Instant START = Instant.parse("2024-03-01T10:00:00Z");
+
+    @Test
+    void shouldOverwriteOldestSamplesWhenFull() {
+        // given
+        PriceHistory history = new PriceHistory(3, "USD");
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            history.append(at(i).toEpochMilli(), 100 + i);
+        }
+
+        // then
+        assertThat(history.size()).isEqualTo(3);
+        assertThat(history.range(START, at(10)))
+                .extracting(PriceHistory.Sample::price)
+                .containsExactly(102.0, 103.0, 104.0);
+    }
+
+    @Test
+    void shouldReturnSamplesWithinInclusiveRange() {
+        // given
+        PriceHistory history = historyOf(100, 101, 102, 103, 104);
+
+        // when
+        List<PriceHistory.Sample> samples = history.range(at(1), at(3));
+
+        // then
+        assertThat(samples).containsExactly(
+                new PriceHistory.Sample(at(1), 101),
+                new PriceHistory.Sample(at(2), 102),
+                new PriceHistory.Sample(at(3), 103));
+    }
+
+    @Test
+    void shouldDropTicksOlderThanLatestSample() {
+        // given
+        PriceHistory history = historyOf(100, 101);
+
+        // when
+        boolean appended = history.append(at(0).toEpochMilli(), 99);
+
+        // then
+        assertThat(appended).isFalse();
+        assertThat(history.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDownsampleIntoAlignedOhlcBars() {
+        // given - one tick every 20 seconds
+        PriceHistory history = new PriceHistory(16, "USD");
+        double[] prices = {100, 105, 98, 101, 110, 107};
+        for (int i = 0; i < prices.length; i++) {
+            history.append(START.plusSeconds(20L * i).toEpochMilli(), prices[i]);
+        }
+
+        // when
+        List<PriceHistory.Bar> bars = history.bars(START, START.plusSeconds(300), Duration.ofMinutes(1));
+
+        // then
+        assertThat(bars).containsExactly(
+                new PriceHistory.Bar(START, 100, 105, 98, 98, 3),
+                new PriceHistory.Bar(START.plusSeconds(60), 101, 110, 101, 107, 3));
+    }
+
+    @Test
+    void shouldCalculateChangeAgainstPriceAtGivenTime() {
+        // given
+        PriceHistory history = historyOf(100, 110, 120, 125);
+
+        // then - reference is the last sample at or before the time
+        assertThat(history.changeSince(at(1)).getAsDouble()).isCloseTo(125.0 / 110 - 1, offset(1e-9));
+        // reference is the oldest sample when the history starts later
+        assertThat(history.changeSince(START.minusSeconds(60)).getAsDouble()).isCloseTo(0.25, offset(1e-9));
+        assertThat(new PriceHistory(4, "USD").changeSince(START)).isEmpty();
+    }
+
+    private static PriceHistory historyOf(double... prices) {
+        PriceHistory history = new PriceHistory(16, "USD");
+        for (int i = 0; i < prices.length; i++) {
+            history.append(at(i).toEpochMilli(), prices[i]);
+        }
+        return history;
+    }
+
+    private static Instant at(int second) {
+        return START.plusSeconds(second);
+    }
+}
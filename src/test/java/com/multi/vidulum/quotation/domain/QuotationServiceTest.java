@@ -0,0 +1,114 @@
+package com.multi.vidulum.quotation.domain;
+
+import com.multi.vidulum.common.Broker;
+import com.multi.vidulum.common.Price;
+import com.multi.vidulum.common.Symbol;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuotationServiceTest {
+
+    private static final Broker BINANCE = Broker.of("BINANCE");
+    private static final Symbol BTC_USD = Symbol.of("BTC/USD");
+    private static final Symbol ETH_USD = Symbol.of("ETH/USD");
+    private static final ZonedDateTime START = ZonedDateTime.ofInstant(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC);
+
+    private QuotationService quotationService;
+
+    @BeforeEach
+    void setUp() {
+        quotationService = new QuotationService();
+        quotationService.registerBroker(new BrokerQuotationProvider(BINANCE) {
+        });
+    }
+
+    @Test
+    void shouldConflateBatchToNewestTickPerSymbol() {
+        // given - a poll with interleaved ticks, the last ETH tick delivered out of order
+        List<PriceChangedEvent> poll = List.of(
+                tick(BTC_USD, 60_000, 0),
+                tick(ETH_USD, 3_000, 0),
+                tick(BTC_USD, 60_100, 1),
+                tick(ETH_USD, 3_010, 2),
+                tick(BTC_USD, 60_200, 2),
+                tick(ETH_USD, 3_005, 1));
+
+        // when
+        quotationService.onPriceChanges(poll);
+
+        // then - latest prices come from the newest ticks
+        assertThat(quotationService.fetch(BINANCE, BTC_USD).getCurrentPrice()).isEqualTo(Price.of(60_200, "USD"));
+        assertThat(quotationService.fetch(BINANCE, ETH_USD).getCurrentPrice()).isEqualTo(Price.of(3_010, "USD"));
+        // every in-order tick is still kept in the history
+        assertThat(quotationService.fetchHistory(BINANCE, BTC_USD).size()).isEqualTo(3);
+        assertThat(quotationService.fetchHistory(BINANCE, ETH_USD).size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSkipTicksOfUnknownBrokerAndApplyTheRest() {
+        // given
+        PriceChangedEvent unknown = tick(BTC_USD, 1, 0);
+        unknown.setBroker(Broker.of("UNKNOWN"));
+
+        // when
+        quotationService.onPriceChanges(List.of(unknown, tick(BTC_USD, 60_000, 0)));
+
+        // then
+        assertThat(quotationService.fetch(BINANCE, BTC_USD).getCurrentPrice()).isEqualTo(Price.of(60_000, "USD"));
+    }
+
+    @Test
+    void shouldCompactJournalOnceItOutgrowsHistories() {
+        // given - histories of two samples per symbol, journaling into a recording journal
+        List<Integer> rewrites = new ArrayList<>();
+        QuotationService service = new QuotationService();
+        service.registerBroker(new BrokerQuotationProvider(BINANCE, 2, recordingJournal(rewrites)) {
+        });
+        service.onPriceChanges(List.of(tick(BTC_USD, 60_000, 0)));
+
+        // when
+        service.compactJournals();
+        service.onPriceChanges(List.of(tick(BTC_USD, 60_100, 1), tick(BTC_USD, 60_200, 2)));
+        service.compactJournals();
+        service.compactJournals();
+
+        // then - compacted once, to the two samples the history kept
+        assertThat(rewrites).containsExactly(2);
+    }
+
+    private static PriceHistoryJournal recordingJournal(List<Integer> rewrites) {
+        return new PriceHistoryJournal() {
+            @Override
+            public void append(Broker broker, Symbol symbol, String currency, long epochMillis, double price) {
+            }
+
+            @Override
+            public void replay(Broker broker, Sink sink) {
+            }
+
+            @Override
+            public void rewrite(Broker broker, Map<Symbol, PriceHistory> histories) {
+                rewrites.add(histories.values().stream().mapToInt(PriceHistory::size).sum());
+            }
+        };
+    }
+
+    private static PriceChangedEvent tick(Symbol symbol, double price, int second) {
+        return PriceChangedEvent.builder()
+                .broker(BINANCE)
+                .symbol(symbol)
+                .currentPrice(Price.of(price, "USD"))
+                .pctChange(0)
+                .dateTime(START.plusSeconds(second))
+                .build();
+    }
+}
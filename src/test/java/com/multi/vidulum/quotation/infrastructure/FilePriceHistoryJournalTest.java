@@ -0,0 +1,88 @@
+package com.multi.vidulum.quotation.infrastructure;
+
+import com.multi.vidulum.common.Broker;
+import com.multi.vidulum.common.Symbol;
+import com.multi.vidulum.quotation.domain.PriceHistory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilePriceHistoryJournalTest {
+
+    private static final Broker BROKER = Broker.of("BINANCE");
+    private static final Symbol BTC_USD = Symbol.of("BTC/USD");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReplayAppendedSamplesInOrder() {
+        // given
+        FilePriceHistoryJournal journal = new FilePriceHistoryJournal(directory);
+        journal.append(BROKER, BTC_USD, "USD", 1_000L, 60_000.0);
+        journal.append(BROKER, BTC_USD, "USD", 2_000L, 60_500.5);
+        journal.close();
+
+        // when
+        List<String> replayed = replay(new FilePriceHistoryJournal(directory));
+
+        // then
+        assertThat(replayed).containsExactly("BTC/USD USD 1000 60000.0", "BTC/USD USD 2000 60500.5");
+    }
+
+    @Test
+    void shouldStopReplayAtRecordCutShortByCrash() throws IOException {
+        // given
+        FilePriceHistoryJournal journal = new FilePriceHistoryJournal(directory);
+        journal.append(BROKER, BTC_USD, "USD", 1_000L, 60_000.0);
+        journal.append(BROKER, BTC_USD, "USD", 2_000L, 60_500.0);
+        journal.close();
+        Path file = directory.resolve("BINANCE.prices");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        // when
+        List<String> replayed = replay(new FilePriceHistoryJournal(directory));
+
+        // then
+        assertThat(replayed).containsExactly("BTC/USD USD 1000 60000.0");
+    }
+
+    @Test
+    void shouldRewriteJournalToSamplesKeptByHistories() {
+        // given - the history kept only the last two of three samples
+        FilePriceHistoryJournal journal = new FilePriceHistoryJournal(directory);
+        PriceHistory history = new PriceHistory(2, "USD");
+        for (long i = 1; i <= 3; i++) {
+            journal.append(BROKER, BTC_USD, "USD", i * 1_000L, 60_000.0 + i);
+            history.append(i * 1_000L, 60_000.0 + i);
+        }
+
+        // when
+        journal.rewrite(BROKER, Map.of(BTC_USD, history));
+        journal.append(BROKER, BTC_USD, "USD", 4_000L, 60_004.0);
+        journal.close();
+
+        // then
+        assertThat(replay(new FilePriceHistoryJournal(directory))).containsExactly(
+                "BTC/USD USD 2000 60002.0",
+                "BTC/USD USD 3000 60003.0",
+                "BTC/USD USD 4000 60004.0");
+    }
+
+    private static List<String> replay(FilePriceHistoryJournal journal) {
+        List<String> replayed = new ArrayList<>();
+        journal.replay(BROKER, (symbol, currency, epochMillis, price) ->
+                replayed.add(symbol.getId() + " " + currency + " " + epochMillis + " " + price));
+        return replayed;
+    }
+}
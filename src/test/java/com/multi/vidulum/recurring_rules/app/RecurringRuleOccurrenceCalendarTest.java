@@ -0,0 +1,137 @@
+package com.multi.vidulum.recurring_rules.app;
+
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.cashflow.domain.CategoryName;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.common.UserId;
+import com.multi.vidulum.recurring_rules.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RecurringRuleOccurrenceCalendar.
+ */
+@ExtendWith(MockitoExtension.class)
+class RecurringRuleOccurrenceCalendarTest {
+
+    private static final CashFlowId CASH_FLOW_ID = CashFlowId.of("CF10000001");
+    private static final UserId USER_ID = UserId.of("U10000001");
+    private static final LocalDate WINDOW_START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate WINDOW_END = LocalDate.of(2025, 2, 28);
+
+    @Mock
+    private DomainRecurringRuleRepository ruleRepository;
+
+    @Mock
+    private DomainOccurrenceCalendarRepository calendarRepository;
+
+    private RecurringRuleOccurrenceCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-03-15T10:00:00Z"), ZoneOffset.UTC);
+        calendar = new RecurringRuleOccurrenceCalendar(ruleRepository, calendarRepository, clock);
+    }
+
+    @Test
+    void refresh_shouldReplaceOnlyRuleOccurrencesWhenCalendarIsCurrent() {
+        // given
+        RecurringRule rule = monthlyRule(RuleStatus.ACTIVE);
+        when(calendarRepository.findWindowStart(CASH_FLOW_ID)).thenReturn(Optional.of(WINDOW_START));
+
+        // when
+        calendar.refresh(rule);
+
+        // then - one occurrence per month of the 12-month window
+        ArgumentCaptor<List<RuleOccurrence>> captor = ArgumentCaptor.captor();
+        verify(calendarRepository).replaceOccurrences(eq(rule.getRuleId()), captor.capture());
+        assertThat(captor.getValue()).hasSize(12);
+        assertThat(captor.getValue().getFirst().dueDate()).isEqualTo(LocalDate.of(2024, 3, 10));
+        assertThat(captor.getValue().getFirst().amount()).isEqualTo(Money.of(-1500, "PLN"));
+        verify(calendarRepository, never()).replaceCalendar(any(), any(), any(), anyList());
+    }
+
+    @Test
+    void refresh_shouldRemoveOccurrencesOfRuleThatIsNoLongerActive() {
+        // given
+        RecurringRule rule = monthlyRule(RuleStatus.PAUSED);
+        when(calendarRepository.findWindowStart(CASH_FLOW_ID)).thenReturn(Optional.of(WINDOW_START));
+
+        // when
+        calendar.refresh(rule);
+
+        // then
+        verify(calendarRepository).replaceOccurrences(rule.getRuleId(), List.of());
+    }
+
+    @Test
+    void find_shouldRebuildCalendarBuiltInEarlierMonth() {
+        // given
+        RecurringRule rule = monthlyRule(RuleStatus.ACTIVE);
+        when(calendarRepository.findWindowStart(CASH_FLOW_ID)).thenReturn(Optional.of(LocalDate.of(2024, 2, 1)));
+        when(ruleRepository.findActiveRulesByCashFlowId(CASH_FLOW_ID)).thenReturn(List.of(rule));
+
+        // when
+        calendar.find(USER_ID, CASH_FLOW_ID, WINDOW_START, LocalDate.of(2024, 3, 31));
+
+        // then
+        ArgumentCaptor<List<RuleOccurrence>> captor = ArgumentCaptor.captor();
+        verify(calendarRepository).replaceCalendar(eq(CASH_FLOW_ID), eq(WINDOW_START), eq(WINDOW_END), captor.capture());
+        assertThat(captor.getValue()).hasSize(12);
+        verify(calendarRepository).findByUserIdAndCashFlowIdAndDueDateBetween(USER_ID, CASH_FLOW_ID, WINDOW_START, LocalDate.of(2024, 3, 31));
+    }
+
+    @Test
+    void rebuildStaleCalendars_shouldRebuildEveryStaleCashFlow() {
+        // given
+        CashFlowId otherCashFlowId = CashFlowId.of("CF10000002");
+        when(calendarRepository.findCashFlowsWithWindowStartBefore(WINDOW_START)).thenReturn(List.of(CASH_FLOW_ID, otherCashFlowId));
+        when(ruleRepository.findActiveRulesByCashFlowId(any())).thenReturn(List.of());
+
+        // when
+        int rebuilt = calendar.rebuildStaleCalendars();
+
+        // then
+        assertThat(rebuilt).isEqualTo(2);
+        verify(calendarRepository).replaceCalendar(CASH_FLOW_ID, WINDOW_START, WINDOW_END, List.of());
+        verify(calendarRepository).replaceCalendar(otherCashFlowId, WINDOW_START, WINDOW_END, List.of());
+    }
+
+    private RecurringRule monthlyRule(RuleStatus status) {
+        return RecurringRule.builder()
+                .ruleId(RecurringRuleId.generate(1))
+                .userId(USER_ID)
+                .cashFlowId(CASH_FLOW_ID)
+                .name("Rent")
+                .baseAmount(Money.of(-1500, "PLN"))
+                .categoryName(new CategoryName("Rent"))
+                .pattern(new MonthlyPattern(10, 1, false))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .activeMonths(List.of())
+                .excludedDates(List.of())
+                .status(status)
+                .amountChanges(List.of())
+                .executions(List.of())
+                .generatedCashChangeIds(List.of())
+                .build();
+    }
+}
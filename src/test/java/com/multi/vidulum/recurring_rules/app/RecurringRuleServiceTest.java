@@ -0,0 +1,177 @@
+package com.multi.vidulum.recurring_rules.app;
+
+import com.multi.vidulum.cashflow.domain.CashChangeId;
+import com.multi.vidulum.cashflow.domain.CashFlowId;
+import com.multi.vidulum.cashflow.domain.CategoryName;
+import com.multi.vidulum.common.Money;
+import com.multi.vidulum.common.UserId;
+import com.multi.vidulum.recurring_rules.app.commands.GenerateExpectedCashChangesCommand;
+import com.multi.vidulum.recurring_rules.app.commands.ResumeRuleCommand;
+import com.multi.vidulum.recurring_rules.domain.*;
+import com.multi.vidulum.recurring_rules.infrastructure.CashFlowCommandClient;
+import com.multi.vidulum.recurring_rules.infrastructure.CashFlowHttpClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RecurringRuleService with virtual occurrences.
+ */
+@ExtendWith(MockitoExtension.class)
+class RecurringRuleServiceTest {
+
+    private static final String AUTH_TOKEN = "token";
+    private static final CashFlowId CASH_FLOW_ID = CashFlowId.of("CF10000001");
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private DomainRecurringRuleRepository ruleRepository;
+
+    @Mock
+    private CashFlowHttpClient cashFlowHttpClient;
+
+    @Mock
+    private CashFlowCommandClient cashFlowCommandClient;
+
+    @Mock
+    private RecurringRuleDefinitionEmitter definitionEmitter;
+
+    @Mock
+    private RecurringRuleOccurrenceCalendar occurrenceCalendar;
+
+    private RecurringRuleService service;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2024-03-15T10:00:00Z"), ZoneOffset.UTC);
+        service = new RecurringRuleService(ruleRepository, cashFlowHttpClient, cashFlowCommandClient, definitionEmitter, occurrenceCalendar, clock);
+        ReflectionTestUtils.setField(service, "virtualOccurrences", true);
+    }
+
+    @Test
+    void generate_shouldCreateOccurrencesDueSinceLastMaterialization() throws Exception {
+        // given - last materialized three days ago
+        RecurringRule rule = dailyRule(LocalDate.of(2024, 3, 12), null);
+        when(ruleRepository.findById(rule.getRuleId())).thenReturn(Optional.of(rule));
+        when(cashFlowHttpClient.createExpectedCashChanges(eq(CASH_FLOW_ID), eq(rule.getRuleId()), anyList(), eq(AUTH_TOKEN)))
+                .thenAnswer(invocation -> cashChangeIds(invocation.getArgument(2)));
+
+        // when
+        service.handle(new GenerateExpectedCashChangesCommand(rule.getRuleId().id()), AUTH_TOKEN);
+
+        // then - the gap is created along with today's occurrence
+        assertThat(dueDates()).containsExactly(
+                LocalDate.of(2024, 3, 13), LocalDate.of(2024, 3, 14), TODAY);
+        assertThat(rule.getMaterializedThrough()).contains(TODAY);
+    }
+
+    @Test
+    void generate_shouldNotCreateOccurrencesBeforeCurrentMonth() throws Exception {
+        // given - last materialized in February
+        RecurringRule rule = dailyRule(LocalDate.of(2024, 2, 20), null);
+        when(ruleRepository.findById(rule.getRuleId())).thenReturn(Optional.of(rule));
+        when(cashFlowHttpClient.createExpectedCashChanges(eq(CASH_FLOW_ID), eq(rule.getRuleId()), anyList(), eq(AUTH_TOKEN)))
+                .thenAnswer(invocation -> cashChangeIds(invocation.getArgument(2)));
+
+        // when
+        service.handle(new GenerateExpectedCashChangesCommand(rule.getRuleId().id()), AUTH_TOKEN);
+
+        // then
+        List<LocalDate> dueDates = dueDates();
+        assertThat(dueDates).hasSize(15);
+        assertThat(dueDates.getFirst()).isEqualTo(LocalDate.of(2024, 3, 1));
+    }
+
+    @Test
+    void resume_shouldSkipOccurrencesOfPausedPeriod() throws Exception {
+        // given - paused since the last materialization
+        RecurringRule rule = dailyRule(LocalDate.of(2024, 3, 12),
+                PauseInfo.indefinite(Instant.parse("2024-03-12T18:00:00Z"), "holiday"));
+        when(ruleRepository.findById(rule.getRuleId())).thenReturn(Optional.of(rule));
+        when(cashFlowHttpClient.createExpectedCashChanges(eq(CASH_FLOW_ID), eq(rule.getRuleId()), anyList(), eq(AUTH_TOKEN)))
+                .thenAnswer(invocation -> cashChangeIds(invocation.getArgument(2)));
+
+        // when
+        service.handle(new ResumeRuleCommand(rule.getRuleId().id()), AUTH_TOKEN);
+
+        // then
+        assertThat(dueDates()).containsExactly(TODAY);
+    }
+
+    @Test
+    void materializeDueOccurrences_shouldAppendInProcessWithoutToken() throws Exception {
+        // given - last materialized two days ago
+        RecurringRule rule = dailyRule(LocalDate.of(2024, 3, 13), null);
+        when(ruleRepository.findById(rule.getRuleId())).thenReturn(Optional.of(rule));
+        when(cashFlowCommandClient.createExpectedCashChanges(eq(CASH_FLOW_ID), eq(rule.getRuleId()), anyList()))
+                .thenAnswer(invocation -> cashChangeIds(invocation.getArgument(2)));
+
+        // when
+        service.materializeDueOccurrences(rule.getRuleId());
+
+        // then
+        ArgumentCaptor<List<CashFlowHttpClient.ExpectedCashChangeRequest>> captor = ArgumentCaptor.captor();
+        verify(cashFlowCommandClient).createExpectedCashChanges(any(), any(), captor.capture());
+        assertThat(captor.getValue())
+                .extracting(request -> request.dueDate().toLocalDate())
+                .containsExactly(LocalDate.of(2024, 3, 14), TODAY);
+        assertThat(rule.getMaterializedThrough()).contains(TODAY);
+        verifyNoInteractions(cashFlowHttpClient);
+    }
+
+    private List<LocalDate> dueDates() throws Exception {
+        ArgumentCaptor<List<CashFlowHttpClient.ExpectedCashChangeRequest>> captor = ArgumentCaptor.captor();
+        verify(cashFlowHttpClient).createExpectedCashChanges(any(), any(), captor.capture(), any());
+        return captor.getValue().stream()
+                .map(request -> request.dueDate().toLocalDate())
+                .toList();
+    }
+
+    private static List<CashChangeId> cashChangeIds(List<?> requests) {
+        return IntStream.range(0, requests.size())
+                .mapToObj(i -> CashChangeId.of("CC%010d".formatted(i)))
+                .toList();
+    }
+
+    private static RecurringRule dailyRule(LocalDate materializedThrough, PauseInfo pauseInfo) {
+        return RecurringRule.builder()
+                .ruleId(RecurringRuleId.generate(1))
+                .userId(UserId.of("U10000001"))
+                .cashFlowId(CASH_FLOW_ID)
+                .name("Lunch")
+                .baseAmount(Money.of(-30, "PLN"))
+                .categoryName(new CategoryName("Food"))
+                .pattern(new DailyPattern(1))
+                .startDate(LocalDate.of(2024, 1, 1))
+                .activeMonths(List.of())
+                .excludedDates(List.of())
+                .status(pauseInfo != null ? RuleStatus.PAUSED : RuleStatus.ACTIVE)
+                .pauseInfo(pauseInfo)
+                .amountChanges(List.of())
+                .executions(List.of())
+                .generatedCashChangeIds(new ArrayList<>())
+                .materializedThrough(materializedThrough)
+                .build();
+    }
+}
@@ -5,6 +5,7 @@ import com.multi.vidulum.cashflow.domain.CashFlowId;
 import com.multi.vidulum.cashflow.domain.CategoryName;
 import com.multi.vidulum.common.Money;
 import com.multi.vidulum.recurring_rules.domain.RecurringRuleId;
+import com.multi.vidulum.recurring_rules.domain.exceptions.CashFlowCommunicationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -18,14 +19,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -252,6 +256,124 @@ class CashFlowHttpClientTest {
                 .containsExactlyInAnyOrder("Food", "Coffee", "Transport", "Rent");
     }
 
+    // ==================== Batch Create Tests ====================
+
+    @Nested
+    class CreateExpectedCashChangesTests {
+
+        private static final RecurringRuleId RULE_ID = RecurringRuleId.of("RR00000001");
+
+        private CashFlowHttpClient.ExpectedCashChangeRequest occurrence(String dueDate) {
+            return new CashFlowHttpClient.ExpectedCashChangeRequest(
+                    new CategoryName("Rent"),
+                    "Monthly rent",
+                    null,
+                    Money.of(2500, "PLN"),
+                    "OUTFLOW",
+                    ZonedDateTime.parse(dueDate)
+            );
+        }
+
+        @Test
+        void shouldReturnCashChangeIdsInOrder() throws Exception {
+            // GIVEN
+            Map<String, Object> response = Map.of(
+                    "cashChangeIds", List.of("CC1000000001", "CC1000000002", "CC1000000003")
+            );
+
+            when(restTemplate.exchange(
+                    anyString(),
+                    eq(HttpMethod.POST),
+                    any(HttpEntity.class),
+                    eq(Map.class)
+            )).thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
+
+            // WHEN
+            List<CashChangeId> result = cashFlowHttpClient.createExpectedCashChanges(
+                    CASH_FLOW_ID, RULE_ID,
+                    List.of(occurrence("2022-01-10T00:00:00Z"), occurrence("2022-02-10T00:00:00Z"), occurrence("2022-03-10T00:00:00Z")),
+                    AUTH_TOKEN
+            );
+
+            // THEN
+            assertThat(result).containsExactly(
+                    CashChangeId.of("CC1000000001"),
+                    CashChangeId.of("CC1000000002"),
+                    CashChangeId.of("CC1000000003")
+            );
+        }
+
+        @Test
+        void shouldReturnEmptyListWithoutHttpCallForNoOccurrences() throws Exception {
+            // WHEN
+            List<CashChangeId> result = cashFlowHttpClient.createExpectedCashChanges(
+                    CASH_FLOW_ID, RULE_ID, List.of(), AUTH_TOKEN
+            );
+
+            // THEN
+            assertThat(result).isEmpty();
+            verifyNoInteractions(restTemplate);
+        }
+
+        @Test
+        void shouldFailWhenResponseIsMissingIds() {
+            // GIVEN: two occurrences requested, one id returned
+            Map<String, Object> response = Map.of("cashChangeIds", List.of("CC1000000001"));
+
+            when(restTemplate.exchange(
+                    anyString(),
+                    eq(HttpMethod.POST),
+                    any(HttpEntity.class),
+                    eq(Map.class)
+            )).thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
+
+            // WHEN & THEN
+            assertThatThrownBy(() -> cashFlowHttpClient.createExpectedCashChanges(
+                    CASH_FLOW_ID, RULE_ID,
+                    List.of(occurrence("2022-01-10T00:00:00Z"), occurrence("2022-02-10T00:00:00Z")),
+                    AUTH_TOKEN
+            )).isInstanceOf(CashFlowCommunicationException.class);
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void shouldSendCorrectRequestBody() throws Exception {
+            // GIVEN
+            Map<String, Object> response = Map.of("cashChangeIds", List.of("CC1000000001"));
+
+            ArgumentCaptor<String> urlCaptor = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<HttpEntity> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+
+            when(restTemplate.exchange(
+                    urlCaptor.capture(),
+                    eq(HttpMethod.POST),
+                    entityCaptor.capture(),
+                    eq(Map.class)
+            )).thenReturn(new ResponseEntity<>(response, HttpStatus.OK));
+
+            // WHEN
+            cashFlowHttpClient.createExpectedCashChanges(
+                    CASH_FLOW_ID, RULE_ID, List.of(occurrence("2022-01-10T00:00:00Z")), AUTH_TOKEN
+            );
+
+            // THEN: Verify url and request body
+            assertThat(urlCaptor.getValue()).endsWith("/cash-flow/cf=CF10000001/expected-cash-changes/batch");
+
+            HttpEntity<Map<String, Object>> capturedEntity = entityCaptor.getValue();
+            Map<String, Object> requestBody = capturedEntity.getBody();
+
+            assertThat(requestBody.get("sourceRuleId")).isEqualTo("RR00000001");
+            List<Map<String, Object>> cashChanges = (List<Map<String, Object>>) requestBody.get("cashChanges");
+            assertThat(cashChanges).hasSize(1);
+            assertThat(cashChanges.get(0))
+                    .containsEntry("category", "Rent")
+                    .containsEntry("name", "Monthly rent")
+                    .containsEntry("type", "OUTFLOW")
+                    .containsEntry("dueDate", "2022-01-10T00:00Z")
+                    .doesNotContainKey("description");
+        }
+    }
+
     // ==================== Batch Delete Tests ====================
 
     @Nested
@@ -0,0 +1,210 @@
+package com.multi.vidulum.risk_management.app;
+
+import com.multi.vidulum.common.*;
+import com.multi.vidulum.portfolio.app.PortfolioDto;
+import com.multi.vidulum.portfolio.domain.QuoteRestClient;
+import com.multi.vidulum.portfolio.domain.TradingRestClient;
+import com.multi.vidulum.portfolio.domain.portfolio.PortfolioId;
+import com.multi.vidulum.quotation.domain.PriceChangedEvent;
+import com.multi.vidulum.risk_management.domain.RiskManagementEngine;
+import com.multi.vidulum.risk_management.domain.RiskManagementStatement;
+import com.multi.vidulum.trading.app.TradingDto;
+import com.multi.vidulum.user.domain.PortfolioRestClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LiveRiskStatements: tick-driven recalculation must match a full rebuild.
+ */
+@ExtendWith(MockitoExtension.class)
+class LiveRiskStatementsTest {
+
+    private static final PortfolioId PORTFOLIO_ID = PortfolioId.of("P10000001");
+    private static final ZonedDateTime NOW = ZonedDateTime.ofInstant(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private PortfolioRestClient portfolioRestClient;
+
+    @Mock
+    private TradingRestClient tradingRestClient;
+
+    @Mock
+    private QuoteRestClient quoteRestClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RiskManagementEngine engine;
+    private LiveRiskStatements liveRiskStatements;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(), ZoneOffset.UTC);
+        engine = new RiskManagementEngine(portfolioRestClient, tradingRestClient, quoteRestClient, clock);
+        liveRiskStatements = new LiveRiskStatements(engine, clock, meterRegistry, true, 100, 30, 10);
+    }
+
+    @Test
+    void shouldRecalculateTickedAssetWithoutRebuildingPortfolio() {
+        // given - BTC half covered by a stop loss at 55 000, ETH unprotected
+        when(portfolioRestClient.getPortfolio(PORTFOLIO_ID)).thenReturn(portfolio(60_000, 3_000));
+        when(tradingRestClient.getOpenedOrders(PORTFOLIO_ID)).thenReturn(List.of(stopLoss()));
+        liveRiskStatements.statement(PORTFOLIO_ID);
+
+        // when
+        liveRiskStatements.onPriceChanges(List.of(
+                tick("BTC/USD", 61_000, 0),
+                tick("BTC/USD", 62_000, 1),
+                tick("BTC/EUR", 57_000, 1)));
+        RiskManagementStatement live = liveRiskStatements.statement(PORTFOLIO_ID);
+
+        // then - the portfolio is not read again, and the result equals a full rebuild at the new price
+        verify(portfolioRestClient, times(1)).getPortfolio(PORTFOLIO_ID);
+        when(portfolioRestClient.getPortfolio(PORTFOLIO_ID)).thenReturn(portfolio(62_000, 3_000));
+        assertThat(live).isEqualTo(engine.accept(PORTFOLIO_ID));
+        assertThat(live.getRisk()).isEqualTo(Money.of(0.5 * 7_000 + 0.5 * 62_000 + 2 * 3_000, "USD"));
+        assertThat(meterRegistry.get("vidulum.risk.asset_recalculations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReseedAfterOrderFillInvalidatedState() {
+        // given
+        when(portfolioRestClient.getPortfolio(PORTFOLIO_ID)).thenReturn(portfolio(60_000, 3_000));
+        when(tradingRestClient.getOpenedOrders(PORTFOLIO_ID)).thenReturn(List.of(stopLoss()));
+        liveRiskStatements.statement(PORTFOLIO_ID);
+
+        // when - the stop loss got filled
+        when(tradingRestClient.getOpenedOrders(PORTFOLIO_ID)).thenReturn(List.of());
+        liveRiskStatements.invalidate(PORTFOLIO_ID);
+        RiskManagementStatement statement = liveRiskStatements.statement(PORTFOLIO_ID);
+
+        // then
+        verify(portfolioRestClient, times(2)).getPortfolio(PORTFOLIO_ID);
+        assertThat(statement.getAssetRiskManagementStatements().get(0).getStopLosses()).isEmpty();
+        assertThat(statement.getRisk()).isEqualTo(Money.of(60_000 + 2 * 3_000, "USD"));
+    }
+
+    @Test
+    void shouldApplyTickArrivingWhileSeeding() {
+        // given - BTC ticks while the portfolio is being read
+        when(portfolioRestClient.getPortfolio(PORTFOLIO_ID)).thenAnswer(invocation -> {
+            liveRiskStatements.onPriceChanges(List.of(tick("BTC/USD", 62_000, 0)));
+            return portfolio(60_000, 3_000);
+        });
+        when(tradingRestClient.getOpenedOrders(PORTFOLIO_ID)).thenReturn(List.of(stopLoss()));
+
+        // when
+        RiskManagementStatement statement = liveRiskStatements.statement(PORTFOLIO_ID);
+
+        // then
+        assertThat(statement.getCurrentValue()).isEqualTo(Money.of(62_000 + 2 * 3_000 + 1_000, "USD"));
+    }
+
+    @Test
+    void shouldFollowUsdtTicksOfAssetWithoutUsdTicks() {
+        // given
+        when(portfolioRestClient.getPortfolio(PORTFOLIO_ID)).thenReturn(portfolio(60_000, 3_000));
+        when(tradingRestClient.getOpenedOrders(PORTFOLIO_ID)).thenReturn(List.of());
+        liveRiskStatements.statement(PORTFOLIO_ID);
+
+        // when - USDT until the first USD tick, which then takes precedence
+        liveRiskStatements.onPriceChanges(List.of(tick("ETH/USDT", 3_100, 0)));
+        Money usdtValue = liveRiskStatements.statement(PORTFOLIO_ID).getCurrentValue();
+        liveRiskStatements.onPriceChanges(List.of(tick("ETH/USD", 3_200, 1)));
+        liveRiskStatements.onPriceChanges(List.of(tick("ETH/USDT", 3_300, 2)));
+        Money usdValue = liveRiskStatements.statement(PORTFOLIO_ID).getCurrentValue();
+
+        // then
+        assertThat(usdtValue).isEqualTo(Money.of(60_000 + 2 * 3_100 + 1_000, "USD"));
+        assertThat(usdValue).isEqualTo(Money.of(60_000 + 2 * 3_200 + 1_000, "USD"));
+    }
+
+    @Test
+    void shouldSeedWithoutQuotesOfStopLossesThatCannotBeResolved() {
+        // given - a EUR stop loss of held BTC without a quote, and one of SOL, which is not held
+        when(portfolioRestClient.getPortfolio(PORTFOLIO_ID)).thenReturn(portfolio(60_000, 3_000));
+        when(tradingRestClient.getOpenedOrders(PORTFOLIO_ID)).thenReturn(List.of(
+                stopLoss("O10000002", "BTC/EUR", 50_000), stopLoss("O10000003", "SOL/EUR", 100)));
+        when(quoteRestClient.fetchAll(Set.of(new QuoteRestClient.PriceKey(Broker.of("BINANCE"), Symbol.of("BTC/USD")))))
+                .thenReturn(Map.of());
+
+        // when
+        RiskManagementStatement statement = liveRiskStatements.statement(PORTFOLIO_ID);
+
+        // then - only the held asset is quoted, its stop loss is levelled at the current price
+        assertThat(statement.getAssetRiskManagementStatements().get(0).getStopLosses())
+                .singleElement()
+                .satisfies(stopLoss -> assertThat(stopLoss.isApplicable()).isFalse());
+        assertThat(statement.getRisk()).isEqualTo(Money.of(60_000 + 2 * 3_000, "USD"));
+    }
+
+    private static PortfolioDto.PortfolioSummaryJson portfolio(double btcPrice, double ethPrice) {
+        List<PortfolioDto.AssetSummaryJson> assets = List.of(
+                asset("BTC", 1, 50_000, btcPrice),
+                asset("ETH", 2, 2_500, ethPrice),
+                asset("USD", 1_000, 1, 1));
+        Money currentValue = assets.stream().map(PortfolioDto.AssetSummaryJson::getCurrentValue).reduce(Money.zero("USD"), Money::plus);
+        Money investedBalance = Money.of(56_000, "USD");
+        Money profit = currentValue.minus(investedBalance);
+        return PortfolioDto.PortfolioSummaryJson.builder()
+                .portfolioId(PORTFOLIO_ID.getId())
+                .userId("U10000001")
+                .name("Crypto")
+                .broker("BINANCE")
+                .assets(assets)
+                .investedBalance(investedBalance)
+                .currentValue(currentValue)
+                .profit(profit)
+                .pctProfit(profit.diffPct(investedBalance))
+                .build();
+    }
+
+    private static PortfolioDto.AssetSummaryJson asset(String ticker, double quantity, double avgPurchasePrice, double price) {
+        return PortfolioDto.AssetSummaryJson.builder()
+                .ticker(ticker)
+                .quantity(Quantity.of(quantity))
+                .avgPurchasePrice(Price.of(avgPurchasePrice, "USD"))
+                .currentPrice(Price.of(price, "USD").withScale(4))
+                .currentValue(Price.of(price, "USD").multiply(Quantity.of(quantity)).withScale(4))
+                .build();
+    }
+
+    private static TradingDto.OrderSummaryJson stopLoss() {
+        return stopLoss("O10000001", "BTC/USD", 55_000);
+    }
+
+    private static TradingDto.OrderSummaryJson stopLoss(String orderId, String symbol, double limitPrice) {
+        return TradingDto.OrderSummaryJson.builder()
+                .originOrderId(orderId)
+                .symbol(symbol)
+                .side(Side.SELL)
+                .limitPrice(Price.of(limitPrice, symbol.substring(4)))
+                .quantity(Quantity.of(0.5))
+                .originDateTime(NOW)
+                .build();
+    }
+
+    private static PriceChangedEvent tick(String symbol, double price, int second) {
+        return PriceChangedEvent.builder()
+                .broker(Broker.of("BINANCE"))
+                .symbol(Symbol.of(symbol))
+                .currentPrice(Price.of(price, symbol.substring(symbol.indexOf('/') + 1)))
+                .dateTime(NOW.plusSeconds(second))
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.multi.vidulum.security.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthenticatedTokenCacheTest {
+
+    private static final UserDetails USER_DETAILS = User.withUsername("john").password("").authorities(List.of()).build();
+
+    private final AuthenticatedTokenCache cache = new AuthenticatedTokenCache(true, 100, 300, new SimpleMeterRegistry());
+
+    @Test
+    void shouldVerifyTokenOnceWhileCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            AuthenticatedTokenCache.TokenAuthentication authentication = cache.get("token-1", () -> {
+                loads.incrementAndGet();
+                return valid("U10000001", Instant.now().plus(1, ChronoUnit.HOURS));
+            });
+            assertThat(authentication.valid()).isTrue();
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldReverifyTokensOfRevokedUser() {
+        cache.get("token-1", () -> valid("U10000001", Instant.now().plus(1, ChronoUnit.HOURS)));
+        cache.get("token-2", () -> valid("U10000002", Instant.now().plus(1, ChronoUnit.HOURS)));
+
+        cache.revokeUser("U10000001");
+
+        AtomicInteger loads = new AtomicInteger();
+        AuthenticatedTokenCache.TokenAuthentication revoked = cache.get("token-1", () -> {
+            loads.incrementAndGet();
+            return new AuthenticatedTokenCache.TokenAuthentication(
+                    "U10000001", USER_DETAILS, false, Instant.now().plus(1, ChronoUnit.HOURS));
+        });
+        cache.get("token-2", () -> {
+            loads.incrementAndGet();
+            return valid("U10000002", Instant.now().plus(1, ChronoUnit.HOURS));
+        });
+
+        assertThat(revoked.valid()).isFalse();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldDiscardLoadThatWasInFlightDuringRevocation() {
+        AuthenticatedTokenCache.TokenAuthentication first = cache.get("token-1", () -> {
+            // logout commits while the filter is still verifying against the old database state
+            cache.revokeUser("U10000001");
+            return valid("U10000001", Instant.now().plus(1, ChronoUnit.HOURS));
+        });
+        assertThat(first.valid()).isTrue();
+
+        AuthenticatedTokenCache.TokenAuthentication second = cache.get("token-1", () ->
+                new AuthenticatedTokenCache.TokenAuthentication(
+                        "U10000001", USER_DETAILS, false, Instant.now().plus(1, ChronoUnit.HOURS)));
+
+        assertThat(second.valid()).isFalse();
+    }
+
+    @Test
+    void shouldNotServeTokenPastItsExpiry() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("token-1", () -> {
+            loads.incrementAndGet();
+            return valid("U10000001", Instant.now().minusSeconds(1));
+        });
+        cache.get("token-1", () -> {
+            loads.incrementAndGet();
+            return valid("U10000001", Instant.now().minusSeconds(1));
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private static AuthenticatedTokenCache.TokenAuthentication valid(String userId, Instant expiresAt) {
+        return new AuthenticatedTokenCache.TokenAuthentication(userId, USER_DETAILS, true, expiresAt);
+    }
+}
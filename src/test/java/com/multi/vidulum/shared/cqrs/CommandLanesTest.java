@@ -0,0 +1,162 @@
+package com.multi.vidulum.shared.cqrs;
+
+import com.multi.vidulum.shared.cqrs.commands.AggregateCommand;
+import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommandLanesTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CommandLanes lanes = new CommandLanes(2, 1000, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        lanes.close();
+    }
+
+    @Test
+    void shouldRunTasksOfOneKeyInSubmissionOrderWithoutOverlap() {
+        CommandLanes wideLanes = new CommandLanes(1000, 1000, meterRegistry);
+        List<Integer> handled = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> results = IntStream.range(0, 200)
+                .mapToObj(i -> wideLanes.submit("CF10000001", () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    handled.add(i);
+                    running.decrementAndGet();
+                    return i;
+                }))
+                .toList();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        wideLanes.close();
+
+        assertThat(handled).containsExactlyElementsOf(IntStream.range(0, 200).boxed().toList());
+        assertThat(maxRunning).hasValue(1);
+    }
+
+    @Test
+    void shouldRunDifferentKeysInParallel() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        CompletableFuture<Boolean> first = lanes.submit("CF10000001", () -> {
+            bothStarted.countDown();
+            return awaitQuietly(bothStarted);
+        });
+        CompletableFuture<Boolean> second = lanes.submit("CF10000002", () -> {
+            bothStarted.countDown();
+            return awaitQuietly(bothStarted);
+        });
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldRejectTasksOverLaneBound() {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        lanes.submit("CF10000001", () -> {
+            started.countDown();
+            return awaitQuietly(release);
+        });
+        awaitQuietly(started);
+
+        CompletableFuture<String> second = lanes.submit("CF10000001", () -> "second");
+        CompletableFuture<String> third = lanes.submit("CF10000001", () -> "third");
+        CompletableFuture<String> fourth = lanes.submit("CF10000001", () -> "fourth");
+        release.countDown();
+
+        assertThat(second.join()).isEqualTo("second");
+        assertThat(third.join()).isEqualTo("third");
+        assertThatThrownBy(fourth::join).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void shouldRejectAndDropLaneAfterClose() {
+        lanes.close();
+
+        CompletableFuture<String> keyed = lanes.submit("CF10000001", () -> "keyed");
+        CompletableFuture<String> unkeyed = lanes.submit(null, () -> "unkeyed");
+
+        assertThatThrownBy(keyed::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(unkeyed::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("vidulum.cqrs.command.lanes").gauge().value()).isZero();
+        assertThat(meterRegistry.get("vidulum.cqrs.command.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldRunTaskWithCallerMdcAndSecurityContext() {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(new TestingAuthenticationToken("U10000001", null));
+        MDC.put("requestId", "req-1");
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            CompletableFuture<String> seen = lanes.submit("CF10000001", () ->
+                    MDC.get("requestId") + ":" + SecurityContextHolder.getContext().getAuthentication().getName());
+
+            assertThat(seen.join()).isEqualTo("req-1:U10000001");
+        } finally {
+            MDC.clear();
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void shouldHandleCommandSentFromHandlerOfSameAggregateInline() {
+        CommandGateway commandGateway = new CommandGateway(
+                new GatewayMetrics("command", meterRegistry, GatewayMetrics.Settings.defaults()),
+                lanes,
+                CommandGateway.DispatchMode.LANES);
+        commandGateway.registerCommandHandler(new TouchHandler(commandGateway));
+
+        String result = commandGateway.send(new TouchCommand("CF10000001", 2));
+
+        assertThat(result).isEqualTo("touched:0");
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    record TouchCommand(String cashFlowId, int depth) implements AggregateCommand {
+        @Override
+        public Object aggregateId() {
+            return cashFlowId;
+        }
+    }
+
+    record TouchHandler(CommandGateway commandGateway) implements CommandHandler<TouchCommand, String> {
+        @Override
+        public String handle(TouchCommand command) {
+            if (command.depth() == 0) {
+                return "touched:0";
+            }
+            return commandGateway.send(new TouchCommand(command.cashFlowId(), command.depth() - 1));
+        }
+    }
+}
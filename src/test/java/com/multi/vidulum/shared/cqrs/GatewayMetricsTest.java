@@ -0,0 +1,59 @@
+package com.multi.vidulum.shared.cqrs;
+
+import com.multi.vidulum.shared.cqrs.commands.Command;
+import com.multi.vidulum.shared.cqrs.commands.CommandHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GatewayMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldTimeCommandsByClassAndOutcome() {
+        CommandGateway commandGateway = new CommandGateway(
+                new GatewayMetrics("command", meterRegistry, GatewayMetrics.Settings.defaults()),
+                new CommandLanes(10, 100, meterRegistry),
+                CommandGateway.DispatchMode.SYNC);
+        commandGateway.registerCommandHandler(new RenameHandler());
+
+        commandGateway.send(new RenameCommand("new name", List.of("a", "b")));
+        commandGateway.send(new RenameCommand("other name", List.of()));
+        assertThatThrownBy(() -> commandGateway.send(new RenameCommand(null, List.of())))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get("vidulum.cqrs.command")
+                .tag("command", "RenameCommand").tag("outcome", "success").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("vidulum.cqrs.command")
+                .tag("command", "RenameCommand").tag("outcome", "error").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("vidulum.cqrs.command.errors")
+                .tag("command", "RenameCommand").tag("exception", "IllegalStateException").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("vidulum.cqrs.command.active")
+                .tag("command", "RenameCommand").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldDescribePayloadShapeWithoutValues() {
+        String shape = GatewayMetrics.shape(new RenameCommand("secret", List.of("a", "b", "c")));
+
+        assertThat(shape).isEqualTo("RenameCommand(name: String, tags: List[3])");
+    }
+
+    record RenameCommand(String name, List<String> tags) implements Command {
+    }
+
+    static class RenameHandler implements CommandHandler<RenameCommand, String> {
+        @Override
+        public String handle(RenameCommand command) {
+            if (command.name() == null) {
+                throw new IllegalStateException("name is required");
+            }
+            return command.name();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.multi.vidulum.gateway.config;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identity of this gateway replica and the Kafka consumer group it reads with.
+ * <p>
+ * A WebSocket client may be connected to any replica, so in {@link ConsumerGroupMode#PER_INSTANCE}
+ * mode (default) every replica joins its own group and sees every record; records for cash flows
+ * nobody on the replica subscribed to are dropped locally (see {@code CashFlowRecordFilter} and
+ * {@code EventBroadcaster}). {@link ConsumerGroupMode#SHARED} keeps one group for all replicas and
+ * is only correct with a single replica.
+ */
+@Slf4j
+@Getter
+@Component
+public class GatewayInstance {
+
+    public enum ConsumerGroupMode {
+        PER_INSTANCE,
+        SHARED
+    }
+
+    private final String instanceId;
+    private final ConsumerGroupMode consumerGroupMode;
+    private final String consumerGroupId;
+
+    public GatewayInstance(
+            @Value("${gateway.instance-id:${random.uuid}}") String instanceId,
+            @Value("${gateway.kafka.consumer-group-mode:PER_INSTANCE}") ConsumerGroupMode consumerGroupMode,
+            @Value("${spring.kafka.consumer.group-id}") String groupId) {
+        this.instanceId = instanceId;
+        this.consumerGroupMode = consumerGroupMode;
+        this.consumerGroupId = consumerGroupMode == ConsumerGroupMode.PER_INSTANCE
+                ? groupId + "-" + instanceId
+                : groupId;
+        log.info("Gateway instance {} consuming as group {} ({})", instanceId, consumerGroupId, consumerGroupMode);
+    }
+}
@@ -1,8 +1,13 @@
 package com.multi.vidulum.gateway.config;
 
 import com.multi.vidulum.gateway.dto.KafkaEvent;
+import com.multi.vidulum.gateway.service.CashFlowRecordFilter;
+import com.multi.vidulum.gateway.service.ForecastStreamService;
+import com.multi.vidulum.gateway.service.SubscriptionManager;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,20 +19,24 @@ import org.springframework.kafka.support.serializer.JsonDeserializer;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Both topics are consumed with the group id of {@link GatewayInstance}; with the default
+ * per-instance groups every replica reads all partitions and filters for its own sessions.
+ */
 @Configuration
 public class KafkaConsumerConfig {
 
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
-    @Value("${spring.kafka.consumer.group-id}")
-    private String groupId;
+    @Autowired
+    private GatewayInstance gatewayInstance;
 
     @Bean
     public ConsumerFactory<String, KafkaEvent> kafkaEventConsumerFactory() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, gatewayInstance.getConsumerGroupId());
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
@@ -45,4 +54,53 @@ public class KafkaConsumerConfig {
         factory.setConsumerFactory(kafkaEventConsumerFactory());
         return factory;
     }
+
+    /**
+     * cash_flow records are read as raw bytes so that {@link CashFlowRecordFilter} can drop them on
+     * their headers before anything is decoded. V2 records carry the bare event JSON with the
+     * envelope in headers, V1 records the legacy JSON envelope. See {@code KafkaEventConsumer}.
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> cashFlowEventConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, gatewayInstance.getConsumerGroupId());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> cashFlowEventListenerContainerFactory(
+            CashFlowRecordFilter cashFlowRecordFilter) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(cashFlowEventConsumerFactory());
+        factory.setRecordFilterStrategy(cashFlowRecordFilter);
+        return factory;
+    }
+
+    @Bean
+    public ConsumerFactory<String, String> forecastDeltaConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, gatewayInstance.getConsumerGroupId());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new StringDeserializer());
+    }
+
+    /**
+     * Forecast deltas are keyed by cashFlowId, so records nobody here streams are dropped on the key alone.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> forecastDeltaListenerContainerFactory(
+            SubscriptionManager subscriptionManager) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(forecastDeltaConsumerFactory());
+        factory.setRecordFilterStrategy(record -> record.key() == null
+                || !subscriptionManager.hasSubscribers(ForecastStreamService.TOPIC, record.key()));
+        return factory;
+    }
 }
@@ -72,6 +72,8 @@ public class WebSocketConfig implements WebSocketConfigurer {
                 }
 
                 attributes.put("userId", userId);
+                // Forwarded when the gateway calls the API for the user (forecast snapshots)
+                attributes.put("token", token);
                 log.debug("WebSocket handshake accepted for user: {}", userId);
                 return true;
 
@@ -6,11 +6,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * Message received from WebSocket client.
  *
  * Examples:
  * - Subscribe: { "action": "subscribe", "topic": "bank_data_ingestion", "cashFlowId": "xxx" }
+ * - Forecast: { "action": "subscribe", "topic": "cash_flow_forecast", "cashFlowId": "xxx", "months": ["2025-06", "2025-07"] }
  * - Unsubscribe: { "action": "unsubscribe", "topic": "bank_data_ingestion", "cashFlowId": "xxx" }
  * - Ping: { "action": "ping" }
  */
@@ -24,6 +27,8 @@ public class ClientMessage {
     private Action action;
     private String topic;
     private String cashFlowId;
+    // cash_flow_forecast only: periods (yyyy-MM) to stream, all when empty
+    private List<String> months;
 
     public enum Action {
         subscribe,
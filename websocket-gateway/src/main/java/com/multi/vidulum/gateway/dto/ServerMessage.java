@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -14,6 +15,9 @@ import java.util.Map;
  *
  * Examples:
  * - Event: { "type": "event", "topic": "bank_data_ingestion", "eventType": "ImportProgressEvent", "data": {...} }
+ * - Batch: { "type": "batch", "topic": "cash_flow", "eventType": "HistoricalCashChangeImportedEvent", "events": [{...}, ...] }
+ * - Snapshot: { "type": "snapshot", "topic": "cash_flow_forecast", "cashFlowId": "xxx", "data": {forecast} }
+ * - Delta: { "type": "delta", "topic": "cash_flow_forecast", "cashFlowId": "xxx", "data": {"previousChecksum": ..., "checksum": ..., "months": [...]} }
  * - Ack: { "type": "ack", "action": "subscribe", "success": true }
  * - Pong: { "type": "pong" }
  * - Error: { "type": "error", "message": "Invalid subscription" }
@@ -30,6 +34,7 @@ public class ServerMessage {
     private String eventType;
     private String cashFlowId;
     private Map<String, Object> data;
+    private List<Map<String, Object>> events;
     private String action;
     private Boolean success;
     private String message;
@@ -37,6 +42,9 @@ public class ServerMessage {
 
     public enum Type {
         event,
+        batch,
+        snapshot,
+        delta,
         ack,
         pong,
         error
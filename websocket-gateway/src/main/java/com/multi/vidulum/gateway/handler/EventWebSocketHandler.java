@@ -3,7 +3,9 @@ package com.multi.vidulum.gateway.handler;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.multi.vidulum.gateway.dto.ClientMessage;
 import com.multi.vidulum.gateway.dto.ServerMessage;
+import com.multi.vidulum.gateway.service.ForecastStreamService;
 import com.multi.vidulum.gateway.service.SessionRegistry;
+import com.multi.vidulum.gateway.service.SessionSendQueue;
 import com.multi.vidulum.gateway.service.SubscriptionManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +16,8 @@ import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Handles WebSocket connections and client messages.
@@ -25,6 +29,7 @@ public class EventWebSocketHandler extends TextWebSocketHandler {
 
     private final SessionRegistry sessionRegistry;
     private final SubscriptionManager subscriptionManager;
+    private final ForecastStreamService forecastStreamService;
     private final ObjectMapper objectMapper;
 
     @Override
@@ -36,6 +41,7 @@ public class EventWebSocketHandler extends TextWebSocketHandler {
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        forecastStreamService.unsubscribeAll(session);
         subscriptionManager.unsubscribeAll(session);
         sessionRegistry.unregister(session);
         log.info("WebSocket connection closed: sessionId={}, status={}", session.getId(), status);
@@ -75,6 +81,15 @@ public class EventWebSocketHandler extends TextWebSocketHandler {
             return;
         }
 
+        if (ForecastStreamService.TOPIC.equals(message.getTopic())) {
+            // Ack first: the snapshot follows asynchronously
+            sendMessage(session, ServerMessage.ack("subscribe", true,
+                    "Subscribed to " + message.getTopic() + ":" + message.getCashFlowId()));
+            forecastStreamService.subscribe(session, message.getCashFlowId(),
+                    message.getMonths() != null ? Set.copyOf(message.getMonths()) : Set.of());
+            return;
+        }
+
         subscriptionManager.subscribe(session, message.getTopic(), message.getCashFlowId());
         sendMessage(session, ServerMessage.ack("subscribe", true,
                 "Subscribed to " + message.getTopic() + ":" + message.getCashFlowId()));
@@ -86,16 +101,28 @@ public class EventWebSocketHandler extends TextWebSocketHandler {
             return;
         }
 
-        subscriptionManager.unsubscribe(session, message.getTopic(), message.getCashFlowId());
+        if (ForecastStreamService.TOPIC.equals(message.getTopic())) {
+            forecastStreamService.unsubscribe(session, message.getCashFlowId());
+        } else {
+            subscriptionManager.unsubscribe(session, message.getTopic(), message.getCashFlowId());
+        }
         sendMessage(session, ServerMessage.ack("unsubscribe", true,
                 "Unsubscribed from " + message.getTopic() + ":" + message.getCashFlowId()));
     }
 
     private void sendMessage(WebSocketSession session, ServerMessage message) {
         try {
-            if (session.isOpen()) {
-                String json = objectMapper.writeValueAsString(message);
-                session.sendMessage(new TextMessage(json));
+            TextMessage textMessage = new TextMessage(objectMapper.writeValueAsString(message));
+            // Through the session's queue, so replies never race with broadcast writes
+            Optional<SessionSendQueue> sendQueue = sessionRegistry.getSendQueue(session.getId());
+            if (sendQueue.isPresent()) {
+                sendQueue.get().offer(textMessage, false);
+            } else if (session.isOpen()) {
+                // Not registered (or already unregistered): nothing would ever deliver to this session
+                log.warn("No send queue for open session {}, closing it; dropped {}", session.getId(), message.getType());
+                session.close(CloseStatus.SERVER_ERROR);
+            } else {
+                log.warn("Dropped {} for closed session {}", message.getType(), session.getId());
             }
         } catch (IOException e) {
             log.error("Failed to send message to session {}: {}", session.getId(), e.getMessage());
@@ -0,0 +1,78 @@
+package com.multi.vidulum.gateway.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Drops cash_flow records nobody on this gateway would receive, using only the V2 envelope headers:
+ * <ul>
+ *   <li>no WebSocket session is subscribed to the record's cashFlowId</li>
+ *   <li>the event type is not in {@code gateway.kafka.cash-flow.event-types} (empty = all types)</li>
+ * </ul>
+ * Legacy records without headers are always passed on. Outcomes are counted in
+ * {@code gateway.kafka.listener.records}, tagged {@code outcome=filtered|processed}.
+ */
+@Slf4j
+@Component
+public class CashFlowRecordFilter implements RecordFilterStrategy<String, byte[]> {
+
+    private final SubscriptionManager subscriptionManager;
+    private final Set<String> eventTypes;
+    private final Counter filtered;
+    private final Counter processed;
+
+    public CashFlowRecordFilter(
+            SubscriptionManager subscriptionManager,
+            @Value("${gateway.kafka.cash-flow.event-types:}") Set<String> eventTypes,
+            MeterRegistry meterRegistry) {
+        this.subscriptionManager = subscriptionManager;
+        this.eventTypes = Set.copyOf(eventTypes);
+        this.filtered = counter(meterRegistry, "filtered");
+        this.processed = counter(meterRegistry, "processed");
+    }
+
+    @Override
+    public boolean filter(ConsumerRecord<String, byte[]> record) {
+        if (isIrrelevant(record)) {
+            filtered.increment();
+            return true;
+        }
+        processed.increment();
+        return false;
+    }
+
+    private boolean isIrrelevant(ConsumerRecord<String, byte[]> record) {
+        if (!"2".equals(header(record, KafkaEventConsumer.CASH_FLOW_VERSION_HEADER))) {
+            return false;
+        }
+        String eventType = header(record, KafkaEventConsumer.CASH_FLOW_EVENT_TYPE_HEADER);
+        if (!eventTypes.isEmpty() && !eventTypes.contains(eventType)) {
+            return true;
+        }
+        String cashFlowId = header(record, KafkaEventConsumer.CASH_FLOW_ID_HEADER);
+        return cashFlowId != null && !subscriptionManager.hasSubscribers(KafkaEventConsumer.TOPIC_CASH_FLOW, cashFlowId);
+    }
+
+    static String header(ConsumerRecord<String, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("gateway.kafka.listener.records")
+                .description("cash_flow records seen by the gateway listener")
+                .tag("topic", KafkaEventConsumer.TOPIC_CASH_FLOW)
+                .tag("listener", "websocket-gateway")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
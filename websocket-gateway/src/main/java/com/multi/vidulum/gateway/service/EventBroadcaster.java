@@ -1,29 +1,49 @@
 package com.multi.vidulum.gateway.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.multi.vidulum.gateway.dto.KafkaEvent;
 import com.multi.vidulum.gateway.dto.ServerMessage;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
-import java.util.Map;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Set;
 
 /**
  * Broadcasts Kafka events to subscribed WebSocket clients.
+ * Messages are handed to each session's {@link SessionSendQueue}; the Kafka listener thread never
+ * writes to a socket itself. High-frequency event types go through {@link EventCoalescer} first and
+ * reach the sessions as one frame per window; any other event flushes the pending windows of its
+ * cashFlowId before it is delivered, so it never overtakes them.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class EventBroadcaster {
 
     private final SubscriptionManager subscriptionManager;
+    private final SessionRegistry sessionRegistry;
     private final ObjectMapper objectMapper;
+    private final EventCoalescer eventCoalescer;
+    // Superseded by the next event of the same kind, so a lagging session may lose them
+    private final Set<String> droppableEventTypes;
+
+    public EventBroadcaster(
+            SubscriptionManager subscriptionManager,
+            SessionRegistry sessionRegistry,
+            ObjectMapper objectMapper,
+            EventCoalescer eventCoalescer,
+            @Value("${gateway.websocket.droppable-event-types:ImportProgressEvent}") Set<String> droppableEventTypes) {
+        this.subscriptionManager = subscriptionManager;
+        this.sessionRegistry = sessionRegistry;
+        this.objectMapper = objectMapper;
+        this.eventCoalescer = eventCoalescer;
+        this.droppableEventTypes = Set.copyOf(droppableEventTypes);
+    }
 
     public void broadcast(String topic, KafkaEvent event) {
         String cashFlowId = event.getCashFlowId();
@@ -33,65 +53,100 @@ public class EventBroadcaster {
             return;
         }
 
-        Set<WebSocketSession> subscribers = subscriptionManager.getSubscribers(topic, cashFlowId);
-        if (subscribers.isEmpty()) {
+        if (!subscriptionManager.hasSubscribers(topic, cashFlowId)) {
             log.debug("No subscribers for topic={}, cashFlowId={}", topic, cashFlowId);
             return;
         }
 
-        ServerMessage message = createServerMessage(topic, event);
-        String messageJson;
-        try {
-            messageJson = objectMapper.writeValueAsString(message);
-        } catch (IOException e) {
-            log.error("Failed to serialize message: {}", e.getMessage());
+        if (eventCoalescer.coalesces(event.getEventType())) {
+            eventCoalescer.offer(topic, cashFlowId, event, this::deliverCoalesced);
             return;
         }
+        TextMessage textMessage = createEventFrame(topic, event);
+        eventCoalescer.flushThenDeliver(topic, cashFlowId, () -> deliver(topic, cashFlowId, event.getEventType(), textMessage));
+    }
+
+    private void deliverCoalesced(String topic, String cashFlowId, String eventType, List<KafkaEvent> events) {
+        TextMessage textMessage = events.size() == 1
+                ? createEventFrame(topic, events.get(0))
+                : createBatchFrame(topic, cashFlowId, eventType, events);
+        deliver(topic, cashFlowId, eventType, textMessage);
+    }
 
-        TextMessage textMessage = new TextMessage(messageJson);
-        int successCount = 0;
-        int failCount = 0;
+    private void deliver(String topic, String cashFlowId, String eventType, TextMessage textMessage) {
+        if (textMessage == null) {
+            return;
+        }
+        Set<WebSocketSession> subscribers = subscriptionManager.getSubscribers(topic, cashFlowId);
+        boolean droppable = droppableEventTypes.contains(eventType);
+        int queuedCount = 0;
+        int rejectedCount = 0;
 
         for (WebSocketSession session : subscribers) {
-            try {
-                if (session.isOpen()) {
-                    session.sendMessage(textMessage);
-                    successCount++;
-                }
-            } catch (IOException e) {
-                log.warn("Failed to send message to session {}: {}", session.getId(), e.getMessage());
-                failCount++;
+            boolean queued = sessionRegistry.getSendQueue(session.getId())
+                    .map(sendQueue -> sendQueue.offer(textMessage, droppable))
+                    .orElse(false);
+            if (queued) {
+                queuedCount++;
+            } else {
+                rejectedCount++;
             }
         }
 
-        log.debug("Broadcast complete: topic={}, cashFlowId={}, eventType={}, sent={}, failed={}",
-                topic, cashFlowId, event.getEventType(), successCount, failCount);
+        log.debug("Broadcast complete: topic={}, cashFlowId={}, eventType={}, queued={}, rejected={}",
+                topic, cashFlowId, eventType, queuedCount, rejectedCount);
     }
 
-    private ServerMessage createServerMessage(String topic, KafkaEvent event) {
-        Map<String, Object> eventData = parseEventContent(event);
+    /**
+     * Builds the frame once per event; the same TextMessage (and its bytes) is queued to every subscriber.
+     * The Kafka payload is spliced in raw. Events without a JSON object payload fall back to
+     * serialising a {@link ServerMessage} carrying the metadata.
+     */
+    private TextMessage createEventFrame(String topic, KafkaEvent event) {
+        String content = event.getContent() != null ? event.getContent().getContent() : null;
+        ZonedDateTime timestamp = ZonedDateTime.now();
+        byte[] frame = EventFrameEncoder.encode(topic, event.getEventType(), event.getCashFlowId(), content, timestamp);
+        if (frame != null) {
+            return new TextMessage(frame);
+        }
 
-        return ServerMessage.event(
-                topic,
-                event.getEventType(),
-                event.getCashFlowId(),
-                eventData
-        );
+        ServerMessage message = ServerMessage.event(topic, event.getEventType(), event.getCashFlowId(), event.getMetadata());
+        try {
+            return new TextMessage(objectMapper.writeValueAsBytes(message));
+        } catch (IOException e) {
+            log.error("Failed to serialize message: {}", e.getMessage());
+            return null;
+        }
     }
 
-    private Map<String, Object> parseEventContent(KafkaEvent event) {
-        if (event.getContent() == null || event.getContent().getContent() == null) {
-            return event.getMetadata();
+    /**
+     * One frame for a window of coalesced events. Falls back to a {@link ServerMessage} with each
+     * event's metadata when a payload cannot be spliced raw.
+     */
+    private TextMessage createBatchFrame(String topic, String cashFlowId, String eventType, List<KafkaEvent> events) {
+        List<String> contents = events.stream()
+                .map(event -> event.getContent() != null ? event.getContent().getContent() : null)
+                .toList();
+        byte[] frame = contents.contains(null)
+                ? null
+                : EventFrameEncoder.encodeBatch(topic, eventType, cashFlowId, contents, ZonedDateTime.now());
+        if (frame != null) {
+            return new TextMessage(frame);
         }
 
+        ServerMessage message = ServerMessage.builder()
+                .type(ServerMessage.Type.batch)
+                .topic(topic)
+                .eventType(eventType)
+                .cashFlowId(cashFlowId)
+                .events(events.stream().map(KafkaEvent::getMetadata).toList())
+                .timestamp(ZonedDateTime.now())
+                .build();
         try {
-            return objectMapper.readValue(
-                    event.getContent().getContent(),
-                    new TypeReference<Map<String, Object>>() {}
-            );
+            return new TextMessage(objectMapper.writeValueAsBytes(message));
         } catch (IOException e) {
-            log.warn("Failed to parse event content, using metadata: {}", e.getMessage());
-            return event.getMetadata();
+            log.error("Failed to serialize message: {}", e.getMessage());
+            return null;
         }
     }
 }
@@ -0,0 +1,179 @@
+package com.multi.vidulum.gateway.service;
+
+import com.multi.vidulum.gateway.dto.KafkaEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Throttles high-frequency events per (topic, cashFlowId, eventType) to at most one flush per window.
+ * <ul>
+ *   <li>{@code latestOnlyEventTypes} (e.g. ImportProgressEvent) - only the newest event of the window
+ *       is flushed</li>
+ *   <li>{@code batchedEventTypes} (e.g. HistoricalCashChangeImportedEvent) - all events of the window
+ *       are flushed together, in arrival order; a window is cut short at {@code maxBatchSize}</li>
+ * </ul>
+ * The first event of a key opens its window; nothing is sent for that key until the window closes.
+ * Every session subscribed to a key receives the same stream, so coalescing once per key and fanning
+ * the result out is the same as coalescing per session, at a fraction of the bookkeeping.
+ * Events that are not coalesced must not overtake held ones of the same cashFlowId, so they are delivered through
+ * {@link #flushThenDeliver}, which flushes the cashFlow's open windows first. Flushes and those deliveries are
+ * serialised per cashFlowId by a striped lock.
+ * A {@code windowMs} of 0 disables coalescing.
+ */
+@Slf4j
+@Service
+public class EventCoalescer {
+
+    /**
+     * Receives the coalesced events of one key; a single event for latest-only types.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void flush(String topic, String cashFlowId, String eventType, List<KafkaEvent> events);
+    }
+
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final Set<String> latestOnlyEventTypes;
+    private final Set<String> batchedEventTypes;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("event-coalescer").daemon().factory());
+
+    private final Counter received;
+    private final Counter flushed;
+
+    public EventCoalescer(
+            @Value("${gateway.websocket.coalesce.window-ms:250}") long windowMs,
+            @Value("${gateway.websocket.coalesce.max-batch-size:500}") int maxBatchSize,
+            @Value("${gateway.websocket.coalesce.latest-only-event-types:ImportProgressEvent}") Set<String> latestOnlyEventTypes,
+            @Value("${gateway.websocket.coalesce.batched-event-types:HistoricalCashChangeImportedEvent}") Set<String> batchedEventTypes,
+            MeterRegistry meterRegistry) {
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.latestOnlyEventTypes = Set.copyOf(latestOnlyEventTypes);
+        this.batchedEventTypes = Set.copyOf(batchedEventTypes);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.received = Counter.builder("gateway.coalesce.events")
+                .description("Events held back for coalescing")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("gateway.coalesce.flushes")
+                .description("Coalesced windows handed on for delivery")
+                .register(meterRegistry);
+    }
+
+    public boolean coalesces(String eventType) {
+        return windowMs > 0 && (latestOnlyEventTypes.contains(eventType) || batchedEventTypes.contains(eventType));
+    }
+
+    /**
+     * Holds {@code event} until its window closes; only call for event types {@link #coalesces} accepts.
+     * {@code sink} is the one of the event that opened the window.
+     */
+    public void offer(String topic, String cashFlowId, KafkaEvent event, Sink sink) {
+        Key key = new Key(topic, cashFlowId, event.getEventType());
+        boolean latestOnly = latestOnlyEventTypes.contains(key.eventType());
+        received.increment();
+
+        // events is only touched under the map's lock for key, here and in flush()
+        Window window = windows.compute(key, (k, current) -> {
+            Window open = current != null ? current : new Window(sink);
+            if (latestOnly) {
+                open.events.clear();
+            }
+            open.events.add(event);
+            open.full = !latestOnly && open.events.size() >= maxBatchSize;
+            return open;
+        });
+        if (window.scheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> flush(key, window), windowMs, TimeUnit.MILLISECONDS);
+        }
+        if (window.full) {
+            flush(key, window);
+        }
+    }
+
+    /**
+     * Flushes the open windows of {@code cashFlowId}, then runs {@code delivery}, so an event that is not
+     * coalesced reaches the sessions after the ones held before it.
+     */
+    public void flushThenDeliver(String topic, String cashFlowId, Runnable delivery) {
+        synchronized (lockFor(topic, cashFlowId)) {
+            if (!windows.isEmpty()) {
+                flushOpen(topic, cashFlowId, latestOnlyEventTypes);
+                flushOpen(topic, cashFlowId, batchedEventTypes);
+            }
+            delivery.run();
+        }
+    }
+
+    private void flushOpen(String topic, String cashFlowId, Set<String> eventTypes) {
+        for (String eventType : eventTypes) {
+            Key key = new Key(topic, cashFlowId, eventType);
+            Window window = windows.get(key);
+            if (window != null) {
+                flush(key, window);
+            }
+        }
+    }
+
+    private void flush(Key key, Window window) {
+        synchronized (lockFor(key.topic(), key.cashFlowId())) {
+            // Removing under the key lock closes the window: later events open a new one
+            if (!windows.remove(key, window)) {
+                return;
+            }
+            List<KafkaEvent> events = List.copyOf(window.events);
+            flushed.increment();
+            try {
+                window.sink.flush(key.topic(), key.cashFlowId(), key.eventType(), events);
+            } catch (RuntimeException e) {
+                log.error("Failed to flush coalesced events: topic={}, cashFlowId={}, eventType={}, count={}",
+                        key.topic(), key.cashFlowId(), key.eventType(), events.size(), e);
+            }
+        }
+    }
+
+    private Object lockFor(String topic, String cashFlowId) {
+        return locks[Math.floorMod(31 * topic.hashCode() + cashFlowId.hashCode(), LOCK_STRIPES)];
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record Key(String topic, String cashFlowId, String eventType) {
+    }
+
+    private static final class Window {
+        private final Sink sink;
+        private final List<KafkaEvent> events = new ArrayList<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean full;
+
+        private Window(Sink sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.multi.vidulum.gateway.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.multi.vidulum.gateway.dto.ServerMessage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes {@link ServerMessage.Type#event} (and {@link ServerMessage.Type#batch}) frames without a tree model:
+ * <pre>
+ * {"type":"event","topic":"...","eventType":"...","cashFlowId":"...","data":&lt;payload&gt;,"timestamp":"..."}
+ * </pre>
+ * The Kafka payload is already JSON and is copied into {@code data} verbatim after a streaming
+ * well-formedness check, so it is neither bound to a tree nor re-encoded. The layout matches what {@code ObjectMapper} produces for {@link ServerMessage}
+ * (null fields omitted, ISO-8601 timestamp), so clients see no difference.
+ */
+public final class EventFrameEncoder {
+
+    private static final byte[] EVENT_TYPE_AND_TOPIC = "{\"type\":\"event\",\"topic\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BATCH_TYPE_AND_TOPIC = "{\"type\":\"batch\",\"topic\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENT_TYPE = "\",\"eventType\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CASH_FLOW_ID = "\",\"cashFlowId\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DATA = "\",\"data\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EVENTS = "\",\"events\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ARRAY_END = "]".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NONE = new byte[0];
+    private static final byte[] TIMESTAMP = ",\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private EventFrameEncoder() {
+    }
+
+    /**
+     * @param data JSON object to embed as-is
+     * @return UTF-8 frame, or null if it cannot be written raw (missing field, {@code data} not a JSON object)
+     */
+    public static byte[] encode(String topic, String eventType, String cashFlowId, String data, ZonedDateTime timestamp) {
+        if (!isJsonObject(data)) {
+            return null;
+        }
+        return frame(EVENT_TYPE_AND_TOPIC, topic, eventType, cashFlowId, DATA, List.of(data), NONE, timestamp);
+    }
+
+    /**
+     * {@link ServerMessage.Type#batch} frame of coalesced events, payloads embedded as-is in order:
+     * <pre>
+     * {"type":"batch","topic":"...","eventType":"...","cashFlowId":"...","events":[&lt;payload&gt;,...],"timestamp":"..."}
+     * </pre>
+     *
+     * @return UTF-8 frame, or null if a field is missing or any payload is not a JSON object
+     */
+    public static byte[] encodeBatch(String topic, String eventType, String cashFlowId, List<String> data, ZonedDateTime timestamp) {
+        if (data.isEmpty() || !data.stream().allMatch(EventFrameEncoder::isJsonObject)) {
+            return null;
+        }
+        return frame(BATCH_TYPE_AND_TOPIC, topic, eventType, cashFlowId, EVENTS, data, ARRAY_END, timestamp);
+    }
+
+    private static byte[] frame(byte[] typeAndTopic, String topic, String eventType, String cashFlowId,
+                                byte[] dataKey, List<String> data, byte[] dataEnd, ZonedDateTime timestamp) {
+        if (topic == null || eventType == null || cashFlowId == null) {
+            return null;
+        }
+        byte[] topicBytes = quote(topic);
+        byte[] eventTypeBytes = quote(eventType);
+        byte[] cashFlowIdBytes = quote(cashFlowId);
+        byte[][] dataBytes = new byte[data.size()][];
+        int dataLength = data.size() - 1; // separators
+        for (int i = 0; i < dataBytes.length; i++) {
+            dataBytes[i] = data.get(i).getBytes(StandardCharsets.UTF_8);
+            dataLength += dataBytes[i].length;
+        }
+        byte[] timestampBytes = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(timestamp).getBytes(StandardCharsets.US_ASCII);
+
+        byte[] frame = new byte[typeAndTopic.length + topicBytes.length
+                + EVENT_TYPE.length + eventTypeBytes.length
+                + CASH_FLOW_ID.length + cashFlowIdBytes.length
+                + dataKey.length + dataLength + dataEnd.length
+                + TIMESTAMP.length + timestampBytes.length
+                + END.length];
+        int position = 0;
+        position = append(frame, position, typeAndTopic);
+        position = append(frame, position, topicBytes);
+        position = append(frame, position, EVENT_TYPE);
+        position = append(frame, position, eventTypeBytes);
+        position = append(frame, position, CASH_FLOW_ID);
+        position = append(frame, position, cashFlowIdBytes);
+        position = append(frame, position, dataKey);
+        for (int i = 0; i < dataBytes.length; i++) {
+            if (i > 0) {
+                frame[position++] = ',';
+            }
+            position = append(frame, position, dataBytes[i]);
+        }
+        position = append(frame, position, dataEnd);
+        position = append(frame, position, TIMESTAMP);
+        position = append(frame, position, timestampBytes);
+        append(frame, position, END);
+        return frame;
+    }
+
+    /**
+     * Whether {@code data} is exactly one well-formed JSON object, so splicing it cannot corrupt the frame.
+     * Streams the tokens without building a tree.
+     */
+    private static boolean isJsonObject(String data) {
+        if (data == null) {
+            return false;
+        }
+        try (JsonParser parser = JSON.createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static byte[] quote(String value) {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(value);
+    }
+
+    private static int append(byte[] frame, int position, byte[] part) {
+        System.arraycopy(part, 0, frame, position, part.length);
+        return position + part.length;
+    }
+}
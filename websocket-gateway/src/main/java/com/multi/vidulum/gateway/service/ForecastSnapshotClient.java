@@ -0,0 +1,38 @@
+package com.multi.vidulum.gateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Reads the current forecast from vidulum's {@code GET /cash-flow-forecast/cf={id}} on behalf of a
+ * WebSocket user, forwarding the user's own JWT so the API applies its usual access rules.
+ */
+@Component
+public class ForecastSnapshotClient {
+
+    private final RestClient restClient;
+
+    public ForecastSnapshotClient(
+            @Value("${gateway.forecast.api-url:http://localhost:8080}") String apiUrl,
+            @Value("${gateway.forecast.timeout-ms:5000}") int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = RestClient.builder()
+                .baseUrl(apiUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    public JsonNode fetch(String cashFlowId, String token) {
+        return restClient.get()
+                .uri("/cash-flow-forecast/cf={cashFlowId}", cashFlowId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .body(JsonNode.class);
+    }
+}
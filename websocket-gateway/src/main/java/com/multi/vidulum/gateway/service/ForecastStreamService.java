@@ -0,0 +1,207 @@
+package com.multi.vidulum.gateway.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.multi.vidulum.gateway.dto.ServerMessage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@value #TOPIC} subscriptions: the client first gets a {@code snapshot} of the forecast for the
+ * months it asked for, then a {@code delta} for every event vidulum's forecast processor applies
+ * (see its {@code CashFlowForecastDeltaEvent}), restricted to the same months.
+ * <p>
+ * Deltas arriving while the snapshot is being fetched are held back and replayed after it, minus
+ * those the snapshot already contains. Each delta carries {@code previousChecksum} and
+ * {@code checksum}; a client applies a delta whose {@code previousChecksum} equals the checksum it
+ * holds (the snapshot's {@code lastMessageChecksum} at first), skips older ones and resubscribes
+ * when the chain breaks.
+ */
+@Slf4j
+@Service
+public class ForecastStreamService {
+
+    public static final String TOPIC = "cash_flow_forecast";
+
+    private final SubscriptionManager subscriptionManager;
+    private final SessionRegistry sessionRegistry;
+    private final ForecastSnapshotClient snapshotClient;
+    private final ObjectMapper objectMapper;
+
+    // sessionId -> cashFlowId -> stream
+    private final Map<String, Map<String, Stream>> streams = new ConcurrentHashMap<>();
+    private final ExecutorService snapshotExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ForecastStreamService(
+            SubscriptionManager subscriptionManager,
+            SessionRegistry sessionRegistry,
+            ForecastSnapshotClient snapshotClient,
+            ObjectMapper objectMapper) {
+        this.subscriptionManager = subscriptionManager;
+        this.sessionRegistry = sessionRegistry;
+        this.snapshotClient = snapshotClient;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param months periods ({@code yyyy-MM}) to stream; empty streams all months
+     */
+    public void subscribe(WebSocketSession session, String cashFlowId, Set<String> months) {
+        Stream stream = new Stream(Set.copyOf(months));
+        streams.computeIfAbsent(session.getId(), id -> new ConcurrentHashMap<>()).put(cashFlowId, stream);
+        subscriptionManager.subscribe(session, TOPIC, cashFlowId);
+        snapshotExecutor.execute(() -> sendSnapshot(session, cashFlowId, stream));
+    }
+
+    public void unsubscribe(WebSocketSession session, String cashFlowId) {
+        Map<String, Stream> sessionStreams = streams.get(session.getId());
+        if (sessionStreams != null) {
+            sessionStreams.remove(cashFlowId);
+        }
+        subscriptionManager.unsubscribe(session, TOPIC, cashFlowId);
+    }
+
+    public void unsubscribeAll(WebSocketSession session) {
+        streams.remove(session.getId());
+    }
+
+    public void onDelta(String cashFlowId, String deltaJson) throws IOException {
+        Set<WebSocketSession> subscribers = subscriptionManager.getSubscribers(TOPIC, cashFlowId);
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        ObjectNode delta = (ObjectNode) objectMapper.readTree(deltaJson);
+        // Sessions asking for the same months share one frame
+        Map<Set<String>, TextMessage> frames = new HashMap<>();
+
+        for (WebSocketSession session : subscribers) {
+            Stream stream = stream(session, cashFlowId);
+            if (stream == null) {
+                continue;
+            }
+            synchronized (stream) {
+                if (stream.pending != null) {
+                    stream.pending.add(delta);
+                    continue;
+                }
+            }
+            TextMessage frame = frames.computeIfAbsent(stream.months, months -> deltaFrame(cashFlowId, delta, months));
+            offer(session, frame);
+        }
+    }
+
+    private void sendSnapshot(WebSocketSession session, String cashFlowId, Stream stream) {
+        JsonNode statement;
+        try {
+            Object token = session.getAttributes().get("token");
+            statement = snapshotClient.fetch(cashFlowId, token != null ? token.toString() : null);
+        } catch (RuntimeException e) {
+            log.warn("Forecast snapshot failed: sessionId={}, cashFlowId={}: {}", session.getId(), cashFlowId, e.getMessage());
+            unsubscribe(session, cashFlowId);
+            offer(session, frame(ServerMessage.error("Forecast snapshot unavailable for " + cashFlowId)));
+            return;
+        }
+
+        synchronized (stream) {
+            if (stream(session, cashFlowId) != stream) {
+                return;
+            }
+            ObjectNode snapshot = ((ObjectNode) statement).deepCopy();
+            retainMonths(snapshot.path("forecasts"), stream.months);
+            offer(session, frame(message(ServerMessage.Type.snapshot, cashFlowId, snapshot)));
+
+            String checksum = statement.path("lastMessageChecksum").asText(null);
+            List<ObjectNode> replay = stream.pending;
+            for (int i = 0; i < stream.pending.size(); i++) {
+                if (checksum != null && checksum.equals(stream.pending.get(i).path("checksum").asText(null))) {
+                    replay = stream.pending.subList(i + 1, stream.pending.size());
+                }
+            }
+            for (ObjectNode delta : replay) {
+                offer(session, deltaFrame(cashFlowId, delta, stream.months));
+            }
+            stream.pending = null;
+        }
+        log.debug("Forecast snapshot sent: sessionId={}, cashFlowId={}, months={}", session.getId(), cashFlowId, stream.months);
+    }
+
+    private Stream stream(WebSocketSession session, String cashFlowId) {
+        Map<String, Stream> sessionStreams = streams.get(session.getId());
+        return sessionStreams != null ? sessionStreams.get(cashFlowId) : null;
+    }
+
+    private TextMessage deltaFrame(String cashFlowId, ObjectNode delta, Set<String> months) {
+        ObjectNode filtered = delta;
+        if (!months.isEmpty() && delta.path("months").isArray()) {
+            filtered = delta.deepCopy();
+            ArrayNode monthDeltas = filtered.putArray("months");
+            delta.path("months").forEach(month -> {
+                if (months.contains(month.path("period").asText())) {
+                    monthDeltas.add(month);
+                }
+            });
+        }
+        return frame(message(ServerMessage.Type.delta, cashFlowId, filtered));
+    }
+
+    private static void retainMonths(JsonNode forecasts, Set<String> months) {
+        if (!months.isEmpty() && forecasts instanceof ObjectNode forecastsByMonth) {
+            forecastsByMonth.retain(months);
+        }
+    }
+
+    private ServerMessage message(ServerMessage.Type type, String cashFlowId, ObjectNode data) {
+        return ServerMessage.builder()
+                .type(type)
+                .topic(TOPIC)
+                .cashFlowId(cashFlowId)
+                .data(objectMapper.convertValue(data, new TypeReference<Map<String, Object>>() {}))
+                .timestamp(ZonedDateTime.now())
+                .build();
+    }
+
+    private TextMessage frame(ServerMessage message) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsBytes(message));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize " + message.getType() + " frame", e);
+        }
+    }
+
+    private void offer(WebSocketSession session, TextMessage frame) {
+        sessionRegistry.getSendQueue(session.getId())
+                .ifPresent(sendQueue -> sendQueue.offer(frame, false));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        snapshotExecutor.shutdownNow();
+    }
+
+    private static final class Stream {
+        private final Set<String> months;
+        // Deltas received before the snapshot went out; null once the stream is live
+        private List<ObjectNode> pending = new ArrayList<>();
+
+        private Stream(Set<String> months) {
+            this.months = months;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.multi.vidulum.gateway.service;
+
+import com.multi.vidulum.gateway.config.GatewayInstance;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Publishes what this replica is serving, for load balancers and operators placing sessions:
+ * <ul>
+ *   <li>{@code /actuator/gateway} - instance id, consumer group, session/user/subscription counts and
+ *       the number of subscribed cashFlowIds per topic; aggregates only, since the endpoint is exposed over
+ *       web without authentication</li>
+ *   <li>gauges {@code gateway.sessions.active} and {@code gateway.subscriptions.active}, tagged
+ *       {@code instance}</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "gateway")
+public class GatewayStateEndpoint {
+
+    private final GatewayInstance gatewayInstance;
+    private final SessionRegistry sessionRegistry;
+    private final SubscriptionManager subscriptionManager;
+
+    public GatewayStateEndpoint(
+            GatewayInstance gatewayInstance,
+            SessionRegistry sessionRegistry,
+            SubscriptionManager subscriptionManager,
+            MeterRegistry meterRegistry) {
+        this.gatewayInstance = gatewayInstance;
+        this.sessionRegistry = sessionRegistry;
+        this.subscriptionManager = subscriptionManager;
+
+        Gauge.builder("gateway.sessions.active", sessionRegistry, SessionRegistry::getSessionCount)
+                .description("Open WebSocket sessions on this gateway instance")
+                .tag("instance", gatewayInstance.getInstanceId())
+                .register(meterRegistry);
+        Gauge.builder("gateway.subscriptions.active", subscriptionManager, SubscriptionManager::getSubscriptionCount)
+                .description("Session subscriptions on this gateway instance")
+                .tag("instance", gatewayInstance.getInstanceId())
+                .register(meterRegistry);
+    }
+
+    @ReadOperation
+    public Map<String, Object> state() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("instanceId", gatewayInstance.getInstanceId());
+        state.put("consumerGroupMode", gatewayInstance.getConsumerGroupMode());
+        state.put("consumerGroupId", gatewayInstance.getConsumerGroupId());
+        state.put("sessions", sessionRegistry.getSessionCount());
+        state.put("users", sessionRegistry.getUserCount());
+        state.put("subscriptions", subscriptionManager.getSubscriptionCount());
+        state.put("cashFlows", subscriptionManager.getSubscribedCashFlowCounts());
+        return state;
+    }
+}
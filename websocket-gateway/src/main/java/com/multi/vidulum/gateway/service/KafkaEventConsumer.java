@@ -1,11 +1,18 @@
 package com.multi.vidulum.gateway.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.multi.vidulum.gateway.dto.KafkaEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Consumes events from Kafka topics and routes them to WebSocket clients.
  */
@@ -16,8 +23,16 @@ public class KafkaEventConsumer {
 
     public static final String TOPIC_BANK_DATA_INGESTION = "bank_data_ingestion";
     public static final String TOPIC_CASH_FLOW = "cash_flow";
+    public static final String TOPIC_CASH_FLOW_FORECAST_DELTA = "cash_flow_forecast_delta";
+
+    // Header names of the V2 cash_flow envelope, written by vidulum's CashFlowEventEnvelope
+    static final String CASH_FLOW_VERSION_HEADER = "envelope-version";
+    static final String CASH_FLOW_EVENT_TYPE_HEADER = "event-type";
+    static final String CASH_FLOW_ID_HEADER = "cash-flow-id";
 
     private final EventBroadcaster eventBroadcaster;
+    private final ForecastStreamService forecastStreamService;
+    private final ObjectMapper objectMapper;
 
     @KafkaListener(
             topics = TOPIC_BANK_DATA_INGESTION,
@@ -32,9 +47,10 @@ public class KafkaEventConsumer {
 
     @KafkaListener(
             topics = TOPIC_CASH_FLOW,
-            containerFactory = "kafkaEventListenerContainerFactory"
+            containerFactory = "cashFlowEventListenerContainerFactory"
     )
-    public void consumeCashFlowEvent(KafkaEvent event) {
+    public void consumeCashFlowEvent(ConsumerRecord<String, byte[]> record) throws IOException {
+        KafkaEvent event = decodeCashFlowEvent(record);
         log.info("RAW cash_flow event: metadata={}, content={}",
                 event.getMetadata(), event.getContent());
         log.debug("Received cash_flow event: type={}, cashFlowId={}",
@@ -42,4 +58,34 @@ public class KafkaEventConsumer {
 
         eventBroadcaster.broadcast(TOPIC_CASH_FLOW, event);
     }
+
+    /**
+     * Forecast deltas, keyed by cashFlowId; records for cash flows without a local
+     * {@value ForecastStreamService#TOPIC} subscriber are dropped by the container's filter.
+     */
+    @KafkaListener(
+            topics = TOPIC_CASH_FLOW_FORECAST_DELTA,
+            containerFactory = "forecastDeltaListenerContainerFactory"
+    )
+    public void consumeForecastDelta(ConsumerRecord<String, String> record) throws IOException {
+        log.debug("Received forecast delta: cashFlowId={}", record.key());
+        forecastStreamService.onDelta(record.key(), record.value());
+    }
+
+    /**
+     * Reads both cash_flow envelope versions. V2 records hold the event JSON as the value and
+     * the event type and cashFlowId in headers; anything else is the legacy JSON envelope.
+     */
+    private KafkaEvent decodeCashFlowEvent(ConsumerRecord<String, byte[]> record) throws IOException {
+        if (!"2".equals(CashFlowRecordFilter.header(record, CASH_FLOW_VERSION_HEADER))) {
+            return objectMapper.readValue(record.value(), KafkaEvent.class);
+        }
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("event", CashFlowRecordFilter.header(record, CASH_FLOW_EVENT_TYPE_HEADER));
+        metadata.put("cashFlowId", CashFlowRecordFilter.header(record, CASH_FLOW_ID_HEADER));
+        return KafkaEvent.builder()
+                .metadata(metadata)
+                .content(new KafkaEvent.JsonContent(new String(record.value(), StandardCharsets.UTF_8)))
+                .build();
+    }
 }
@@ -1,6 +1,9 @@
 package com.multi.vidulum.gateway.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.WebSocketSession;
 
@@ -10,10 +13,14 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Manages WebSocket sessions.
  * Thread-safe registry for all active WebSocket connections.
+ * <p>
+ * Every registered session gets a {@link SessionSendQueue}, drained on virtual threads.
  */
 @Slf4j
 @Service
@@ -22,14 +29,36 @@ public class SessionRegistry {
     // sessionId -> WebSocketSession
     private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
 
+    // sessionId -> outbound queue
+    private final Map<String, SessionSendQueue> sendQueues = new ConcurrentHashMap<>();
+
     // userId -> Set<sessionId> (one user can have multiple sessions/tabs)
     private final Map<String, Set<String>> userSessions = new ConcurrentHashMap<>();
 
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long sendTimeLimitMs;
+    private final long bufferSizeLimitBytes;
+    private final SessionSendQueue.OverflowPolicy overflowPolicy;
+    private final MeterRegistry meterRegistry;
+
+    public SessionRegistry(
+            @Value("${gateway.websocket.send-time-limit-ms:10000}") long sendTimeLimitMs,
+            @Value("${gateway.websocket.buffer-size-limit-bytes:524288}") long bufferSizeLimitBytes,
+            @Value("${gateway.websocket.overflow-policy:DROP_OLDEST_PROGRESS}") SessionSendQueue.OverflowPolicy overflowPolicy,
+            MeterRegistry meterRegistry) {
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimitBytes = bufferSizeLimitBytes;
+        this.overflowPolicy = overflowPolicy;
+        this.meterRegistry = meterRegistry;
+    }
+
     public void register(WebSocketSession session) {
         String sessionId = session.getId();
         String userId = getUserId(session);
 
         sessions.put(sessionId, session);
+        sendQueues.put(sessionId, new SessionSendQueue(
+                session, sendTimeLimitMs, bufferSizeLimitBytes, overflowPolicy, sendExecutor, meterRegistry));
 
         if (userId != null) {
             userSessions.computeIfAbsent(userId, k -> new CopyOnWriteArraySet<>())
@@ -45,6 +74,10 @@ public class SessionRegistry {
         String userId = getUserId(session);
 
         sessions.remove(sessionId);
+        SessionSendQueue sendQueue = sendQueues.remove(sessionId);
+        if (sendQueue != null) {
+            sendQueue.close();
+        }
 
         if (userId != null) {
             Set<String> userSessionIds = userSessions.get(userId);
@@ -64,6 +97,10 @@ public class SessionRegistry {
         return Optional.ofNullable(sessions.get(sessionId));
     }
 
+    public Optional<SessionSendQueue> getSendQueue(String sessionId) {
+        return Optional.ofNullable(sendQueues.get(sessionId));
+    }
+
     public Set<String> getSessionIds(String userId) {
         return userSessions.getOrDefault(userId, Set.of());
     }
@@ -80,6 +117,11 @@ public class SessionRegistry {
         return userSessions.size();
     }
 
+    @PreDestroy
+    void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
     private String getUserId(WebSocketSession session) {
         Object userId = session.getAttributes().get("userId");
         return userId != null ? userId.toString() : null;
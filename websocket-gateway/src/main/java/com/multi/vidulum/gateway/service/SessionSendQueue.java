@@ -0,0 +1,202 @@
+package com.multi.vidulum.gateway.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded outbound buffer of a single WebSocket session.
+ * <p>
+ * {@link #offer} never blocks: messages are queued and written by one drain task at a time on
+ * {@code executor}, so a slow client only ever holds up its own queue. Limits:
+ * <ul>
+ *   <li>{@code sendTimeLimitMs} - a single write running longer than this closes the session</li>
+ *   <li>{@code bufferSizeLimitBytes} - on overflow {@link OverflowPolicy} decides what gives</li>
+ * </ul>
+ * All writes to the session must go through its queue; the servlet WebSocket API does not allow
+ * concurrent sends on one session.
+ */
+@Slf4j
+public class SessionSendQueue {
+
+    public enum OverflowPolicy {
+        /**
+         * Drop the oldest droppable (progress) messages; close the session if that is not enough.
+         */
+        DROP_OLDEST_PROGRESS,
+        /**
+         * Close the session.
+         */
+        CLOSE
+    }
+
+    private final WebSocketSession session;
+    private final long sendTimeLimitMs;
+    private final long bufferSizeLimitBytes;
+    private final OverflowPolicy overflowPolicy;
+    private final Executor executor;
+
+    private final ConcurrentLinkedDeque<Outbound> queue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong bufferedBytes = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long sendStartedAt;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter dropped;
+    private final List<Meter> meters;
+
+    public SessionSendQueue(
+            WebSocketSession session,
+            long sendTimeLimitMs,
+            long bufferSizeLimitBytes,
+            OverflowPolicy overflowPolicy,
+            Executor executor,
+            MeterRegistry meterRegistry) {
+        this.session = session;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.bufferSizeLimitBytes = bufferSizeLimitBytes;
+        this.overflowPolicy = overflowPolicy;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+
+        Gauge queueDepth = Gauge.builder("gateway.session.send.queue.depth", depth, AtomicInteger::get)
+                .description("Messages waiting to be written to a WebSocket session")
+                .tag("session", session.getId())
+                .register(meterRegistry);
+        this.dropped = Counter.builder("gateway.session.send.dropped")
+                .description("Messages dropped because a WebSocket session fell behind")
+                .tag("session", session.getId())
+                .register(meterRegistry);
+        this.meters = List.of(queueDepth, dropped);
+    }
+
+    /**
+     * Queues {@code message} for delivery.
+     *
+     * @param droppable whether the message may be discarded on overflow (e.g. import progress)
+     * @return false if the session is closed or was closed because it fell behind
+     */
+    public boolean offer(TextMessage message, boolean droppable) {
+        if (closed.get() || !session.isOpen()) {
+            return false;
+        }
+        long startedAt = sendStartedAt;
+        if (startedAt != 0 && System.currentTimeMillis() - startedAt > sendTimeLimitMs) {
+            closeNotReliable("send time limit of " + sendTimeLimitMs + "ms exceeded");
+            return false;
+        }
+
+        Outbound outbound = new Outbound(message, droppable, message.getPayloadLength());
+        queue.add(outbound);
+        depth.incrementAndGet();
+        if (bufferedBytes.addAndGet(outbound.size()) > bufferSizeLimitBytes && !relieveOverflow()) {
+            closeNotReliable("buffer size limit of " + bufferSizeLimitBytes + " bytes exceeded");
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    public int depth() {
+        return depth.get();
+    }
+
+    /**
+     * Discards pending messages and unregisters this queue's meters. Does not close the session.
+     */
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            depth.set(0);
+            bufferedBytes.set(0);
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+
+    private boolean relieveOverflow() {
+        if (overflowPolicy == OverflowPolicy.CLOSE) {
+            return false;
+        }
+        Iterator<Outbound> oldestFirst = queue.iterator();
+        while (bufferedBytes.get() > bufferSizeLimitBytes && oldestFirst.hasNext()) {
+            Outbound outbound = oldestFirst.next();
+            if (outbound.droppable() && queue.removeFirstOccurrence(outbound)) {
+                depth.decrementAndGet();
+                bufferedBytes.addAndGet(-outbound.size());
+                dropped.increment();
+            }
+        }
+        return bufferedBytes.get() <= bufferSizeLimitBytes;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Outbound outbound;
+            while (!closed.get() && (outbound = queue.poll()) != null) {
+                depth.decrementAndGet();
+                bufferedBytes.addAndGet(-outbound.size());
+                send(outbound.message());
+            }
+        } finally {
+            draining.set(false);
+        }
+        // A message may have been queued after the last poll but before the flag was released
+        if (!queue.isEmpty() && !closed.get()) {
+            scheduleDrain();
+        }
+    }
+
+    private void send(TextMessage message) {
+        sendStartedAt = System.currentTimeMillis();
+        try {
+            if (session.isOpen()) {
+                session.sendMessage(message);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to send message to session {}: {}", session.getId(), e.getMessage());
+        } finally {
+            sendStartedAt = 0;
+        }
+    }
+
+    private void closeNotReliable(String reason) {
+        if (closed.get()) {
+            return;
+        }
+        log.warn("Closing slow WebSocket session {}: {}", session.getId(), reason);
+        close();
+        executor.execute(() -> {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.debug("Failed to close session {}: {}", session.getId(), e.getMessage());
+            }
+        });
+    }
+
+    // size is captured once: TextMessage built from a String re-encodes it on every getPayloadLength()
+    private record Outbound(TextMessage message, boolean droppable, int size) {
+    }
+}
@@ -94,6 +94,14 @@ public class SubscriptionManager {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Cheap check for the Kafka record filter; does not resolve or validate sessions.
+     */
+    public boolean hasSubscribers(String topic, String cashFlowId) {
+        Set<String> subscribers = subscriptions.get(buildKey(topic, cashFlowId));
+        return subscribers != null && !subscribers.isEmpty();
+    }
+
     public boolean isSubscribed(WebSocketSession session, String topic, String cashFlowId) {
         String subscriptionKey = buildKey(topic, cashFlowId);
         Set<String> subscribers = subscriptions.get(subscriptionKey);
@@ -106,6 +114,18 @@ public class SubscriptionManager {
                 .sum();
     }
 
+    /**
+     * topic -> number of cashFlowIds with at least one subscriber on this instance.
+     */
+    public Map<String, Long> getSubscribedCashFlowCounts() {
+        return subscriptions.entrySet().stream()
+                .filter(entry -> !entry.getValue().isEmpty())
+                .collect(Collectors.groupingBy(
+                        entry -> entry.getKey().split(":", 2)[0],
+                        java.util.TreeMap::new,
+                        Collectors.counting()));
+    }
+
     private String buildKey(String topic, String cashFlowId) {
         return topic + ":" + cashFlowId;
     }
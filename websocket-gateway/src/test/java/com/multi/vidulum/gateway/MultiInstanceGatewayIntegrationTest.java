@@ -0,0 +1,302 @@
+package com.multi.vidulum.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multi.vidulum.gateway.dto.ClientMessage;
+import com.multi.vidulum.gateway.dto.KafkaEvent;
+import com.multi.vidulum.gateway.dto.ServerMessage;
+import com.multi.vidulum.gateway.service.KafkaEventConsumer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.crypto.SecretKey;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Two gateway replicas against one multi-partition Kafka: each must deliver every event for the
+ * cash flows its own sessions subscribed to, whichever partition the event landed on.
+ */
+@Testcontainers
+class MultiInstanceGatewayIntegrationTest {
+
+    private static final int PARTITIONS = 4;
+    private static final String JWT_SECRET =
+            "dGVzdFNlY3JldEtleUZvckp3dFRva2VuR2VuZXJhdGlvblRoYXRJc0F0TGVhc3QyNTZCaXRzTG9uZyE=";
+
+    @Container
+    static KafkaContainer kafkaContainer = new KafkaContainer(
+            DockerImageName.parse("confluentinc/cp-kafka:7.4.0")
+    );
+
+    private static ConfigurableApplicationContext instanceA;
+    private static ConfigurableApplicationContext instanceB;
+    private static KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<TestClient> clients = new ArrayList<>();
+
+    @BeforeAll
+    static void startInstances() throws Exception {
+        try (AdminClient admin = AdminClient.create(Map.of(
+                AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers()))) {
+            admin.createTopics(List.of(
+                    new NewTopic(KafkaEventConsumer.TOPIC_CASH_FLOW, PARTITIONS, (short) 1),
+                    new NewTopic(KafkaEventConsumer.TOPIC_BANK_DATA_INGESTION, PARTITIONS, (short) 1)
+            )).all().get(30, TimeUnit.SECONDS);
+        }
+
+        instanceA = startInstance("gateway-a");
+        instanceB = startInstance("gateway-b");
+
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class
+        )));
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (instanceA != null) {
+            instanceA.close();
+        }
+        if (instanceB != null) {
+            instanceB.close();
+        }
+    }
+
+    @AfterEach
+    void closeClients() throws Exception {
+        for (TestClient client : clients) {
+            client.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Each instance should deliver events from all partitions to its own subscribers")
+    void shouldDeliverEventsFromAllPartitionsOnEachInstance() throws Exception {
+        // Given - enough cash flows to cover every partition, split between the two instances
+        List<String> cashFlowIds = IntStream.range(0, PARTITIONS * 4)
+                .mapToObj(i -> "cf-scale-out-" + i)
+                .toList();
+        TestClient clientA = connect(instanceA, "user-a");
+        TestClient clientB = connect(instanceB, "user-b");
+        for (int i = 0; i < cashFlowIds.size(); i++) {
+            TestClient client = i % 2 == 0 ? clientA : clientB;
+            subscribe(client, KafkaEventConsumer.TOPIC_CASH_FLOW, cashFlowIds.get(i));
+        }
+        awaitPartitionsAssigned();
+
+        // When
+        for (String cashFlowId : cashFlowIds) {
+            kafkaTemplate.send(KafkaEventConsumer.TOPIC_CASH_FLOW, cashFlowId, event("CashChangeAppendedEvent", cashFlowId));
+        }
+
+        // Then - every subscriber got its events and nobody got anybody else's
+        await().atMost(15, TimeUnit.SECONDS).untilAsserted(() -> {
+            assertThat(clientA.eventCashFlowIds()).containsExactlyInAnyOrderElementsOf(everyOther(cashFlowIds, 0));
+            assertThat(clientB.eventCashFlowIds()).containsExactlyInAnyOrderElementsOf(everyOther(cashFlowIds, 1));
+        });
+    }
+
+    @Test
+    @DisplayName("Sessions on both instances subscribed to the same cash flow should all receive its events")
+    void shouldDeliverSameEventToSubscribersOnBothInstances() throws Exception {
+        // Given
+        String cashFlowId = "cf-scale-out-shared";
+        TestClient clientA = connect(instanceA, "user-shared");
+        TestClient clientB = connect(instanceB, "user-shared");
+        subscribe(clientA, KafkaEventConsumer.TOPIC_BANK_DATA_INGESTION, cashFlowId);
+        subscribe(clientB, KafkaEventConsumer.TOPIC_BANK_DATA_INGESTION, cashFlowId);
+        awaitPartitionsAssigned();
+
+        // When
+        kafkaTemplate.send(KafkaEventConsumer.TOPIC_BANK_DATA_INGESTION, cashFlowId, event("ImportJobCompletedEvent", cashFlowId));
+
+        // Then
+        await().atMost(15, TimeUnit.SECONDS).untilAsserted(() -> {
+            assertThat(clientA.eventCashFlowIds()).containsExactly(cashFlowId);
+            assertThat(clientB.eventCashFlowIds()).containsExactly(cashFlowId);
+        });
+    }
+
+    @Test
+    @DisplayName("Each instance should publish its own id, consumer group and subscriptions")
+    void shouldPublishInstanceState() throws Exception {
+        // Given
+        TestClient clientB = connect(instanceB, "user-state");
+        subscribe(clientB, KafkaEventConsumer.TOPIC_CASH_FLOW, "cf-scale-out-state");
+
+        // When
+        Map<String, Object> stateA = state(instanceA);
+        Map<String, Object> stateB = state(instanceB);
+
+        // Then
+        assertThat(stateA.get("instanceId")).isEqualTo("gateway-a");
+        assertThat(stateB.get("instanceId")).isEqualTo("gateway-b");
+        assertThat(stateA.get("consumerGroupId")).isNotEqualTo(stateB.get("consumerGroupId"));
+        assertThat((Map<String, Object>) stateB.get("cashFlowIds"))
+                .containsEntry(KafkaEventConsumer.TOPIC_CASH_FLOW, List.of("cf-scale-out-state"));
+        assertThat((Map<String, Object>) stateA.get("cashFlowIds")).doesNotContainKey(KafkaEventConsumer.TOPIC_CASH_FLOW);
+    }
+
+    // --- Helper methods ---
+
+    private static ConfigurableApplicationContext startInstance(String instanceId) {
+        return new SpringApplicationBuilder(WebSocketGatewayApplication.class)
+                .profiles("test")
+                .properties(
+                        "spring.kafka.bootstrap-servers=" + kafkaContainer.getBootstrapServers(),
+                        "gateway.instance-id=" + instanceId,
+                        "gateway.kafka.consumer-group-mode=PER_INSTANCE")
+                .run();
+    }
+
+    private static int port(ConfigurableApplicationContext instance) {
+        return Integer.parseInt(instance.getEnvironment().getProperty("local.server.port"));
+    }
+
+    // Consumers start at "latest", so nothing may be sent before both groups own their partitions
+    private void awaitPartitionsAssigned() throws Exception {
+        await().atMost(30, TimeUnit.SECONDS).until(() -> {
+            try (AdminClient admin = AdminClient.create(Map.of(
+                    AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers()))) {
+                List<String> groups = List.of(
+                        (String) state(instanceA).get("consumerGroupId"),
+                        (String) state(instanceB).get("consumerGroupId"));
+                return admin.describeConsumerGroups(groups).all().get().values().stream()
+                        .allMatch(group -> group.members().stream()
+                                .mapToInt(member -> member.assignment().topicPartitions().size())
+                                .sum() == PARTITIONS * 2);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> state(ConfigurableApplicationContext instance) {
+        return new RestTemplate().getForObject(
+                "http://localhost:" + port(instance) + "/actuator/gateway", Map.class);
+    }
+
+    private TestClient connect(ConfigurableApplicationContext instance, String userId) throws Exception {
+        TestClient client = new TestClient();
+        client.connect(String.format("ws://localhost:%d/ws?token=%s", port(instance), generateToken(userId)));
+        clients.add(client);
+        return client;
+    }
+
+    private void subscribe(TestClient client, String topic, String cashFlowId) throws Exception {
+        ClientMessage subscribeMessage = ClientMessage.builder()
+                .action(ClientMessage.Action.subscribe)
+                .topic(topic)
+                .cashFlowId(cashFlowId)
+                .build();
+        client.send(objectMapper.writeValueAsString(subscribeMessage));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> client.acknowledged(cashFlowId));
+    }
+
+    private static KafkaEvent event(String eventType, String cashFlowId) {
+        return KafkaEvent.builder()
+                .metadata(Map.of(
+                        "eventType", eventType,
+                        "cashFlowId", cashFlowId
+                ))
+                .content(new KafkaEvent.JsonContent("{\"cashFlowId\":\"" + cashFlowId + "\"}"))
+                .build();
+    }
+
+    private static List<String> everyOther(List<String> values, int offset) {
+        return IntStream.range(0, values.size())
+                .filter(i -> i % 2 == offset)
+                .mapToObj(values::get)
+                .toList();
+    }
+
+    private static String generateToken(String userId) {
+        SecretKey secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET));
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(userId)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + 3600000))
+                .signWith(secretKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // --- Test WebSocket Client ---
+
+    private class TestClient extends TextWebSocketHandler {
+
+        private final List<ServerMessage> messages = new CopyOnWriteArrayList<>();
+        private WebSocketSession session;
+
+        void connect(String url) throws Exception {
+            session = new StandardWebSocketClient()
+                    .execute(this, new WebSocketHttpHeaders(), URI.create(url))
+                    .get(10, TimeUnit.SECONDS);
+        }
+
+        void send(String message) throws Exception {
+            session.sendMessage(new TextMessage(message));
+        }
+
+        boolean acknowledged(String cashFlowId) {
+            return messages.stream().anyMatch(msg ->
+                    msg.getType() == ServerMessage.Type.ack && msg.getMessage().endsWith(":" + cashFlowId));
+        }
+
+        List<String> eventCashFlowIds() {
+            return messages.stream()
+                    .filter(msg -> msg.getType() == ServerMessage.Type.event)
+                    .map(ServerMessage::getCashFlowId)
+                    .toList();
+        }
+
+        void close() throws Exception {
+            if (session != null && session.isOpen()) {
+                session.close();
+            }
+        }
+
+        @Override
+        protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+            messages.add(objectMapper.readValue(message.getPayload(), ServerMessage.class));
+        }
+    }
+}
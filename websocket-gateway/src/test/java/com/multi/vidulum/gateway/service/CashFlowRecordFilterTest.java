@@ -0,0 +1,99 @@
+package com.multi.vidulum.gateway.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CashFlowRecordFilterTest {
+
+    private static final String IMPORTED = "HistoricalCashChangeImportedEvent";
+    private static final String CONFIRMED = "CashChangeConfirmedEvent";
+
+    private SubscriptionManager subscriptionManager;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionManager = mock(SubscriptionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(subscriptionManager.hasSubscribers(KafkaEventConsumer.TOPIC_CASH_FLOW, "CF1")).thenReturn(true);
+    }
+
+    @Test
+    void shouldAcceptRecordOfSubscribedCashFlow() {
+        // given
+        CashFlowRecordFilter filter = filter(Set.of());
+
+        // when / then
+        assertThat(filter.filter(v2Record(CONFIRMED, "CF1"))).isFalse();
+        assertThat(count("processed")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectRecordWithoutSubscribers() {
+        // given
+        CashFlowRecordFilter filter = filter(Set.of());
+
+        // when / then
+        assertThat(filter.filter(v2Record(CONFIRMED, "CF2"))).isTrue();
+        assertThat(count("filtered")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectEventTypeOutsideConfiguredSet() {
+        // given
+        CashFlowRecordFilter filter = filter(Set.of(IMPORTED));
+
+        // when / then - subscribed, but of a type the gateway does not forward
+        assertThat(filter.filter(v2Record(CONFIRMED, "CF1"))).isTrue();
+        assertThat(filter.filter(v2Record(IMPORTED, "CF1"))).isFalse();
+        verify(subscriptionManager).hasSubscribers(KafkaEventConsumer.TOPIC_CASH_FLOW, "CF1");
+    }
+
+    @Test
+    void shouldAcceptLegacyRecordWithoutHeaders() {
+        // given
+        CashFlowRecordFilter filter = filter(Set.of(IMPORTED));
+        ConsumerRecord<String, byte[]> legacy = new ConsumerRecord<>(
+                KafkaEventConsumer.TOPIC_CASH_FLOW, 0, 0L, null, "{}".getBytes(StandardCharsets.UTF_8));
+
+        // when / then
+        assertThat(filter.filter(legacy)).isFalse();
+        verifyNoInteractions(subscriptionManager);
+    }
+
+    @Test
+    void shouldAcceptV2RecordWithoutCashFlowIdHeader() {
+        // given
+        CashFlowRecordFilter filter = filter(Set.of());
+        ConsumerRecord<String, byte[]> record = v2Record(CONFIRMED, "CF2");
+        record.headers().remove(KafkaEventConsumer.CASH_FLOW_ID_HEADER);
+
+        // when / then
+        assertThat(filter.filter(record)).isFalse();
+    }
+
+    private CashFlowRecordFilter filter(Set<String> eventTypes) {
+        return new CashFlowRecordFilter(subscriptionManager, eventTypes, meterRegistry);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("gateway.kafka.listener.records").tag("outcome", outcome).counter().count();
+    }
+
+    private static ConsumerRecord<String, byte[]> v2Record(String eventType, String cashFlowId) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(
+                KafkaEventConsumer.TOPIC_CASH_FLOW, 0, 0L, null, "{}".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaEventConsumer.CASH_FLOW_VERSION_HEADER, "2".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaEventConsumer.CASH_FLOW_EVENT_TYPE_HEADER, eventType.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaEventConsumer.CASH_FLOW_ID_HEADER, cashFlowId.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+}
@@ -0,0 +1,100 @@
+package com.multi.vidulum.gateway.service;
+
+import com.multi.vidulum.gateway.dto.KafkaEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class EventCoalescerTest {
+
+    private static final String PROGRESS = "ImportProgressEvent";
+    private static final String IMPORTED = "HistoricalCashChangeImportedEvent";
+
+    private final EventCoalescer coalescer = new EventCoalescer(
+            100, 3, Set.of(PROGRESS), Set.of(IMPORTED), new SimpleMeterRegistry());
+    private final List<List<KafkaEvent>> flushes = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    void shouldFlushOnlyLatestProgressOfWindow() {
+        // when
+        for (int processed = 1; processed <= 10; processed++) {
+            coalescer.offer("bank_data_ingestion", "CF1", event(PROGRESS, processed), this::record);
+        }
+
+        // then
+        await().atMost(2, TimeUnit.SECONDS).until(() -> !flushes.isEmpty());
+        assertThat(flushes).hasSize(1);
+        assertThat(flushes.get(0)).extracting(event -> event.getContent().getContent()).containsExactly("{\"n\":10}");
+    }
+
+    @Test
+    void shouldBatchInArrivalOrderAndCutWindowAtMaxBatchSize() {
+        // when
+        for (int n = 1; n <= 4; n++) {
+            coalescer.offer("cash_flow", "CF1", event(IMPORTED, n), this::record);
+        }
+
+        // then - first three flushed at once, the fourth when its window closes
+        assertThat(flushes).hasSize(1);
+        assertThat(flushes.get(0)).extracting(event -> event.getContent().getContent())
+                .containsExactly("{\"n\":1}", "{\"n\":2}", "{\"n\":3}");
+        await().atMost(2, TimeUnit.SECONDS).until(() -> flushes.size() == 2);
+        assertThat(flushes.get(1)).extracting(event -> event.getContent().getContent()).containsExactly("{\"n\":4}");
+    }
+
+    @Test
+    void shouldKeepCashFlowsApart() {
+        // when
+        coalescer.offer("cash_flow", "CF1", event(IMPORTED, 1), this::record);
+        coalescer.offer("cash_flow", "CF2", event(IMPORTED, 2), this::record);
+
+        // then
+        await().atMost(2, TimeUnit.SECONDS).until(() -> flushes.size() == 2);
+        assertThat(flushes).allSatisfy(events -> assertThat(events).hasSize(1));
+        assertThat(coalescer.coalesces("CashChangeConfirmedEvent")).isFalse();
+    }
+
+    @Test
+    void shouldFlushPendingWindowsOfCashFlowBeforeUncoalescedDelivery() {
+        // given
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        coalescer.offer("cash_flow", "CF1", event(IMPORTED, 1), this::record);
+        coalescer.offer("cash_flow", "CF1", event(IMPORTED, 2), this::record);
+        coalescer.offer("cash_flow", "CF2", event(IMPORTED, 3), this::record);
+
+        // when - e.g. an ImportCompletedEvent, which is not coalesced
+        coalescer.flushThenDeliver("cash_flow", "CF1", () -> delivered.add("completed after " + flushes.size()));
+
+        // then - CF1's window went out first, CF2's is still open
+        assertThat(delivered).containsExactly("completed after 1");
+        assertThat(flushes.get(0)).extracting(event -> event.getContent().getContent())
+                .containsExactly("{\"n\":1}", "{\"n\":2}");
+        await().atMost(2, TimeUnit.SECONDS).until(() -> flushes.size() == 2);
+        assertThat(flushes.get(1)).extracting(event -> event.getContent().getContent()).containsExactly("{\"n\":3}");
+    }
+
+    private void record(String topic, String cashFlowId, String eventType, List<KafkaEvent> events) {
+        flushes.add(events);
+    }
+
+    private static KafkaEvent event(String eventType, int n) {
+        return KafkaEvent.builder()
+                .metadata(Map.of("eventType", eventType))
+                .content(new KafkaEvent.JsonContent("{\"n\":" + n + "}"))
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.multi.vidulum.gateway.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multi.vidulum.gateway.config.JacksonConfig;
+import com.multi.vidulum.gateway.dto.ServerMessage;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventFrameEncoderTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Test
+    void shouldProduceSameJsonAsServerMessage() throws Exception {
+        // given
+        String payload = "{\"cashFlowId\":{\"id\":\"CF10000001\"},\"name\":{\"name\":\"Rent \\\"flat\\\" ż\"},\"amount\":12.5}";
+        ZonedDateTime timestamp = ZonedDateTime.parse("2025-06-01T10:15:30.123+02:00");
+        ServerMessage expected = ServerMessage.builder()
+                .type(ServerMessage.Type.event)
+                .topic("cash_flow")
+                .eventType("ExpectedCashChangeAppendedEvent")
+                .cashFlowId("CF10000001")
+                .data(objectMapper.readValue(payload, new TypeReference<Map<String, Object>>() {}))
+                .timestamp(timestamp)
+                .build();
+
+        // when
+        byte[] frame = EventFrameEncoder.encode(
+                "cash_flow", "ExpectedCashChangeAppendedEvent", "CF10000001", payload, timestamp);
+
+        // then
+        assertThat(objectMapper.readTree(frame)).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(expected)));
+    }
+
+    @Test
+    void shouldProduceBatchFrameWithPayloadsInOrder() throws Exception {
+        // given
+        List<String> payloads = List.of("{\"n\":1}", "{\"n\":2}", "{\"n\":3}");
+        ZonedDateTime timestamp = ZonedDateTime.parse("2025-06-01T10:15:30.123+02:00");
+
+        // when
+        byte[] frame = EventFrameEncoder.encodeBatch(
+                "cash_flow", "HistoricalCashChangeImportedEvent", "CF10000001", payloads, timestamp);
+
+        // then
+        ServerMessage message = objectMapper.readValue(frame, ServerMessage.class);
+        assertThat(message.getType()).isEqualTo(ServerMessage.Type.batch);
+        assertThat(message.getEventType()).isEqualTo("HistoricalCashChangeImportedEvent");
+        assertThat(message.getCashFlowId()).isEqualTo("CF10000001");
+        assertThat(message.getEvents()).extracting(event -> event.get("n")).containsExactly(1, 2, 3);
+        assertThat(message.getTimestamp().toInstant()).isEqualTo(timestamp.toInstant());
+    }
+
+    @Test
+    void shouldRefuseNonObjectPayload() {
+        // when
+        byte[] frame = EventFrameEncoder.encode(
+                "cash_flow", "SomeEvent", "CF10000001", "not json", ZonedDateTime.now());
+
+        // then
+        assertThat(frame).isNull();
+    }
+
+    @Test
+    void shouldRefuseMalformedObjectPayload() {
+        // when
+        byte[] truncated = EventFrameEncoder.encode(
+                "cash_flow", "SomeEvent", "CF10000001", "{\"amount\":1", ZonedDateTime.now());
+        byte[] trailing = EventFrameEncoder.encode(
+                "cash_flow", "SomeEvent", "CF10000001", "{\"amount\":1},\"injected\":true", ZonedDateTime.now());
+        byte[] batch = EventFrameEncoder.encodeBatch(
+                "cash_flow", "SomeEvent", "CF10000001", List.of("{\"n\":1}", "{\"n\":"), ZonedDateTime.now());
+
+        // then
+        assertThat(truncated).isNull();
+        assertThat(trailing).isNull();
+        assertThat(batch).isNull();
+    }
+}
@@ -0,0 +1,121 @@
+package com.multi.vidulum.gateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.multi.vidulum.gateway.config.JacksonConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ForecastStreamServiceTest {
+
+    private static final String CASH_FLOW_ID = "CF10000001";
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final List<JsonNode> sent = new CopyOnWriteArrayList<>();
+    private SessionRegistry sessionRegistry;
+    private SubscriptionManager subscriptionManager;
+    private ForecastSnapshotClient snapshotClient;
+    private ForecastStreamService service;
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sessionRegistry = new SessionRegistry(60_000, 1_000_000,
+                SessionSendQueue.OverflowPolicy.CLOSE, new SimpleMeterRegistry());
+        snapshotClient = mock(ForecastSnapshotClient.class);
+        subscriptionManager = new SubscriptionManager(sessionRegistry);
+        service = new ForecastStreamService(subscriptionManager, sessionRegistry, snapshotClient, objectMapper);
+
+        session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>(Map.of("userId", "user-1", "token", "jwt"));
+        when(session.getId()).thenReturn("session-1");
+        when(session.isOpen()).thenReturn(true);
+        when(session.getAttributes()).thenReturn(attributes);
+        doAnswer(invocation -> {
+            TextMessage message = invocation.getArgument(0);
+            sent.add(objectMapper.readTree(message.getPayload()));
+            return null;
+        }).when(session).sendMessage(any());
+        sessionRegistry.register(session);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        sessionRegistry.shutdown();
+    }
+
+    @Test
+    void shouldSendSnapshotThenOnlyDeltasItDoesNotContain() throws Exception {
+        // given - the snapshot (at checksum c2) is still being fetched while deltas c2 and c3 arrive
+        CountDownLatch fetchReleased = new CountDownLatch(1);
+        when(snapshotClient.fetch(eq(CASH_FLOW_ID), eq("jwt"))).thenAnswer(invocation -> {
+            fetchReleased.await(5, TimeUnit.SECONDS);
+            return objectMapper.readTree("""
+                    {"cashFlowId":"CF10000001","lastMessageChecksum":"c2",
+                     "forecasts":{"2025-06":{"period":"2025-06"},"2025-07":{"period":"2025-07"}}}""");
+        });
+        service.subscribe(session, CASH_FLOW_ID, Set.of("2025-06"));
+
+        // when
+        service.onDelta(CASH_FLOW_ID, delta("c1", "c2"));
+        service.onDelta(CASH_FLOW_ID, delta("c2", "c3"));
+        fetchReleased.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> sent.size() == 2);
+        service.onDelta(CASH_FLOW_ID, delta("c3", "c4"));
+
+        // then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> sent.size() == 3);
+        JsonNode snapshot = sent.get(0);
+        assertThat(snapshot.path("type").asText()).isEqualTo("snapshot");
+        assertThat(snapshot.path("data").path("forecasts").has("2025-06")).isTrue();
+        assertThat(snapshot.path("data").path("forecasts").has("2025-07")).isFalse();
+
+        assertThat(sent.subList(1, 3)).allSatisfy(frame -> {
+            assertThat(frame.path("type").asText()).isEqualTo("delta");
+            assertThat(frame.path("data").path("months")).hasSize(1);
+            assertThat(frame.path("data").path("months").get(0).path("period").asText()).isEqualTo("2025-06");
+        });
+        assertThat(sent.subList(1, 3)).extracting(frame -> frame.path("data").path("checksum").asText())
+                .containsExactly("c3", "c4");
+    }
+
+    @Test
+    void shouldReportErrorAndDropSubscriptionWhenSnapshotFails() {
+        // given
+        when(snapshotClient.fetch(any(), any())).thenThrow(new IllegalStateException("403 Forbidden"));
+
+        // when
+        service.subscribe(session, CASH_FLOW_ID, Set.of());
+
+        // then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> sent.size() == 1);
+        assertThat(sent.get(0).path("type").asText()).isEqualTo("error");
+        assertThat(subscriptionManager.hasSubscribers(ForecastStreamService.TOPIC, CASH_FLOW_ID)).isFalse();
+    }
+
+    private static String delta(String previousChecksum, String checksum) {
+        return """
+                {"cashFlowId":"CF10000001","previousChecksum":"%s","checksum":"%s",
+                 "months":[{"period":"2025-06","status":"ACTIVE"},{"period":"2025-07","status":"FORECASTED"}]}"""
+                .formatted(previousChecksum, checksum);
+    }
+}
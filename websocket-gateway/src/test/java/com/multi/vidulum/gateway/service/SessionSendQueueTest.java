@@ -0,0 +1,103 @@
+package com.multi.vidulum.gateway.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SessionSendQueueTest {
+
+    private WebSocketSession session;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Runnable> pendingTasks;
+    private Executor manualExecutor;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("session-1");
+        when(session.isOpen()).thenReturn(true);
+        meterRegistry = new SimpleMeterRegistry();
+        pendingTasks = new ArrayList<>();
+        manualExecutor = pendingTasks::add;
+    }
+
+    @Test
+    void shouldNotBlockCallerOnSlowSession() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstSendStarted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstSendStarted.countDown();
+            release.await();
+            return null;
+        }).when(session).sendMessage(any());
+        SessionSendQueue queue = new SessionSendQueue(session, 60_000, 1_000_000,
+                SessionSendQueue.OverflowPolicy.DROP_OLDEST_PROGRESS,
+                Executors.newVirtualThreadPerTaskExecutor(), meterRegistry);
+
+        // when
+        queue.offer(new TextMessage("first"), false);
+        assertThat(firstSendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        boolean queued = queue.offer(new TextMessage("second"), false);
+
+        // then
+        assertThat(queued).isTrue();
+        assertThat(queue.depth()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.session.send.queue.depth").tag("session", "session-1").gauge().value())
+                .isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void shouldDropOldestProgressMessagesOnOverflow() throws Exception {
+        // given - room for two 10-byte messages, nothing is drained
+        SessionSendQueue queue = new SessionSendQueue(session, 60_000, 20,
+                SessionSendQueue.OverflowPolicy.DROP_OLDEST_PROGRESS, manualExecutor, meterRegistry);
+        queue.offer(new TextMessage("progress-1"), true);
+        queue.offer(new TextMessage("completed!"), false);
+
+        // when
+        boolean queued = queue.offer(new TextMessage("progress-2"), true);
+        pendingTasks.forEach(Runnable::run);
+
+        // then
+        assertThat(queued).isTrue();
+        assertThat(meterRegistry.get("gateway.session.send.dropped").tag("session", "session-1").counter().count())
+                .isEqualTo(1);
+        verify(session).sendMessage(new TextMessage("completed!"));
+        verify(session).sendMessage(new TextMessage("progress-2"));
+        verify(session, never()).sendMessage(new TextMessage("progress-1"));
+    }
+
+    @Test
+    void shouldCloseSessionOnOverflowWhenPolicyIsClose() throws Exception {
+        // given
+        SessionSendQueue queue = new SessionSendQueue(session, 60_000, 20,
+                SessionSendQueue.OverflowPolicy.CLOSE, manualExecutor, meterRegistry);
+        queue.offer(new TextMessage("progress-1"), true);
+        queue.offer(new TextMessage("progress-2"), true);
+
+        // when
+        boolean queued = queue.offer(new TextMessage("progress-3"), true);
+        pendingTasks.forEach(Runnable::run);
+
+        // then
+        assertThat(queued).isFalse();
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(meterRegistry.find("gateway.session.send.queue.depth").gauge()).isNull();
+    }
+}